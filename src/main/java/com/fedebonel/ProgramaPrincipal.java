@@ -6,15 +6,24 @@ import com.fedebonel.controlador.controladorobjetos.MunicipiosControlador;
 import com.fedebonel.controlador.controladorobjetos.PresentacionesControlador;
 import com.fedebonel.controlador.controladorobjetos.UsuariosControlador;
 import com.fedebonel.controlador.controladorpaneles.*;
-import com.fedebonel.respositorios.ConvocatoriasRepositorio;
-import com.fedebonel.respositorios.MunicipiosRepositorio;
-import com.fedebonel.respositorios.PresentacionesRepositorio;
-import com.fedebonel.respositorios.UsuariosRepositorio;
+import com.fedebonel.modelo.evento.CatalogoDocumentos;
+import com.fedebonel.respositorios.TablaVersionada;
+import com.fedebonel.respositorios.cache.ConvocatoriasRepositorioCache;
+import com.fedebonel.respositorios.cache.MunicipiosRepositorioCache;
+import com.fedebonel.respositorios.cache.PresentacionesRepositorioCache;
+import com.fedebonel.respositorios.cache.RepositorioCache;
+import com.fedebonel.respositorios.cache.UsuariosRepositorioCache;
+import com.fedebonel.respositorios.cache.VigilanteCambios;
+import com.fedebonel.respositorios.mysql.CambiosRepositorioMySQL;
 import com.fedebonel.respositorios.mysql.ConvocatoriasRepositorioMySQL;
+import com.fedebonel.respositorios.mysql.DocumentosRepositorioMySQL;
+import com.fedebonel.respositorios.mysql.EstadisticasRepositorioMySQL;
 import com.fedebonel.respositorios.mysql.MunicipiosRepositorioMySQL;
 import com.fedebonel.respositorios.mysql.PresentacionesRepositorioMySQL;
 import com.fedebonel.respositorios.mysql.UsuariosRepositorioMySQL;
 import com.fedebonel.servicios.ConvocatoriasServicio;
+import com.fedebonel.servicios.EstadisticasServicio;
+import com.fedebonel.servicios.InstantaneaDominio;
 import com.fedebonel.servicios.MunicipiosServicio;
 import com.fedebonel.servicios.PresentacionesServicio;
 import com.fedebonel.servicios.UsuariosServicio;
@@ -22,10 +31,34 @@ import com.fedebonel.vista.errores.ErrorVistaGenerador;
 import com.fedebonel.vista.formularios.ventanasemergentes.LoginVista;
 import com.fedebonel.vista.menuprincipal.MenuPrincipalVista;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+
 /**
  * Clase que contiene el metodo main donde se lanza todos los componentes necesarios para la ejecucion del programa
  */
 public class ProgramaPrincipal {
+    /**
+     * String constante que posee el error cuando no se pudieron leer las opciones de documentos
+     */
+    private static final String ERROR_LECTURA_DOCUMENTOS = "No se pudieron leer las opciones de documentos: ";
+    /**
+     * Tiempo de vida en memoria de las presentaciones, acota cuanto pueden quedar desactualizadas su convocatoria,
+     * autor y municipio
+     */
+    private static final long VIDA_PRESENTACIONES_MS = 5 * 60 * 1000;
+    /**
+     * Tiempo entre cada consulta de las versiones de las tablas escritas por otros clientes
+     */
+    private static final long INTERVALO_VIGILANCIA_MS = 3000;
+    /**
+     * Archivo local donde se guarda la ultima instantanea leida, para mostrar los paneles al iniciar sin esperar
+     * a la base de datos
+     */
+    private static final Path ARCHIVO_INSTANTANEA =
+            Paths.get(System.getProperty("user.home"), ".prescontasol", "instantanea.bin");
+
     /**
      * Metodo main que se ejecuta cuando se ejecuta el programa
      *
@@ -39,51 +72,77 @@ public class ProgramaPrincipal {
      * Inicializacion del sistema
      */
     private static void inicializarContexto() {
+        // Completa el catalogo de documentos antes de crear cualquier entidad o instantanea, asi ninguna coleccion
+        // guarda como adicional un documento que despues recibe un ordinal
+        try {
+            CatalogoDocumentos.registrar(new DocumentosRepositorioMySQL().leerOpciones());
+        } catch (SQLException e) {
+            System.out.println(ERROR_LECTURA_DOCUMENTOS + e.getMessage());
+        }
         try {
             // Crear vistas --------------------------------------------------------------------------------------------
             LoginVista loginVista = new LoginVista();
             MenuPrincipalVista menuPrincipalVista = new MenuPrincipalVista();
             // Crear repositorios --------------------------------------------------------------------------------------
-            UsuariosRepositorio usuariosRepositorio = new UsuariosRepositorioMySQL();
-            MunicipiosRepositorio municipiosRepositorio = new MunicipiosRepositorioMySQL(usuariosRepositorio);
-            ConvocatoriasRepositorio convocatoriasRepositorio = new ConvocatoriasRepositorioMySQL();
-            PresentacionesRepositorio presentacionesRepositorio =
-                    new PresentacionesRepositorioMySQL(
+            UsuariosRepositorioCache usuariosRepositorio = new UsuariosRepositorioCache(new UsuariosRepositorioMySQL());
+            MunicipiosRepositorioCache municipiosRepositorio =
+                    new MunicipiosRepositorioCache(new MunicipiosRepositorioMySQL());
+            ConvocatoriasRepositorioCache convocatoriasRepositorio =
+                    new ConvocatoriasRepositorioCache(new ConvocatoriasRepositorioMySQL());
+            PresentacionesRepositorioCache presentacionesRepositorio =
+                    new PresentacionesRepositorioCache(new PresentacionesRepositorioMySQL(
                             convocatoriasRepositorio,
                             usuariosRepositorio,
-                            municipiosRepositorio);
+                            municipiosRepositorio), RepositorioCache.CAPACIDAD_POR_DEFECTO, VIDA_PRESENTACIONES_MS);
+            // Descarta las caches cuando otro cliente escribe en sus tablas (las presentaciones contienen
+            // convocatorias, usuarios y municipios, y los municipios contienen usuarios)
+            CambiosRepositorioMySQL cambiosRepositorio = new CambiosRepositorioMySQL();
+            VigilanteCambios vigilanteCambios = new VigilanteCambios(cambiosRepositorio);
+            vigilanteCambios.vigilar(TablaVersionada.USUARIO,
+                    usuariosRepositorio, municipiosRepositorio, presentacionesRepositorio);
+            vigilanteCambios.vigilar(TablaVersionada.MUNICIPIO, municipiosRepositorio, presentacionesRepositorio);
+            vigilanteCambios.vigilar(TablaVersionada.CONVOCATORIA, convocatoriasRepositorio, presentacionesRepositorio);
+            vigilanteCambios.vigilar(TablaVersionada.PRESENTACION, presentacionesRepositorio);
+            vigilanteCambios.iniciar(INTERVALO_VIGILANCIA_MS);
             // Servicios -----------------------------------------------------------------------------------------------
             UsuariosServicio usuariosServicio = new UsuariosServicio(usuariosRepositorio);
             MunicipiosServicio municipiosServicio = new MunicipiosServicio(municipiosRepositorio);
             PresentacionesServicio presentacionesServicio = new PresentacionesServicio(presentacionesRepositorio);
             ConvocatoriasServicio convocatoriasServicio = new ConvocatoriasServicio(convocatoriasRepositorio);
+            EstadisticasServicio estadisticasServicio = new EstadisticasServicio(new EstadisticasRepositorioMySQL());
+            InstantaneaDominio instantaneaDominio = new InstantaneaDominio(
+                    usuariosServicio, municipiosServicio, convocatoriasServicio, presentacionesServicio,
+                    cambiosRepositorio, ARCHIVO_INSTANTANEA);
             // Controladores  Generales --------------------------------------------------------------------------------
             UsuariosControlador usuariosControlador =
-                    new UsuariosControlador(usuariosServicio);
+                    new UsuariosControlador(usuariosServicio, instantaneaDominio);
             MunicipiosControlador municipiosControlador =
-                    new MunicipiosControlador(municipiosServicio, usuariosServicio);
+                    new MunicipiosControlador(municipiosServicio, usuariosServicio, instantaneaDominio);
             PresentacionesControlador presentacionesControlador =
-                    new PresentacionesControlador(presentacionesServicio, convocatoriasServicio, municipiosServicio);
+                    new PresentacionesControlador(presentacionesServicio, convocatoriasServicio, municipiosServicio,
+                            instantaneaDominio);
             ConvocatoriasControlador convocatoriasControlador =
-                    new ConvocatoriasControlador(convocatoriasServicio, presentacionesServicio);
+                    new ConvocatoriasControlador(convocatoriasServicio, instantaneaDominio);
             // Controladores de paneles --------------------------------------------------------------------------------
             PanelUsuariosControlador panelUsuariosControlador =
-                    new PanelUsuariosControlador(usuariosControlador, usuariosServicio);
+                    new PanelUsuariosControlador(usuariosControlador, usuariosServicio, instantaneaDominio);
             PanelMunicipiosControlador panelMunicipiosControlador =
-                    new PanelMunicipiosControlador(municipiosServicio, municipiosControlador);
+                    new PanelMunicipiosControlador(municipiosServicio, municipiosControlador, instantaneaDominio);
             PanelPresentacionesControlador panelPresentacionesControlador =
                     new PanelPresentacionesControlador(presentacionesServicio,
-                            presentacionesControlador);
+                            presentacionesControlador, instantaneaDominio);
             PanelConvocatoriasControlador panelConvocatoriasControlador =
-                    new PanelConvocatoriasControlador(convocatoriasControlador, convocatoriasServicio, presentacionesServicio);
+                    new PanelConvocatoriasControlador(convocatoriasControlador, convocatoriasServicio,
+                            instantaneaDominio);
             PanelInformacionControlador panelInformacionControlador =
-                    new PanelInformacionControlador(municipiosServicio, presentacionesServicio);
+                    new PanelInformacionControlador(estadisticasServicio);
             // Controlador del menu principal --------------------------------------------------------------------------
             MenuPrincipalControlador menuPrincipalControlador =
                     new MenuPrincipalControlador(
                             loginVista,
                             menuPrincipalVista,
                             usuariosServicio,
+                            instantaneaDominio,
                             panelUsuariosControlador,
                             panelMunicipiosControlador,
                             panelPresentacionesControlador,
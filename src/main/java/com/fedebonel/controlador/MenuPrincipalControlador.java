@@ -3,12 +3,14 @@ package com.fedebonel.controlador;
 import com.fedebonel.controlador.controladorpaneles.PanelControlador;
 import com.fedebonel.modelo.usuario.RolUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.servicios.InstantaneaDominio;
 import com.fedebonel.servicios.UsuariosServicio;
 import com.fedebonel.vista.StringsFinales;
 import com.fedebonel.vista.errores.ErrorVistaGenerador;
 import com.fedebonel.vista.formularios.ventanasemergentes.LoginVista;
 import com.fedebonel.vista.menuprincipal.*;
 
+import javax.swing.SwingUtilities;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.SQLException;
@@ -23,6 +25,10 @@ public class MenuPrincipalControlador implements ActionListener {
      * Servicio de usuarios
      */
     private final UsuariosServicio usuariosServicio;
+    /**
+     * Instantanea de las entidades que muestran los paneles
+     */
+    private final InstantaneaDominio instantaneaDominio;
     /**
      * Controlador del panel de usuarios
      */
@@ -58,16 +64,19 @@ public class MenuPrincipalControlador implements ActionListener {
      * @param loginVista         Vista de autenticacion desde el cual el usuario se autentica
      * @param menuPrincipalVista Vista de menu principal que utilizara el usuario
      * @param usuariosServicio   Servicio de usuarios
+     * @param instantaneaDominio Instantanea de las entidades que muestran los paneles
      */
     public MenuPrincipalControlador(LoginVista loginVista,
                                     MenuPrincipalVista menuPrincipalVista,
                                     UsuariosServicio usuariosServicio,
+                                    InstantaneaDominio instantaneaDominio,
                                     PanelControlador<UsuariosPanel> panelUsuariosControlador,
                                     PanelControlador<MunicipiosPanel> panelMunicipiosControlador,
                                     PanelControlador<PresentacionesPanel> panelPresentacionesControlador,
                                     PanelControlador<ConvocatoriasPanel> panelConvocatoriasControlador,
                                     PanelControlador<InformacionPanel> panelInformacionControlador) {
         this.usuariosServicio = usuariosServicio;
+        this.instantaneaDominio = instantaneaDominio;
         this.panelUsuariosControlador = panelUsuariosControlador;
         this.panelMunicipiosControlador = panelMunicipiosControlador;
         this.panelPresentacionesControlador = panelPresentacionesControlador;
@@ -96,11 +105,29 @@ public class MenuPrincipalControlador implements ActionListener {
     }
 
     /**
-     * Inicializa el menu principal con todas sus vistas y variables para el usuario logueado en cuestion
+     * Inicializa el menu principal con todas sus vistas y variables para el usuario logueado en cuestion.
+     * Si hay una instantanea guardada localmente se muestra esa y se revalida contra la base de datos en segundo
+     * plano. Si no, las tablas se comienzan a leer en paralelo y el menu se muestra sin esperarlas: cada panel
+     * muestra el cursor de espera hasta que llegan las tablas que necesita, asi el menu queda utilizable en lo que
+     * tarda la lectura mas lenta y no en la suma de todas
      *
      * @param usuarioLogueado usuario logueado que utilizara el sistema
      */
     private void inicializarMenuPrincipal(Usuario usuarioLogueado) {
+        TareaSegundoPlano.ejecutar(loginVista.ventana.getRootPane(), () -> {
+            boolean instantaneaLocal = instantaneaDominio.cargarArchivo();
+            if (!instantaneaLocal) instantaneaDominio.precargar();
+            return instantaneaLocal;
+        }, instantaneaLocal -> mostrarMenuPrincipal(usuarioLogueado, instantaneaLocal));
+    }
+
+    /**
+     * Muestra el menu principal, cada panel lee en segundo plano lo que muestra
+     *
+     * @param usuarioLogueado  usuario logueado que utilizara el sistema
+     * @param instantaneaLocal Si la instantanea se leyo del archivo local y debe revalidarse
+     */
+    private void mostrarMenuPrincipal(Usuario usuarioLogueado, boolean instantaneaLocal) {
         loginVista.ventana.dispose();
         // Inicializa los controladores a ser utilizados por el usuario
         panelUsuariosControlador.setPanel(menuPrincipalVista.panelUsuarios);
@@ -124,6 +151,27 @@ public class MenuPrincipalControlador implements ActionListener {
         configurarPanelPresentaciones(usuarioLogueado);
         // Haz el menu visible
         menuPrincipalVista.ventana.setVisible(true);
+        if (instantaneaLocal) revalidarInstantanea(usuarioLogueado);
+    }
+
+    /**
+     * Revalida en segundo plano la instantanea leida del archivo local y vuelve a mostrar los paneles al terminar
+     *
+     * @param usuarioLogueado Usuario que utiliza los paneles
+     */
+    private void revalidarInstantanea(Usuario usuarioLogueado) {
+        instantaneaDominio.revalidarEnSegundoPlano().whenComplete((resultado, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    if (error != null) {
+                        ErrorVistaGenerador.mostrarErrorDB(new SQLException(error.getMessage(), error));
+                        return;
+                    }
+                    panelUsuariosControlador.configurarPanel(usuarioLogueado);
+                    panelMunicipiosControlador.configurarPanel(usuarioLogueado);
+                    panelPresentacionesControlador.configurarPanel(usuarioLogueado);
+                    panelConvocatoriasControlador.configurarPanel(usuarioLogueado);
+                    panelInformacionControlador.configurarPanel(usuarioLogueado);
+                }));
     }
 
     /**
@@ -180,12 +228,13 @@ public class MenuPrincipalControlador implements ActionListener {
      *
      * @param nombre Nombre de usuario a verificar
      * @param clave  Clave del usuario a verificar
-     * @return true si el usuario es autenticado correctamente, false en caso contrario
+     * @return El usuario autenticado, null si el usuario no existe o la clave es incorrecta
+     * @throws SQLException Si hubo algun error al leer el usuario
      */
-    private boolean autenticarUsuario(String nombre, String clave) throws SQLException {
+    private Usuario autenticarUsuario(String nombre, String clave) throws SQLException {
         Usuario usuarioAutenticar = usuariosServicio.leerPorID(nombre);
-        if (usuarioAutenticar == null) return false;
-        return (usuarioAutenticar.certificaClave(clave));
+        if (usuarioAutenticar == null || !usuarioAutenticar.certificaClave(clave)) return null;
+        return usuarioAutenticar;
     }
 
     /**
@@ -201,18 +250,23 @@ public class MenuPrincipalControlador implements ActionListener {
             case (StringsFinales.INGRESAR) -> {
                 String nombreUsuario = loginVista.usuarioCampo.getText();
                 String clave = String.valueOf(loginVista.claveCampo.getPassword());
-                try {
-                    if (autenticarUsuario(nombreUsuario, clave)) {
-                        inicializarMenuPrincipal(usuariosServicio.leerPorID(nombreUsuario));
-                    } else {
-                        ErrorVistaGenerador.mostrarErrorAutenticacion();
-                    }
-                } catch (Exception e) {
-                    ErrorVistaGenerador.mostrarErrorDB(e);
-                }
+                TareaSegundoPlano.ejecutar(loginVista.ventana.getRootPane(),
+                        () -> autenticarUsuario(nombreUsuario, clave), usuarioAutenticado -> {
+                            if (usuarioAutenticado != null) {
+                                inicializarMenuPrincipal(usuarioAutenticado);
+                            } else {
+                                ErrorVistaGenerador.mostrarErrorAutenticacion();
+                            }
+                        });
             }
             // Si el usuario desea salir del sistema
             case (StringsFinales.SALIR) -> {
+                // Descarta las lecturas en curso de los paneles del usuario que sale
+                TareaSegundoPlano.cancelar(menuPrincipalVista.panelUsuarios);
+                TareaSegundoPlano.cancelar(menuPrincipalVista.panelMunicipios);
+                TareaSegundoPlano.cancelar(menuPrincipalVista.panelPresentaciones);
+                TareaSegundoPlano.cancelar(menuPrincipalVista.panelConvocatorias);
+                TareaSegundoPlano.cancelar(menuPrincipalVista.panelInformacion);
                 // Cierra el menu principal
                 menuPrincipalVista.ventana.dispose();
                 // Reinicialo para controlar los permisos del siguiente usuario
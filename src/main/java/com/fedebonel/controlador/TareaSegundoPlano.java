@@ -0,0 +1,148 @@
+package com.fedebonel.controlador;
+
+import com.fedebonel.vista.errores.ErrorVistaGenerador;
+
+import javax.swing.JComponent;
+import javax.swing.SwingWorker;
+import java.awt.Cursor;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Tarea que ejecuta el acceso a datos de una vista fuera del hilo de eventos de Swing y aplica su resultado
+ * en el hilo de eventos al terminar, para que la ventana siga respondiendo mientras la consulta esta en curso.
+ * Cada componente tiene a lo sumo una tarea en curso: mientras la tiene muestra el cursor de espera, y lanzar otra
+ * tarea sobre el mismo componente cancela la anterior, cuyo resultado (o error) se descarta
+ *
+ * @param <R> Tipo del resultado de la tarea
+ */
+public class TareaSegundoPlano<R> extends SwingWorker<R, Void> {
+
+    /**
+     * Propiedad del componente en la que se guarda su tarea en curso
+     */
+    private static final String PROPIEDAD_TAREA = TareaSegundoPlano.class.getName();
+
+    /**
+     * Trabajo a ejecutar fuera del hilo de eventos, no debe modificar componentes de Swing
+     *
+     * @param <R> Tipo del resultado del trabajo
+     */
+    public interface Trabajo<R> {
+        /**
+         * Ejecuta el trabajo
+         *
+         * @return Resultado del trabajo
+         * @throws Exception Si hubo algun error, se muestra como error de operacion si es una
+         *                   IllegalArgumentException y como error de base de datos si no
+         */
+        R ejecutar() throws Exception;
+    }
+
+    /**
+     * Aplicacion del resultado del trabajo sobre la vista, se ejecuta en el hilo de eventos
+     *
+     * @param <R> Tipo del resultado del trabajo
+     */
+    public interface AlTerminar<R> {
+        /**
+         * Aplica el resultado
+         *
+         * @param resultado Resultado del trabajo
+         * @throws Exception Si hubo algun error, se muestra igual que los errores del trabajo
+         */
+        void aplicar(R resultado) throws Exception;
+    }
+
+    /**
+     * Componente que muestra que la tarea esta en curso
+     */
+    private final JComponent componente;
+    /**
+     * Trabajo a ejecutar
+     */
+    private final Trabajo<R> trabajo;
+    /**
+     * Aplicacion del resultado
+     */
+    private final AlTerminar<R> alTerminar;
+
+    private TareaSegundoPlano(JComponent componente, Trabajo<R> trabajo, AlTerminar<R> alTerminar) {
+        this.componente = componente;
+        this.trabajo = trabajo;
+        this.alTerminar = alTerminar;
+    }
+
+    /**
+     * Lanza el trabajo en segundo plano cancelando la tarea en curso del componente, debe llamarse desde el hilo
+     * de eventos
+     *
+     * @param componente Componente afectado, muestra el cursor de espera hasta que la tarea termine
+     * @param trabajo    Trabajo a ejecutar fuera del hilo de eventos
+     * @param alTerminar Aplicacion del resultado en el hilo de eventos
+     * @return Tarea lanzada
+     */
+    public static <R> TareaSegundoPlano<R> ejecutar(JComponent componente, Trabajo<R> trabajo,
+                                                   AlTerminar<R> alTerminar) {
+        cancelar(componente);
+        TareaSegundoPlano<R> tarea = new TareaSegundoPlano<>(componente, trabajo, alTerminar);
+        componente.putClientProperty(PROPIEDAD_TAREA, tarea);
+        componente.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        tarea.execute();
+        return tarea;
+    }
+
+    /**
+     * Cancela la tarea en curso del componente, si la tiene. El acceso a datos ya iniciado no se interrumpe
+     * (el driver no responde a interrupciones), pero su resultado ya no se aplica
+     *
+     * @param componente Componente cuya tarea se cancela
+     */
+    public static void cancelar(JComponent componente) {
+        if (componente.getClientProperty(PROPIEDAD_TAREA) instanceof TareaSegundoPlano<?> enCurso) {
+            enCurso.cancel(false);
+            enCurso.liberarComponente();
+        }
+    }
+
+    @Override
+    protected R doInBackground() throws Exception {
+        return trabajo.ejecutar();
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) return;
+        liberarComponente();
+        try {
+            alTerminar.aplicar(get());
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof Error error) throw error;
+            mostrarError((Exception) causa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            mostrarError(e);
+        }
+    }
+
+    /**
+     * Muestra el error de la tarea: los datos invalidos o entidades inexistentes (IllegalArgumentException) como
+     * error de operacion, el resto como error de base de datos
+     *
+     * @param error Error a mostrar
+     */
+    private static void mostrarError(Exception error) {
+        if (error instanceof IllegalArgumentException) ErrorVistaGenerador.mostrarErrorEnOperacion(error);
+        else ErrorVistaGenerador.mostrarErrorDB(error);
+    }
+
+    /**
+     * Quita el cursor de espera del componente si esta sigue siendo su tarea en curso
+     */
+    private void liberarComponente() {
+        if (componente.getClientProperty(PROPIEDAD_TAREA) != this) return;
+        componente.putClientProperty(PROPIEDAD_TAREA, null);
+        componente.setCursor(null);
+    }
+}
@@ -1,10 +1,13 @@
 package com.fedebonel.controlador.controladorobjetos;
 
+import com.fedebonel.controlador.TareaSegundoPlano;
+import com.fedebonel.modelo.evento.CampoConvocatoria;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
 import com.fedebonel.modelo.evento.Convocatoria;
 import com.fedebonel.modelo.usuario.RolUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
 import com.fedebonel.servicios.ConvocatoriasServicio;
-import com.fedebonel.servicios.PresentacionesServicio;
+import com.fedebonel.servicios.InstantaneaDominio;
 import com.fedebonel.vista.StringsFinales;
 import com.fedebonel.vista.errores.ErrorVistaGenerador;
 import com.fedebonel.vista.formularios.creacion.FormularioCrearConvocatoria;
@@ -12,29 +15,27 @@ import com.fedebonel.vista.formularios.modificacion.FormularioModificarConvocato
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.sql.Date;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Clase contenedora de todos los metodos que gestionan convocatorias
  */
 public class ConvocatoriasControlador implements ActionListener {
 
-    /**
-     * Nombres de los campos en la base de datos
-     */
-    private static final String[] DB_CAMPOS = new String[]{"identificador", "fecha_apertura", "fecha_cierre", "descripcion"};
     /**
      * Servicio de convocatorias
      */
     private final ConvocatoriasServicio convocatoriasServicio;
     /**
-     * Servicio de presentaciones
+     * Instantanea de las entidades leidas por los paneles
      */
-    private final PresentacionesServicio presentacionesServicio;
+    private final InstantaneaDominio instantaneaDominio;
     /**
      * Usuario logueado que esta utilizando el sistema
      */
@@ -51,13 +52,13 @@ public class ConvocatoriasControlador implements ActionListener {
     /**
      * Costructor del controlador
      *
-     * @param convocatoriasServicio  Servicio de convocatorias
-     * @param presentacionesServicio Servicio de presentaciones
+     * @param convocatoriasServicio Servicio de convocatorias
+     * @param instantaneaDominio    Instantanea de las entidades leidas por los paneles
      */
     public ConvocatoriasControlador(ConvocatoriasServicio convocatoriasServicio,
-                                    PresentacionesServicio presentacionesServicio) {
+                                    InstantaneaDominio instantaneaDominio) {
         this.convocatoriasServicio = convocatoriasServicio;
-        this.presentacionesServicio = presentacionesServicio;
+        this.instantaneaDominio = instantaneaDominio;
     }
 
     public void setUsuarioLogueado(Usuario usuarioLogueado) {
@@ -68,27 +69,23 @@ public class ConvocatoriasControlador implements ActionListener {
      * Devuelve las convocatorias que deben ser visibles para el usuario logueado de todas las registradas
      *
      * @return Un linked list con todas las convocatorias que deben ser visibles por el usuario logueado
+     * @throws SQLException Si hubo algun error al leer las convocatorias
      */
-    public LinkedList<Convocatoria> getConvocatoriasVisibles() {
-        try {
-            LinkedList<Convocatoria> convocatorias = convocatoriasServicio.leerTodo();
-            // Todas las convocatorias
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[9])) {
-                return convocatorias;
-                // Solo las convocatorias abiertas
-            } else if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[13])) {
-                return convocatorias;
-            } else {
-                return new LinkedList<>();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
+    public LinkedList<Convocatoria> getConvocatoriasVisibles() throws SQLException {
+        LinkedList<Convocatoria> convocatorias = instantaneaDominio.getConvocatorias();
+        // Todas las convocatorias
+        if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[9])) {
+            return convocatorias;
+            // Solo las convocatorias abiertas
+        } else if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[13])) {
+            return convocatorias;
+        } else {
             return new LinkedList<>();
         }
     }
 
     /**
-     * Crea una convocatoria
+     * Crea una convocatoria, accede a la base de datos: se llama fuera del hilo de eventos
      *
      * @param id          Identificador alfanumerico unico de convocatoria: Puede tener desde 1 caracter hasta 100 caracteres
      * @param fechaInicio Fecha de apertura planeada como objeto LocalDate
@@ -96,155 +93,113 @@ public class ConvocatoriasControlador implements ActionListener {
      * @param docsReq     Documentos requeridos de la convocatoria para las presentaciones: Solo pueden ser los establecidos
      *                    en Convocatoria.DOCUMENTOS_OPCIONES
      * @param descripcion Descripcion de la convocatoria: Debe tener como maximo 2000 caracteres
+     * @return true si se creo, false si el usuario logueado no tiene permiso para crear convocatorias
      * @throws IllegalArgumentException Si alguno de los parametros es invalido o la convocatoria ya existe en el sistema
+     * @throws SQLException             Si hubo algun error al guardar la convocatoria
      */
-    public void crearConvocatoria(String id, LocalDate fechaInicio, LocalDate fechaCierre, LinkedList<String> docsReq,
-                                  String descripcion) throws IllegalArgumentException {
-        try {
-            // Crear convocatorias
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[0])) {
-                Convocatoria nuevaConvocatoria = new Convocatoria(id, fechaInicio, fechaCierre, docsReq, descripcion);
-                convocatoriasServicio.registrar(nuevaConvocatoria);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-            System.out.println(e.getMessage());
-        }
+    public boolean crearConvocatoria(String id, LocalDate fechaInicio, LocalDate fechaCierre,
+                                     LinkedList<String> docsReq, String descripcion)
+            throws IllegalArgumentException, SQLException {
+        // Crear convocatorias
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[0])) return false;
+        Convocatoria nuevaConvocatoria = new Convocatoria(id, fechaInicio, fechaCierre, docsReq, descripcion);
+        convocatoriasServicio.registrar(nuevaConvocatoria);
+        return true;
     }
 
     /**
-     * Elimina la convocatoria
+     * Elimina la convocatoria, accede a la base de datos: se llama fuera del hilo de eventos
      *
      * @param convocatoria Convocatoria que se desea eliminar como objeto
+     * @return true si se elimino, false si el usuario logueado no tiene permiso para eliminarla
      * @throws IllegalArgumentException Si la convocatoria ya no existe en el sistema
+     * @throws SQLException             Si hubo algun error al eliminar la convocatoria
      */
-    public void eliminarConvocatoria(Convocatoria convocatoria) throws IllegalArgumentException {
-        try {
-            // Eliminar cualquier convocatoria
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[6]) ||
-                    // Eliminar solo las convocatorias que no tienen presentaciones
-                    (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[7]) &&
-                            convocatoria.getSusPresentacionesDe(presentacionesServicio.leerTodo()).isEmpty())) {
-                convocatoriasServicio.eliminar(convocatoria);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
+    public boolean eliminarConvocatoria(Convocatoria convocatoria) throws IllegalArgumentException, SQLException {
+        // Eliminar cualquier convocatoria
+        if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[6])) {
+            convocatoriasServicio.eliminar(convocatoria);
+            return true;
+            // Eliminar solo las convocatorias sin presentaciones, lo verifica la base de datos al eliminar
+        } else if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[7])) {
+            return convocatoriasServicio.eliminarSiVacia(convocatoria);
         }
+        return false;
     }
 
     /**
-     * Agrega un nuevo documento requerido a la convocatoria
+     * Modifica la convocatoria con los datos del formulario: calcula una sola vez los cambios respecto de la
+     * convocatoria sin modificarla. Los cambios devueltos se guardan en una unica transaccion (fuera del hilo de
+     * eventos) y solo entonces se reflejan en la convocatoria, si alguno es invalido no se devuelve ninguno
      *
-     * @param convocatoria Convocatoria a la cual se desea agregar el documento
-     * @param documento    Documento a establecer como requerido: debe estar en la lista de opciones
+     * @param convocatoria  Convocatoria a modificar
+     * @param fechaApertura Nueva fecha de apertura
+     * @param fechaCierre   Nueva fecha de cierre
+     * @param descripcion   Nueva descripcion
+     * @param documentos    Documentos requeridos: solo pueden cambiar mientras la convocatoria esta abierta
+     * @return Cambios a guardar, null si alguno no esta permitido o es invalido (el error ya se mostro)
      */
-    public void requerirDocumentoEn(Convocatoria convocatoria, String documento) {
+    public ConjuntoCambios<CampoConvocatoria> modificarConvocatoria(Convocatoria convocatoria, LocalDate fechaApertura,
+                                                                    LocalDate fechaCierre, String descripcion,
+                                                                    Set<String> documentos) {
         try {
             // Modificar cualquier convocatoria
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[1]) &&
-                    convocatoria.isAbierto()) {
-                convocatoria.addDocumento(documento);
-                convocatoriasServicio.agregarDocumento(convocatoria, documento);
-            } else {
+            if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[1])) {
                 ErrorVistaGenerador.mostrarErrorNoPermisos();
+                return null;
             }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
-    }
-
-    /**
-     * Quita el documento requerido de la convocatoria
-     *
-     * @param convocatoria Convocatoria de la cual se desea eliminar el documento
-     * @param documento    Documento a establecer como no requerido: debe estar en la lista de opciones
-     */
-    public void noRequerirDocumentoEn(Convocatoria convocatoria, String documento) {
-        try {
-            // Modificar cualquier convocatoria
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[1]) &&
-                    convocatoria.isAbierto()) {
-                convocatoria.removeDocumento(documento);
-                convocatoriasServicio.removerDocumento(convocatoria, documento);
-            } else {
+            // Una copia con los nuevos valores verifica que sean validos sin modificar la convocatoria
+            new Convocatoria(convocatoria.getId(), fechaApertura, fechaCierre, new LinkedList<>(documentos),
+                    descripcion);
+            ConjuntoCambios<CampoConvocatoria> cambios = new ConjuntoCambios<>(convocatoria.getId());
+            if (!fechaApertura.isEqual(convocatoria.getFechaInicio()))
+                cambios.actualizar(CampoConvocatoria.FECHA_APERTURA, fechaApertura);
+            if (!fechaCierre.isEqual(convocatoria.getFechaCierre()))
+                cambios.actualizar(CampoConvocatoria.FECHA_CIERRE, fechaCierre);
+            if (!descripcion.equals(convocatoria.getDescripcion()))
+                cambios.actualizar(CampoConvocatoria.DESCRIPCION, descripcion);
+            for (String documento : convocatoria.getDocumentos().getDocumentosLinkedList())
+                if (!documentos.contains(documento)) cambios.quitarDocumento(documento);
+            for (String documento : documentos)
+                if (!convocatoria.containsDocumento(documento)) cambios.agregarDocumento(documento);
+            boolean cambianDocumentos = !cambios.getDocumentosAgregados().isEmpty() ||
+                    !cambios.getDocumentosQuitados().isEmpty();
+            if (cambianDocumentos && !convocatoria.isAbierto()) {
                 ErrorVistaGenerador.mostrarErrorNoPermisos();
+                return null;
             }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
+            return cambios;
+        } catch (IllegalArgumentException e) {
+            ErrorVistaGenerador.mostrarErrorEnOperacion(e);
+            return null;
         }
     }
 
     /**
-     * Establece la fecha pasada como parametro como fecha de cierre en la convocatoria
+     * Refleja en la convocatoria los cambios ya guardados en la base de datos. La convocatoria es compartida con la
+     * instantanea y las caches, por eso no se modifica antes de que la escritura termine bien
      *
-     * @param convocatoria Convocatoria en la cual se desea establecer fecha de cierre
-     * @param fechaCierre  Fecha de cierre como Objeto Local date a establecer
-     * @throws IllegalArgumentException Si la fecha es invalida
+     * @param convocatoria Convocatoria modificada
+     * @param cambios      Cambios guardados, ya verificados
      */
-    public void asignaFechaCierreDe(Convocatoria convocatoria, LocalDate fechaCierre) throws IllegalArgumentException {
-        try {
-            // Modificar cualquier convocatoria
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[1])) {
-                // Verifica fecha de cierre valida
-                convocatoria.setFechaCierre(fechaCierre);
-                // Actualiza base de datos
-                convocatoriasServicio.actualizar(convocatoria, DB_CAMPOS[2], Date.valueOf(fechaCierre).toString());
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
-    }
-
-    /**
-     * Establece la fecha pasada como parametro como fecha de apertura en la convocatoria
-     *
-     * @param convocatoria  Convocatoria en la cual se desea establecer fecha de apertura
-     * @param fechaApertura Fecha de apertura como Objeto Local date a establecer
-     * @throws IllegalArgumentException Si la fecha es invalida
-     */
-    public void asignaFechaAperturaDe(Convocatoria convocatoria, LocalDate fechaApertura) throws IllegalArgumentException {
-        try {
-            // Modificar cualquier convocatoria
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[1])) {
-                // Verifica fecha de apertura valida
-                convocatoria.setFechaInicio(fechaApertura);
-                // Actualiza base de datos
-                convocatoriasServicio.actualizar(convocatoria, DB_CAMPOS[1], Date.valueOf(fechaApertura).toString());
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
-    }
-
-    /**
-     * Asigna la descripcion a la convocatoria pasada
-     *
-     * @param convocatoria Convocatoria en la cual se desea establecer una nueva descripcion
-     * @param descripcion  Descripcion a establecer como String
-     * @throws IllegalArgumentException Si la descripcion es invalida
-     */
-    public void asignaDescripcionDe(Convocatoria convocatoria, String descripcion) throws IllegalArgumentException {
-        try {
-            // Modificar cualquier convocatoria
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[1])) {
-                // Verifica que la descripcion sea valida
-                convocatoria.setDescripcion(descripcion);
-                // Actualiza la base de datos
-                convocatoriasServicio.actualizar(convocatoria, DB_CAMPOS[3], descripcion);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
+    private static void reflejarCambios(Convocatoria convocatoria, ConjuntoCambios<CampoConvocatoria> cambios) {
+        Map<CampoConvocatoria, Object> campos = cambios.getCampos();
+        LocalDate apertura = (LocalDate) campos.getOrDefault(CampoConvocatoria.FECHA_APERTURA,
+                convocatoria.getFechaInicio());
+        LocalDate cierre = (LocalDate) campos.getOrDefault(CampoConvocatoria.FECHA_CIERRE,
+                convocatoria.getFechaCierre());
+        // Cada setter compara con la otra fecha actual, el orden evita rechazar un par de fechas valido
+        if (apertura.isAfter(convocatoria.getFechaCierre())) {
+            convocatoria.setFechaCierre(cierre);
+            convocatoria.setFechaInicio(apertura);
+        } else {
+            convocatoria.setFechaInicio(apertura);
+            convocatoria.setFechaCierre(cierre);
         }
+        if (campos.containsKey(CampoConvocatoria.DESCRIPCION))
+            convocatoria.setDescripcion((String) campos.get(CampoConvocatoria.DESCRIPCION));
+        cambios.getDocumentosQuitados().forEach(convocatoria::removeDocumento);
+        cambios.getDocumentosAgregados().forEach(convocatoria::addDocumento);
     }
 
     /**
@@ -283,15 +238,17 @@ public class ConvocatoriasControlador implements ActionListener {
                     LocalDate fechaCierre = LocalDate.parse(formularioCrearConvocatoria.fechaCierreCampo.getText());
                     LinkedList<String> documentos = new LinkedList<>(formularioCrearConvocatoria.documentosCampo.getSelectedValuesList());
                     String descripcion = formularioCrearConvocatoria.descripcionArea.getText();
-                    // Intenta crear la convocatoria
-                    crearConvocatoria(identificador, fechaApertura, fechaCierre, documentos, descripcion);
-                    // Cierra la ventana
-                    formularioCrearConvocatoria.ventana.dispose();
+                    // Intenta crear la convocatoria en segundo plano y cierra la ventana al terminar
+                    FormularioCrearConvocatoria formulario = formularioCrearConvocatoria;
+                    TareaSegundoPlano.ejecutar(formulario.ventana.getRootPane(),
+                            () -> crearConvocatoria(identificador, fechaApertura, fechaCierre, documentos, descripcion),
+                            creada -> {
+                                if (creada) formulario.ventana.dispose();
+                                else ErrorVistaGenerador.mostrarErrorNoPermisos();
+                            });
                 } catch (DateTimeParseException e) {
                     // Si la fecha no esta en el formato requerido
                     ErrorVistaGenerador.mostrarErrorEnOperacionCustomizado(StringsFinales.ERROR_FECHA_FORMATO_INCORRECTO);
-                } catch (IllegalArgumentException e) {
-                    ErrorVistaGenerador.mostrarErrorEnOperacion(e);
                 }
             }
             // Si el usuario desea modificar una convocatoria
@@ -305,30 +262,22 @@ public class ConvocatoriasControlador implements ActionListener {
                     String nuevaDescripcion = formularioModificarConvocatoria.descripcionArea.getText();
                     HashSet<String> documentosNuevos = new HashSet<>(formularioModificarConvocatoria.documentosCampo.getSelectedValuesList());
 
-                    // Verifica si se desea modificar fecha apertura
-                    if (!nuevaFechaApertura.isEqual(convocatoriaAModificar.getFechaInicio()))
-                        asignaFechaAperturaDe(convocatoriaAModificar, nuevaFechaApertura);
-                    // Verifica si se desea modificar fecha cierre
-                    if (!nuevaFechaCierre.isEqual(convocatoriaAModificar.getFechaCierre()))
-                        asignaFechaCierreDe(convocatoriaAModificar, nuevaFechaCierre);
-                    // Verifica si se desea modificar la descripcion
-                    if (!nuevaDescripcion.equals(convocatoriaAModificar.getDescripcion()))
-                        asignaDescripcionDe(convocatoriaAModificar, nuevaDescripcion);
-                    // Verifica si se desea modificar los documentos
-                    for (String documento : convocatoriaAModificar.getDocumentos().getDocumentosLinkedList())
-                        if (!documentosNuevos.contains(documento))
-                            noRequerirDocumentoEn(convocatoriaAModificar, documento);
-                    for (String documento : documentosNuevos)
-                        if (!convocatoriaAModificar.containsDocumento(documento))
-                            requerirDocumentoEn(convocatoriaAModificar, documento);
+                    ConjuntoCambios<CampoConvocatoria> cambios = modificarConvocatoria(convocatoriaAModificar,
+                            nuevaFechaApertura, nuevaFechaCierre, nuevaDescripcion, documentosNuevos);
+                    if (cambios == null) return;
 
-                    // Cierra la ventana
-                    formularioModificarConvocatoria.ventana.dispose();
+                    // Guarda todos los cambios de una sola vez en segundo plano y cierra la ventana al terminar
+                    FormularioModificarConvocatoria formulario = formularioModificarConvocatoria;
+                    TareaSegundoPlano.ejecutar(formulario.ventana.getRootPane(),
+                            () -> {
+                                convocatoriasServicio.aplicarCambios(cambios);
+                                reflejarCambios(convocatoriaAModificar, cambios);
+                                return null;
+                            },
+                            guardados -> formulario.ventana.dispose());
                 } catch (DateTimeParseException e) {
                     // Si la fecha no esta en el formato requerido
                     ErrorVistaGenerador.mostrarErrorEnOperacionCustomizado(StringsFinales.ERROR_FECHA_FORMATO_INCORRECTO);
-                } catch (IllegalArgumentException e) {
-                    ErrorVistaGenerador.mostrarErrorEnOperacion(e);
                 }
             }
         }
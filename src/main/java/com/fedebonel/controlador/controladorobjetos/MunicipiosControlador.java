@@ -1,8 +1,11 @@
 package com.fedebonel.controlador.controladorobjetos;
 
+import com.fedebonel.controlador.TareaSegundoPlano;
+import com.fedebonel.modelo.municipio.CampoMunicipio;
 import com.fedebonel.modelo.municipio.Municipio;
 import com.fedebonel.modelo.usuario.RolUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.servicios.InstantaneaDominio;
 import com.fedebonel.servicios.MunicipiosServicio;
 import com.fedebonel.servicios.UsuariosServicio;
 import com.fedebonel.vista.StringsFinales;
@@ -12,6 +15,7 @@ import com.fedebonel.vista.formularios.modificacion.FormularioModificarMunicipio
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.sql.SQLException;
 import java.util.LinkedList;
 
 /**
@@ -19,10 +23,6 @@ import java.util.LinkedList;
  */
 public class MunicipiosControlador implements ActionListener {
 
-    /**
-     * Nombres de los campos en la base de datos
-     */
-    private static final String[] DB_CAMPOS = new String[]{"identificador", "nombre", "categoria", "supervisor", "representante"};
     /**
      * Servicio de municipios
      */
@@ -31,6 +31,10 @@ public class MunicipiosControlador implements ActionListener {
      * Servicio de usuarios
      */
     private final UsuariosServicio usuariosServicio;
+    /**
+     * Instantanea de las entidades leidas por los paneles
+     */
+    private final InstantaneaDominio instantaneaDominio;
     /**
      * Usuario logueado que esta utilizando el sistema
      */
@@ -50,11 +54,14 @@ public class MunicipiosControlador implements ActionListener {
      *
      * @param municipiosServicio Servicio de municipios
      * @param usuariosServicio   Servicio de usuarios
+     * @param instantaneaDominio Instantanea de las entidades leidas por los paneles
      */
     public MunicipiosControlador(MunicipiosServicio municipiosServicio,
-                                 UsuariosServicio usuariosServicio) {
+                                 UsuariosServicio usuariosServicio,
+                                 InstantaneaDominio instantaneaDominio) {
         this.municipiosServicio = municipiosServicio;
         this.usuariosServicio = usuariosServicio;
+        this.instantaneaDominio = instantaneaDominio;
     }
 
     public void setUsuarioLogueado(Usuario usuarioLogueado) {
@@ -62,70 +69,56 @@ public class MunicipiosControlador implements ActionListener {
     }
 
     /**
-     * Devuelve los municipios que deben ser visibles para el usuario logueado
+     * Devuelve los municipios que deben ser visibles para el usuario logueado.
+     * El cuentadante lee solo su municipio filtrado desde la base de datos
      *
      * @return Un linked list con todos los municipios que deben ser visibles por el usuario logueado
+     * @throws SQLException Si hubo algun error al leer los municipios
      */
-    public LinkedList<Municipio> getMunicipiosVisibles() {
-        try {
-            LinkedList<Municipio> municipios = municipiosServicio.leerTodo();
-            // Consultar cualquier municipio
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[9])) {
-                return municipios;
-                // Consultar solo el municipio asignado
-            } else if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[14])) {
-                LinkedList<Municipio> municipiosVisibles = new LinkedList<>();
-                Municipio municipioRepresentado = usuarioLogueado.getMunicipioRepresentadoDe(municipios);
-                if (municipioRepresentado != null) municipiosVisibles.add(municipioRepresentado);
-                return municipiosVisibles;
-            } else {
-                return new LinkedList<>();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
+    public LinkedList<Municipio> getMunicipiosVisibles() throws SQLException {
+        // Consultar cualquier municipio
+        if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[9])) {
+            return instantaneaDominio.getMunicipios();
+            // Consultar solo el municipio asignado
+        } else if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[14])) {
+            return municipiosServicio.leerPorCuentadante(usuarioLogueado.getId());
+        } else {
             return new LinkedList<>();
         }
     }
 
     /**
-     * Crea un municipio
+     * Crea un municipio, accede a la base de datos: se llama fuera del hilo de eventos
      *
      * @param id        Identificador alfanumerico unico de municipio: Puede tener desde 1 caracter hasta 30 caracteres
      * @param nombre    Nombre del municipio a crear
      * @param categoria Categoria del municipio
+     * @return true si se creo, false si el usuario logueado no tiene permiso para crear municipios
      * @throws IllegalArgumentException Si alguno de los parametros es invalido o el municipio ya existe
+     * @throws SQLException             Si hubo algun error al guardar el municipio
      */
-    public void crearMunicipio(String id, String nombre, int categoria) throws IllegalArgumentException {
-        try {
-            // Crear municipios
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[0])) {
-                Municipio nuevoMunicipio = new Municipio(id, nombre, categoria);
-                municipiosServicio.registrar(nuevoMunicipio);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    public boolean crearMunicipio(String id, String nombre, int categoria)
+            throws IllegalArgumentException, SQLException {
+        // Crear municipios
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[0])) return false;
+        Municipio nuevoMunicipio = new Municipio(id, nombre, categoria);
+        municipiosServicio.registrar(nuevoMunicipio);
+        return true;
     }
 
     /**
-     * Elimina el municipio
+     * Elimina el municipio, accede a la base de datos: se llama fuera del hilo de eventos
      *
      * @param municipio Municipio que se desea eliminar como objeto
+     * @return true si se elimino, false si el usuario logueado no tiene permiso para eliminarlo
      * @throws IllegalArgumentException Si el municipio ya no existe en el sistema
+     * @throws SQLException             Si hubo algun error al eliminar el municipio
      */
-    public void eliminarMunicipio(Municipio municipio) {
-        try {
-            // Eliminar cualquier municipio
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[6])) {
-                municipiosServicio.eliminar(municipio);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    public boolean eliminarMunicipio(Municipio municipio) throws IllegalArgumentException, SQLException {
+        // Eliminar cualquier municipio
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[6])) return false;
+        municipiosServicio.eliminar(municipio);
+        return true;
     }
 
     /**
@@ -133,22 +126,25 @@ public class MunicipiosControlador implements ActionListener {
      *
      * @param municipio     Municipio a actualizar
      * @param representante Cuentadante a asignar
+     * @return true si se asigno, false si el usuario logueado no tiene permiso o el usuario no puede representar
+     * @throws IllegalArgumentException Si el municipio ya no existe en el sistema
+     * @throws SQLException             Si hubo algun error al actualizar los municipios
      */
-    public void asignarRepresentanteAMunicipio(Municipio municipio, Usuario representante) {
+    public boolean asignarRepresentanteAMunicipio(Municipio municipio, Usuario representante)
+            throws IllegalArgumentException, SQLException {
         // Modificar Representante de cualquier municipio y usuario a asignar tiene permiso para representar (i.e. Cuentadantes)
-        try {
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[2]) &&
-                    representante.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[16])) {
-                // Toma el municipio antiguo del cuentadante y actualizalo
-                Municipio municipioAntiguo = municipio.tomaNuevoRepresentante(representante, municipiosServicio.leerTodo());
-                if (municipioAntiguo != null) municipiosServicio.actualizar(municipioAntiguo, DB_CAMPOS[4], "NULL");
-                municipiosServicio.actualizar(municipio, DB_CAMPOS[4], representante.getId());
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[2]) ||
+                !representante.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[16])) return false;
+        // Toma el municipio antiguo del cuentadante y actualizalo, cada municipio se modifica despues de guardarlo
+        LinkedList<Municipio> municipios = municipiosServicio.leerPorCuentadante(representante.getId());
+        Municipio municipioAntiguo = representante.getMunicipioRepresentadoDe(municipios);
+        if (municipioAntiguo != null) {
+            municipiosServicio.actualizar(municipioAntiguo, CampoMunicipio.REPRESENTANTE, null);
+            municipioAntiguo.abandonaRepresentante();
         }
+        municipiosServicio.actualizar(municipio, CampoMunicipio.REPRESENTANTE, representante.getId());
+        municipio.tomaNuevoRepresentante(representante, municipios);
+        return true;
     }
 
     /**
@@ -156,21 +152,19 @@ public class MunicipiosControlador implements ActionListener {
      *
      * @param municipio  Municipio que se desee asignar
      * @param supervisor Fiscal que se desee asignar
+     * @return true si se asigno, false si el usuario logueado no tiene permiso o el usuario no puede supervisar
+     * @throws IllegalArgumentException Si el municipio ya no existe en el sistema
+     * @throws SQLException             Si hubo algun error al actualizar el municipio
      */
-    public void asignarSupervisorAMunicipio(Municipio municipio, Usuario supervisor) {
-        try {
-            // Modificar Supervisor de cualquier municipio y usuario a asignar tiene permiso para supervisar (i.e. Fiscales)
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[3]) &&
-                    supervisor.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[15])) {
-                municipio.tomaNuevoSupervisorFiscal(supervisor);
-                // Actualiza base de datos
-                municipiosServicio.actualizar(municipio, DB_CAMPOS[3], supervisor.getId());
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    public boolean asignarSupervisorAMunicipio(Municipio municipio, Usuario supervisor)
+            throws IllegalArgumentException, SQLException {
+        // Modificar Supervisor de cualquier municipio y usuario a asignar tiene permiso para supervisar (i.e. Fiscales)
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[3]) ||
+                !supervisor.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[15])) return false;
+        // Actualiza base de datos y luego el municipio
+        municipiosServicio.actualizar(municipio, CampoMunicipio.SUPERVISOR, supervisor.getId());
+        municipio.tomaNuevoSupervisorFiscal(supervisor);
+        return true;
     }
 
     /**
@@ -178,60 +172,89 @@ public class MunicipiosControlador implements ActionListener {
      *
      * @param municipio Municipio al que se desea asignar la categoria
      * @param categoria Nueva categoria a asignar
+     * @return true si se asigno, false si el usuario logueado no tiene permiso para modificar municipios
+     * @throws IllegalArgumentException Si la categoria es invalida o el municipio ya no existe en el sistema
+     * @throws SQLException             Si hubo algun error al actualizar el municipio
      */
-    public void asignarCategoria(Municipio municipio, int categoria) {
-        try {
-            // Modificar cualquier municipio
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[1])) {
-                municipio.setCategoria(categoria);
-                // Actualiza base de datos
-                municipiosServicio.actualizar(municipio, DB_CAMPOS[2], String.valueOf(categoria));
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    public boolean asignarCategoria(Municipio municipio, int categoria) throws IllegalArgumentException, SQLException {
+        // Modificar cualquier municipio
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[1])) return false;
+        // Actualiza base de datos y luego el municipio
+        municipiosServicio.actualizar(municipio, CampoMunicipio.CATEGORIA, categoria);
+        municipio.setCategoria(categoria);
+        return true;
     }
 
     /**
      * Remueve el cuentadante actual del municipio
      *
      * @param municipio Municipio a actualizar
+     * @return true si se removio, false si el usuario logueado no tiene permiso para modificar el representante
+     * @throws IllegalArgumentException Si el municipio ya no existe en el sistema
+     * @throws SQLException             Si hubo algun error al actualizar el municipio
      */
-    public void removeRepresentanteDeMunicipio(Municipio municipio) {
-        try {
-            // Modificar representante de cualquier municipio
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[2])) {
-                municipio.abandonaRepresentante();
-                // Actualiza base de datos
-                municipiosServicio.actualizar(municipio, DB_CAMPOS[4], "NULL");
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    public boolean removeRepresentanteDeMunicipio(Municipio municipio) throws IllegalArgumentException, SQLException {
+        // Modificar representante de cualquier municipio
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[2])) return false;
+        // Actualiza base de datos y luego el municipio
+        municipiosServicio.actualizar(municipio, CampoMunicipio.REPRESENTANTE, null);
+        municipio.abandonaRepresentante();
+        return true;
     }
 
     /**
      * Remueve el fiscal actual del municipio
      *
      * @param municipio Municipio a actualizar
+     * @return true si se removio, false si el usuario logueado no tiene permiso para modificar el supervisor
+     * @throws IllegalArgumentException Si el municipio ya no existe en el sistema
+     * @throws SQLException             Si hubo algun error al actualizar el municipio
      */
-    public void removeSupervisorDeMunicipio(Municipio municipio) {
-        try {
-            // Modificar supervisor de cualquier municipio
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[3])) {
-                municipio.abandonaSupervisor();
-                // Actualiza base de datos
-                municipiosServicio.actualizar(municipio, DB_CAMPOS[3], "NULL");
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    public boolean removeSupervisorDeMunicipio(Municipio municipio) throws IllegalArgumentException, SQLException {
+        // Modificar supervisor de cualquier municipio
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[3])) return false;
+        // Actualiza base de datos y luego el municipio
+        municipiosServicio.actualizar(municipio, CampoMunicipio.SUPERVISOR, null);
+        municipio.abandonaSupervisor();
+        return true;
+    }
+
+    /**
+     * Aplica los datos del formulario de modificacion al municipio, accede a la base de datos: se llama fuera del
+     * hilo de eventos. Cada cambio se guarda por separado
+     *
+     * @param municipio            Municipio a modificar
+     * @param nuevaCategoria       Nueva categoria
+     * @param nuevoSupervisorId    Identificador del nuevo fiscal, StringsFinales.NINGUNO para quitarlo
+     * @param nuevoRepresentanteId Identificador del nuevo cuentadante, StringsFinales.NINGUNO para quitarlo
+     * @return true si todos los cambios estaban permitidos, false si alguno no se aplico por falta de permisos
+     * @throws IllegalArgumentException Si algun valor es invalido o el municipio ya no existe en el sistema
+     * @throws SQLException             Si hubo algun error al leer los usuarios o actualizar el municipio
+     */
+    private boolean modificarMunicipio(Municipio municipio, int nuevaCategoria, String nuevoSupervisorId,
+                                       String nuevoRepresentanteId) throws IllegalArgumentException, SQLException {
+        Usuario nuevoSupervisor = null;
+        if (!nuevoSupervisorId.equals(StringsFinales.NINGUNO))
+            nuevoSupervisor = usuariosServicio.leerPorID(nuevoSupervisorId);
+        Usuario nuevoRepresentante = null;
+        if (!nuevoRepresentanteId.equals(StringsFinales.NINGUNO))
+            nuevoRepresentante = usuariosServicio.leerPorID(nuevoRepresentanteId);
+
+        boolean permitido = true;
+        // Verifica si se desea modificar categoria
+        if (nuevaCategoria != municipio.getCategoria())
+            permitido &= asignarCategoria(municipio, nuevaCategoria);
+        // Verifica si se desea modificar supervisor
+        if (nuevoSupervisor != null && !municipio.isFiscal(nuevoSupervisor))
+            permitido &= asignarSupervisorAMunicipio(municipio, nuevoSupervisor);
+        else if (nuevoSupervisor == null && municipio.getFiscal() != null)
+            permitido &= removeSupervisorDeMunicipio(municipio);
+        // Verifica si se desea modificar representante
+        if (nuevoRepresentante != null && !municipio.isCuentadante(nuevoRepresentante))
+            permitido &= asignarRepresentanteAMunicipio(municipio, nuevoRepresentante);
+        else if (nuevoRepresentante == null && municipio.getCuentadante() != null)
+            permitido &= removeRepresentanteDeMunicipio(municipio);
+        return permitido;
     }
 
     /**
@@ -286,55 +309,37 @@ public class MunicipiosControlador implements ActionListener {
         switch (accion) {
             // En caso que se desee crear un municipio
             case (StringsFinales.CREAR) -> {
-                try {
-                    // Toma los datos
-                    String identificador = formularioCrearMunicipio.idCampo.getText();
-                    String nombre = formularioCrearMunicipio.nombreCampo.getText();
-                    int categoria = (Integer) formularioCrearMunicipio.categoriaCampo.getSelectedItem();
-                    // Intenta crear el municipio
-                    crearMunicipio(identificador, nombre, categoria);
-                    // Cierra la ventana
-                    formularioCrearMunicipio.ventana.dispose();
-                } catch (IllegalArgumentException e) {
-                    ErrorVistaGenerador.mostrarErrorEnOperacion(e);
-                }
+                // Toma los datos
+                FormularioCrearMunicipio formulario = formularioCrearMunicipio;
+                String identificador = formulario.idCampo.getText();
+                String nombre = formulario.nombreCampo.getText();
+                int categoria = (Integer) formulario.categoriaCampo.getSelectedItem();
+                // Intenta crear el municipio en segundo plano y cierra la ventana al terminar
+                TareaSegundoPlano.ejecutar(formulario.ventana.getRootPane(),
+                        () -> crearMunicipio(identificador, nombre, categoria),
+                        creado -> {
+                            if (creado) formulario.ventana.dispose();
+                            else ErrorVistaGenerador.mostrarErrorNoPermisos();
+                        });
             }
 
             // En caso que se desee modificar un municipio
             case (StringsFinales.MODIFICAR) -> {
-                try {
-                    // Toma el municipio a modificar
-                    Municipio municipioAModificar = formularioModificarMunicipio.municipioAModificar;
-                    // Toma los valores a modificar del formulario
-                    int nuevaCategoria = (Integer) formularioModificarMunicipio.categoriaCampo.getSelectedItem();
-                    String nuevoSupervisorId = String.valueOf(formularioModificarMunicipio.supervisorCampo.getSelectedItem());
-                    Usuario nuevoSupervisor = null;
-                    if (!nuevoSupervisorId.equals(StringsFinales.NINGUNO))
-                        nuevoSupervisor = usuariosServicio.leerPorID(nuevoSupervisorId);
-                    String nuevoRepresentanteId = String.valueOf(formularioModificarMunicipio.representanteCampo.getSelectedItem());
-                    Usuario nuevoRepresentante = null;
-                    if (!nuevoRepresentanteId.equals(StringsFinales.NINGUNO))
-                        nuevoRepresentante = usuariosServicio.leerPorID(nuevoRepresentanteId);
-
-                    // Verifica si se desea modificar categoria
-                    if (nuevaCategoria != municipioAModificar.getCategoria())
-                        asignarCategoria(municipioAModificar, nuevaCategoria);
-                    // Verifica si se desea modificar supervisor
-                    if (nuevoSupervisor != null && !municipioAModificar.isFiscal(nuevoSupervisor))
-                        asignarSupervisorAMunicipio(municipioAModificar, nuevoSupervisor);
-                    else if (nuevoSupervisor == null && municipioAModificar.getFiscal() != null)
-                        removeSupervisorDeMunicipio(municipioAModificar);
-                    // Verifica si se desea modificar representante
-                    if (nuevoRepresentante != null && !municipioAModificar.isCuentadante(nuevoRepresentante))
-                        asignarRepresentanteAMunicipio(municipioAModificar, nuevoRepresentante);
-                    else if (nuevoRepresentante == null && municipioAModificar.getCuentadante() != null)
-                        removeRepresentanteDeMunicipio(municipioAModificar);
-
-                    // Cierra la ventana
-                    formularioModificarMunicipio.ventana.dispose();
-                } catch (Exception e) {
-                    ErrorVistaGenerador.mostrarErrorEnOperacion(e);
-                }
+                // Toma el municipio a modificar
+                FormularioModificarMunicipio formulario = formularioModificarMunicipio;
+                Municipio municipioAModificar = formulario.municipioAModificar;
+                // Toma los valores a modificar del formulario
+                int nuevaCategoria = (Integer) formulario.categoriaCampo.getSelectedItem();
+                String nuevoSupervisorId = String.valueOf(formulario.supervisorCampo.getSelectedItem());
+                String nuevoRepresentanteId = String.valueOf(formulario.representanteCampo.getSelectedItem());
+                // Guarda los cambios en segundo plano y cierra la ventana al terminar
+                TareaSegundoPlano.ejecutar(formulario.ventana.getRootPane(),
+                        () -> modificarMunicipio(municipioAModificar, nuevaCategoria, nuevoSupervisorId,
+                                nuevoRepresentanteId),
+                        permitido -> {
+                            if (permitido) formulario.ventana.dispose();
+                            else ErrorVistaGenerador.mostrarErrorNoPermisos();
+                        });
             }
         }
     }
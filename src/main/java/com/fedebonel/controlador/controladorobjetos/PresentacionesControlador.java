@@ -1,10 +1,15 @@
 package com.fedebonel.controlador.controladorobjetos;
 
+import com.fedebonel.controlador.TareaSegundoPlano;
+import com.fedebonel.modelo.evento.CampoPresentacion;
+import com.fedebonel.modelo.evento.ColeccionDocumentos;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
 import com.fedebonel.modelo.evento.Convocatoria;
 import com.fedebonel.modelo.evento.Presentacion;
 import com.fedebonel.modelo.usuario.RolUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
 import com.fedebonel.servicios.ConvocatoriasServicio;
+import com.fedebonel.servicios.InstantaneaDominio;
 import com.fedebonel.servicios.MunicipiosServicio;
 import com.fedebonel.servicios.PresentacionesServicio;
 import com.fedebonel.vista.StringsFinales;
@@ -14,19 +19,17 @@ import com.fedebonel.vista.formularios.modificacion.FormularioModificarPresentac
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Set;
 
 /**
  * Clase contenedora de todos los metodos que gestionan presentaciones
  */
 public class PresentacionesControlador implements ActionListener {
 
-    /**
-     * Nombres de los campos en la base de datos
-     */
-    private static final String[] DB_CAMPOS = new String[]{"identificador", "fecha_creacion", "apertura", "convocatoria", "autor", "municipio"};
     /**
      * Servicio de presentaciones
      */
@@ -39,6 +42,10 @@ public class PresentacionesControlador implements ActionListener {
      * Servicio de Municipios
      */
     private final MunicipiosServicio municipiosServicio;
+    /**
+     * Instantanea de las entidades leidas por los paneles
+     */
+    private final InstantaneaDominio instantaneaDominio;
     /**
      * Usuario logueado que esta utilizando el sistema
      */
@@ -58,13 +65,16 @@ public class PresentacionesControlador implements ActionListener {
      * @param presentacionesServicio Servicio de presentaciones
      * @param convocatoriasServicio  Servicio de convocatorias
      * @param municipiosServicio     Servicio de municipios
+     * @param instantaneaDominio     Instantanea de las entidades leidas por los paneles
      */
     public PresentacionesControlador(PresentacionesServicio presentacionesServicio,
                                      ConvocatoriasServicio convocatoriasServicio,
-                                     MunicipiosServicio municipiosServicio) {
+                                     MunicipiosServicio municipiosServicio,
+                                     InstantaneaDominio instantaneaDominio) {
         this.presentacionesServicio = presentacionesServicio;
         this.convocatoriasServicio = convocatoriasServicio;
         this.municipiosServicio = municipiosServicio;
+        this.instantaneaDominio = instantaneaDominio;
     }
 
     public void setUsuarioLogueado(Usuario usuarioLogueado) {
@@ -72,178 +82,178 @@ public class PresentacionesControlador implements ActionListener {
     }
 
     /**
-     * Devuelve las presentaciones que deben ser visibles para el usuario logueado
+     * Devuelve las presentaciones que deben ser visibles para el usuario logueado.
+     * Los roles que solo ven parte de las presentaciones las leen filtradas desde la base de datos
      *
      * @return Un linked list con todas las presentaciones que deben ser visibles por el usuario logueado
+     * @throws SQLException Si hubo algun error al leer las presentaciones
      */
-    public LinkedList<Presentacion> getPresentacionesVisibles() {
-        try {
-            LinkedList<Presentacion> presentaciones = presentacionesServicio.leerTodo();
-            // Rol Administrador y rol fiscal general
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[9])) {
-                return presentaciones;
-                // Rol Cuentadante
-            } else if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[14])) {
-                LinkedList<Presentacion> presentacionesRealizadas = new LinkedList<>();
-                for (Presentacion presentacion : presentaciones) {
-                    if (presentacion.isAutor(usuarioLogueado)) presentacionesRealizadas.add(presentacion);
-                }
-                return presentacionesRealizadas;
-                // Rol Fiscal
-            } else if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[12])) {
-                LinkedList<Presentacion> presentacionesVisibles = new LinkedList<>();
-                for (Presentacion presentacion : presentaciones) {
-                    if (presentacion.getMunicipio().isFiscal(usuarioLogueado))
-                        presentacionesVisibles.add(presentacion);
-                }
-                return presentacionesVisibles;
-            } else {
-                return new LinkedList<>();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
+    public LinkedList<Presentacion> getPresentacionesVisibles() throws SQLException {
+        // Rol Administrador y rol fiscal general
+        if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[9])) {
+            return instantaneaDominio.getPresentaciones();
+            // Rol Cuentadante
+        } else if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[14])) {
+            return presentacionesServicio.leerPorAutor(usuarioLogueado.getId());
+            // Rol Fiscal
+        } else if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[12])) {
+            return presentacionesServicio.leerPorFiscal(usuarioLogueado.getId());
+        } else {
             return new LinkedList<>();
         }
     }
 
     /**
-     * Crea una presentacion
+     * Crea una presentacion, accede a la base de datos: se llama fuera del hilo de eventos
      *
      * @param id             Identificador alfanumerico unico de presentacion: Puede tener desde 1 caracter hasta 100 caracteres
-     * @param convocatoria   Convocatoria a la cual se presenta: No puede estar cerrada
+     * @param convocatoriaId Identificador de la convocatoria a la cual se presenta: No puede estar cerrada
      * @param docsEntregados Documentos entregados en la presentacion para la convocatoria
-     * @throws IllegalArgumentException Si alguno de los parametros es erroneo o la presentacion esta registrada en el sistema
+     * @return true si se creo, false si el usuario logueado no tiene permiso para crear presentaciones
+     * @throws IllegalArgumentException Si alguno de los parametros es erroneo, la convocatoria esta cerrada o la
+     *                                  presentacion esta registrada en el sistema
+     * @throws SQLException             Si hubo algun error al leer los datos o guardar la presentacion
      */
-    public void crearPresentacion(String id, Convocatoria convocatoria, LinkedList<String> docsEntregados)
-            throws IllegalArgumentException {
-        try {
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[0]) &&
-                    convocatoria.isAbierto()) {
-                // Cuando el usuario crea una presentacion siempre se establece como abierta por defecto
-                Presentacion nuevaPresentacion =
-                        new Presentacion(id,
-                                LocalDate.now(), true, convocatoria,
-                                usuarioLogueado,
-                                usuarioLogueado.getMunicipioRepresentadoDe(municipiosServicio.leerTodo()),
-                                docsEntregados);
-                presentacionesServicio.registrar(nuevaPresentacion);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    public boolean crearPresentacion(String id, String convocatoriaId, LinkedList<String> docsEntregados)
+            throws IllegalArgumentException, SQLException {
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[0])) return false;
+        Convocatoria convocatoria = convocatoriasServicio.leerPorID(convocatoriaId);
+        if (!convocatoria.isAbierto()) throw new IllegalArgumentException(StringsFinales.ERROR_CONVOCATORIA_CERRADA);
+        // Cuando el usuario crea una presentacion siempre se establece como abierta por defecto
+        Presentacion nuevaPresentacion =
+                new Presentacion(id,
+                        LocalDate.now(), true, convocatoria,
+                        usuarioLogueado,
+                        usuarioLogueado.getMunicipioRepresentadoDe(
+                                municipiosServicio.leerPorCuentadante(usuarioLogueado.getId())),
+                        docsEntregados);
+        presentacionesServicio.registrar(nuevaPresentacion);
+        return true;
     }
 
     /**
-     * Elimina la presentacion
+     * Elimina la presentacion, accede a la base de datos: se llama fuera del hilo de eventos
      *
      * @param presentacion Presentacion que se desea eliminar
+     * @return true si se elimino, false si el usuario logueado no tiene permiso para eliminarla
      * @throws IllegalArgumentException Si la presentacion ya no esta registrada en el sistema
+     * @throws SQLException             Si hubo algun error al eliminar la presentacion
      */
-    public void eliminarPresentacion(Presentacion presentacion) {
-        try {
-            // Rol Administrador
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[6]) ||
-                    // Rol Cuentadante
-                    (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[8]) &&
-                            presentacion.isAbierto() && presentacion.isAutor(usuarioLogueado))) {
-                presentacionesServicio.eliminar(presentacion);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
+    public boolean eliminarPresentacion(Presentacion presentacion) throws IllegalArgumentException, SQLException {
+        // Rol Administrador
+        if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[6]) ||
+                // Rol Cuentadante
+                (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[8]) &&
+                        presentacion.isAbierto() && presentacion.isAutor(usuarioLogueado))) {
+            presentacionesServicio.eliminar(presentacion);
+            return true;
         }
+        return false;
     }
 
     /**
-     * Retira la presentacion entregada (la abre)
+     * Modifica la presentacion con los datos del formulario: calcula una sola vez los cambios respecto de la
+     * presentacion sin modificarla. Los cambios devueltos se guardan en una unica transaccion (fuera del hilo de
+     * eventos) y solo entonces se reflejan en la presentacion, si alguno no esta permitido no se devuelve ninguno
      *
-     * @param presentacion Presentacion que se desea abrir
+     * @param presentacion          Presentacion a modificar
+     * @param documentosRequeridos  Documentos requeridos por la convocatoria a dejar como entregados
+     * @param documentosAdicionales Documentos adicionales a dejar como entregados
+     * @param abierto               Nuevo estado de la presentacion, false si se entrega
+     * @return Cambios a guardar, null si alguno no esta permitido o es invalido (el error ya se mostro)
      */
-    public void retirarPresentacion(Presentacion presentacion) {
+    public ConjuntoCambios<CampoPresentacion> modificarPresentacion(Presentacion presentacion,
+                                                                    Set<String> documentosRequeridos,
+                                                                    Set<String> documentosAdicionales,
+                                                                    boolean abierto) {
         try {
-            // Rol Administrador y fiscal general
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[4])) {
-                presentacion.setAbierto(true);
-                presentacionesServicio.actualizar(presentacion, DB_CAMPOS[2], String.valueOf(1));
-            } else {
+            ConjuntoCambios<CampoPresentacion> cambios = new ConjuntoCambios<>(presentacion.getId());
+            ColeccionDocumentos requeridos = presentacion.getConvocatoria().getDocumentos();
+            // Cada documento entregado se elige en el campo de requeridos o en el de adicionales
+            for (String documento : presentacion.getDocumentos().getDocumentosLinkedList()) {
+                Set<String> elegidos = requeridos.containsDocumento(documento) ?
+                        documentosRequeridos : documentosAdicionales;
+                if (!elegidos.contains(documento)) cambios.quitarDocumento(documento);
+            }
+            for (String documento : documentosRequeridos)
+                if (!presentacion.containsDocumento(documento)) cambios.agregarDocumento(documento);
+            for (String documento : documentosAdicionales)
+                if (!presentacion.containsDocumento(documento)) cambios.agregarDocumento(documento);
+            boolean cambianDocumentos = !cambios.getDocumentosAgregados().isEmpty() ||
+                    !cambios.getDocumentosQuitados().isEmpty();
+            if (cambianDocumentos && !puedeModificarDocumentos(presentacion)) {
                 ErrorVistaGenerador.mostrarErrorNoPermisos();
+                return null;
             }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
+            // Verifica si se desea cambiar el estado
+            if (abierto != presentacion.isAbierto()) {
+                // Solo el rol Administrador y el fiscal general retiran (abren) presentaciones entregadas
+                boolean puedeRetirar = usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3],
+                        RolUsuario.ACCIONES[4]);
+                if (abierto && !puedeRetirar) {
+                    ErrorVistaGenerador.mostrarErrorNoPermisos();
+                    return null;
+                }
+                if (!abierto && !puedeEntregar(presentacion, requeridos, documentosRequeridos)) {
+                    ErrorVistaGenerador.mostrarErrorEnOperacionCustomizado(
+                            StringsFinales.ERROR_NO_PERMISOS + ", " + StringsFinales.ERROR_CONVOCATORIA_CERRADA + " o "
+                                    + StringsFinales.ERROR_DOCUMENTOS_REQUERIDOS);
+                    return null;
+                }
+                cambios.actualizar(CampoPresentacion.APERTURA, abierto);
+            }
+            // Todos los cambios estan permitidos, se guardan juntos
+            return cambios;
+        } catch (IllegalArgumentException e) {
+            ErrorVistaGenerador.mostrarErrorEnOperacion(e);
+            return null;
         }
     }
 
     /**
-     * Cierra la presentacion especificada para entregarla de manera final al Fiscal
+     * Refleja en la presentacion los cambios ya guardados en la base de datos. La presentacion es compartida con la
+     * instantanea y las caches, por eso no se modifica antes de que la escritura termine bien
      *
-     * @param presentacion Presentacion que se desea cerrar/entregar
+     * @param presentacion Presentacion modificada
+     * @param cambios      Cambios guardados
      */
-    public void entregarPresentacion(Presentacion presentacion) throws IllegalCallerException {
-        try {
-            // Rol Cuentadante
-            if ((usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[5]) &&
-                    presentacion.isAutor(usuarioLogueado) && presentacion.getConvocatoria().isAbierto() &&
-                    presentacion.todosDocsRequeridosEntregados()) ||
-                    usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[4])) {
-                presentacion.setAbierto(false);
-                presentacionesServicio.actualizar(presentacion, DB_CAMPOS[2], String.valueOf(0));
-            } else {
-                ErrorVistaGenerador.mostrarErrorEnOperacionCustomizado(
-                        StringsFinales.ERROR_NO_PERMISOS + ", " + StringsFinales.ERROR_CONVOCATORIA_CERRADA + " o "
-                                + StringsFinales.ERROR_DOCUMENTOS_REQUERIDOS);
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    private static void reflejarCambios(Presentacion presentacion, ConjuntoCambios<CampoPresentacion> cambios) {
+        cambios.getDocumentosQuitados().forEach(presentacion::removeDocumento);
+        cambios.getDocumentosAgregados().forEach(presentacion::addDocumento);
+        Object abierto = cambios.getCampos().get(CampoPresentacion.APERTURA);
+        if (abierto != null) presentacion.setAbierto((Boolean) abierto);
     }
 
     /**
-     * Establece el documento pasado como entregado en la presentacion
+     * Devuelve si el usuario logueado puede entregar o retirar documentos de la presentacion
      *
-     * @param presentacion Presentacion a la cual se desea agregar el documento
-     * @param documento    Documento a establecer como entregado
+     * @param presentacion Presentacion a modificar
+     * @return true si puede modificar sus documentos
      */
-    public void entregarDocumentoA(Presentacion presentacion, String documento) {
-        try {
-            // Rol Administrador
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[1]) ||
-                    // Rol cuentadante
-                    (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[5]) &&
-                            presentacion.isAutor(usuarioLogueado) && presentacion.isAbierto())) {
-                presentacion.addDocumento(documento);
-                presentacionesServicio.agregarDocumento(presentacion, documento);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    private boolean puedeModificarDocumentos(Presentacion presentacion) {
+        // Rol Administrador
+        return usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[1]) ||
+                // Rol cuentadante
+                (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[5]) &&
+                        presentacion.isAutor(usuarioLogueado) && presentacion.isAbierto());
     }
 
     /**
-     * Retira el documento de la presentacion (i.e. se marca como no entregado)
+     * Devuelve si el usuario logueado puede cerrar la presentacion para entregarla de manera final al Fiscal
      *
-     * @param presentacion Presentacion de la cual se desea retirar el documento
-     * @param documento    Documento a retirar
+     * @param presentacion         Presentacion a entregar
+     * @param requeridos           Documentos requeridos por la convocatoria
+     * @param documentosRequeridos Documentos requeridos que quedaran entregados
+     * @return true si puede entregarla
      */
-    public void retirarDocumentoDe(Presentacion presentacion, String documento) throws IllegalCallerException {
-        try {
-            // Rol Administrador
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[1]) ||
-                    // Rol cuentadante
-                    (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[5]) &&
-                            presentacion.isAutor(usuarioLogueado) && presentacion.isAbierto())) {
-                presentacion.removeDocumento(documento);
-                presentacionesServicio.eliminarDocumento(presentacion, documento);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    private boolean puedeEntregar(Presentacion presentacion, ColeccionDocumentos requeridos,
+                                  Set<String> documentosRequeridos) {
+        // Rol Cuentadante
+        return (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[5]) &&
+                presentacion.isAutor(usuarioLogueado) && presentacion.getConvocatoria().isAbierto() &&
+                documentosRequeridos.containsAll(requeridos.getDocumentosLinkedList())) ||
+                // Rol Administrador y fiscal general
+                usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[4]);
     }
 
     /**
@@ -295,18 +305,19 @@ public class PresentacionesControlador implements ActionListener {
         switch (accion) {
             // Si el usuario desea crear una nueva presentacion
             case (StringsFinales.CREAR) -> {
-                try {
-                    // Toma los datos
-                    String identificador = formularioCrearPresentacion.idCampo.getText();
-                    String convocatoriaId = String.valueOf(formularioCrearPresentacion.convocatoriaCampo.getSelectedItem());
-                    LinkedList<String> documentos = new LinkedList<>(formularioCrearPresentacion.documentosRequeridosCampo.getSelectedValuesList());
-                    // Intenta crear la presentacion
-                    crearPresentacion(identificador, convocatoriasServicio.leerPorID(convocatoriaId), documentos);
-                    // Cerrar formulario
-                    formularioCrearPresentacion.ventana.dispose();
-                } catch (Exception e) {
-                    ErrorVistaGenerador.mostrarErrorEnOperacion(e);
-                }
+                // Toma los datos
+                FormularioCrearPresentacion formulario = formularioCrearPresentacion;
+                String identificador = formulario.idCampo.getText();
+                String convocatoriaId = String.valueOf(formulario.convocatoriaCampo.getSelectedItem());
+                LinkedList<String> documentos =
+                        new LinkedList<>(formulario.documentosRequeridosCampo.getSelectedValuesList());
+                // Intenta crear la presentacion en segundo plano y cierra el formulario al terminar
+                TareaSegundoPlano.ejecutar(formulario.ventana.getRootPane(),
+                        () -> crearPresentacion(identificador, convocatoriaId, documentos),
+                        creada -> {
+                            if (creada) formulario.ventana.dispose();
+                            else ErrorVistaGenerador.mostrarErrorNoPermisos();
+                        });
             }
 
             // Si el usuario desea modificar presentacion existente
@@ -318,30 +329,19 @@ public class PresentacionesControlador implements ActionListener {
                 HashSet<String> docsAdNuevos = new HashSet<>(formularioModificarPresentacion.documentosAdicionalesCampo.getDatos());
                 boolean nuevoAbierto = !formularioModificarPresentacion.campoEstadoEntrega.isSelected();
 
-                // Verifica si se desea modificar los documentos requeridos
-                for (String documento : presentacionAModificar.getDocumentos().getDocumentosLinkedList())
-                    if (!documentosReqNuevos.contains(documento) &&
-                            presentacionAModificar.getConvocatoria().getDocumentos().containsDocumento(documento))
-                        retirarDocumentoDe(presentacionAModificar, documento);
-                for (String documento : documentosReqNuevos)
-                    if (!presentacionAModificar.containsDocumento(documento))
-                        entregarDocumentoA(presentacionAModificar, documento);
-                // Verifica si se quiere agregar un documento adicional
-                for (String documento : presentacionAModificar.getDocumentos().getDocumentosLinkedList())
-                    if (!docsAdNuevos.contains(documento) &&
-                            !presentacionAModificar.getConvocatoria().getDocumentos().containsDocumento(documento))
-                        retirarDocumentoDe(presentacionAModificar, documento);
-                for (String documento : docsAdNuevos)
-                    if (!presentacionAModificar.containsDocumento(documento))
-                        entregarDocumentoA(presentacionAModificar, documento);
-                // Verifica si se desea cambiar el estado
-                if (nuevoAbierto != presentacionAModificar.isAbierto()) {
-                    if (nuevoAbierto) retirarPresentacion(presentacionAModificar);
-                    else entregarPresentacion(presentacionAModificar);
-                }
+                ConjuntoCambios<CampoPresentacion> cambios = modificarPresentacion(presentacionAModificar,
+                        documentosReqNuevos, docsAdNuevos, nuevoAbierto);
+                if (cambios == null) return;
 
-                // Cierra el formulario
-                formularioModificarPresentacion.ventana.dispose();
+                // Guarda todos los cambios de una sola vez en segundo plano y cierra el formulario al terminar
+                FormularioModificarPresentacion formulario = formularioModificarPresentacion;
+                TareaSegundoPlano.ejecutar(formulario.ventana.getRootPane(),
+                        () -> {
+                            presentacionesServicio.aplicarCambios(cambios);
+                            reflejarCambios(presentacionAModificar, cambios);
+                            return null;
+                        },
+                        guardados -> formulario.ventana.dispose());
             }
         }
     }
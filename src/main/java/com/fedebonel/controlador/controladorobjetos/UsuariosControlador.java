@@ -1,7 +1,10 @@
 package com.fedebonel.controlador.controladorobjetos;
 
+import com.fedebonel.controlador.TareaSegundoPlano;
+import com.fedebonel.modelo.usuario.CampoUsuario;
 import com.fedebonel.modelo.usuario.RolUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.servicios.InstantaneaDominio;
 import com.fedebonel.servicios.UsuariosServicio;
 import com.fedebonel.vista.StringsFinales;
 import com.fedebonel.vista.errores.ErrorVistaGenerador;
@@ -18,14 +21,14 @@ import java.util.LinkedList;
  */
 public class UsuariosControlador implements ActionListener {
 
-    /**
-     * Nombres de los campos en la base de datos
-     */
-    private static final String[] DB_CAMPOS = new String[]{"identificador", "nombre", "clave", "rol"};
     /**
      * Servicio de usuarios
      */
     private final UsuariosServicio usuariosServicio;
+    /**
+     * Instantanea de las entidades leidas por los paneles
+     */
+    private final InstantaneaDominio instantaneaDominio;
     /**
      * Usuario logueado que esta utilizando el sistema
      */
@@ -42,10 +45,13 @@ public class UsuariosControlador implements ActionListener {
     /**
      * Costructor del controlador
      *
-     * @param usuariosServicio Servicio de usuarios
+     * @param usuariosServicio   Servicio de usuarios
+     * @param instantaneaDominio Instantanea de las entidades leidas por los paneles
      */
-    public UsuariosControlador(UsuariosServicio usuariosServicio) {
+    public UsuariosControlador(UsuariosServicio usuariosServicio,
+                               InstantaneaDominio instantaneaDominio) {
         this.usuariosServicio = usuariosServicio;
+        this.instantaneaDominio = instantaneaDominio;
     }
 
     public void setUsuarioLogueado(Usuario usuarioLogueado) {
@@ -56,83 +62,70 @@ public class UsuariosControlador implements ActionListener {
      * Devuelve los usuarios que deben ser visibles para el usuario logueado
      *
      * @return Un linked list con todos los usuarios que deben ser visibles por el usuario logueado
+     * @throws SQLException Si hubo algun error al leer los usuarios
      */
-    public LinkedList<Usuario> getUsuariosVisibles() {
-        try {
-            LinkedList<Usuario> usuarios = usuariosServicio.leerTodo();
-            // Rol Administrador
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[0], RolUsuario.ACCIONES[9])) {
-                return usuarios;
-                // Resto de roles
-            } else {
-                return new LinkedList<>();
-            }
-        } catch (SQLException e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
+    public LinkedList<Usuario> getUsuariosVisibles() throws SQLException {
+        LinkedList<Usuario> usuarios = instantaneaDominio.getUsuarios();
+        // Rol Administrador
+        if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[0], RolUsuario.ACCIONES[9])) {
+            return usuarios;
+            // Resto de roles
+        } else {
             return new LinkedList<>();
         }
     }
 
     /**
-     * Crea un usuario
+     * Crea un usuario, accede a la base de datos: se llama fuera del hilo de eventos
      *
      * @param nombre     Nombre del usuario (p. ej: Federico Bonel): Hasta 50 caracteres
      * @param username   Identificador alfanumerico unico de usuario: Puede tener desde 1 caracter hasta 10 caracteres
      * @param clave      Clave usada por el usuario para ingresar al sistema: Puede tener desde 4 caracteres hasta 8
      * @param rolUsuario Rol del usuario a crear
+     * @return true si se creo, false si el usuario logueado no tiene permiso para crear usuarios
      * @throws IllegalArgumentException Si alguno de los parametros es erroneo o si el usuario esta registrado
+     * @throws SQLException             Si hubo algun error al guardar el usuario
      */
-    public void crearUsuario(String nombre, String username, String clave, RolUsuario rolUsuario) throws IllegalArgumentException {
-        try {
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[0], RolUsuario.ACCIONES[0])) {
-                Usuario usuario = new Usuario(nombre, username.replaceAll("\\s+", ""), clave, rolUsuario);
-                usuariosServicio.registrar(usuario);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (SQLException e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    public boolean crearUsuario(String nombre, String username, String clave, RolUsuario rolUsuario)
+            throws IllegalArgumentException, SQLException {
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[0], RolUsuario.ACCIONES[0])) return false;
+        Usuario usuario = new Usuario(nombre, username.replaceAll("\\s+", ""), clave, rolUsuario);
+        usuariosServicio.registrar(usuario);
+        return true;
     }
 
     /**
-     * Elimina un usuario
+     * Elimina un usuario, accede a la base de datos: se llama fuera del hilo de eventos
      *
      * @param usuario Usuario a eliminar
+     * @return true si se elimino, false si el usuario logueado no tiene permiso para eliminarlo
      * @throws IllegalArgumentException Si el usuario ya no existe en el sistema
+     * @throws SQLException             Si hubo algun error al eliminar el usuario
      */
-    public void eliminarUsuario(Usuario usuario) {
-        try {
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[0], RolUsuario.ACCIONES[6]) &&
-                    !usuarioLogueado.getId().equals(usuario.getId())) {
-                usuariosServicio.eliminar(usuario);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    public boolean eliminarUsuario(Usuario usuario) throws IllegalArgumentException, SQLException {
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[0], RolUsuario.ACCIONES[6]) ||
+                usuarioLogueado.getId().equals(usuario.getId())) return false;
+        usuariosServicio.eliminar(usuario);
+        return true;
     }
 
     /**
-     * Crea un usuario y lo agrega a la coleccion
+     * Actualiza la clave del usuario, accede a la base de datos: se llama fuera del hilo de eventos
      *
      * @param usuario Usuario a actualizar
      * @param clave   Nueva clave del usuario como string
-     * @throws IllegalArgumentException Si la clave es invalida
+     * @return true si se actualizo, false si el usuario logueado no tiene permiso para modificar usuarios
+     * @throws IllegalArgumentException Si la clave es invalida o el usuario ya no existe en el sistema
+     * @throws SQLException             Si hubo algun error al actualizar el usuario
      */
-    public void actualizarClaveDe(Usuario usuario, String clave) throws IllegalArgumentException {
-        try {
-            if (usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[0], RolUsuario.ACCIONES[1])) {
-                usuario.setClave(clave);
-                // Actualizalo en la base de datos
-                usuariosServicio.actualizar(usuario, DB_CAMPOS[2], clave);
-            } else {
-                ErrorVistaGenerador.mostrarErrorNoPermisos();
-            }
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+    public boolean actualizarClaveDe(Usuario usuario, String clave) throws IllegalArgumentException, SQLException {
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[0], RolUsuario.ACCIONES[1])) return false;
+        // Una copia verifica la clave: el usuario es compartido con la instantanea y las caches y solo se modifica
+        // despues de actualizarlo en la base de datos
+        new Usuario(usuario.getNombre(), usuario.getId(), clave, usuario.rolUsuario);
+        usuariosServicio.actualizar(usuario, CampoUsuario.CLAVE, clave);
+        usuario.setClave(clave);
+        return true;
     }
 
     /**
@@ -164,37 +157,40 @@ public class UsuariosControlador implements ActionListener {
         switch (accion) {
             // En caso que se desee crear un usuario
             case (StringsFinales.CREAR) -> {
-                try {
-                    // Toma los datos
-                    String nombreUsuario = formularioCrearUsuario.idCampo.getText();
-                    String nombre = formularioCrearUsuario.nombreCampo.getText();
-                    String clave = String.valueOf(formularioCrearUsuario.claveCampo.getPassword());
-                    String rol = String.valueOf(formularioCrearUsuario.opcionesRol.getSelectedItem());
-                    // Intenta crear el usuario
-                    crearUsuario(nombre, nombreUsuario, clave, new RolUsuario(rol));
-                    // Cierra la ventana
-                    formularioCrearUsuario.ventana.dispose();
-                } catch (IllegalArgumentException e) {
-                    ErrorVistaGenerador.mostrarErrorEnOperacion(e);
-                }
+                // Toma los datos
+                FormularioCrearUsuario formulario = formularioCrearUsuario;
+                String nombreUsuario = formulario.idCampo.getText();
+                String nombre = formulario.nombreCampo.getText();
+                String clave = String.valueOf(formulario.claveCampo.getPassword());
+                String rol = String.valueOf(formulario.opcionesRol.getSelectedItem());
+                // Intenta crear el usuario en segundo plano y cierra la ventana al terminar
+                TareaSegundoPlano.ejecutar(formulario.ventana.getRootPane(),
+                        () -> crearUsuario(nombre, nombreUsuario, clave, RolUsuario.de(rol)),
+                        creado -> {
+                            if (creado) formulario.ventana.dispose();
+                            else ErrorVistaGenerador.mostrarErrorNoPermisos();
+                        });
             }
 
             // En caso que se desee modificar un usuario
             case (StringsFinales.MODIFICAR) -> {
-                try {
-                    // Toma el usuario a modificar
-                    Usuario usuarioAModificar = formularioModificarUsuario.usuarioAModificar;
-                    // Toma la clave a modificar del formulario
-                    String nuevaClave = String.valueOf(formularioModificarUsuario.claveCampo.getPassword());
-                    // Verifica si se desea modificar su clave
-                    if (!nuevaClave.equals(usuarioAModificar.getClave()))
-                        actualizarClaveDe(usuarioAModificar, nuevaClave);
-                    // Cierra la ventana
-                    formularioModificarUsuario.ventana.dispose();
-                } catch (IllegalArgumentException e) {
-                    ErrorVistaGenerador.mostrarErrorEnOperacion(e);
+                // Toma el usuario a modificar
+                FormularioModificarUsuario formulario = formularioModificarUsuario;
+                Usuario usuarioAModificar = formulario.usuarioAModificar;
+                // Toma la clave a modificar del formulario
+                String nuevaClave = String.valueOf(formulario.claveCampo.getPassword());
+                // Verifica si se desea modificar su clave
+                if (nuevaClave.equals(usuarioAModificar.getClave())) {
+                    formulario.ventana.dispose();
+                    return;
                 }
-
+                // Actualiza la clave en segundo plano y cierra la ventana al terminar
+                TareaSegundoPlano.ejecutar(formulario.ventana.getRootPane(),
+                        () -> actualizarClaveDe(usuarioAModificar, nuevaClave),
+                        actualizada -> {
+                            if (actualizada) formulario.ventana.dispose();
+                            else ErrorVistaGenerador.mostrarErrorNoPermisos();
+                        });
             }
         }
     }
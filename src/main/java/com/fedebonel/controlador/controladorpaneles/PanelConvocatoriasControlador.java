@@ -1,17 +1,21 @@
 package com.fedebonel.controlador.controladorpaneles;
 
+import com.fedebonel.controlador.TareaSegundoPlano;
 import com.fedebonel.controlador.controladorobjetos.ConvocatoriasControlador;
 import com.fedebonel.modelo.evento.Convocatoria;
 import com.fedebonel.modelo.usuario.RolUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
 import com.fedebonel.servicios.ConvocatoriasServicio;
-import com.fedebonel.servicios.PresentacionesServicio;
+import com.fedebonel.servicios.InstantaneaDominio;
 import com.fedebonel.vista.StringsFinales;
 import com.fedebonel.vista.errores.ErrorVistaGenerador;
 import com.fedebonel.vista.formularios.ventanasemergentes.FormularioOpcionesGenerador;
 import com.fedebonel.vista.menuprincipal.ConvocatoriasPanel;
 
 import java.awt.event.ActionEvent;
+import java.sql.SQLException;
+import java.util.LinkedList;
+import java.util.Map;
 
 /**
  * Controlador del panel convocatorias, funciona como un puente entre el usuario, la vista del panel de convocatorias
@@ -27,9 +31,9 @@ public class PanelConvocatoriasControlador implements PanelControlador<Convocato
      */
     private final ConvocatoriasServicio convocatoriasServicio;
     /**
-     * Servicio de presentaciones
+     * Instantanea de las entidades que muestra el panel
      */
-    private final PresentacionesServicio presentacionesServicio;
+    private final InstantaneaDominio instantaneaDominio;
     /**
      * Vista de menu principal gestionada por este controlador
      */
@@ -40,14 +44,14 @@ public class PanelConvocatoriasControlador implements PanelControlador<Convocato
      *
      * @param convocatoriasControlador controlador de convocatorias
      * @param convocatoriasServicio    Servicio de convocatorias
-     * @param presentacionesServicio   servicio de presentaciones
+     * @param instantaneaDominio       Instantanea de las entidades que muestra el panel
      */
     public PanelConvocatoriasControlador(ConvocatoriasControlador convocatoriasControlador,
                                          ConvocatoriasServicio convocatoriasServicio,
-                                         PresentacionesServicio presentacionesServicio) {
+                                         InstantaneaDominio instantaneaDominio) {
         this.convocatoriasControlador = convocatoriasControlador;
         this.convocatoriasServicio = convocatoriasServicio;
-        this.presentacionesServicio = presentacionesServicio;
+        this.instantaneaDominio = instantaneaDominio;
     }
 
     /**
@@ -79,22 +83,50 @@ public class PanelConvocatoriasControlador implements PanelControlador<Convocato
      */
     @Override
     public void configurarPanel(Usuario usuarioLogueado) {
-        try {
-            // Carga las convocatorias
-            panelConvocatorias.mostrarConvocatorias(convocatoriasControlador.getConvocatoriasVisibles(),
-                    presentacionesServicio.leerTodo());
-            // Si no tiene permiso para crear quita el boton
-            if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[0]))
-                panelConvocatorias.crearBoton.setVisible(false);
-            // Si no tiene el permiso para modificar nada quita el boton
-            if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[1]))
-                panelConvocatorias.modificarBoton.setVisible(false);
-            // Si no tiene permiso para eliminar ninguna quita el boton eliminar
-            if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[7]))
-                panelConvocatorias.eliminarBoton.setVisible(false);
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+        // Carga las convocatorias
+        mostrarConvocatorias(false);
+        // Si no tiene permiso para crear quita el boton
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[0]))
+            panelConvocatorias.crearBoton.setVisible(false);
+        // Si no tiene el permiso para modificar nada quita el boton
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[1]))
+            panelConvocatorias.modificarBoton.setVisible(false);
+        // Si no tiene permiso para eliminar ninguna quita el boton eliminar
+        if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[2], RolUsuario.ACCIONES[7]))
+            panelConvocatorias.eliminarBoton.setVisible(false);
+    }
+
+    /**
+     * Lee en segundo plano las convocatorias visibles para el usuario y las muestra en el panel al terminar
+     *
+     * @param actualizarInstantanea Si antes de leer se debe actualizar la instantanea desde la base de datos
+     */
+    private void mostrarConvocatorias(boolean actualizarInstantanea) {
+        TareaSegundoPlano.ejecutar(panelConvocatorias, () -> {
+            if (actualizarInstantanea) instantaneaDominio.actualizar();
+            return leerConvocatorias();
+        }, this::mostrarConvocatorias);
+    }
+
+    /**
+     * Lee las convocatorias visibles para el usuario junto con la cantidad de presentaciones de cada una,
+     * contadas en la base de datos
+     *
+     * @return Convocatorias y cantidades leidas
+     * @throws SQLException Si hubo algun error al leer las convocatorias o contar las presentaciones
+     */
+    private ConvocatoriasLeidas leerConvocatorias() throws SQLException {
+        return new ConvocatoriasLeidas(convocatoriasControlador.getConvocatoriasVisibles(),
+                convocatoriasServicio.contarPresentaciones());
+    }
+
+    /**
+     * Muestra en el panel las convocatorias leidas
+     *
+     * @param leidas Convocatorias y cantidades a mostrar
+     */
+    private void mostrarConvocatorias(ConvocatoriasLeidas leidas) {
+        panelConvocatorias.mostrarConvocatorias(leidas.convocatorias, leidas.presentacionesRealizadas);
     }
 
     /**
@@ -115,15 +147,14 @@ public class PanelConvocatoriasControlador implements PanelControlador<Convocato
                     String identificador = String.valueOf(panelConvocatorias.tablaObjetos.getValueAt(filaSeleccionada, 0));
                     boolean eliminar = FormularioOpcionesGenerador.mostrarOpcionSiNoEliminar(identificador);
                     if (eliminar) {
-                        try {
+                        TareaSegundoPlano.ejecutar(panelConvocatorias, () -> {
                             Convocatoria convocatoriaAEliminar = convocatoriasServicio.leerPorID(identificador);
-                            convocatoriasControlador.eliminarConvocatoria(convocatoriaAEliminar);
+                            return convocatoriasControlador.eliminarConvocatoria(convocatoriaAEliminar);
+                        }, eliminada -> {
                             // Actualiza los datos
-                            panelConvocatorias.mostrarConvocatorias(convocatoriasControlador.getConvocatoriasVisibles(),
-                                    presentacionesServicio.leerTodo());
-                        } catch (Exception e) {
-                            ErrorVistaGenerador.mostrarErrorDB(e);
-                        }
+                            if (eliminada) mostrarConvocatorias(true);
+                            else ErrorVistaGenerador.mostrarErrorNoPermisos();
+                        });
                     }
                 }
             }
@@ -131,24 +162,27 @@ public class PanelConvocatoriasControlador implements PanelControlador<Convocato
             case (StringsFinales.MODIFICAR) -> {
                 int filaSeleccionada = panelConvocatorias.tablaObjetos.getSelectedRow();
                 if (filaSeleccionada >= 0) {
-                    try {
-                        String identificador = String.valueOf(panelConvocatorias.tablaObjetos.getValueAt(filaSeleccionada, 0));
-                        Convocatoria convocatoriaAModificar = convocatoriasServicio.leerPorID(identificador);
-                        convocatoriasControlador.mostrarFormularioModificar(convocatoriaAModificar);
-                    } catch (Exception e) {
-                        ErrorVistaGenerador.mostrarErrorDB(e);
-                    }
+                    String identificador = String.valueOf(
+                            panelConvocatorias.tablaObjetos.getValueAt(filaSeleccionada, 0));
+                    TareaSegundoPlano.ejecutar(panelConvocatorias, () -> convocatoriasServicio.leerPorID(identificador),
+                            convocatoriasControlador::mostrarFormularioModificar);
                 }
             }
             // Si el usuario desea actualizar los datos de las convocatorias
-            case (StringsFinales.ACTUALIZAR) -> {
-                try {
-                    panelConvocatorias.mostrarConvocatorias(
-                            convocatoriasControlador.getConvocatoriasVisibles(), presentacionesServicio.leerTodo());
-                } catch (Exception e) {
-                    ErrorVistaGenerador.mostrarErrorDB(e);
-                }
-            }
+            case (StringsFinales.ACTUALIZAR) -> mostrarConvocatorias(true);
+        }
+    }
+
+    /**
+     * Convocatorias leidas en segundo plano junto con la cantidad de presentaciones de cada una
+     */
+    private static final class ConvocatoriasLeidas {
+        final LinkedList<Convocatoria> convocatorias;
+        final Map<String, Integer> presentacionesRealizadas;
+
+        ConvocatoriasLeidas(LinkedList<Convocatoria> convocatorias, Map<String, Integer> presentacionesRealizadas) {
+            this.convocatorias = convocatorias;
+            this.presentacionesRealizadas = presentacionesRealizadas;
         }
     }
 }
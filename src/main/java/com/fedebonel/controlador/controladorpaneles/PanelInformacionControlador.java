@@ -1,13 +1,17 @@
 package com.fedebonel.controlador.controladorpaneles;
 
+import com.fedebonel.controlador.TareaSegundoPlano;
+import com.fedebonel.modelo.accesodatos.EjecutorAccesoDatos;
+import com.fedebonel.modelo.estadisticas.EstadisticaMunicipio;
+import com.fedebonel.modelo.estadisticas.TotalesPresentaciones;
 import com.fedebonel.modelo.usuario.Usuario;
-import com.fedebonel.servicios.MunicipiosServicio;
-import com.fedebonel.servicios.PresentacionesServicio;
+import com.fedebonel.servicios.EstadisticasServicio;
 import com.fedebonel.vista.StringsFinales;
-import com.fedebonel.vista.errores.ErrorVistaGenerador;
 import com.fedebonel.vista.menuprincipal.InformacionPanel;
 
 import java.awt.event.ActionEvent;
+import java.util.LinkedList;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controlador del panel informacion, funciona como un puente entre el usuario, la vista del panel de informacion
@@ -15,13 +19,9 @@ import java.awt.event.ActionEvent;
  */
 public class PanelInformacionControlador implements PanelControlador<InformacionPanel> {
     /**
-     * Servicio de Municipios
+     * Servicio de las estadisticas que muestra el panel
      */
-    private final MunicipiosServicio municipiosServicio;
-    /**
-     * Servicio de Presentaciones
-     */
-    private final PresentacionesServicio presentacionesServicio;
+    private final EstadisticasServicio estadisticasServicio;
     /**
      * Vista de menu principal gestionada por este controlador
      */
@@ -34,13 +34,10 @@ public class PanelInformacionControlador implements PanelControlador<Informacion
     /**
      * Constructor del controlador del panel de informacion
      *
-     * @param municipiosServicio     Servicio de municipios
-     * @param presentacionesServicio Servicio de presentaciones
+     * @param estadisticasServicio Servicio de las estadisticas que muestra el panel
      */
-    public PanelInformacionControlador(MunicipiosServicio municipiosServicio,
-                                       PresentacionesServicio presentacionesServicio) {
-        this.municipiosServicio = municipiosServicio;
-        this.presentacionesServicio = presentacionesServicio;
+    public PanelInformacionControlador(EstadisticasServicio estadisticasServicio) {
+        this.estadisticasServicio = estadisticasServicio;
     }
 
     /**
@@ -70,12 +67,8 @@ public class PanelInformacionControlador implements PanelControlador<Informacion
      */
     @Override
     public void configurarPanel(Usuario usuarioLogueado) {
-        try {
-            // Todos pueden ver esto
-            informacionPanel.mostrarInformacion(municipiosServicio.leerTodo(), presentacionesServicio.leerTodo());
-        } catch (Exception e) {
-            ErrorVistaGenerador.mostrarErrorDB(e);
-        }
+        // Todos pueden ver esto
+        mostrarInformacion();
     }
 
     /**
@@ -86,13 +79,34 @@ public class PanelInformacionControlador implements PanelControlador<Informacion
     @Override
     public void actionPerformed(ActionEvent evento) {
         String accion = evento.getActionCommand();
-        if (StringsFinales.ACTUALIZAR.equals(accion)) {
-            try {
-                informacionPanel
-                        .mostrarInformacion(municipiosServicio.leerTodo(), presentacionesServicio.leerTodo());
-            } catch (Exception e) {
-                ErrorVistaGenerador.mostrarErrorDB(e);
-            }
+        if (StringsFinales.ACTUALIZAR.equals(accion)) mostrarInformacion();
+    }
+
+    /**
+     * Lee en segundo plano las estadisticas agrupadas en la base de datos y las muestra al terminar,
+     * sin leer municipios ni presentaciones. Las dos agregaciones se leen en paralelo
+     */
+    private void mostrarInformacion() {
+        TareaSegundoPlano.ejecutar(informacionPanel, () -> {
+            CompletableFuture<LinkedList<EstadisticaMunicipio>> municipios =
+                    estadisticasServicio.leerPorMunicipioAsync();
+            CompletableFuture<TotalesPresentaciones> presentaciones =
+                    estadisticasServicio.leerTotalesPresentacionesAsync();
+            return new EstadisticasLeidas(EjecutorAccesoDatos.esperar(municipios),
+                    EjecutorAccesoDatos.esperar(presentaciones));
+        }, leidas -> informacionPanel.mostrarInformacion(leidas.municipios, leidas.presentaciones));
+    }
+
+    /**
+     * Estadisticas leidas en segundo plano
+     */
+    private static final class EstadisticasLeidas {
+        final LinkedList<EstadisticaMunicipio> municipios;
+        final TotalesPresentaciones presentaciones;
+
+        EstadisticasLeidas(LinkedList<EstadisticaMunicipio> municipios, TotalesPresentaciones presentaciones) {
+            this.municipios = municipios;
+            this.presentaciones = presentaciones;
         }
     }
 }
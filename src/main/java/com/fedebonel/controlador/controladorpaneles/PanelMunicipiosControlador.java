@@ -1,9 +1,11 @@
 package com.fedebonel.controlador.controladorpaneles;
 
+import com.fedebonel.controlador.TareaSegundoPlano;
 import com.fedebonel.controlador.controladorobjetos.MunicipiosControlador;
 import com.fedebonel.modelo.municipio.Municipio;
 import com.fedebonel.modelo.usuario.RolUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.servicios.InstantaneaDominio;
 import com.fedebonel.servicios.MunicipiosServicio;
 import com.fedebonel.vista.StringsFinales;
 import com.fedebonel.vista.errores.ErrorVistaGenerador;
@@ -21,6 +23,10 @@ public class PanelMunicipiosControlador implements PanelControlador<MunicipiosPa
      * Controlador de municipios a ser utilizado por el usuario
      */
     private final MunicipiosControlador municipiosControlador;
+    /**
+     * Instantanea de las entidades que muestra el panel
+     */
+    private final InstantaneaDominio instantaneaDominio;
     /**
      * Servicio de municipios
      */
@@ -35,11 +41,14 @@ public class PanelMunicipiosControlador implements PanelControlador<MunicipiosPa
      *
      * @param municipiosServicio    Servicio de municipios
      * @param municipiosControlador Controlador de municipios
+     * @param instantaneaDominio    Instantanea de las entidades que muestra el panel
      */
     public PanelMunicipiosControlador(MunicipiosServicio municipiosServicio,
-                                      MunicipiosControlador municipiosControlador) {
+                                      MunicipiosControlador municipiosControlador,
+                                      InstantaneaDominio instantaneaDominio) {
         this.municipiosServicio = municipiosServicio;
         this.municipiosControlador = municipiosControlador;
+        this.instantaneaDominio = instantaneaDominio;
     }
 
     /**
@@ -72,7 +81,7 @@ public class PanelMunicipiosControlador implements PanelControlador<MunicipiosPa
     @Override
     public void configurarPanel(Usuario usuarioLogueado) {
         // Carga los municipios
-        panelMunicipios.mostrarMunicipios(municipiosControlador.getMunicipiosVisibles());
+        mostrarMunicipios(false);
         // Si no tiene permiso para crear quita el boton
         if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[1], RolUsuario.ACCIONES[0]))
             panelMunicipios.crearBoton.setVisible(false);
@@ -85,6 +94,17 @@ public class PanelMunicipiosControlador implements PanelControlador<MunicipiosPa
             panelMunicipios.eliminarBoton.setVisible(false);
     }
 
+    /**
+     * Lee en segundo plano los municipios visibles para el usuario y los muestra en el panel al terminar
+     *
+     * @param actualizarInstantanea Si antes de leer se debe actualizar la instantanea desde la base de datos
+     */
+    private void mostrarMunicipios(boolean actualizarInstantanea) {
+        TareaSegundoPlano.ejecutar(panelMunicipios, () -> {
+            if (actualizarInstantanea) instantaneaDominio.actualizar();
+            return municipiosControlador.getMunicipiosVisibles();
+        }, panelMunicipios::mostrarMunicipios);
+    }
 
     /**
      * Lee las interacciones del usuario sobre las vistas que este controlador gestiona
@@ -105,14 +125,14 @@ public class PanelMunicipiosControlador implements PanelControlador<MunicipiosPa
                             panelMunicipios.tablaObjetos.getValueAt(filaSeleccionada, 0));
                     boolean eliminar = FormularioOpcionesGenerador.mostrarOpcionSiNoEliminar(identificador);
                     if (eliminar) {
-                        try {
+                        TareaSegundoPlano.ejecutar(panelMunicipios, () -> {
                             Municipio municipioAEliminar = municipiosServicio.leerPorID(identificador);
-                            municipiosControlador.eliminarMunicipio(municipioAEliminar);
+                            return municipiosControlador.eliminarMunicipio(municipioAEliminar);
+                        }, eliminado -> {
                             // Actualiza los datos
-                            panelMunicipios.mostrarMunicipios(municipiosControlador.getMunicipiosVisibles());
-                        } catch (Exception e) {
-                            ErrorVistaGenerador.mostrarErrorDB(e);
-                        }
+                            if (eliminado) mostrarMunicipios(true);
+                            else ErrorVistaGenerador.mostrarErrorNoPermisos();
+                        });
                     }
                 }
             }
@@ -120,17 +140,14 @@ public class PanelMunicipiosControlador implements PanelControlador<MunicipiosPa
             case (StringsFinales.MODIFICAR) -> {
                 int filaSeleccionada = panelMunicipios.tablaObjetos.getSelectedRow();
                 if (filaSeleccionada >= 0) {
-                    try {
-                        String identificador = String.valueOf(panelMunicipios.tablaObjetos.getValueAt(filaSeleccionada, 0));
-                        Municipio municipioAModificar = municipiosServicio.leerPorID(identificador);
-                        municipiosControlador.mostrarFormularioModificar(municipioAModificar);
-                    } catch (Exception e) {
-                        ErrorVistaGenerador.mostrarErrorDB(e);
-                    }
+                    String identificador = String.valueOf(
+                            panelMunicipios.tablaObjetos.getValueAt(filaSeleccionada, 0));
+                    TareaSegundoPlano.ejecutar(panelMunicipios, () -> municipiosServicio.leerPorID(identificador),
+                            municipiosControlador::mostrarFormularioModificar);
                 }
             }
             // Si el usuario desea actualizar los datos de los municipios
-            case (StringsFinales.ACTUALIZAR) -> panelMunicipios.mostrarMunicipios(municipiosControlador.getMunicipiosVisibles());
+            case (StringsFinales.ACTUALIZAR) -> mostrarMunicipios(true);
         }
     }
 }
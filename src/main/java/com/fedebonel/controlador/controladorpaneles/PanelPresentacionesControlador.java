@@ -1,9 +1,11 @@
 package com.fedebonel.controlador.controladorpaneles;
 
+import com.fedebonel.controlador.TareaSegundoPlano;
 import com.fedebonel.controlador.controladorobjetos.PresentacionesControlador;
 import com.fedebonel.modelo.evento.Presentacion;
 import com.fedebonel.modelo.usuario.RolUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.servicios.InstantaneaDominio;
 import com.fedebonel.servicios.PresentacionesServicio;
 import com.fedebonel.vista.StringsFinales;
 import com.fedebonel.vista.errores.ErrorVistaGenerador;
@@ -21,6 +23,10 @@ public class PanelPresentacionesControlador implements PanelControlador<Presenta
      * Controlador de presentaciones a ser utilizado por el usuario
      */
     private final PresentacionesControlador presentacionesControlador;
+    /**
+     * Instantanea de las entidades que muestra el panel
+     */
+    private final InstantaneaDominio instantaneaDominio;
     /**
      * Servicio de presentaciones
      */
@@ -35,11 +41,14 @@ public class PanelPresentacionesControlador implements PanelControlador<Presenta
      *
      * @param presentacionesServicio    Servicio de presentaciones
      * @param presentacionesControlador controlador de presentaciones
+     * @param instantaneaDominio        Instantanea de las entidades que muestra el panel
      */
     public PanelPresentacionesControlador(PresentacionesServicio presentacionesServicio,
-                                          PresentacionesControlador presentacionesControlador) {
+                                          PresentacionesControlador presentacionesControlador,
+                                          InstantaneaDominio instantaneaDominio) {
         this.presentacionesServicio = presentacionesServicio;
         this.presentacionesControlador = presentacionesControlador;
+        this.instantaneaDominio = instantaneaDominio;
 
     }
 
@@ -73,7 +82,7 @@ public class PanelPresentacionesControlador implements PanelControlador<Presenta
     @Override
     public void configurarPanel(Usuario usuarioLogueado) {
         // Carga las presentaciones
-        panelPresentaciones.mostrarPresentaciones(presentacionesControlador.getPresentacionesVisibles());
+        mostrarPresentaciones(false);
         // Si no tiene permiso para crear quita el boton
         if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[3], RolUsuario.ACCIONES[0]))
             panelPresentaciones.crearBoton.setVisible(false);
@@ -86,6 +95,18 @@ public class PanelPresentacionesControlador implements PanelControlador<Presenta
             panelPresentaciones.eliminarBoton.setVisible(false);
     }
 
+    /**
+     * Lee en segundo plano las presentaciones visibles para el usuario y las muestra en el panel al terminar
+     *
+     * @param actualizarInstantanea Si antes de leer se debe actualizar la instantanea desde la base de datos
+     */
+    private void mostrarPresentaciones(boolean actualizarInstantanea) {
+        TareaSegundoPlano.ejecutar(panelPresentaciones, () -> {
+            if (actualizarInstantanea) instantaneaDominio.actualizar();
+            return presentacionesControlador.getPresentacionesVisibles();
+        }, panelPresentaciones::mostrarPresentaciones);
+    }
+
     /**
      * Lee las interacciones del usuario sobre las vistas que este controlador gestiona
      *
@@ -104,14 +125,14 @@ public class PanelPresentacionesControlador implements PanelControlador<Presenta
                     String identificador = String.valueOf(panelPresentaciones.tablaObjetos.getValueAt(filaSeleccionada, 0));
                     boolean eliminar = FormularioOpcionesGenerador.mostrarOpcionSiNoEliminar(identificador);
                     if (eliminar) {
-                        try {
+                        TareaSegundoPlano.ejecutar(panelPresentaciones, () -> {
                             Presentacion presentacionAEliminar = presentacionesServicio.leerPorID(identificador);
-                            presentacionesControlador.eliminarPresentacion(presentacionAEliminar);
+                            return presentacionesControlador.eliminarPresentacion(presentacionAEliminar);
+                        }, eliminada -> {
                             // Actualiza los datos
-                            panelPresentaciones.mostrarPresentaciones(presentacionesControlador.getPresentacionesVisibles());
-                        } catch (Exception e) {
-                            ErrorVistaGenerador.mostrarErrorDB(e);
-                        }
+                            if (eliminada) mostrarPresentaciones(true);
+                            else ErrorVistaGenerador.mostrarErrorNoPermisos();
+                        });
                     }
                 }
             }
@@ -119,17 +140,15 @@ public class PanelPresentacionesControlador implements PanelControlador<Presenta
             case (StringsFinales.MODIFICAR) -> {
                 int filaSeleccionada = panelPresentaciones.tablaObjetos.getSelectedRow();
                 if (filaSeleccionada >= 0) {
-                    try {
-                        String identificador = String.valueOf(panelPresentaciones.tablaObjetos.getValueAt(filaSeleccionada, 0));
-                        Presentacion presentacionAModificar = presentacionesServicio.leerPorID(identificador);
-                        presentacionesControlador.mostrarFormularioModificar(presentacionAModificar);
-                    } catch (Exception e) {
-                        ErrorVistaGenerador.mostrarErrorDB(e);
-                    }
+                    String identificador = String.valueOf(
+                            panelPresentaciones.tablaObjetos.getValueAt(filaSeleccionada, 0));
+                    TareaSegundoPlano.ejecutar(panelPresentaciones,
+                            () -> presentacionesServicio.leerPorID(identificador),
+                            presentacionesControlador::mostrarFormularioModificar);
                 }
             }
             // Si el usuario desea actualizar los datos de las presentaciones
-            case (StringsFinales.ACTUALIZAR) -> panelPresentaciones.mostrarPresentaciones(presentacionesControlador.getPresentacionesVisibles());
+            case (StringsFinales.ACTUALIZAR) -> mostrarPresentaciones(true);
         }
     }
 }
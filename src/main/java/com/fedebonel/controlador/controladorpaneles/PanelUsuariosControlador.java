@@ -1,8 +1,10 @@
 package com.fedebonel.controlador.controladorpaneles;
 
+import com.fedebonel.controlador.TareaSegundoPlano;
 import com.fedebonel.controlador.controladorobjetos.UsuariosControlador;
 import com.fedebonel.modelo.usuario.RolUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.servicios.InstantaneaDominio;
 import com.fedebonel.servicios.UsuariosServicio;
 import com.fedebonel.vista.StringsFinales;
 import com.fedebonel.vista.errores.ErrorVistaGenerador;
@@ -24,6 +26,10 @@ public class PanelUsuariosControlador implements PanelControlador<UsuariosPanel>
      * Servicio de usuarios
      */
     private final UsuariosServicio usuariosServicio;
+    /**
+     * Instantanea de las entidades que muestra el panel
+     */
+    private final InstantaneaDominio instantaneaDominio;
     /**
      * Vista de menu principal gestionada por este controlador
      */
@@ -34,10 +40,13 @@ public class PanelUsuariosControlador implements PanelControlador<UsuariosPanel>
      *
      * @param usuariosControlador Controlador de usuarios
      * @param usuariosServicio    Servicio de usuarios
+     * @param instantaneaDominio  Instantanea de las entidades que muestra el panel
      */
-    public PanelUsuariosControlador(UsuariosControlador usuariosControlador, UsuariosServicio usuariosServicio) {
+    public PanelUsuariosControlador(UsuariosControlador usuariosControlador, UsuariosServicio usuariosServicio,
+                                    InstantaneaDominio instantaneaDominio) {
         this.usuariosControlador = usuariosControlador;
         this.usuariosServicio = usuariosServicio;
+        this.instantaneaDominio = instantaneaDominio;
     }
 
     /**
@@ -70,7 +79,7 @@ public class PanelUsuariosControlador implements PanelControlador<UsuariosPanel>
     @Override
     public void configurarPanel(Usuario usuarioLogueado) {
         // Carga los usuarios
-        panelUsuarios.mostrarUsuarios(usuariosControlador.getUsuariosVisibles());
+        mostrarUsuarios(false);
         // Si no tiene permiso para crear quita el boton
         if (!usuarioLogueado.rolUsuario.tienePermiso(RolUsuario.OBJETOS[0], RolUsuario.ACCIONES[0]))
             panelUsuarios.crearBoton.setVisible(false);
@@ -82,6 +91,18 @@ public class PanelUsuariosControlador implements PanelControlador<UsuariosPanel>
             panelUsuarios.eliminarBoton.setVisible(false);
     }
 
+    /**
+     * Lee en segundo plano los usuarios visibles para el usuario y los muestra en el panel al terminar
+     *
+     * @param actualizarInstantanea Si antes de leer se debe actualizar la instantanea desde la base de datos
+     */
+    private void mostrarUsuarios(boolean actualizarInstantanea) {
+        TareaSegundoPlano.ejecutar(panelUsuarios, () -> {
+            if (actualizarInstantanea) instantaneaDominio.actualizar();
+            return usuariosControlador.getUsuariosVisibles();
+        }, panelUsuarios::mostrarUsuarios);
+    }
+
     /**
      * Lee las interacciones del usuario sobre las vistas que este controlador gestiona
      *
@@ -101,14 +122,14 @@ public class PanelUsuariosControlador implements PanelControlador<UsuariosPanel>
                             panelUsuarios.tablaObjetos.getValueAt(filaSeleccionada, 0));
                     boolean eliminar = FormularioOpcionesGenerador.mostrarOpcionSiNoEliminar(identificador);
                     if (eliminar) {
-                        try {
+                        TareaSegundoPlano.ejecutar(panelUsuarios, () -> {
                             Usuario usuarioAEliminar = usuariosServicio.leerPorID(identificador);
-                            usuariosControlador.eliminarUsuario(usuarioAEliminar);
+                            return usuariosControlador.eliminarUsuario(usuarioAEliminar);
+                        }, eliminado -> {
                             // Actualiza los datos
-                            panelUsuarios.mostrarUsuarios(usuariosControlador.getUsuariosVisibles());
-                        } catch (Exception e) {
-                            ErrorVistaGenerador.mostrarErrorDB(e);
-                        }
+                            if (eliminado) mostrarUsuarios(true);
+                            else ErrorVistaGenerador.mostrarErrorNoPermisos();
+                        });
                     }
                 }
             }
@@ -118,16 +139,12 @@ public class PanelUsuariosControlador implements PanelControlador<UsuariosPanel>
                 if (filaSeleccionada >= 0) {
                     String identificador = String.valueOf(
                             panelUsuarios.tablaObjetos.getValueAt(filaSeleccionada, 0));
-                    try {
-                        Usuario usuarioAModificar = usuariosServicio.leerPorID(identificador);
-                        usuariosControlador.mostrarFormularioModificar(usuarioAModificar);
-                    } catch (Exception e) {
-                        ErrorVistaGenerador.mostrarErrorDB(e);
-                    }
+                    TareaSegundoPlano.ejecutar(panelUsuarios, () -> usuariosServicio.leerPorID(identificador),
+                            usuariosControlador::mostrarFormularioModificar);
                 }
             }
             // Si el usuario desea actualizar los datos de los usuarios
-            case (StringsFinales.ACTUALIZAR) -> panelUsuarios.mostrarUsuarios(usuariosControlador.getUsuariosVisibles());
+            case (StringsFinales.ACTUALIZAR) -> mostrarUsuarios(true);
         }
     }
 }
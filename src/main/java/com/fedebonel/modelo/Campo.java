@@ -0,0 +1,45 @@
+package com.fedebonel.modelo;
+
+/**
+ * Campo actualizable de una entidad: columna de la base de datos en la que se guarda y tipo de sus valores.
+ * Cada entidad los enumera en un enum propio, de modo que solo se puedan actualizar sus campos con valores del tipo
+ * correcto
+ */
+public interface Campo {
+    /**
+     * String constante que posee el error cuando el valor no corresponde al tipo del campo
+     */
+    String ERROR_VALOR_INVALIDO = "Valor invalido para el campo ";
+
+    /**
+     * Devuelve el nombre de la columna del campo en la base de datos
+     *
+     * @return Nombre de la columna
+     */
+    String getColumna();
+
+    /**
+     * Devuelve el tipo de los valores del campo
+     *
+     * @return Tipo de los valores
+     */
+    TipoCampo getTipo();
+
+    /**
+     * Indica si el campo admite un valor nulo
+     *
+     * @return true si admite un valor nulo
+     */
+    boolean isNulable();
+
+    /**
+     * Verifica que el valor pueda asignarse al campo
+     *
+     * @param valor Valor a asignar
+     * @throws IllegalArgumentException Si el valor es nulo y el campo no lo admite, o no es del tipo del campo
+     */
+    default void validar(Object valor) throws IllegalArgumentException {
+        if (valor == null ? !isNulable() : !getTipo().getClase().isInstance(valor))
+            throw new IllegalArgumentException(ERROR_VALOR_INVALIDO + getColumna() + ": " + valor);
+    }
+}
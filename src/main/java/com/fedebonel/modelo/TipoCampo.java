@@ -0,0 +1,26 @@
+package com.fedebonel.modelo;
+
+import java.time.LocalDate;
+
+/**
+ * Tipos de los valores de los campos de las entidades, cada uno con la clase de sus valores en Java
+ */
+public enum TipoCampo {
+    TEXTO(String.class),
+    ENTERO(Integer.class),
+    FECHA(LocalDate.class),
+    BOOLEANO(Boolean.class);
+
+    /**
+     * Clase de los valores del tipo
+     */
+    private final Class<?> clase;
+
+    TipoCampo(Class<?> clase) {
+        this.clase = clase;
+    }
+
+    public Class<?> getClase() {
+        return clase;
+    }
+}
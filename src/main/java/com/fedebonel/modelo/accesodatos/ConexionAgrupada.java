@@ -0,0 +1,204 @@
+package com.fedebonel.modelo.accesodatos;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedList;
+
+/**
+ * Conexion fisica administrada por el pool, junto con su estado de prestamo
+ */
+class ConexionAgrupada {
+
+    /**
+     * String constante que posee el error cuando se usa una conexion ya devuelta al pool
+     */
+    static final String ERROR_CONEXION_DEVUELTA = "La conexion ya fue devuelta al pool";
+
+    /**
+     * Conexion fisica a la base de datos
+     */
+    private final Connection conexion;
+    /**
+     * Momento (System.nanoTime) en el que la conexion volvio al pool por ultima vez
+     */
+    private volatile long momentoDevolucion;
+    /**
+     * Momento (System.nanoTime) en el que la conexion fue prestada por ultima vez
+     */
+    private volatile long momentoPrestamo;
+    /**
+     * Traza de la pila del hilo que tomo prestada la conexion, utilizada para reportar fugas
+     */
+    private volatile Exception origenPrestamo;
+    /**
+     * Indica si la fuga de este prestamo ya fue reportada
+     */
+    private volatile boolean fugaReportada;
+
+    /**
+     * Constructor de la conexion agrupada
+     *
+     * @param conexion Conexion fisica a administrar
+     */
+    ConexionAgrupada(Connection conexion) {
+        this.conexion = conexion;
+        this.momentoDevolucion = System.nanoTime();
+    }
+
+    /**
+     * Verifica que la conexion fisica siga viva
+     *
+     * @param timeoutSegundos Tiempo maximo de espera de la validacion
+     * @return true si la conexion responde, false en caso contrario
+     */
+    boolean esValida(int timeoutSegundos) {
+        try {
+            return !conexion.isClosed() && conexion.isValid(timeoutSegundos);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Marca la conexion como prestada
+     *
+     * @param registrarOrigen Si se debe capturar la pila del hilo que toma la conexion
+     */
+    void marcarPrestada(boolean registrarOrigen) {
+        momentoPrestamo = System.nanoTime();
+        origenPrestamo = registrarOrigen ? new Exception("Conexion tomada aqui") : null;
+        fugaReportada = false;
+    }
+
+    /**
+     * Deja la conexion en su estado por defecto para el proximo prestamo
+     *
+     * @throws SQLException Si la conexion no puede restablecerse (y por lo tanto debe descartarse)
+     */
+    void restablecer() throws SQLException {
+        if (!conexion.getAutoCommit()) {
+            conexion.rollback();
+            conexion.setAutoCommit(true);
+        }
+        conexion.clearWarnings();
+        origenPrestamo = null;
+        momentoDevolucion = System.nanoTime();
+    }
+
+    /**
+     * Cierra la conexion fisica ignorando cualquier error
+     */
+    void cerrarFisica() {
+        try {
+            conexion.close();
+        } catch (SQLException ignorada) {
+            // La conexion se descarta de todas formas
+        }
+    }
+
+    long getMomentoDevolucion() {
+        return momentoDevolucion;
+    }
+
+    long getMomentoPrestamo() {
+        return momentoPrestamo;
+    }
+
+    Exception getOrigenPrestamo() {
+        return origenPrestamo;
+    }
+
+    boolean isFugaReportada() {
+        return fugaReportada;
+    }
+
+    void setFugaReportada(boolean fugaReportada) {
+        this.fugaReportada = fugaReportada;
+    }
+
+    /**
+     * Crea la vista de la conexion que se entrega a los repositorios, su metodo close() la devuelve al pool
+     *
+     * @param pool Pool al que se devuelve la conexion
+     * @return Conexion a utilizar durante un prestamo
+     */
+    Connection crearVistaPrestamo(PoolConexiones pool) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ManejadorPrestamo(pool));
+    }
+
+    /**
+     * Manejador de las invocaciones sobre la conexion prestada
+     */
+    private class ManejadorPrestamo implements InvocationHandler {
+        /**
+         * Pool al que se devuelve la conexion
+         */
+        private final PoolConexiones pool;
+        /**
+         * Sentencias creadas durante este prestamo, se cierran al devolver la conexion
+         */
+        private final LinkedList<Statement> sentencias = new LinkedList<>();
+        /**
+         * Indica si la conexion ya fue devuelta
+         */
+        private boolean devuelta = false;
+
+        private ManejadorPrestamo(PoolConexiones pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close" -> {
+                    if (!devuelta) {
+                        devuelta = true;
+                        cerrarSentencias();
+                        pool.devolver(ConexionAgrupada.this);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return devuelta || conexion.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "ConexionAgrupada@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+            }
+            if (devuelta) throw new SQLException(ERROR_CONEXION_DEVUELTA);
+            try {
+                Object resultado = metodo.invoke(conexion, args);
+                if (resultado instanceof Statement sentencia) sentencias.add(sentencia);
+                return resultado;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Cierra las sentencias que el repositorio haya dejado abiertas
+         */
+        private void cerrarSentencias() {
+            for (Statement sentencia : sentencias) {
+                try {
+                    sentencia.close();
+                } catch (SQLException ignorada) {
+                    // La sentencia pertenece a una conexion que sigue siendo valida
+                }
+            }
+            sentencias.clear();
+        }
+    }
+}
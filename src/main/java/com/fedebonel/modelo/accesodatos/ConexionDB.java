@@ -3,10 +3,12 @@ package com.fedebonel.modelo.accesodatos;
 import java.io.FileInputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.util.Properties;
 
 /**
- * Singleton utilizado para conectarse a la base de datos del programa
+ * Punto de acceso a la base de datos del programa, presta conexiones de un pool compartido.
+ * Toda conexion obtenida debe cerrarse (idealmente con try-with-resources) para devolverla al pool
  */
 public class ConexionDB {
 
@@ -14,62 +16,82 @@ public class ConexionDB {
      * String constante que posee el error a mostrar cuando hubo fallo en acceso a base de datos
      */
     public static final String ERROR_ACCESO_BASE_DATOS = "Error en acceso a base de datos: ";
-
     /**
-     * Objeto conexion del acceso a la base de datos
+     * Tiempo de espera en segundos antes de lanzar error de conexion
      */
-    private static Connection conn = null;
+    private static final int TIME_OUT = 10;
     /**
-     * Tiempo de espera en segundos antes de lanzar error de conexion
+     * Archivo de configuracion del acceso a la base de datos
      */
-    private final int TIME_OUT = 10;
+    private static final String ARCHIVO_CONFIGURACION = "config.properties";
+
     /**
-     * Driver a utilizar para la conexion
+     * Pool de conexiones a la base de datos, se crea la primera vez que se pide una conexion
      */
-    private String driver;
+    private static volatile PoolConexiones pool = null;
+
     /**
-     * URL donde esta almacenada la base de datos
+     * Clase de acceso estatico, no se instancia
      */
-    private String url;
+    private ConexionDB() {
+    }
+
     /**
-     * Contenedor del usuario a conectarse a la base de datos
+     * Crea el pool si aun no existe, si la creacion falla se reintenta en el proximo pedido
+     *
+     * @return Pool de conexiones
+     * @throws SQLException Si no se pudo leer la configuracion o cargar el driver
      */
-    private String usuario;
+    private static PoolConexiones getPool() throws SQLException {
+        PoolConexiones actual = pool;
+        if (actual != null) return actual;
+        synchronized (ConexionDB.class) {
+            if (pool == null) {
+                Properties prop = new Properties();
+                try (FileInputStream ip = new FileInputStream(ARCHIVO_CONFIGURACION)) {
+                    prop.load(ip);
+                    Class.forName(prop.getProperty("driver"));
+                } catch (Exception e) {
+                    System.out.println(ERROR_ACCESO_BASE_DATOS);
+                    System.out.println(e.getMessage());
+                    throw new SQLException(e.getMessage(), e);
+                }
+                DriverManager.setLoginTimeout(TIME_OUT);
+                PoolConexiones nuevo = new PoolConexiones(prop);
+                Runtime.getRuntime().addShutdownHook(new Thread(nuevo::cerrar, "pool-conexiones-cierre"));
+                pool = nuevo;
+            }
+            return pool;
+        }
+    }
+
     /**
-     * Contenedor de la clave del usuario
+     * Metodo utilizado para obtener el acceso a la base de datos
+     *
+     * @return Objeto Connection prestado por el pool, al cerrarlo se devuelve al pool
+     * @throws SQLException Si no se pudo obtener una conexion valida
      */
-    private String password;
+    public static Connection getConnection() throws SQLException {
+        return getPool().obtenerConexion();
+    }
 
     /**
-     * Constructor privado del singleton, se llama automaticamente al llamar al metodo publico getConnection()
+     * Devuelve las metricas actuales del pool de conexiones
+     *
+     * @return Metricas del pool
+     * @throws SQLException Si el pool no pudo crearse
      */
-    private ConexionDB() {
-        try {
-            Properties prop = new Properties();
-            FileInputStream ip = new FileInputStream("config.properties");
-            prop.load(ip);
-            url = prop.getProperty("url");
-            driver = prop.getProperty("driver");
-            usuario = prop.getProperty("usuario");
-            password = prop.getProperty("clave");
-            Class.forName(driver);
-            DriverManager.setLoginTimeout(TIME_OUT);
-            conn = DriverManager.getConnection(url, usuario, password);
-        } catch (Exception e) {
-            System.out.println(ERROR_ACCESO_BASE_DATOS);
-            System.out.println(e.getMessage());
-        }
+    public static MetricasPool getMetricas() throws SQLException {
+        return getPool().getMetricas();
     }
 
     /**
-     * Metodo utilizado para obtener el acceso a la base de datos
+     * Devuelve la cantidad maxima de conexiones que el pool presta simultaneamente
      *
-     * @return Objeto Connection que contiene la conexion a la base de datos
+     * @return Maximo de conexiones del pool
+     * @throws SQLException Si el pool no pudo crearse
      */
-    public static Connection getConnection() {
-        if (conn == null) {
-            new ConexionDB();
-        }
-        return conn;
+    public static int getMaximoConexiones() throws SQLException {
+        return getPool().getMaximo();
     }
 }
@@ -0,0 +1,146 @@
+package com.fedebonel.modelo.accesodatos;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecutor de las operaciones asincronas de acceso a datos.
+ * Tiene un hilo menos que las conexiones que presta el pool (al menos uno) y cada repositorio tiene prestada una
+ * sola conexion a la vez, asi el ejecutor por si solo no agota el pool y queda una conexion para el resto de los
+ * hilos (vigilancia de cambios, tareas de segundo plano). Si esos hilos tambien toman conexiones, una operacion
+ * puede esperar una conexion libre hasta el tiempo maximo del pool; las operaciones que exceden la cantidad de
+ * hilos esperan en la cola del ejecutor.
+ * Las operaciones no deben esperar (join/get) el resultado de otra operacion asincrona, ya que podrian ocupar
+ * todos los hilos del ejecutor
+ */
+public class EjecutorAccesoDatos {
+
+    /**
+     * Tiempo que un hilo sin trabajo espera antes de terminar
+     */
+    private static final long INACTIVIDAD_HILOS_S = 60;
+
+    /**
+     * Ejecutor compartido, se crea con la primera operacion asincrona
+     */
+    private static volatile ExecutorService ejecutor = null;
+
+    /**
+     * Clase de acceso estatico, no se instancia
+     */
+    private EjecutorAccesoDatos() {
+    }
+
+    /**
+     * Operacion de acceso a datos a ejecutar de forma asincrona
+     *
+     * @param <R> Tipo del resultado de la operacion
+     */
+    public interface Operacion<R> {
+        /**
+         * Ejecuta la operacion
+         *
+         * @return Resultado de la operacion
+         * @throws SQLException Si hubo algun error en el acceso a base de datos
+         */
+        R ejecutar() throws SQLException;
+    }
+
+    /**
+     * Operacion de acceso a datos sin resultado a ejecutar de forma asincrona
+     */
+    public interface Accion {
+        /**
+         * Ejecuta la accion
+         *
+         * @throws SQLException Si hubo algun error en el acceso a base de datos
+         */
+        void ejecutar() throws SQLException;
+    }
+
+    /**
+     * Ejecuta la operacion en un hilo del ejecutor
+     *
+     * @param operacion Operacion a ejecutar
+     * @return Futuro con el resultado de la operacion, se completa con la excepcion de la operacion si esta falla
+     */
+    public static <R> CompletableFuture<R> ejecutar(Operacion<R> operacion) {
+        CompletableFuture<R> futuro = new CompletableFuture<>();
+        try {
+            getEjecutor().execute(() -> {
+                try {
+                    futuro.complete(operacion.ejecutar());
+                } catch (Throwable e) {
+                    futuro.completeExceptionally(e);
+                }
+            });
+        } catch (SQLException | RuntimeException e) {
+            futuro.completeExceptionally(e);
+        }
+        return futuro;
+    }
+
+    /**
+     * Ejecuta la accion en un hilo del ejecutor
+     *
+     * @param accion Accion a ejecutar
+     * @return Futuro que se completa al terminar la accion, o con su excepcion si esta falla
+     */
+    public static CompletableFuture<Void> ejecutarAccion(Accion accion) {
+        return ejecutar(() -> {
+            accion.ejecutar();
+            return null;
+        });
+    }
+
+    /**
+     * Espera el resultado de una operacion asincrona relanzando la excepcion original si esta fallo
+     *
+     * @param futuro Futuro de la operacion
+     * @return Resultado de la operacion
+     * @throws SQLException Si la operacion fallo por un error en el acceso a base de datos
+     */
+    public static <R> R esperar(CompletableFuture<R> futuro) throws SQLException {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof SQLException errorSQL) throw errorSQL;
+            if (causa instanceof RuntimeException errorEjecucion) throw errorEjecucion;
+            if (causa instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    /**
+     * Crea el ejecutor si aun no existe, con un hilo por cada conexion del pool salvo una reservada a los demas hilos
+     *
+     * @return Ejecutor compartido
+     * @throws SQLException Si el pool no pudo crearse
+     */
+    private static ExecutorService getEjecutor() throws SQLException {
+        ExecutorService actual = ejecutor;
+        if (actual != null) return actual;
+        synchronized (EjecutorAccesoDatos.class) {
+            if (ejecutor == null) {
+                int hilos = Math.max(1, ConexionDB.getMaximoConexiones() - 1);
+                AtomicInteger numeroHilo = new AtomicInteger();
+                ThreadPoolExecutor nuevo = new ThreadPoolExecutor(hilos, hilos,
+                        INACTIVIDAD_HILOS_S, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), tarea -> {
+                    Thread hilo = new Thread(tarea, "acceso-datos-" + numeroHilo.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+                nuevo.allowCoreThreadTimeOut(true);
+                ejecutor = nuevo;
+            }
+            return ejecutor;
+        }
+    }
+}
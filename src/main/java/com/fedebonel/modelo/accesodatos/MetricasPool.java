@@ -0,0 +1,143 @@
+package com.fedebonel.modelo.accesodatos;
+
+/**
+ * Fotografia inmutable del estado y de los contadores del pool de conexiones en un instante dado
+ */
+public class MetricasPool {
+    /**
+     * Conexiones fisicas abiertas (libres + prestadas)
+     */
+    private final int conexionesTotales;
+    /**
+     * Conexiones libres esperando a ser prestadas
+     */
+    private final int conexionesLibres;
+    /**
+     * Conexiones prestadas actualmente
+     */
+    private final int conexionesPrestadas;
+    /**
+     * Hilos bloqueados esperando una conexion
+     */
+    private final int hilosEsperando;
+    /**
+     * Total de prestamos realizados desde la creacion del pool
+     */
+    private final long totalPrestamos;
+    /**
+     * Tiempo total de espera acumulado por los prestamos en nanosegundos
+     */
+    private final long totalEsperaNanos;
+    /**
+     * Total de conexiones fisicas creadas
+     */
+    private final long totalCreadas;
+    /**
+     * Total de conexiones fisicas descartadas (invalidas, inactivas o rotas)
+     */
+    private final long totalDescartadas;
+    /**
+     * Total de prestamos que superaron el umbral de fuga
+     */
+    private final long totalFugas;
+    /**
+     * Total de prestamos que no consiguieron conexion en el tiempo maximo de espera
+     */
+    private final long totalTiemposAgotados;
+
+    /**
+     * Constructor de las metricas del pool
+     *
+     * @param conexionesTotales    Conexiones fisicas abiertas
+     * @param conexionesLibres     Conexiones libres
+     * @param conexionesPrestadas  Conexiones prestadas
+     * @param hilosEsperando       Hilos esperando una conexion
+     * @param totalPrestamos       Total de prestamos realizados
+     * @param totalEsperaNanos     Tiempo de espera acumulado en nanosegundos
+     * @param totalCreadas         Total de conexiones creadas
+     * @param totalDescartadas     Total de conexiones descartadas
+     * @param totalFugas           Total de fugas detectadas
+     * @param totalTiemposAgotados Total de esperas agotadas
+     */
+    public MetricasPool(int conexionesTotales, int conexionesLibres, int conexionesPrestadas, int hilosEsperando,
+                        long totalPrestamos, long totalEsperaNanos, long totalCreadas, long totalDescartadas,
+                        long totalFugas, long totalTiemposAgotados) {
+        this.conexionesTotales = conexionesTotales;
+        this.conexionesLibres = conexionesLibres;
+        this.conexionesPrestadas = conexionesPrestadas;
+        this.hilosEsperando = hilosEsperando;
+        this.totalPrestamos = totalPrestamos;
+        this.totalEsperaNanos = totalEsperaNanos;
+        this.totalCreadas = totalCreadas;
+        this.totalDescartadas = totalDescartadas;
+        this.totalFugas = totalFugas;
+        this.totalTiemposAgotados = totalTiemposAgotados;
+    }
+
+    public int getConexionesTotales() {
+        return conexionesTotales;
+    }
+
+    public int getConexionesLibres() {
+        return conexionesLibres;
+    }
+
+    public int getConexionesPrestadas() {
+        return conexionesPrestadas;
+    }
+
+    public int getHilosEsperando() {
+        return hilosEsperando;
+    }
+
+    public long getTotalPrestamos() {
+        return totalPrestamos;
+    }
+
+    public long getTotalCreadas() {
+        return totalCreadas;
+    }
+
+    public long getTotalDescartadas() {
+        return totalDescartadas;
+    }
+
+    public long getTotalFugas() {
+        return totalFugas;
+    }
+
+    public long getTotalTiemposAgotados() {
+        return totalTiemposAgotados;
+    }
+
+    /**
+     * Devuelve el tiempo de espera promedio por prestamo
+     *
+     * @return Tiempo de espera promedio en milisegundos, 0 si no hubo prestamos
+     */
+    public double getEsperaPromedioMs() {
+        if (totalPrestamos == 0) return 0;
+        return totalEsperaNanos / 1_000_000.0 / totalPrestamos;
+    }
+
+    /**
+     * Devuelve todas las metricas como string
+     *
+     * @return Todas las metricas como un string
+     */
+    @Override
+    public String toString() {
+        return "{" +
+                "totales=" + conexionesTotales +
+                ", libres=" + conexionesLibres +
+                ", prestadas=" + conexionesPrestadas +
+                ", esperando=" + hilosEsperando +
+                ", prestamos=" + totalPrestamos +
+                ", esperaPromedioMs=" + String.format("%.3f", getEsperaPromedioMs()) +
+                ", creadas=" + totalCreadas +
+                ", descartadas=" + totalDescartadas +
+                ", fugas=" + totalFugas +
+                ", tiemposAgotados=" + totalTiemposAgotados +
+                "} ";
+    }
+}
@@ -0,0 +1,367 @@
+package com.fedebonel.modelo.accesodatos;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de conexiones a la base de datos con validacion al prestar, desalojo de conexiones inactivas,
+ * deteccion de fugas y metricas.
+ * Se configura con las llaves "pool.*" del archivo de configuracion, las llaves "jdbc.*" se pasan al driver
+ */
+public class PoolConexiones {
+
+    /**
+     * String constante que posee el error cuando se pide una conexion a un pool cerrado
+     */
+    public static final String ERROR_POOL_CERRADO = "El pool de conexiones esta cerrado";
+    /**
+     * String constante que posee el error cuando no se consigue una conexion a tiempo
+     */
+    public static final String ERROR_TIEMPO_AGOTADO = "No se consiguio una conexion libre en (ms): ";
+    /**
+     * String constante que posee el error cuando la base de datos fallo recientemente y aun no se reintenta
+     */
+    public static final String ERROR_FALLO_RECIENTE = "La base de datos no respondio recientemente: ";
+    /**
+     * Ventana en milisegundos durante la cual una conexion recien devuelta no se vuelve a validar
+     */
+    private static final long VENTANA_SIN_VALIDACION_MS = 500;
+    /**
+     * Cantidad maxima de origenes de fuga distintos cuya pila se imprime, los siguientes solo se cuentan
+     */
+    private static final int MAXIMO_ORIGENES_FUGA = 50;
+
+    /**
+     * URL donde esta almacenada la base de datos
+     */
+    private final String url;
+    /**
+     * Prefijo de las llaves de configuracion que se pasan tal cual al driver (por ejemplo "jdbc.useCursorFetch")
+     */
+    private static final String PREFIJO_DRIVER = "jdbc.";
+    /**
+     * Usuario, clave y propiedades del driver utilizadas al abrir cada conexion
+     */
+    private final Properties credenciales;
+    /**
+     * Cantidad minima de conexiones a mantener abiertas
+     */
+    private final int minimo;
+    /**
+     * Cantidad maxima de conexiones prestadas simultaneamente
+     */
+    private final int maximo;
+    /**
+     * Tiempo maximo de espera por una conexion en milisegundos
+     */
+    private final long esperaMaximaMs;
+    /**
+     * Tiempo de inactividad en milisegundos tras el cual una conexion libre se cierra
+     */
+    private final long inactividadMaximaMs;
+    /**
+     * Tiempo en milisegundos que una conexion puede estar prestada antes de reportarse como fuga (0 desactiva)
+     */
+    private final long umbralFugaMs;
+    /**
+     * Tiempo maximo en segundos de la validacion de una conexion
+     */
+    private final int timeoutValidacionSeg;
+    /**
+     * Tiempo en milisegundos durante el cual, tras un fallo al conectar, se falla rapido sin reintentar
+     */
+    private final long reintentoMs;
+
+    /**
+     * Conexiones libres, la primera es la utilizada mas recientemente
+     */
+    private final LinkedBlockingDeque<ConexionAgrupada> libres = new LinkedBlockingDeque<>();
+    /**
+     * Conexiones prestadas actualmente
+     */
+    private final Set<ConexionAgrupada> prestadas = ConcurrentHashMap.newKeySet();
+    /**
+     * Pilas de los lugares donde se tomaron conexiones fugadas que ya se imprimieron, cada lugar se imprime una vez
+     */
+    private final Set<String> origenesFugaReportados = ConcurrentHashMap.newKeySet();
+    /**
+     * Permisos de prestamo, limita las conexiones prestadas al maximo configurado
+     */
+    private final Semaphore permisos;
+    /**
+     * Ejecutor de las tareas de mantenimiento (desalojo, relleno y deteccion de fugas)
+     */
+    private final ScheduledExecutorService mantenimiento;
+
+    // Metricas
+    private final AtomicLong totalPrestamos = new AtomicLong();
+    private final AtomicLong totalEsperaNanos = new AtomicLong();
+    private final AtomicLong totalCreadas = new AtomicLong();
+    private final AtomicLong totalDescartadas = new AtomicLong();
+    private final AtomicLong totalFugas = new AtomicLong();
+    private final AtomicLong totalTiemposAgotados = new AtomicLong();
+
+    /**
+     * Momento (System.nanoTime) del ultimo fallo al crear una conexion
+     */
+    private volatile long momentoUltimoFallo;
+    /**
+     * Ultimo fallo al crear una conexion, null si la ultima creacion fue exitosa
+     */
+    private volatile SQLException ultimoFallo;
+    /**
+     * Estado del pool
+     */
+    private volatile boolean cerrado = false;
+
+    /**
+     * Constructor del pool, no abre conexiones de forma sincronica: el minimo se completa en segundo plano
+     *
+     * @param configuracion Propiedades con la url, usuario, clave y las llaves "pool.*"
+     */
+    public PoolConexiones(Properties configuracion) {
+        url = configuracion.getProperty("url");
+        credenciales = new Properties();
+        credenciales.setProperty("user", configuracion.getProperty("usuario"));
+        credenciales.setProperty("password", configuracion.getProperty("clave"));
+        for (String llave : configuracion.stringPropertyNames())
+            if (llave.startsWith(PREFIJO_DRIVER))
+                credenciales.setProperty(llave.substring(PREFIJO_DRIVER.length()), configuracion.getProperty(llave).trim());
+        maximo = Math.max(1, leerEntero(configuracion, "pool.maximo", 10));
+        minimo = Math.min(maximo, Math.max(0, leerEntero(configuracion, "pool.minimo", 2)));
+        esperaMaximaMs = leerEntero(configuracion, "pool.espera_maxima_ms", 10000);
+        inactividadMaximaMs = leerEntero(configuracion, "pool.inactividad_maxima_ms", 600000);
+        umbralFugaMs = leerEntero(configuracion, "pool.umbral_fuga_ms", 60000);
+        timeoutValidacionSeg = leerEntero(configuracion, "pool.timeout_validacion_s", 3);
+        reintentoMs = leerEntero(configuracion, "pool.reintento_ms", 5000);
+        long intervaloMantenimientoMs = Math.max(1000, leerEntero(configuracion, "pool.intervalo_mantenimiento_ms", 30000));
+        permisos = new Semaphore(maximo, true);
+        mantenimiento = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "pool-conexiones-mantenimiento");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        mantenimiento.scheduleWithFixedDelay(this::mantener, 0, intervaloMantenimientoMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lee una llave numerica de la configuracion
+     *
+     * @param configuracion Propiedades de configuracion
+     * @param llave         Llave a leer
+     * @param porDefecto    Valor a utilizar si la llave no existe
+     * @return El valor configurado o el valor por defecto
+     */
+    private static int leerEntero(Properties configuracion, String llave, int porDefecto) {
+        String valor = configuracion.getProperty(llave);
+        return valor == null ? porDefecto : Integer.parseInt(valor.trim());
+    }
+
+    /**
+     * Toma prestada una conexion valida del pool, el llamador debe cerrarla para devolverla
+     *
+     * @return Conexion a la base de datos
+     * @throws SQLException Si el pool esta cerrado, no hubo conexion libre a tiempo o la base de datos no responde
+     */
+    public Connection obtenerConexion() throws SQLException {
+        if (cerrado) throw new SQLException(ERROR_POOL_CERRADO);
+        long inicio = System.nanoTime();
+        try {
+            if (!permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                totalTiemposAgotados.incrementAndGet();
+                throw new SQLTimeoutException(ERROR_TIEMPO_AGOTADO + esperaMaximaMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(ERROR_TIEMPO_AGOTADO + esperaMaximaMs, e);
+        }
+        try {
+            ConexionAgrupada conexion = tomarValida();
+            conexion.marcarPrestada(umbralFugaMs > 0);
+            prestadas.add(conexion);
+            totalPrestamos.incrementAndGet();
+            totalEsperaNanos.addAndGet(System.nanoTime() - inicio);
+            return conexion.crearVistaPrestamo(this);
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Toma la conexion libre usada mas recientemente que siga viva, o crea una nueva si no hay ninguna
+     *
+     * @return Conexion valida
+     * @throws SQLException Si no se pudo crear una nueva conexion
+     */
+    private ConexionAgrupada tomarValida() throws SQLException {
+        ConexionAgrupada conexion;
+        while ((conexion = libres.pollFirst()) != null) {
+            long inactividadMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - conexion.getMomentoDevolucion());
+            if (inactividadMs < VENTANA_SIN_VALIDACION_MS || conexion.esValida(timeoutValidacionSeg)) return conexion;
+            descartar(conexion);
+        }
+        return crearConexion();
+    }
+
+    /**
+     * Abre una nueva conexion fisica, si la base de datos fallo hace poco falla rapido sin volver a esperar
+     *
+     * @return Nueva conexion agrupada
+     * @throws SQLException Si no se pudo conectar
+     */
+    private ConexionAgrupada crearConexion() throws SQLException {
+        SQLException fallo = ultimoFallo;
+        if (fallo != null &&
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - momentoUltimoFallo) < reintentoMs)
+            throw new SQLException(ERROR_FALLO_RECIENTE + fallo.getMessage(), fallo);
+        try {
+            Connection conexion = DriverManager.getConnection(url, credenciales);
+            ultimoFallo = null;
+            totalCreadas.incrementAndGet();
+            return new ConexionAgrupada(conexion);
+        } catch (SQLException e) {
+            momentoUltimoFallo = System.nanoTime();
+            ultimoFallo = e;
+            throw e;
+        }
+    }
+
+    /**
+     * Recibe una conexion devuelta por un repositorio
+     *
+     * @param conexion Conexion devuelta
+     */
+    void devolver(ConexionAgrupada conexion) {
+        prestadas.remove(conexion);
+        try {
+            conexion.restablecer();
+            if (cerrado) descartar(conexion);
+            else libres.offerFirst(conexion);
+        } catch (SQLException e) {
+            descartar(conexion);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /**
+     * Cierra la conexion fisica y la cuenta como descartada
+     *
+     * @param conexion Conexion a descartar
+     */
+    private void descartar(ConexionAgrupada conexion) {
+        conexion.cerrarFisica();
+        totalDescartadas.incrementAndGet();
+    }
+
+    /**
+     * Tarea periodica de mantenimiento: reporta fugas, desaloja conexiones inactivas y completa el minimo.
+     * La ejecuta el hilo de mantenimiento, es visible en el paquete para probarla sin esperar su intervalo
+     */
+    void mantener() {
+        try {
+            detectarFugas();
+            desalojarInactivas();
+            completarMinimo();
+        } catch (RuntimeException e) {
+            // Un fallo de mantenimiento no debe cancelar las siguientes ejecuciones
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Cuenta una unica vez cada prestamo que supero el umbral de fuga y los reporta en una sola linea por ejecucion.
+     * La pila de quien tomo la conexion se imprime solo la primera vez que fuga desde ese lugar, y a lo sumo para
+     * MAXIMO_ORIGENES_FUGA lugares distintos
+     */
+    private void detectarFugas() {
+        if (umbralFugaMs <= 0) return;
+        long ahora = System.nanoTime();
+        int nuevas = 0;
+        for (ConexionAgrupada conexion : prestadas) {
+            if (!conexion.isFugaReportada() &&
+                    TimeUnit.NANOSECONDS.toMillis(ahora - conexion.getMomentoPrestamo()) > umbralFugaMs) {
+                conexion.setFugaReportada(true);
+                totalFugas.incrementAndGet();
+                nuevas++;
+                Exception origen = conexion.getOrigenPrestamo();
+                if (origen != null && origenesFugaReportados.size() < MAXIMO_ORIGENES_FUGA &&
+                        origenesFugaReportados.add(Arrays.toString(origen.getStackTrace())))
+                    origen.printStackTrace(System.out);
+            }
+        }
+        if (nuevas > 0)
+            System.out.println("Posibles fugas de conexion: " + nuevas + " prestamos superaron " + umbralFugaMs +
+                    " ms (total " + totalFugas.get() + ")");
+    }
+
+    /**
+     * Cierra las conexiones libres que superaron la inactividad maxima, respetando el minimo
+     */
+    private void desalojarInactivas() {
+        long ahora = System.nanoTime();
+        Iterator<ConexionAgrupada> masAntiguas = libres.descendingIterator();
+        while (masAntiguas.hasNext() && libres.size() + prestadas.size() > minimo) {
+            ConexionAgrupada conexion = masAntiguas.next();
+            if (TimeUnit.NANOSECONDS.toMillis(ahora - conexion.getMomentoDevolucion()) > inactividadMaximaMs &&
+                    libres.removeLastOccurrence(conexion))
+                descartar(conexion);
+        }
+    }
+
+    /**
+     * Abre conexiones hasta llegar al minimo configurado
+     */
+    private void completarMinimo() {
+        while (!cerrado && libres.size() + prestadas.size() < minimo && permisos.tryAcquire()) {
+            try {
+                libres.offerLast(crearConexion());
+            } catch (SQLException e) {
+                return;
+            } finally {
+                permisos.release();
+            }
+        }
+    }
+
+    /**
+     * Devuelve las metricas actuales del pool
+     *
+     * @return Metricas del pool
+     */
+    public MetricasPool getMetricas() {
+        int cantidadLibres = libres.size();
+        int cantidadPrestadas = prestadas.size();
+        return new MetricasPool(cantidadLibres + cantidadPrestadas, cantidadLibres, cantidadPrestadas,
+                permisos.getQueueLength(), totalPrestamos.get(), totalEsperaNanos.get(), totalCreadas.get(),
+                totalDescartadas.get(), totalFugas.get(), totalTiemposAgotados.get());
+    }
+
+    /**
+     * Devuelve la cantidad maxima de conexiones que pueden prestarse simultaneamente
+     *
+     * @return Maximo del pool
+     */
+    public int getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * Cierra el pool y todas sus conexiones libres, las prestadas se cierran al ser devueltas
+     */
+    public void cerrar() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        ConexionAgrupada conexion;
+        while ((conexion = libres.pollFirst()) != null) descartar(conexion);
+    }
+}
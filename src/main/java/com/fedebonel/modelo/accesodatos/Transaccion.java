@@ -0,0 +1,53 @@
+package com.fedebonel.modelo.accesodatos;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Ejecucion de un conjunto de sentencias como una unica transaccion sobre una conexion del pool:
+ * se confirman todas juntas o, ante cualquier error, se deshacen todas
+ */
+public class Transaccion {
+
+    /**
+     * Clase de acceso estatico, no se instancia
+     */
+    private Transaccion() {
+    }
+
+    /**
+     * Trabajo a realizar dentro de la transaccion
+     */
+    public interface Trabajo {
+        /**
+         * Ejecuta las sentencias de la transaccion
+         *
+         * @param conn Conexion de la transaccion, no debe cerrarse ni confirmarse dentro del trabajo
+         * @throws SQLException Si alguna sentencia falla, lo que deshace la transaccion
+         */
+        void ejecutar(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Ejecuta el trabajo en una transaccion
+     *
+     * @param trabajo Trabajo a ejecutar
+     * @throws SQLException Si no se pudo obtener la conexion o el trabajo fallo (en cuyo caso nada fue confirmado)
+     */
+    public static void ejecutar(Trabajo trabajo) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                trabajo.ejecutar(conn);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException errorRollback) {
+                    e.addSuppressed(errorRollback);
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.fedebonel.modelo.estadisticas;
+
+/**
+ * Fila inmutable con los totales de presentaciones de un municipio, calculados en la base de datos
+ */
+public class EstadisticaMunicipio {
+    /**
+     * Identificador del municipio
+     */
+    private final String idMunicipio;
+    /**
+     * Nombre del municipio
+     */
+    private final String nombreMunicipio;
+    /**
+     * Cantidad de presentaciones realizadas por el municipio
+     */
+    private final int presentaciones;
+    /**
+     * Cantidad de documentos entregados en todas las presentaciones del municipio
+     */
+    private final int documentosPresentados;
+
+    /**
+     * Constructor de la estadistica de un municipio
+     *
+     * @param idMunicipio           Identificador del municipio
+     * @param nombreMunicipio       Nombre del municipio
+     * @param presentaciones        Cantidad de presentaciones del municipio
+     * @param documentosPresentados Cantidad de documentos entregados en sus presentaciones
+     */
+    public EstadisticaMunicipio(String idMunicipio, String nombreMunicipio, int presentaciones,
+                                int documentosPresentados) {
+        this.idMunicipio = idMunicipio;
+        this.nombreMunicipio = nombreMunicipio;
+        this.presentaciones = presentaciones;
+        this.documentosPresentados = documentosPresentados;
+    }
+
+    public String getIdMunicipio() {
+        return idMunicipio;
+    }
+
+    public String getNombreMunicipio() {
+        return nombreMunicipio;
+    }
+
+    public int getPresentaciones() {
+        return presentaciones;
+    }
+
+    public int getDocumentosPresentados() {
+        return documentosPresentados;
+    }
+}
@@ -0,0 +1,34 @@
+package com.fedebonel.modelo.estadisticas;
+
+/**
+ * Totales inmutables de presentaciones segun el estado de su convocatoria, calculados en la base de datos
+ */
+public class TotalesPresentaciones {
+    /**
+     * Cantidad de presentaciones realizadas a convocatorias abiertas
+     */
+    private final int convocatoriasAbiertas;
+    /**
+     * Cantidad de presentaciones realizadas a convocatorias cerradas
+     */
+    private final int convocatoriasCerradas;
+
+    /**
+     * Constructor de los totales
+     *
+     * @param convocatoriasAbiertas Presentaciones realizadas a convocatorias abiertas
+     * @param convocatoriasCerradas Presentaciones realizadas a convocatorias cerradas
+     */
+    public TotalesPresentaciones(int convocatoriasAbiertas, int convocatoriasCerradas) {
+        this.convocatoriasAbiertas = convocatoriasAbiertas;
+        this.convocatoriasCerradas = convocatoriasCerradas;
+    }
+
+    public int getConvocatoriasAbiertas() {
+        return convocatoriasAbiertas;
+    }
+
+    public int getConvocatoriasCerradas() {
+        return convocatoriasCerradas;
+    }
+}
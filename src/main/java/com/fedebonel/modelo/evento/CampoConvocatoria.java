@@ -0,0 +1,47 @@
+package com.fedebonel.modelo.evento;
+
+import com.fedebonel.modelo.Campo;
+import com.fedebonel.modelo.TipoCampo;
+
+/**
+ * Campos actualizables de una convocatoria (el identificador no se actualiza)
+ */
+public enum CampoConvocatoria implements Campo {
+    FECHA_APERTURA("fecha_apertura", TipoCampo.FECHA, false),
+    FECHA_CIERRE("fecha_cierre", TipoCampo.FECHA, false),
+    DESCRIPCION("descripcion", TipoCampo.TEXTO, false);
+
+    /**
+     * Nombre de la columna en la base de datos
+     */
+    private final String columna;
+    /**
+     * Tipo de los valores
+     */
+    private final TipoCampo tipo;
+    /**
+     * Si admite un valor nulo
+     */
+    private final boolean nulable;
+
+    CampoConvocatoria(String columna, TipoCampo tipo, boolean nulable) {
+        this.columna = columna;
+        this.tipo = tipo;
+        this.nulable = nulable;
+    }
+
+    @Override
+    public String getColumna() {
+        return columna;
+    }
+
+    @Override
+    public TipoCampo getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public boolean isNulable() {
+        return nulable;
+    }
+}
@@ -0,0 +1,50 @@
+package com.fedebonel.modelo.evento;
+
+import com.fedebonel.modelo.Campo;
+import com.fedebonel.modelo.TipoCampo;
+
+/**
+ * Campos actualizables de una presentacion (el identificador no se actualiza)
+ */
+public enum CampoPresentacion implements Campo {
+    FECHA_CREACION("fecha_creacion", TipoCampo.FECHA, false),
+    // true si la presentacion esta abierta (i.e. no entregada)
+    APERTURA("apertura", TipoCampo.BOOLEANO, false),
+    CONVOCATORIA("convocatoria", TipoCampo.TEXTO, false),
+    AUTOR("autor", TipoCampo.TEXTO, false),
+    MUNICIPIO("municipio", TipoCampo.TEXTO, false);
+
+    /**
+     * Nombre de la columna en la base de datos
+     */
+    private final String columna;
+    /**
+     * Tipo de los valores
+     */
+    private final TipoCampo tipo;
+    /**
+     * Si admite un valor nulo
+     */
+    private final boolean nulable;
+
+    CampoPresentacion(String columna, TipoCampo tipo, boolean nulable) {
+        this.columna = columna;
+        this.tipo = tipo;
+        this.nulable = nulable;
+    }
+
+    @Override
+    public String getColumna() {
+        return columna;
+    }
+
+    @Override
+    public TipoCampo getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public boolean isNulable() {
+        return nulable;
+    }
+}
@@ -0,0 +1,93 @@
+package com.fedebonel.modelo.evento;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Catalogo compartido de los documentos base (no adicionales) del sistema.
+ * Cada documento recibe un ordinal que no cambia durante la ejecucion, asi las colecciones de documentos guardan
+ * los documentos base como bits de un BitSet y comparan colecciones con operaciones de bits.
+ * Se inicializa con Convocatoria.DOCUMENTOS_OPCIONES y se completa con las opciones registradas en la base de datos
+ */
+public final class CatalogoDocumentos {
+
+    /**
+     * Nombre de cada documento por ordinal, se reemplaza completo al registrar documentos nuevos
+     */
+    private static volatile String[] nombres = new String[0];
+    /**
+     * Ordinal de cada documento por nombre, se reemplaza completo al registrar documentos nuevos
+     */
+    private static volatile Map<String, Integer> ordinales = Map.of();
+
+    static {
+        registrar(Arrays.asList(Convocatoria.DOCUMENTOS_OPCIONES));
+    }
+
+    /**
+     * Clase de acceso estatico, no se instancia
+     */
+    private CatalogoDocumentos() {
+    }
+
+    /**
+     * Agrega al catalogo los documentos que aun no esten registrados, los ya registrados conservan su ordinal.
+     * Debe llamarse antes de crear colecciones con esos documentos: una coleccion ya creada los guarda como
+     * adicionales y no los reubica
+     *
+     * @param documentos Nombres de los documentos a registrar
+     */
+    public static synchronized void registrar(Collection<String> documentos) {
+        LinkedList<String> nuevos = new LinkedList<>();
+        for (String documento : documentos) {
+            if (!ordinales.containsKey(documento) && !nuevos.contains(documento)) nuevos.add(documento);
+        }
+        if (nuevos.isEmpty()) return;
+        String[] nuevosNombres = Arrays.copyOf(nombres, nombres.length + nuevos.size());
+        Map<String, Integer> nuevosOrdinales = new HashMap<>(ordinales);
+        int ordinal = nombres.length;
+        for (String documento : nuevos) {
+            nuevosNombres[ordinal] = documento;
+            nuevosOrdinales.put(documento, ordinal++);
+        }
+        // Primero los nombres: un ordinal publicado siempre tiene su nombre
+        nombres = nuevosNombres;
+        ordinales = nuevosOrdinales;
+    }
+
+    /**
+     * Devuelve el ordinal del documento
+     *
+     * @param documento Nombre del documento
+     * @return Ordinal del documento, -1 si no es un documento del catalogo
+     */
+    public static int ordinal(String documento) {
+        Integer ordinal = ordinales.get(documento);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Devuelve el nombre del documento con ese ordinal
+     *
+     * @param ordinal Ordinal del documento
+     * @return Nombre del documento
+     */
+    public static String nombre(int ordinal) {
+        return nombres[ordinal];
+    }
+
+    /**
+     * Agrega a la lista los nombres de los documentos cuyos bits estan encendidos, en orden de ordinal
+     *
+     * @param bits    Bits de los documentos
+     * @param destino Lista a la que se agregan los nombres
+     */
+    static void agregarNombres(BitSet bits, LinkedList<String> destino) {
+        String[] actuales = nombres;
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) destino.add(actuales[i]);
+    }
+}
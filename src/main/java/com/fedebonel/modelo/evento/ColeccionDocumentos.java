@@ -1,12 +1,14 @@
 package com.fedebonel.modelo.evento;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.LinkedList;
 
 /**
  * Estructura de datos que contiene a todos los documentos de cada evento.
- * Si contiene opciones, solo aquellos documentos contenidos en estos seran agregables
- * de no contener opciones cualquier documento es agregable a la coleccion
+ * Si es restringida, solo los documentos del CatalogoDocumentos seran agregables
+ * de no serlo cualquier documento es agregable a la coleccion.
+ * Los documentos del catalogo se guardan como bits por su ordinal y los demas (adicionales) en un conjunto aparte
  *
  * @author Bonel Federico
  */
@@ -18,56 +20,51 @@ public class ColeccionDocumentos {
     public static final String ERROR_DOCUMENTO_INVALIDO = "El documento seleccionado es invalido";
 
     /**
-     * Documentos que pueden ser agregados a esta coleccion, de ser vacio, cualquier documento puede ser agregado
+     * Si solo se pueden agregar documentos del catalogo
      */
-    private HashSet<String> opcionesDocumentos;
+    private final boolean restringida;
 
     /**
-     * Lista de documentos que son contenidos en esta estructura de datos
+     * Documentos del catalogo contenidos en esta coleccion, un bit por ordinal
      */
-    private HashSet<String> documentos;
+    private final BitSet documentos = new BitSet();
 
     /**
-     * Constructor de la coleccion de documentos con restricciones a solo los detallados en las opciones
-     *
-     * @param documentos         Documentos a agregar a esta coleccion
-     * @param opcionesDocumentos Lista de todos los posibles documentos que se pueden agregar a esta coleccion (Los demas no son aceptados)
-     * @throws IllegalArgumentException Si la lista de documentos a agregar tiene strings no contenidos en la lista de las opciones de documentos
+     * Documentos que no son del catalogo contenidos en esta coleccion, null mientras no tenga ninguno
      */
-    public ColeccionDocumentos(LinkedList<String> documentos, LinkedList<String> opcionesDocumentos) {
-        setOpciones(opcionesDocumentos);
-        setDocumentos(documentos);
-    }
+    private HashSet<String> adicionales;
 
     /**
-     * Constructor de la coleccion de documentos sin ninguna restriccion
+     * Constructor de la coleccion de documentos
      *
-     * @param documentos Documentos a agregar a esta coleccion pueden ser cualquiera
+     * @param documentos  Documentos a agregar a esta coleccion
+     * @param restringida Si solo se aceptan documentos del catalogo (Los demas no son aceptados)
+     * @throws IllegalArgumentException Si la coleccion es restringida y la lista de documentos a agregar tiene strings no contenidos en el catalogo
      */
-    public ColeccionDocumentos(LinkedList<String> documentos) {
+    public ColeccionDocumentos(LinkedList<String> documentos, boolean restringida) {
+        this.restringida = restringida;
         setDocumentos(documentos);
     }
 
     /**
-     * Asigna la lista de los documentos que pueden ser agregados a esta coleccion
+     * Constructor de la coleccion de documentos sin ninguna restriccion
      *
-     * @param opcionesDocumentos Los unicos documentos que pueden ser agregados como un LinkedList de Strings
+     * @param documentos Documentos a agregar a esta coleccion pueden ser cualquiera
      */
-    private void setOpciones(LinkedList<String> opcionesDocumentos) {
-        this.opcionesDocumentos = new HashSet<>(opcionesDocumentos);
+    public ColeccionDocumentos(LinkedList<String> documentos) {
+        this(documentos, false);
     }
 
     /**
      * Agrega un nuevo documento a la coleccion
      *
      * @param documento Documento a agregar como un string
-     * @throws IllegalArgumentException Si la coleccion posee una lista de opciones y el documento a asignar no esta contenido en ella
+     * @throws IllegalArgumentException Si la coleccion es restringida y el documento a asignar no esta en el catalogo
      *                                  o si el documento ya esta agregado a la coleccion
      */
     protected void addDocumento(String documento) {
-        if ((opcionesDocumentos != null && !opcionesDocumentos.contains(documento)) ||
-                documentos.contains(documento)) throw new IllegalArgumentException(ERROR_DOCUMENTO_INVALIDO);
-        documentos.add(documento);
+        if (containsDocumento(documento)) throw new IllegalArgumentException(ERROR_DOCUMENTO_INVALIDO);
+        agregar(documento);
     }
 
     /**
@@ -77,8 +74,10 @@ public class ColeccionDocumentos {
      * @throws IllegalArgumentException Si el documento especificado no se encuentra contenido en la coleccion
      */
     protected void removeDocumento(String documento) {
-        if (!documentos.contains(documento)) throw new IllegalArgumentException(ERROR_DOCUMENTO_INVALIDO);
-        documentos.remove(documento);
+        if (!containsDocumento(documento)) throw new IllegalArgumentException(ERROR_DOCUMENTO_INVALIDO);
+        int ordinal = CatalogoDocumentos.ordinal(documento);
+        if (ordinal >= 0) documentos.clear(ordinal);
+        else adicionales.remove(documento);
     }
 
     /**
@@ -88,28 +87,108 @@ public class ColeccionDocumentos {
      * @return verdadero si el documento es contenido en la coleccion, falso en caso contrario
      */
     public boolean containsDocumento(String documento) {
-        return documentos.contains(documento);
+        int ordinal = CatalogoDocumentos.ordinal(documento);
+        if (ordinal >= 0) return documentos.get(ordinal);
+        return adicionales != null && adicionales.contains(documento);
+    }
+
+    /**
+     * Verifica si todos los documentos de la otra coleccion estan contenidos en esta
+     *
+     * @param otra Coleccion cuyos documentos se buscan en esta
+     * @return verdadero si esta coleccion contiene a todos los de la otra, falso en caso contrario
+     */
+    public boolean containsTodos(ColeccionDocumentos otra) {
+        BitSet faltantes = (BitSet) otra.documentos.clone();
+        faltantes.andNot(documentos);
+        if (!faltantes.isEmpty()) return false;
+        return otra.adicionales == null || (adicionales != null && adicionales.containsAll(otra.adicionales));
+    }
+
+    /**
+     * Devuelve los documentos de esta coleccion que tambien estan en la otra
+     *
+     * @param otra Coleccion con la que se compara
+     * @return Los documentos contenidos en ambas colecciones como un LinkedList
+     */
+    public LinkedList<String> getDocumentosEnComunCon(ColeccionDocumentos otra) {
+        BitSet comunes = (BitSet) documentos.clone();
+        comunes.and(otra.documentos);
+        LinkedList<String> resultado = new LinkedList<>();
+        CatalogoDocumentos.agregarNombres(comunes, resultado);
+        if (adicionales != null && otra.adicionales != null) {
+            for (String documento : adicionales) {
+                if (otra.adicionales.contains(documento)) resultado.add(documento);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve los documentos de esta coleccion que no estan en la otra
+     *
+     * @param otra Coleccion con la que se compara
+     * @return Los documentos contenidos solo en esta coleccion como un LinkedList
+     */
+    public LinkedList<String> getDocumentosNoContenidosEn(ColeccionDocumentos otra) {
+        BitSet propios = (BitSet) documentos.clone();
+        propios.andNot(otra.documentos);
+        LinkedList<String> resultado = new LinkedList<>();
+        CatalogoDocumentos.agregarNombres(propios, resultado);
+        if (adicionales != null) {
+            for (String documento : adicionales) {
+                if (otra.adicionales == null || !otra.adicionales.contains(documento)) resultado.add(documento);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve la cantidad de documentos contenidos en esta coleccion
+     *
+     * @return Cantidad de documentos
+     */
+    public int getCantidad() {
+        return documentos.cardinality() + (adicionales == null ? 0 : adicionales.size());
     }
 
     /**
      * Devuelve una copia de los documentos contenidos en esta coleccion para iterar por ellos
      *
-     * @return Todos los documentos contenidos en la coleccion como un LinkedList
+     * @return Todos los documentos contenidos en la coleccion como un LinkedList, primero los del catalogo
      */
     public LinkedList<String> getDocumentosLinkedList() {
-        return new LinkedList<>(documentos);
+        LinkedList<String> resultado = new LinkedList<>();
+        CatalogoDocumentos.agregarNombres(documentos, resultado);
+        if (adicionales != null) resultado.addAll(adicionales);
+        return resultado;
     }
 
     /**
      * Asigna los documentos pasados al atributo de documentos
      *
      * @param documentos Documentos a asignar como un LinkedList de Strings
-     * @throws IllegalArgumentException Si la coleccion posee una lista de opciones y los documentos a asignar no estan contenidos en ella
+     * @throws IllegalArgumentException Si la coleccion es restringida y los documentos a asignar no estan en el catalogo
      */
     private void setDocumentos(LinkedList<String> documentos) {
-        if (opcionesDocumentos != null && !opcionesDocumentos.containsAll(documentos))
-            throw new IllegalArgumentException(ERROR_DOCUMENTO_INVALIDO);
-        this.documentos = new HashSet<>(documentos);
+        for (String documento : documentos) agregar(documento);
+    }
+
+    /**
+     * Agrega el documento sin verificar si ya esta contenido
+     *
+     * @param documento Documento a agregar
+     * @throws IllegalArgumentException Si la coleccion es restringida y el documento no esta en el catalogo
+     */
+    private void agregar(String documento) {
+        int ordinal = CatalogoDocumentos.ordinal(documento);
+        if (ordinal >= 0) {
+            documentos.set(ordinal);
+        } else {
+            if (restringida) throw new IllegalArgumentException(ERROR_DOCUMENTO_INVALIDO);
+            if (adicionales == null) adicionales = new HashSet<>();
+            adicionales.add(documento);
+        }
     }
 
     /**
@@ -120,7 +199,7 @@ public class ColeccionDocumentos {
     @Override
     public String toString() {
         StringBuilder output = new StringBuilder();
-        for (String llave : documentos) {
+        for (String llave : getDocumentosLinkedList()) {
             output.append(" | ").append(llave);
         }
         return output.toString();
@@ -0,0 +1,98 @@
+package com.fedebonel.modelo.evento;
+
+import com.fedebonel.modelo.Campo;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cambios a guardar de una sola vez sobre una entidad con documentos (convocatoria o presentacion):
+ * campos a actualizar y documentos a agregar y a quitar. Se calcula una vez al guardar un formulario
+ * y el repositorio lo aplica completo en una unica transaccion, o no aplica nada
+ *
+ * @param <C> Enum de los campos de la entidad
+ */
+public class ConjuntoCambios<C extends Enum<C> & Campo> {
+
+    /**
+     * Identificador de la entidad a modificar
+     */
+    private final String idEntidad;
+    /**
+     * Nuevo valor de cada campo a actualizar
+     */
+    private final Map<C, Object> campos = new LinkedHashMap<>();
+    /**
+     * Documentos a agregar a la entidad
+     */
+    private final Set<String> documentosAgregados = new LinkedHashSet<>();
+    /**
+     * Documentos a quitar de la entidad
+     */
+    private final Set<String> documentosQuitados = new LinkedHashSet<>();
+
+    /**
+     * Constructor de un conjunto de cambios vacio
+     *
+     * @param idEntidad Identificador de la entidad a modificar
+     */
+    public ConjuntoCambios(String idEntidad) {
+        this.idEntidad = idEntidad;
+    }
+
+    /**
+     * Agrega la actualizacion de un campo, reemplazando el valor anterior si el campo ya se actualizaba
+     *
+     * @param campo Campo a actualizar
+     * @param valor Nuevo valor del campo, del tipo del campo
+     * @throws IllegalArgumentException Si el valor no puede asignarse al campo
+     */
+    public void actualizar(C campo, Object valor) throws IllegalArgumentException {
+        campo.validar(valor);
+        campos.put(campo, valor);
+    }
+
+    /**
+     * Agrega un documento a la entidad, si estaba por quitarse se cancela la baja
+     *
+     * @param documento Documento a agregar
+     */
+    public void agregarDocumento(String documento) {
+        if (!documentosQuitados.remove(documento)) documentosAgregados.add(documento);
+    }
+
+    /**
+     * Quita un documento de la entidad, si estaba por agregarse se cancela el alta
+     *
+     * @param documento Documento a quitar
+     */
+    public void quitarDocumento(String documento) {
+        if (!documentosAgregados.remove(documento)) documentosQuitados.add(documento);
+    }
+
+    public String getIdEntidad() {
+        return idEntidad;
+    }
+
+    public Map<C, Object> getCampos() {
+        return Collections.unmodifiableMap(campos);
+    }
+
+    public Set<String> getDocumentosAgregados() {
+        return Collections.unmodifiableSet(documentosAgregados);
+    }
+
+    public Set<String> getDocumentosQuitados() {
+        return Collections.unmodifiableSet(documentosQuitados);
+    }
+
+    /**
+     * @return true si no hay ningun cambio a guardar
+     */
+    public boolean isVacio() {
+        return campos.isEmpty() && documentosAgregados.isEmpty() && documentosQuitados.isEmpty();
+    }
+}
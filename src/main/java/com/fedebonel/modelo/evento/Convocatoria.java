@@ -1,7 +1,6 @@
 package com.fedebonel.modelo.evento;
 
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.LinkedList;
 
 /**
@@ -99,8 +98,7 @@ public class Convocatoria extends Evento {
      */
     @Override
     protected ColeccionDocumentos incializaDocumentos(LinkedList<String> documentos) throws IllegalArgumentException {
-        LinkedList<String> opciones = new LinkedList<>(Arrays.stream(DOCUMENTOS_OPCIONES).toList());
-        return new ColeccionDocumentos(documentos, opciones);
+        return new ColeccionDocumentos(documentos, true);
     }
 
     /**
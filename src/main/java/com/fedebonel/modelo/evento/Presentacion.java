@@ -163,11 +163,7 @@ public class Presentacion extends Evento {
      * @return Un linked list con todos los documentos requeridos de la convocatoria que son entregados
      */
     public LinkedList<String> getDocumentosRequeridosEntregados() {
-        LinkedList<String> documentosReqEntregados = new LinkedList<>();
-        for (String documento : super.getDocumentos().getDocumentosLinkedList()) {
-            if (convocatoria.containsDocumento(documento)) documentosReqEntregados.add(documento);
-        }
-        return documentosReqEntregados;
+        return super.getDocumentos().getDocumentosEnComunCon(convocatoria.getDocumentos());
     }
 
     /**
@@ -176,11 +172,7 @@ public class Presentacion extends Evento {
      * @return Un linked list con todos los documentos adicionales que son entregados
      */
     public LinkedList<String> getDocumentosAdicionalesEntregados() {
-        LinkedList<String> documentosAdicionalesEntregados = new LinkedList<>();
-        for (String documento : super.getDocumentos().getDocumentosLinkedList()) {
-            if (!convocatoria.containsDocumento(documento)) documentosAdicionalesEntregados.add(documento);
-        }
-        return documentosAdicionalesEntregados;
+        return super.getDocumentos().getDocumentosNoContenidosEn(convocatoria.getDocumentos());
     }
 
     /**
@@ -189,15 +181,8 @@ public class Presentacion extends Evento {
      * @return true si todos entregados, false en caso contrario
      */
     public boolean todosDocsRequeridosEntregados() {
-        // Itera por todos los documentos requeridos
-        for (String documento : convocatoria.getDocumentos().getDocumentosLinkedList()) {
-            // Si el documento es requerido y no esta subido en esta presentacion entonces no esta entregado
-            if (!isEntregado(documento)) {
-                return false;
-            }
-        }
-        // Si no todos estan entregados
-        return true;
+        // Los documentos requeridos deben ser un subconjunto de los entregados
+        return super.getDocumentos().containsTodos(convocatoria.getDocumentos());
     }
 
     /**
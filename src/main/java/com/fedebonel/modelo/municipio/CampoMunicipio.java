@@ -0,0 +1,50 @@
+package com.fedebonel.modelo.municipio;
+
+import com.fedebonel.modelo.Campo;
+import com.fedebonel.modelo.TipoCampo;
+
+/**
+ * Campos actualizables de un municipio (el identificador no se actualiza)
+ */
+public enum CampoMunicipio implements Campo {
+    NOMBRE("nombre", TipoCampo.TEXTO, false),
+    CATEGORIA("categoria", TipoCampo.ENTERO, false),
+    // Identificador del fiscal, nulo si no tiene
+    SUPERVISOR("supervisor", TipoCampo.TEXTO, true),
+    // Identificador del cuentadante, nulo si no tiene
+    REPRESENTANTE("representante", TipoCampo.TEXTO, true);
+
+    /**
+     * Nombre de la columna en la base de datos
+     */
+    private final String columna;
+    /**
+     * Tipo de los valores
+     */
+    private final TipoCampo tipo;
+    /**
+     * Si admite un valor nulo
+     */
+    private final boolean nulable;
+
+    CampoMunicipio(String columna, TipoCampo tipo, boolean nulable) {
+        this.columna = columna;
+        this.tipo = tipo;
+        this.nulable = nulable;
+    }
+
+    @Override
+    public String getColumna() {
+        return columna;
+    }
+
+    @Override
+    public TipoCampo getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public boolean isNulable() {
+        return nulable;
+    }
+}
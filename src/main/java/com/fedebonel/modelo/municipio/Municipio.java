@@ -159,7 +159,7 @@ public class Municipio extends Entidad {
         int totalDocumentosPresentados = 0;
         LinkedList<Presentacion> presentacionesRealizadas = getSusPresentacionesDe(presentaciones);
         for (Presentacion presentacion : presentacionesRealizadas)
-            totalDocumentosPresentados += presentacion.getDocumentos().getDocumentosLinkedList().size();
+            totalDocumentosPresentados += presentacion.getDocumentos().getCantidad();
         return totalDocumentosPresentados;
     }
 
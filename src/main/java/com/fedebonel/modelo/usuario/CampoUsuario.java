@@ -0,0 +1,47 @@
+package com.fedebonel.modelo.usuario;
+
+import com.fedebonel.modelo.Campo;
+import com.fedebonel.modelo.TipoCampo;
+
+/**
+ * Campos actualizables de un usuario (el identificador no se actualiza)
+ */
+public enum CampoUsuario implements Campo {
+    NOMBRE("nombre", TipoCampo.TEXTO, false),
+    CLAVE("clave", TipoCampo.TEXTO, false),
+    ROL("rol", TipoCampo.TEXTO, false);
+
+    /**
+     * Nombre de la columna en la base de datos
+     */
+    private final String columna;
+    /**
+     * Tipo de los valores
+     */
+    private final TipoCampo tipo;
+    /**
+     * Si admite un valor nulo
+     */
+    private final boolean nulable;
+
+    CampoUsuario(String columna, TipoCampo tipo, boolean nulable) {
+        this.columna = columna;
+        this.tipo = tipo;
+        this.nulable = nulable;
+    }
+
+    @Override
+    public String getColumna() {
+        return columna;
+    }
+
+    @Override
+    public TipoCampo getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public boolean isNulable() {
+        return nulable;
+    }
+}
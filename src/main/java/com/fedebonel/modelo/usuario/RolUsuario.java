@@ -1,6 +1,8 @@
 package com.fedebonel.modelo.usuario;
 
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Clase que abstrae a los roles de todos los usuarios
@@ -114,35 +116,65 @@ public class RolUsuario {
             {OBJETOS[3], ACCIONES[8]},
             {OBJETOS[3], ACCIONES[14]}};
     /**
-     * Conjunto de permisos del rol
+     * Indice de cada objeto en OBJETOS
      */
-    private final LinkedList<Permiso> permisos;
+    private static final Map<String, Integer> INDICES_OBJETOS = indexar(OBJETOS);
+    /**
+     * Indice de cada accion en ACCIONES, las acciones del rol se guardan como bits de un long (hasta 64 acciones)
+     */
+    private static final Map<String, Integer> INDICES_ACCIONES = indexar(ACCIONES);
+    /**
+     * Roles compartidos por todos los usuarios, uno por nombre
+     */
+    private static final Map<String, RolUsuario> ROLES = new ConcurrentHashMap<>();
+    /**
+     * Permisos del rol como matriz [objeto][accion], solo se recorren para objetos o acciones fuera de las tablas
+     */
+    private final String[][] permisos;
+    /**
+     * Acciones permitidas sobre cada objeto (por indice en OBJETOS), un bit por indice en ACCIONES.
+     * Un permiso sobre una accion habilita tambien las acciones que comienzan con ella
+     * (p. ej: Modificar habilita ModificarPropio)
+     */
+    private final long[] acciones = new long[OBJETOS.length];
     /**
      * Nombre del rol
      */
     private final String nombreRol;
 
     /**
-     * Constructor del rol de usuario con su nombre correspondiente
+     * Constructor del rol de usuario con su nombre correspondiente, compila sus permisos
      *
      * @param nombreRol Rol del usuario como un string
      */
-    public RolUsuario(String nombreRol) {
-        String[][] permisosEstablecidos;
+    private RolUsuario(String nombreRol) {
         this.nombreRol = nombreRol;
         switch (nombreRol) {
-            case (ROL_CUENTADANTE_NOMBRE) -> permisosEstablecidos = PERMISOS_CUENTADANTE;
-            case (ROL_FISCAL_NOMBRE) -> permisosEstablecidos = PERMISOS_FISCAL;
-            case (ROL_FISCAL_GRAL_NOMBRE) -> permisosEstablecidos = PERMISOS_FISCAL_GRAL;
-            case (ROL_ADMINISTRADOR_NOMBRE) -> permisosEstablecidos = PERMISOS_ADMINISTRADOR;
-            default -> permisosEstablecidos = new String[][]{};
+            case (ROL_CUENTADANTE_NOMBRE) -> permisos = PERMISOS_CUENTADANTE;
+            case (ROL_FISCAL_NOMBRE) -> permisos = PERMISOS_FISCAL;
+            case (ROL_FISCAL_GRAL_NOMBRE) -> permisos = PERMISOS_FISCAL_GRAL;
+            case (ROL_ADMINISTRADOR_NOMBRE) -> permisos = PERMISOS_ADMINISTRADOR;
+            default -> permisos = new String[][]{};
         }
-        permisos = new LinkedList<>();
-        for (String[] permiso : permisosEstablecidos) {
-            addPermiso(permiso[0], permiso[1]);
+        for (String[] permiso : permisos) {
+            Integer objeto = INDICES_OBJETOS.get(permiso[0]);
+            if (objeto == null) continue;
+            for (int accion = 0; accion < ACCIONES.length; accion++) {
+                if (ACCIONES[accion].indexOf(permiso[1]) == 0) acciones[objeto] |= 1L << accion;
+            }
         }
     }
 
+    /**
+     * Devuelve el rol con ese nombre, compartido por todos los usuarios con el mismo rol
+     *
+     * @param nombreRol Rol del usuario como un string
+     * @return Rol con ese nombre, sin permisos si no es un rol del sistema
+     */
+    public static RolUsuario de(String nombreRol) {
+        return ROLES.computeIfAbsent(nombreRol, RolUsuario::new);
+    }
+
     /**
      * Verifica si el rol tiene los permisos necesarios
      *
@@ -151,9 +183,13 @@ public class RolUsuario {
      * @return true si tiene permiso, false en caso contrario
      */
     public boolean tienePermiso(String objeto, String accion) {
-        for (Permiso permiso : permisos) {
+        Integer indiceObjeto = INDICES_OBJETOS.get(objeto);
+        Integer indiceAccion = INDICES_ACCIONES.get(accion);
+        if (indiceObjeto != null && indiceAccion != null)
+            return (acciones[indiceObjeto] & (1L << indiceAccion)) != 0;
+        for (String[] permiso : permisos) {
             // Se usa index of para que si hay control total solo se ponga Modificar y no haya que poner todos los casos
-            if (permiso.getObjeto().equals(objeto) && accion.indexOf(permiso.getAccion()) == 0)
+            if (permiso[0].equals(objeto) && accion.indexOf(permiso[1]) == 0)
                 return true;
         }
         return false;
@@ -169,12 +205,14 @@ public class RolUsuario {
     }
 
     /**
-     * Agrega permisos al rol
+     * Devuelve el indice de cada nombre en el arreglo
      *
-     * @param objeto Objeto sobre el que se realiza la accion
-     * @param accion Accion a realizar sobre el objeto
+     * @param nombres Arreglo de nombres
+     * @return Indice de cada nombre
      */
-    public void addPermiso(String objeto, String accion) {
-        permisos.add(new Permiso(objeto, accion));
+    private static Map<String, Integer> indexar(String[] nombres) {
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < nombres.length; i++) indices.put(nombres[i], i);
+        return indices;
     }
 }
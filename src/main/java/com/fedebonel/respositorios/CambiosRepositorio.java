@@ -0,0 +1,18 @@
+package com.fedebonel.respositorios;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Interfaz que abstrae al registro de versiones de las tablas compartido por todos los clientes
+ */
+public interface CambiosRepositorio {
+
+    /**
+     * Lee la version actual de cada tabla versionada
+     *
+     * @return Version de cada tabla, las tablas sin registro no figuran
+     * @throws SQLException Si no consiguio conectarse
+     */
+    Map<TablaVersionada, Long> leerVersiones() throws SQLException;
+}
@@ -1,22 +1,29 @@
 package com.fedebonel.respositorios;
 
+import com.fedebonel.modelo.evento.CampoConvocatoria;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
 import com.fedebonel.modelo.evento.Convocatoria;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz que abstrae a un repositorio de convocatorias
  */
-public interface ConvocatoriasRepositorio extends RepositorioCRUD<Convocatoria, String> {
+public interface ConvocatoriasRepositorio extends RepositorioCRUD<Convocatoria, String, CampoConvocatoria> {
 
     /**
      * Agrega el documento a la convocatoria
      *
      * @param convocatoria Convocatoria a la que se desea agregar el documento
      * @param documento    Documento a agregar a la convocatoria
+     * @return true si se agrego, false si la convocatoria no existe
+     * @throws SQLException Si ocurre algun error al agregar el documento
      */
-    void agregarDocConvocatoria(Convocatoria convocatoria, String documento) throws SQLException;
+    boolean agregarDocConvocatoria(Convocatoria convocatoria, String documento) throws SQLException;
 
     /**
      * Lee los documentos de la convocatoria pasada desde la base de datos
@@ -27,11 +34,50 @@ public interface ConvocatoriasRepositorio extends RepositorioCRUD<Convocatoria,
      */
     LinkedList<String> leerDocsConvocatoria(String idConvocatoria) throws SQLException;
 
+    /**
+     * Lee los documentos de todas las convocatorias pasadas en una sola lectura por lotes
+     *
+     * @param idsConvocatorias Convocatorias de las que se desean obtener los documentos
+     * @return Documentos de cada convocatoria por identificador, las convocatorias sin documentos no figuran
+     * @throws SQLException Si ocurre algun error en la lectura de los documentos
+     */
+    Map<String, List<String>> leerDocsConvocatorias(Collection<String> idsConvocatorias) throws SQLException;
+
+    /**
+     * Cuenta las presentaciones realizadas a cada convocatoria en una sola consulta agrupada
+     *
+     * @return Cantidad de presentaciones por identificador de convocatoria, las convocatorias sin presentaciones
+     * no figuran
+     * @throws SQLException Si ocurre algun error al contar las presentaciones
+     */
+    Map<String, Integer> contarPresentaciones() throws SQLException;
+
+    /**
+     * Elimina la convocatoria solo si no tiene presentaciones, en una unica sentencia: una presentacion
+     * registrada al mismo tiempo no puede quedar sin su convocatoria
+     *
+     * @param idConvocatoria Identificador de la convocatoria a eliminar
+     * @return true si se elimino, false si no existe o tiene presentaciones
+     * @throws SQLException Si ocurre algun error al eliminar la convocatoria
+     */
+    boolean eliminarSiVacia(String idConvocatoria) throws SQLException;
+
     /**
      * Elimina el documento de la convocatoria
      *
      * @param convocatoria Convocatoria de la que se desea eliminar el documento
      * @param documento    Documento a eliminar de la convocatoria
+     * @return true si se elimino, false si la convocatoria no existe o no tiene ese documento
+     * @throws SQLException Si ocurre algun error al eliminar el documento
+     */
+    boolean removerDocConvocatoria(Convocatoria convocatoria, String documento) throws SQLException;
+
+    /**
+     * Aplica todos los cambios de la convocatoria en una unica transaccion, si alguno falla no se aplica ninguno
+     *
+     * @param cambios Cambios de la convocatoria a aplicar
+     * @return true si se aplicaron, false si la convocatoria no existe
+     * @throws SQLException Si ocurre algun error al aplicar los cambios
      */
-    void removerDocConvocatoria(Convocatoria convocatoria, String documento) throws SQLException;
+    boolean aplicarCambios(ConjuntoCambios<CampoConvocatoria> cambios) throws SQLException;
 }
@@ -0,0 +1,18 @@
+package com.fedebonel.respositorios;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Interfaz que abstrae a las opciones de documentos base registradas en el sistema
+ */
+public interface DocumentosRepositorio {
+
+    /**
+     * Lee los nombres de todas las opciones de documentos
+     *
+     * @return Nombres de las opciones de documentos
+     * @throws SQLException Si no consiguio conectarse
+     */
+    List<String> leerOpciones() throws SQLException;
+}
@@ -0,0 +1,31 @@
+package com.fedebonel.respositorios;
+
+import com.fedebonel.modelo.estadisticas.EstadisticaMunicipio;
+import com.fedebonel.modelo.estadisticas.TotalesPresentaciones;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interfaz que abstrae a las estadisticas del sistema, calculadas agrupando en la base de datos sin leer entidades
+ */
+public interface EstadisticasRepositorio {
+
+    /**
+     * Lee la cantidad de presentaciones y de documentos presentados de cada municipio
+     *
+     * @return Una fila por municipio, incluidos los que no tienen presentaciones
+     * @throws SQLException Si ocurre algun error al leer las estadisticas
+     */
+    List<EstadisticaMunicipio> leerPorMunicipio() throws SQLException;
+
+    /**
+     * Lee la cantidad de presentaciones realizadas a convocatorias abiertas y a convocatorias cerradas
+     *
+     * @param hoy Fecha con la que se decide si una convocatoria esta abierta
+     * @return Totales de presentaciones por estado de su convocatoria
+     * @throws SQLException Si ocurre algun error al leer las estadisticas
+     */
+    TotalesPresentaciones leerTotalesPresentaciones(LocalDate hoy) throws SQLException;
+}
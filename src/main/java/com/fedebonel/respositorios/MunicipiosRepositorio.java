@@ -1,9 +1,22 @@
 package com.fedebonel.respositorios;
 
+import com.fedebonel.modelo.municipio.CampoMunicipio;
 import com.fedebonel.modelo.municipio.Municipio;
 
+import java.sql.SQLException;
+import java.util.List;
+
 /**
  * Interfaz que abstrae a un repositorio de Municipios
  */
-public interface MunicipiosRepositorio extends RepositorioCRUD<Municipio, String> {
+public interface MunicipiosRepositorio extends RepositorioCRUD<Municipio, String, CampoMunicipio> {
+
+    /**
+     * Lee solo los municipios representados por el cuentadante pasado
+     *
+     * @param idCuentadante Identificador del usuario cuentadante
+     * @return Municipios del cuentadante
+     * @throws SQLException Si ocurre algun error al leer los municipios
+     */
+    List<Municipio> leerPorCuentadante(String idCuentadante) throws SQLException;
 }
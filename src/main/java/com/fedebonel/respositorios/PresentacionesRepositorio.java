@@ -1,14 +1,37 @@
 package com.fedebonel.respositorios;
 
+import com.fedebonel.modelo.evento.CampoPresentacion;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
 import com.fedebonel.modelo.evento.Presentacion;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz que abstrae a un repositorio de presentacion
  */
-public interface PresentacionesRepositorio extends RepositorioCRUD<Presentacion, String> {
+public interface PresentacionesRepositorio extends RepositorioCRUD<Presentacion, String, CampoPresentacion> {
+
+    /**
+     * Lee solo las presentaciones realizadas por el autor pasado
+     *
+     * @param idAutor Identificador del usuario autor de las presentaciones
+     * @return Presentaciones del autor
+     * @throws SQLException Si ocurre algun error al leer las presentaciones
+     */
+    List<Presentacion> leerPorAutor(String idAutor) throws SQLException;
+
+    /**
+     * Lee solo las presentaciones de los municipios supervisados por el fiscal pasado
+     *
+     * @param idFiscal Identificador del usuario fiscal de los municipios
+     * @return Presentaciones de los municipios del fiscal
+     * @throws SQLException Si ocurre algun error al leer las presentaciones
+     */
+    List<Presentacion> leerPorFiscal(String idFiscal) throws SQLException;
 
     /**
      * Lee los documentos de la presentacion pasada desde la base de datos
@@ -19,19 +42,41 @@ public interface PresentacionesRepositorio extends RepositorioCRUD<Presentacion,
      */
     LinkedList<String> readAllDocumentsFromPresentation(String idPresentacion) throws SQLException;
 
+    /**
+     * Lee los documentos de todas las presentaciones pasadas en una sola lectura por lotes
+     *
+     * @param idsPresentaciones Presentaciones de las que se desean obtener los documentos
+     * @return Documentos de cada presentacion por identificador, las presentaciones sin documentos no figuran
+     * @throws SQLException Si ocurre algun error al leer los documentos
+     */
+    Map<String, List<String>> leerDocsPresentaciones(Collection<String> idsPresentaciones) throws SQLException;
+
     /**
      * Agrega el documento a la presentacion
      *
      * @param presentacion Presentacion a la que se desea agregar el documento
      * @param documento    Documento a agregar a la presentacion
+     * @return true si se agrego, false si la presentacion no existe
+     * @throws SQLException Si ocurre algun error al agregar el documento
      */
-    void agregarDocPresentacion(Presentacion presentacion, String documento) throws SQLException;
+    boolean agregarDocPresentacion(Presentacion presentacion, String documento) throws SQLException;
 
     /**
      * Elimina el documento de la presentacion
      *
      * @param presentacion Presentacion de la que se desea eliminar el documento
      * @param documento    Documento a eliminar de la presentacion
+     * @return true si se elimino, false si la presentacion no existe o no tiene ese documento
+     * @throws SQLException Si ocurre algun error al eliminar el documento
+     */
+    boolean removerDocPresentacion(Presentacion presentacion, String documento) throws SQLException;
+
+    /**
+     * Aplica todos los cambios de la presentacion en una unica transaccion, si alguno falla no se aplica ninguno
+     *
+     * @param cambios Cambios de la presentacion a aplicar
+     * @return true si se aplicaron, false si la presentacion no existe
+     * @throws SQLException Si ocurre algun error al aplicar los cambios
      */
-    void removerDocPresentacion(Presentacion presentacion, String documento) throws SQLException;
+    boolean aplicarCambios(ConjuntoCambios<CampoPresentacion> cambios) throws SQLException;
 }
@@ -1,19 +1,30 @@
 package com.fedebonel.respositorios;
 
+import com.fedebonel.modelo.Campo;
+import com.fedebonel.modelo.accesodatos.EjecutorAccesoDatos;
+
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Repositorio de acceso CRUD
+ * <p>
+ * T = Tipo de dato de las entidades guardadas
+ * ID = Tipo de dato usado para el identificador
+ * C = Enum de los campos actualizables de las entidades
  */
-public interface RepositorioCRUD<T, ID> {
+public interface RepositorioCRUD<T, ID, C extends Enum<C> & Campo> {
     /**
      * Guarda la entidad en el repositorio
      *
      * @param entidad Entidad a guardar
+     * @return true si se guardo, false si ya existia una entidad con ese identificador
      * @throws SQLException Si no se consiguio conectarse
      */
-    void guardar(T entidad) throws SQLException;
+    boolean guardar(T entidad) throws SQLException;
 
     /**
      * Devuelve todas las entidades contenidas en el repositorio
@@ -23,6 +34,26 @@ public interface RepositorioCRUD<T, ID> {
      */
     List<T> leerTodo() throws SQLException;
 
+    /**
+     * Devuelve una pagina de entidades ordenadas por identificador, comenzando despues del identificador pasado
+     * (paginacion por llave: el costo no depende de cuantas paginas se hayan leido antes)
+     *
+     * @param despuesDe Identificador de la ultima entidad de la pagina anterior, null para la primera pagina
+     * @param limite    Cantidad maxima de entidades a devolver
+     * @return Las entidades de la pagina como una lista, vacia si no hay mas entidades
+     * @throws SQLException Si no consiguio conectarse
+     */
+    List<T> leerPagina(ID despuesDe, int limite) throws SQLException;
+
+    /**
+     * Recorre todas las entidades contenidas en el repositorio sin cargarlas juntas en memoria,
+     * entregandolas de a una al consumidor
+     *
+     * @param consumidor Accion a realizar con cada entidad
+     * @throws SQLException Si no consiguio conectarse
+     */
+    void recorrerTodo(Consumer<T> consumidor) throws SQLException;
+
     /**
      * Devuelve la entidad que contenga esa ID, si no un valor nulo
      *
@@ -36,17 +67,81 @@ public interface RepositorioCRUD<T, ID> {
      * Elimina la entidad que tenga esa id del repositorio, si no no hace nada
      *
      * @param id Identificador de la entidad
+     * @return true si se elimino, false si no existia una entidad con ese identificador
      * @throws SQLException Si no consiguio conectarse
      */
-    void eliminarPorId(ID id) throws SQLException;
+    boolean eliminarPorId(ID id) throws SQLException;
 
     /**
-     * Actualiza la entidad en el respositorio que tenga esa id, en ese campo, con ese valor
+     * Actualiza los campos de la entidad en el respositorio que tenga esa id, todos en una sola escritura
      *
-     * @param id    Identificador de la entidad
-     * @param campo Campo a actualizar
-     * @param valor Valor a poner
-     * @throws SQLException Si no consiguio conectarse
+     * @param id     Identificador de la entidad
+     * @param campos Nuevo valor de cada campo a actualizar (al menos uno), del tipo del campo o nulo si lo admite
+     * @return true si se actualizo, false si no existia una entidad con ese identificador
+     * @throws IllegalArgumentException Si no hay campos o algun valor no puede asignarse a su campo
+     * @throws SQLException             Si no consiguio conectarse
+     */
+    boolean actualizarPorId(ID id, Map<C, Object> campos) throws SQLException;
+
+    /**
+     * Guarda la entidad en el repositorio sin bloquear al llamador
+     *
+     * @param entidad Entidad a guardar
+     * @return Futuro con el resultado de guardar, o con la SQLException si no se consiguio conectarse
+     */
+    default CompletableFuture<Boolean> guardarAsync(T entidad) {
+        return EjecutorAccesoDatos.ejecutar(() -> guardar(entidad));
+    }
+
+    /**
+     * Devuelve todas las entidades contenidas en el repositorio sin bloquear al llamador
+     *
+     * @return Futuro con todas las entidades como una lista, o con la SQLException si no se consiguio conectarse
+     */
+    default CompletableFuture<List<T>> leerTodoAsync() {
+        return EjecutorAccesoDatos.ejecutar(this::leerTodo);
+    }
+
+    /**
+     * Devuelve una pagina de entidades ordenadas por identificador sin bloquear al llamador
+     *
+     * @param despuesDe Identificador de la ultima entidad de la pagina anterior, null para la primera pagina
+     * @param limite    Cantidad maxima de entidades a devolver
+     * @return Futuro con las entidades de la pagina, o con la SQLException si no se consiguio conectarse
+     */
+    default CompletableFuture<List<T>> leerPaginaAsync(ID despuesDe, int limite) {
+        return EjecutorAccesoDatos.ejecutar(() -> leerPagina(despuesDe, limite));
+    }
+
+    /**
+     * Devuelve la entidad que contenga esa ID sin bloquear al llamador
+     *
+     * @param id Identificador de la entidad
+     * @return Futuro con la entidad encontrada (null si no encontro ninguna),
+     * o con la SQLException si no se consiguio conectarse
+     */
+    default CompletableFuture<T> leerPorIdAsync(ID id) {
+        return EjecutorAccesoDatos.ejecutar(() -> leerPorId(id));
+    }
+
+    /**
+     * Elimina la entidad que tenga esa id del repositorio sin bloquear al llamador
+     *
+     * @param id Identificador de la entidad
+     * @return Futuro con el resultado de eliminar, o con la SQLException si no se consiguio conectarse
+     */
+    default CompletableFuture<Boolean> eliminarPorIdAsync(ID id) {
+        return EjecutorAccesoDatos.ejecutar(() -> eliminarPorId(id));
+    }
+
+    /**
+     * Actualiza los campos de la entidad en el respositorio que tenga esa id sin bloquear al llamador
+     *
+     * @param id     Identificador de la entidad
+     * @param campos Nuevo valor de cada campo a actualizar
+     * @return Futuro con el resultado de actualizar, o con la SQLException si no se consiguio conectarse
      */
-    void actualizarPorId(ID id, String campo, String valor) throws SQLException;
+    default CompletableFuture<Boolean> actualizarPorIdAsync(ID id, Map<C, Object> campos) {
+        return EjecutorAccesoDatos.ejecutar(() -> actualizarPorId(id, campos));
+    }
 }
@@ -0,0 +1,81 @@
+package com.fedebonel.respositorios;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mapa de identidad de una unidad de trabajo: mientras la sesion este abierta cada identificador de cada tipo
+ * de entidad se resuelve siempre a la misma instancia.
+ * Las sesiones se abren con try-with-resources y son anidables: si el hilo ya tiene una sesion abierta,
+ * abrir() la reutiliza y solo la sesion mas externa la descarta al cerrarse
+ */
+public class SesionIdentidad implements AutoCloseable {
+
+    /**
+     * Sesion abierta en cada hilo
+     */
+    private static final ThreadLocal<SesionIdentidad> SESION_ACTUAL = new ThreadLocal<>();
+
+    /**
+     * Entidades cargadas en esta sesion por tipo y por identificador
+     */
+    private final Map<Class<?>, Map<Object, Object>> entidades = new ConcurrentHashMap<>();
+    /**
+     * Cantidad de aperturas anidadas pendientes de cerrar en el hilo propietario
+     */
+    private int aperturas = 0;
+
+    private SesionIdentidad() {
+    }
+
+    /**
+     * Abre una sesion en el hilo actual o se une a la que ya esta abierta
+     *
+     * @return Sesion abierta, debe cerrarse al terminar la unidad de trabajo
+     */
+    public static SesionIdentidad abrir() {
+        SesionIdentidad sesion = SESION_ACTUAL.get();
+        if (sesion == null) {
+            sesion = new SesionIdentidad();
+            SESION_ACTUAL.set(sesion);
+        }
+        sesion.aperturas++;
+        return sesion;
+    }
+
+    /**
+     * Busca la entidad ya cargada en esta sesion
+     *
+     * @param tipo Tipo de la entidad
+     * @param id   Identificador de la entidad
+     * @return Entidad cargada, null si aun no fue cargada en esta sesion
+     */
+    public <T> T buscar(Class<T> tipo, Object id) {
+        Map<Object, Object> porId = entidades.get(tipo);
+        return porId == null ? null : tipo.cast(porId.get(id));
+    }
+
+    /**
+     * Registra la entidad recien cargada, si otra instancia con el mismo identificador ya estaba registrada
+     * se conserva y se devuelve esa
+     *
+     * @param tipo    Tipo de la entidad
+     * @param id      Identificador de la entidad
+     * @param entidad Entidad recien cargada
+     * @return Instancia unica de la entidad en esta sesion
+     */
+    public <T> T registrar(Class<T> tipo, Object id, T entidad) {
+        Object existente = entidades.computeIfAbsent(tipo, t -> new ConcurrentHashMap<>()).putIfAbsent(id, entidad);
+        return existente == null ? entidad : tipo.cast(existente);
+    }
+
+    /**
+     * Cierra una apertura de la sesion, al cerrar la mas externa se desvincula del hilo y se descartan sus entidades
+     */
+    @Override
+    public void close() {
+        if (--aperturas > 0) return;
+        if (SESION_ACTUAL.get() == this) SESION_ACTUAL.remove();
+        entidades.clear();
+    }
+}
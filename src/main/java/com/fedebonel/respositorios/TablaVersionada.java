@@ -0,0 +1,38 @@
+package com.fedebonel.respositorios;
+
+/**
+ * Tablas cuyas escrituras se registran en la tabla cambios, cada una con un contador de version
+ * que aumenta con cada escritura de cualquier cliente
+ */
+public enum TablaVersionada {
+    USUARIO("usuario"),
+    MUNICIPIO("municipio"),
+    CONVOCATORIA("convocatoria"),
+    PRESENTACION("presentacion");
+
+    /**
+     * Nombre de la tabla tal como figura en la tabla cambios
+     */
+    private final String nombre;
+
+    TablaVersionada(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Devuelve la tabla con ese nombre
+     *
+     * @param nombre Nombre de la tabla en la tabla cambios
+     * @return Tabla con ese nombre, null si no es una tabla versionada
+     */
+    public static TablaVersionada porNombre(String nombre) {
+        for (TablaVersionada tabla : values()) {
+            if (tabla.nombre.equals(nombre)) return tabla;
+        }
+        return null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.fedebonel.respositorios;
 
+import com.fedebonel.modelo.usuario.CampoUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
 
 import java.sql.SQLException;
@@ -7,7 +8,7 @@ import java.sql.SQLException;
 /**
  * Interfaz que abstrae a un repositorio de usuarios
  */
-public interface UsuariosRepositorio extends RepositorioCRUD<Usuario, String> {
+public interface UsuariosRepositorio extends RepositorioCRUD<Usuario, String, CampoUsuario> {
 
     Usuario searchByName(String name) throws SQLException;
 }
@@ -0,0 +1,91 @@
+package com.fedebonel.respositorios.cache;
+
+import com.fedebonel.modelo.evento.CampoConvocatoria;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
+import com.fedebonel.modelo.evento.Convocatoria;
+import com.fedebonel.respositorios.ConvocatoriasRepositorio;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache de convocatorias, agregar o remover un documento o aplicar un conjunto de cambios invalida a la convocatoria
+ */
+public class ConvocatoriasRepositorioCache
+        extends RepositorioCache<Convocatoria, String, CampoConvocatoria, ConvocatoriasRepositorio>
+        implements ConvocatoriasRepositorio {
+
+    /**
+     * Constructor del repositorio con la capacidad por defecto y sin expiracion
+     *
+     * @param repositorio Repositorio del que se leen las convocatorias
+     */
+    public ConvocatoriasRepositorioCache(ConvocatoriasRepositorio repositorio) {
+        this(repositorio, CAPACIDAD_POR_DEFECTO, SIN_EXPIRACION);
+    }
+
+    /**
+     * Constructor del repositorio
+     *
+     * @param repositorio Repositorio del que se leen las convocatorias
+     * @param capacidad   Cantidad maxima de convocatorias en memoria
+     * @param vidaMs      Tiempo de vida de cada convocatoria en memoria en milisegundos, SIN_EXPIRACION si no expiran
+     */
+    public ConvocatoriasRepositorioCache(ConvocatoriasRepositorio repositorio, int capacidad, long vidaMs) {
+        super(repositorio, Convocatoria::getId, capacidad, vidaMs);
+    }
+
+    @Override
+    public boolean agregarDocConvocatoria(Convocatoria convocatoria, String documento) throws SQLException {
+        try {
+            return repositorio.agregarDocConvocatoria(convocatoria, documento);
+        } finally {
+            invalidar(convocatoria.getId());
+        }
+    }
+
+    @Override
+    public LinkedList<String> leerDocsConvocatoria(String idConvocatoria) throws SQLException {
+        return repositorio.leerDocsConvocatoria(idConvocatoria);
+    }
+
+    @Override
+    public Map<String, List<String>> leerDocsConvocatorias(Collection<String> idsConvocatorias) throws SQLException {
+        return repositorio.leerDocsConvocatorias(idsConvocatorias);
+    }
+
+    @Override
+    public Map<String, Integer> contarPresentaciones() throws SQLException {
+        return repositorio.contarPresentaciones();
+    }
+
+    @Override
+    public boolean eliminarSiVacia(String idConvocatoria) throws SQLException {
+        try {
+            return repositorio.eliminarSiVacia(idConvocatoria);
+        } finally {
+            invalidar(idConvocatoria);
+        }
+    }
+
+    @Override
+    public boolean removerDocConvocatoria(Convocatoria convocatoria, String documento) throws SQLException {
+        try {
+            return repositorio.removerDocConvocatoria(convocatoria, documento);
+        } finally {
+            invalidar(convocatoria.getId());
+        }
+    }
+
+    @Override
+    public boolean aplicarCambios(ConjuntoCambios<CampoConvocatoria> cambios) throws SQLException {
+        try {
+            return repositorio.aplicarCambios(cambios);
+        } finally {
+            invalidar(cambios.getIdEntidad());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.fedebonel.respositorios.cache;
+
+/**
+ * Fotografia inmutable del estado y de los contadores de una cache de repositorio en un instante dado
+ */
+public class MetricasCache {
+    /**
+     * Entidades en memoria
+     */
+    private final int cantidad;
+    /**
+     * Cantidad maxima de entidades en memoria
+     */
+    private final int capacidad;
+    /**
+     * Lecturas por identificador resueltas en memoria
+     */
+    private final long aciertos;
+    /**
+     * Lecturas por identificador que debieron leerse del repositorio
+     */
+    private final long fallos;
+    /**
+     * Entidades descartadas por falta de capacidad
+     */
+    private final long desalojos;
+    /**
+     * Entidades descartadas por superar su tiempo de vida
+     */
+    private final long expiradas;
+
+    /**
+     * Constructor de las metricas de la cache
+     *
+     * @param cantidad  Entidades en memoria
+     * @param capacidad Cantidad maxima de entidades en memoria
+     * @param aciertos  Lecturas resueltas en memoria
+     * @param fallos    Lecturas resueltas en el repositorio
+     * @param desalojos Entidades descartadas por falta de capacidad
+     * @param expiradas Entidades descartadas por superar su tiempo de vida
+     */
+    public MetricasCache(int cantidad, int capacidad, long aciertos, long fallos, long desalojos, long expiradas) {
+        this.cantidad = cantidad;
+        this.capacidad = capacidad;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.desalojos = desalojos;
+        this.expiradas = expiradas;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public long getDesalojos() {
+        return desalojos;
+    }
+
+    public long getExpiradas() {
+        return expiradas;
+    }
+
+    /**
+     * Devuelve la proporcion de lecturas resueltas en memoria
+     *
+     * @return Tasa de aciertos entre 0 y 1, 0 si no hubo lecturas
+     */
+    public double getTasaAciertos() {
+        long lecturas = aciertos + fallos;
+        if (lecturas == 0) return 0;
+        return (double) aciertos / lecturas;
+    }
+
+    /**
+     * Devuelve todas las metricas como string
+     *
+     * @return Todas las metricas como un string
+     */
+    @Override
+    public String toString() {
+        return "{" +
+                "cantidad=" + cantidad +
+                ", capacidad=" + capacidad +
+                ", aciertos=" + aciertos +
+                ", fallos=" + fallos +
+                ", tasaAciertos=" + String.format("%.3f", getTasaAciertos()) +
+                ", desalojos=" + desalojos +
+                ", expiradas=" + expiradas +
+                "} ";
+    }
+}
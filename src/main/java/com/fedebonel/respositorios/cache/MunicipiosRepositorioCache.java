@@ -0,0 +1,44 @@
+package com.fedebonel.respositorios.cache;
+
+import com.fedebonel.modelo.municipio.CampoMunicipio;
+import com.fedebonel.modelo.municipio.Municipio;
+import com.fedebonel.respositorios.MunicipiosRepositorio;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Cache de municipios
+ */
+public class MunicipiosRepositorioCache
+        extends RepositorioCache<Municipio, String, CampoMunicipio, MunicipiosRepositorio>
+        implements MunicipiosRepositorio {
+
+    /**
+     * Constructor del repositorio con la capacidad por defecto y sin expiracion
+     *
+     * @param repositorio Repositorio del que se leen los municipios
+     */
+    public MunicipiosRepositorioCache(MunicipiosRepositorio repositorio) {
+        this(repositorio, CAPACIDAD_POR_DEFECTO, SIN_EXPIRACION);
+    }
+
+    /**
+     * Constructor del repositorio
+     *
+     * @param repositorio Repositorio del que se leen los municipios
+     * @param capacidad   Cantidad maxima de municipios en memoria
+     * @param vidaMs      Tiempo de vida de cada municipio en memoria en milisegundos, SIN_EXPIRACION si no expiran
+     */
+    public MunicipiosRepositorioCache(MunicipiosRepositorio repositorio, int capacidad, long vidaMs) {
+        super(repositorio, Municipio::getId, capacidad, vidaMs);
+    }
+
+    @Override
+    public List<Municipio> leerPorCuentadante(String idCuentadante) throws SQLException {
+        long versionLectura = getVersion();
+        List<Municipio> leidos = repositorio.leerPorCuentadante(idCuentadante);
+        recordar(leidos, versionLectura);
+        return leidos;
+    }
+}
@@ -0,0 +1,93 @@
+package com.fedebonel.respositorios.cache;
+
+import com.fedebonel.modelo.evento.CampoPresentacion;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
+import com.fedebonel.modelo.evento.Presentacion;
+import com.fedebonel.respositorios.PresentacionesRepositorio;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache de presentaciones, agregar o remover un documento o aplicar un conjunto de cambios invalida a la presentacion
+ */
+public class PresentacionesRepositorioCache
+        extends RepositorioCache<Presentacion, String, CampoPresentacion, PresentacionesRepositorio>
+        implements PresentacionesRepositorio {
+
+    /**
+     * Constructor del repositorio con la capacidad por defecto y sin expiracion
+     *
+     * @param repositorio Repositorio del que se leen las presentaciones
+     */
+    public PresentacionesRepositorioCache(PresentacionesRepositorio repositorio) {
+        this(repositorio, CAPACIDAD_POR_DEFECTO, SIN_EXPIRACION);
+    }
+
+    /**
+     * Constructor del repositorio
+     *
+     * @param repositorio Repositorio del que se leen las presentaciones
+     * @param capacidad   Cantidad maxima de presentaciones en memoria
+     * @param vidaMs      Tiempo de vida de cada presentacion en memoria en milisegundos, SIN_EXPIRACION si no expiran
+     */
+    public PresentacionesRepositorioCache(PresentacionesRepositorio repositorio, int capacidad, long vidaMs) {
+        super(repositorio, Presentacion::getId, capacidad, vidaMs);
+    }
+
+    @Override
+    public List<Presentacion> leerPorAutor(String idAutor) throws SQLException {
+        long versionLectura = getVersion();
+        List<Presentacion> leidas = repositorio.leerPorAutor(idAutor);
+        recordar(leidas, versionLectura);
+        return leidas;
+    }
+
+    @Override
+    public List<Presentacion> leerPorFiscal(String idFiscal) throws SQLException {
+        long versionLectura = getVersion();
+        List<Presentacion> leidas = repositorio.leerPorFiscal(idFiscal);
+        recordar(leidas, versionLectura);
+        return leidas;
+    }
+
+    @Override
+    public LinkedList<String> readAllDocumentsFromPresentation(String idPresentacion) throws SQLException {
+        return repositorio.readAllDocumentsFromPresentation(idPresentacion);
+    }
+
+    @Override
+    public Map<String, List<String>> leerDocsPresentaciones(Collection<String> idsPresentaciones) throws SQLException {
+        return repositorio.leerDocsPresentaciones(idsPresentaciones);
+    }
+
+    @Override
+    public boolean agregarDocPresentacion(Presentacion presentacion, String documento) throws SQLException {
+        try {
+            return repositorio.agregarDocPresentacion(presentacion, documento);
+        } finally {
+            invalidar(presentacion.getId());
+        }
+    }
+
+    @Override
+    public boolean removerDocPresentacion(Presentacion presentacion, String documento) throws SQLException {
+        try {
+            return repositorio.removerDocPresentacion(presentacion, documento);
+        } finally {
+            invalidar(presentacion.getId());
+        }
+    }
+
+    @Override
+    public boolean aplicarCambios(ConjuntoCambios<CampoPresentacion> cambios) throws SQLException {
+        try {
+            return repositorio.aplicarCambios(cambios);
+        } finally {
+            invalidar(cambios.getIdEntidad());
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.fedebonel.respositorios.cache;
+
+import com.fedebonel.modelo.Campo;
+import com.fedebonel.respositorios.RepositorioCRUD;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Repositorio que mantiene en memoria las ultimas entidades leidas de otro repositorio.
+ * Las lecturas por identificador se resuelven en memoria cuando es posible y toda escritura invalida a la entidad
+ * afectada, aun si la escritura falla. Guarda como mucho la capacidad indicada de entidades, descartando las
+ * menos usadas recientemente, y opcionalmente descarta las que llevan en memoria mas del tiempo de vida indicado
+ * <p>
+ * T = Tipo de dato usado para las entidades guardadas
+ * ID = Tipo de dato usado para el identificador
+ * C = Enum de los campos actualizables de las entidades
+ * R = Tipo del repositorio envuelto
+ */
+public class RepositorioCache<T, ID, C extends Enum<C> & Campo, R extends RepositorioCRUD<T, ID, C>>
+        implements RepositorioCRUD<T, ID, C> {
+
+    /**
+     * Capacidad utilizada si no se indica ninguna
+     */
+    public static final int CAPACIDAD_POR_DEFECTO = 1000;
+    /**
+     * Tiempo de vida que indica que las entidades no expiran
+     */
+    public static final long SIN_EXPIRACION = 0;
+
+    /**
+     * Repositorio del que se leen las entidades
+     */
+    protected final R repositorio;
+    /**
+     * Funcion que devuelve el identificador de una entidad
+     */
+    private final Function<T, ID> identificador;
+    /**
+     * Cantidad maxima de entidades en memoria
+     */
+    private final int capacidad;
+    /**
+     * Tiempo de vida de cada entidad en memoria en nanosegundos, SIN_EXPIRACION si no expiran
+     */
+    private final long vidaNanos;
+    /**
+     * Entidades en memoria por identificador, en orden de uso
+     */
+    private final LinkedHashMap<ID, Entrada<T>> entradas;
+    /**
+     * Cantidad de escrituras realizadas, una lectura que comenzo antes de una escritura no guarda su resultado
+     */
+    private long version = 0;
+    /**
+     * Contadores de la cache, protegidos por el mismo bloqueo que las entradas
+     */
+    private long aciertos = 0;
+    private long fallos = 0;
+    private long desalojos = 0;
+    private long expiradas = 0;
+
+    /**
+     * Constructor de la cache con la capacidad por defecto y sin expiracion
+     *
+     * @param repositorio   Repositorio del que se leen las entidades
+     * @param identificador Funcion que devuelve el identificador de una entidad
+     */
+    public RepositorioCache(R repositorio, Function<T, ID> identificador) {
+        this(repositorio, identificador, CAPACIDAD_POR_DEFECTO, SIN_EXPIRACION);
+    }
+
+    /**
+     * Constructor de la cache
+     *
+     * @param repositorio   Repositorio del que se leen las entidades
+     * @param identificador Funcion que devuelve el identificador de una entidad
+     * @param capacidad     Cantidad maxima de entidades en memoria
+     * @param vidaMs        Tiempo de vida de cada entidad en memoria en milisegundos, SIN_EXPIRACION si no expiran
+     */
+    public RepositorioCache(R repositorio, Function<T, ID> identificador, int capacidad, long vidaMs) {
+        this.repositorio = repositorio;
+        this.identificador = identificador;
+        this.capacidad = Math.max(1, capacidad);
+        this.vidaNanos = Math.max(SIN_EXPIRACION, vidaMs) * 1_000_000;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ID, Entrada<T>> masAntigua) {
+                if (size() <= RepositorioCache.this.capacidad) return false;
+                desalojos++;
+                alDescartar(masAntigua.getValue().entidad);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Entidad en memoria junto al momento en que fue leida
+     */
+    private static class Entrada<T> {
+        private final T entidad;
+        private final long momentoLectura;
+
+        private Entrada(T entidad, long momentoLectura) {
+            this.entidad = entidad;
+            this.momentoLectura = momentoLectura;
+        }
+    }
+
+    @Override
+    public boolean guardar(T entidad) throws SQLException {
+        try {
+            return repositorio.guardar(entidad);
+        } finally {
+            invalidar(identificador.apply(entidad));
+        }
+    }
+
+    @Override
+    public List<T> leerTodo() throws SQLException {
+        long versionLectura = getVersion();
+        List<T> leidas = repositorio.leerTodo();
+        recordar(leidas, versionLectura);
+        return leidas;
+    }
+
+    @Override
+    public List<T> leerPagina(ID despuesDe, int limite) throws SQLException {
+        long versionLectura = getVersion();
+        List<T> leidas = repositorio.leerPagina(despuesDe, limite);
+        recordar(leidas, versionLectura);
+        return leidas;
+    }
+
+    @Override
+    public void recorrerTodo(Consumer<T> consumidor) throws SQLException {
+        repositorio.recorrerTodo(consumidor);
+    }
+
+    @Override
+    public T leerPorId(ID id) throws SQLException {
+        long versionLectura;
+        synchronized (entradas) {
+            T guardada = buscarEnMemoria(id);
+            if (guardada != null) return guardada;
+            versionLectura = version;
+        }
+        T leida = repositorio.leerPorId(id);
+        if (leida != null) recordar(List.of(leida), versionLectura);
+        return leida;
+    }
+
+    @Override
+    public boolean eliminarPorId(ID id) throws SQLException {
+        try {
+            return repositorio.eliminarPorId(id);
+        } finally {
+            invalidar(id);
+        }
+    }
+
+    @Override
+    public boolean actualizarPorId(ID id, Map<C, Object> campos) throws SQLException {
+        try {
+            return repositorio.actualizarPorId(id, campos);
+        } finally {
+            invalidar(id);
+        }
+    }
+
+    /**
+     * Descarta todas las entidades en memoria
+     */
+    public void invalidarTodo() {
+        synchronized (entradas) {
+            version++;
+            for (Entrada<T> entrada : entradas.values()) alDescartar(entrada.entidad);
+            entradas.clear();
+        }
+    }
+
+    /**
+     * Devuelve los contadores actuales de la cache
+     *
+     * @return Metricas de la cache
+     */
+    public MetricasCache getMetricas() {
+        synchronized (entradas) {
+            return new MetricasCache(entradas.size(), capacidad, aciertos, fallos, desalojos, expiradas);
+        }
+    }
+
+    /**
+     * Descarta a la entidad de la memoria
+     *
+     * @param id Identificador de la entidad a descartar
+     */
+    protected void invalidar(ID id) {
+        synchronized (entradas) {
+            version++;
+            Entrada<T> descartada = entradas.remove(id);
+            if (descartada != null) alDescartar(descartada.entidad);
+        }
+    }
+
+    /**
+     * Busca la entidad en memoria contando el acierto o el fallo, debe llamarse con el bloqueo de la cache tomado
+     *
+     * @param id Identificador de la entidad
+     * @return Entidad en memoria, null si no esta o expiro
+     */
+    protected T buscarEnMemoria(ID id) {
+        Entrada<T> entrada = entradas.get(id);
+        if (entrada != null && vidaNanos != SIN_EXPIRACION
+                && System.nanoTime() - entrada.momentoLectura > vidaNanos) {
+            entradas.remove(id);
+            expiradas++;
+            alDescartar(entrada.entidad);
+            entrada = null;
+        }
+        if (entrada == null) {
+            fallos++;
+            return null;
+        }
+        aciertos++;
+        return entrada.entidad;
+    }
+
+    /**
+     * Guarda en memoria las entidades leidas, salvo que haya habido una escritura desde que comenzo la lectura
+     *
+     * @param leidas         Entidades leidas
+     * @param versionLectura Version al comenzar la lectura, obtenida con getVersion()
+     */
+    protected void recordar(List<T> leidas, long versionLectura) {
+        synchronized (entradas) {
+            if (version != versionLectura) return;
+            long ahora = System.nanoTime();
+            for (T entidad : leidas) {
+                Entrada<T> anterior = entradas.put(identificador.apply(entidad), new Entrada<>(entidad, ahora));
+                if (anterior != null) alDescartar(anterior.entidad);
+                alRecordar(entidad);
+            }
+        }
+    }
+
+    /**
+     * Devuelve la version actual de la cache, a utilizar antes de una lectura cuyo resultado se va a recordar
+     *
+     * @return Cantidad de escrituras realizadas
+     */
+    protected long getVersion() {
+        synchronized (entradas) {
+            return version;
+        }
+    }
+
+    /**
+     * Devuelve el objeto utilizado como bloqueo de la cache
+     *
+     * @return Bloqueo de la cache
+     */
+    protected Object getBloqueo() {
+        return entradas;
+    }
+
+    /**
+     * Notifica que la entidad fue guardada en memoria, se llama con el bloqueo de la cache tomado
+     *
+     * @param entidad Entidad guardada
+     */
+    protected void alRecordar(T entidad) {
+    }
+
+    /**
+     * Notifica que la entidad fue descartada de la memoria, se llama con el bloqueo de la cache tomado
+     *
+     * @param entidad Entidad descartada
+     */
+    protected void alDescartar(T entidad) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.fedebonel.respositorios.cache;
+
+import com.fedebonel.modelo.usuario.CampoUsuario;
+import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.respositorios.UsuariosRepositorio;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache de usuarios, ademas de las lecturas por identificador resuelve en memoria las busquedas por nombre
+ */
+public class UsuariosRepositorioCache
+        extends RepositorioCache<Usuario, String, CampoUsuario, UsuariosRepositorio>
+        implements UsuariosRepositorio {
+
+    /**
+     * Identificador de cada usuario en memoria por nombre
+     */
+    private final Map<String, String> porNombre = new HashMap<>();
+
+    /**
+     * Constructor del repositorio con la capacidad por defecto y sin expiracion
+     *
+     * @param repositorio Repositorio del que se leen los usuarios
+     */
+    public UsuariosRepositorioCache(UsuariosRepositorio repositorio) {
+        this(repositorio, CAPACIDAD_POR_DEFECTO, SIN_EXPIRACION);
+    }
+
+    /**
+     * Constructor del repositorio
+     *
+     * @param repositorio Repositorio del que se leen los usuarios
+     * @param capacidad   Cantidad maxima de usuarios en memoria
+     * @param vidaMs      Tiempo de vida de cada usuario en memoria en milisegundos, SIN_EXPIRACION si no expiran
+     */
+    public UsuariosRepositorioCache(UsuariosRepositorio repositorio, int capacidad, long vidaMs) {
+        super(repositorio, Usuario::getId, capacidad, vidaMs);
+    }
+
+    @Override
+    public Usuario searchByName(String name) throws SQLException {
+        long versionLectura;
+        synchronized (getBloqueo()) {
+            String id = porNombre.get(name);
+            Usuario guardado = id == null ? null : buscarEnMemoria(id);
+            if (guardado != null) return guardado;
+            versionLectura = getVersion();
+        }
+        Usuario leido = repositorio.searchByName(name);
+        if (leido != null) recordar(List.of(leido), versionLectura);
+        return leido;
+    }
+
+    @Override
+    protected void alRecordar(Usuario usuario) {
+        porNombre.put(usuario.getNombre(), usuario.getId());
+    }
+
+    @Override
+    protected void alDescartar(Usuario usuario) {
+        porNombre.remove(usuario.getNombre(), usuario.getId());
+    }
+}
@@ -0,0 +1,114 @@
+package com.fedebonel.respositorios.cache;
+
+import com.fedebonel.respositorios.CambiosRepositorio;
+import com.fedebonel.respositorios.TablaVersionada;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tarea en segundo plano que consulta periodicamente las versiones de las tablas y, cuando otro cliente
+ * (o este mismo) escribio en una tabla, descarta las caches que dependen de ella.
+ * Cada consulta lee solo los contadores de la tabla cambios
+ */
+public class VigilanteCambios {
+
+    /**
+     * String constante que posee el error cuando no se pudieron leer las versiones
+     */
+    public static final String ERROR_LECTURA_VERSIONES = "No se pudieron leer las versiones de las tablas: ";
+
+    /**
+     * Registro de versiones de las tablas
+     */
+    private final CambiosRepositorio cambiosRepositorio;
+    /**
+     * Caches a descartar cuando cambia cada tabla
+     */
+    private final Map<TablaVersionada, List<RepositorioCache<?, ?, ?, ?>>> dependientes =
+            new EnumMap<>(TablaVersionada.class);
+    /**
+     * Ultima version vista de cada tabla
+     */
+    private final Map<TablaVersionada, Long> versiones = new EnumMap<>(TablaVersionada.class);
+    /**
+     * Hilo que realiza las consultas periodicas, null si no fue iniciado
+     */
+    private ScheduledExecutorService consultas = null;
+
+    /**
+     * Constructor del vigilante
+     *
+     * @param cambiosRepositorio Registro de versiones de las tablas
+     */
+    public VigilanteCambios(CambiosRepositorio cambiosRepositorio) {
+        this.cambiosRepositorio = cambiosRepositorio;
+    }
+
+    /**
+     * Registra las caches que deben descartarse cuando cambia la tabla
+     *
+     * @param tabla  Tabla a vigilar
+     * @param caches Caches cuyas entidades se leen de la tabla o contienen entidades de la tabla
+     */
+    public synchronized void vigilar(TablaVersionada tabla, RepositorioCache<?, ?, ?, ?>... caches) {
+        dependientes.computeIfAbsent(tabla, t -> new ArrayList<>()).addAll(Arrays.asList(caches));
+    }
+
+    /**
+     * Inicia las consultas periodicas en un hilo en segundo plano
+     *
+     * @param intervaloMs Tiempo entre consultas en milisegundos
+     */
+    public synchronized void iniciar(long intervaloMs) {
+        if (consultas != null) return;
+        consultas = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "vigilante-cambios");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        consultas.scheduleWithFixedDelay(this::revisarSinErrores, 0, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene las consultas periodicas
+     */
+    public synchronized void detener() {
+        if (consultas == null) return;
+        consultas.shutdownNow();
+        consultas = null;
+    }
+
+    /**
+     * Lee las versiones de las tablas y descarta las caches de las tablas que cambiaron desde la ultima revision.
+     * En la primera revision solo se registran las versiones
+     *
+     * @throws SQLException Si no se pudieron leer las versiones
+     */
+    public void revisar() throws SQLException {
+        Map<TablaVersionada, Long> actuales = cambiosRepositorio.leerVersiones();
+        Set<RepositorioCache<?, ?, ?, ?>> aDescartar = Collections.newSetFromMap(new IdentityHashMap<>());
+        synchronized (this) {
+            for (Map.Entry<TablaVersionada, Long> actual : actuales.entrySet()) {
+                Long anterior = versiones.put(actual.getKey(), actual.getValue());
+                if (anterior != null && !anterior.equals(actual.getValue()))
+                    aDescartar.addAll(dependientes.getOrDefault(actual.getKey(), List.of()));
+            }
+        }
+        for (RepositorioCache<?, ?, ?, ?> cache : aDescartar) cache.invalidarTodo();
+    }
+
+    /**
+     * Revision periodica, un error no detiene las siguientes revisiones
+     */
+    private void revisarSinErrores() {
+        try {
+            revisar();
+        } catch (SQLException | RuntimeException e) {
+            System.out.println(ERROR_LECTURA_VERSIONES + e.getMessage());
+        }
+    }
+}
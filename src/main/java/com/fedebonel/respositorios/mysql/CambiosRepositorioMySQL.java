@@ -0,0 +1,48 @@
+package com.fedebonel.respositorios.mysql;
+
+import com.fedebonel.modelo.accesodatos.ConexionDB;
+import com.fedebonel.respositorios.CambiosRepositorio;
+import com.fedebonel.respositorios.TablaVersionada;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Registro de versiones de las tablas en MySQL
+ */
+public class CambiosRepositorioMySQL implements CambiosRepositorio {
+
+    @Override
+    public Map<TablaVersionada, Long> leerVersiones() throws SQLException {
+        Map<TablaVersionada, Long> versiones = new EnumMap<>(TablaVersionada.class);
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.CAMBIOS_LEER);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                TablaVersionada tabla = TablaVersionada.porNombre(rs.getString(1));
+                if (tabla != null) versiones.put(tabla, rs.getLong(2));
+            }
+            return versiones;
+        }
+    }
+
+    /**
+     * Aumenta la version de la tabla luego de una escritura, con la misma conexion (y transaccion) de la escritura.
+     * Si no se puede registrar el cambio se lanza el error: dentro de una transaccion la escritura se deshace junto
+     * con el registro, fuera de una transaccion la escritura ya quedo confirmada y el llamador recibe el error
+     *
+     * @param conn  Conexion con la que se realizo la escritura
+     * @param tabla Tabla escrita
+     * @throws SQLException Si no se pudo aumentar la version de la tabla
+     */
+    static void registrarCambio(Connection conn, TablaVersionada tabla) throws SQLException {
+        try (PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.CAMBIO_REGISTRAR)) {
+            stmt.setString(1, tabla.getNombre());
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.fedebonel.respositorios.mysql;
+
+/**
+ * Registro de todas las sentencias SQL que ejecutan los repositorios MySQL, una constante por operacion.
+ * Las partes dinamicas (asignaciones de las columnas a actualizar, marcadores de listas IN) se indican con %s
+ * y se completan al preparar la sentencia en RegistroConsultas
+ */
+public enum Consulta {
+    // Usuarios --------------------------------------------------------------------------------------------------------
+    USUARIO_INSERTAR("insert into usuario values (?, ?, ?, ?)"),
+    USUARIO_LEER_TODOS("select * from usuario"),
+    USUARIO_LEER_PAGINA("select * from usuario where identificador > ? order by identificador limit ?"),
+    USUARIO_LEER_POR_ID("select * from usuario where identificador=?"),
+    USUARIO_LEER_POR_NOMBRE("select * from usuario where nombre=?"),
+    USUARIO_ELIMINAR("delete from usuario where identificador = ?"),
+    USUARIO_ACTUALIZAR("update usuario set %s where identificador = ?"),
+    // Municipios ------------------------------------------------------------------------------------------------------
+    MUNICIPIO_INSERTAR("insert into municipio values (?, ?, ?, NULL, NULL)"),
+    MUNICIPIO_LEER_TODOS(Sql.MUNICIPIO_HIDRATADO),
+    MUNICIPIO_LEER_PAGINA(Sql.MUNICIPIO_HIDRATADO + " where m.identificador > ? order by m.identificador limit ?"),
+    MUNICIPIO_LEER_POR_ID(Sql.MUNICIPIO_HIDRATADO + " where m.identificador=?"),
+    MUNICIPIO_LEER_POR_CUENTADANTE(Sql.MUNICIPIO_HIDRATADO + " where m.representante = ?"),
+    MUNICIPIO_ELIMINAR("delete from municipio where identificador = ?"),
+    MUNICIPIO_ACTUALIZAR("update municipio set %s where identificador = ?"),
+    // Convocatorias ---------------------------------------------------------------------------------------------------
+    CONVOCATORIA_INSERTAR("insert into convocatoria values (?, ?, ?, ?)"),
+    CONVOCATORIA_LEER_TODAS("select * from convocatoria"),
+    CONVOCATORIA_LEER_PAGINA("select * from convocatoria where identificador > ? order by identificador limit ?"),
+    CONVOCATORIA_LEER_IDS("select identificador from convocatoria order by identificador"),
+    CONVOCATORIA_LEER_POR_IDS("select * from convocatoria where identificador in (%s) order by identificador"),
+    CONVOCATORIA_LEER_POR_ID("select * from convocatoria where identificador=?"),
+    CONVOCATORIA_ELIMINAR("delete from convocatoria where identificador = ?"),
+    CONVOCATORIA_ELIMINAR_SI_VACIA("delete from convocatoria where identificador = ? " +
+            "and not exists (select 1 from presentacion where convocatoria = ?)"),
+    CONVOCATORIA_ACTUALIZAR("update convocatoria set %s where identificador = ?"),
+    CONVOCATORIA_BLOQUEAR("select identificador from convocatoria where identificador = ? for update"),
+    DOC_CONVOCATORIA_INSERTAR("insert into docmnt_cnvctria values (?, ?)"),
+    DOC_CONVOCATORIA_AGREGAR("insert into docmnt_cnvctria (nombre, convocatoria) " +
+            "select ?, identificador from convocatoria where identificador = ?"),
+    DOC_CONVOCATORIA_ELIMINAR("delete from docmnt_cnvctria where convocatoria = ? and nombre = ?"),
+    DOCS_CONVOCATORIA_LEER("select * from docmnt_cnvctria where convocatoria = ?"),
+    DOCS_CONVOCATORIAS_LEER("select nombre, convocatoria from docmnt_cnvctria where convocatoria in (%s)"),
+    CONVOCATORIAS_CONTAR_PRESENTACIONES("select convocatoria, count(*) from presentacion group by convocatoria"),
+    // Presentaciones --------------------------------------------------------------------------------------------------
+    PRESENTACION_INSERTAR("insert into presentacion values (?, ?, ?, ?, ?, ?)"),
+    PRESENTACION_LEER_TODAS(Sql.PRESENTACION_HIDRATADA),
+    PRESENTACION_LEER_PAGINA(Sql.PRESENTACION_HIDRATADA +
+            " where p.identificador > ? order by p.identificador limit ?"),
+    PRESENTACION_LEER_IDS("select identificador from presentacion order by identificador"),
+    PRESENTACION_LEER_POR_IDS(Sql.PRESENTACION_HIDRATADA + " where p.identificador in (%s) order by p.identificador"),
+    PRESENTACION_LEER_POR_ID("select * from presentacion where identificador=?"),
+    PRESENTACION_LEER_POR_AUTOR(Sql.PRESENTACION_HIDRATADA + " where p.autor = ?"),
+    PRESENTACION_LEER_POR_FISCAL(Sql.PRESENTACION_HIDRATADA + " where m.supervisor = ?"),
+    PRESENTACION_ELIMINAR("delete from presentacion where identificador = ?"),
+    PRESENTACION_ACTUALIZAR("update presentacion set %s where identificador = ?"),
+    PRESENTACION_BLOQUEAR("select identificador from presentacion where identificador = ? for update"),
+    DOC_PRESENTACION_INSERTAR("insert into docmnt_prsntcion values (?, ?)"),
+    DOC_PRESENTACION_AGREGAR("insert into docmnt_prsntcion (nombre, presentacion) " +
+            "select ?, identificador from presentacion where identificador = ?"),
+    DOC_PRESENTACION_ELIMINAR("delete from docmnt_prsntcion where presentacion = ? and nombre = ?"),
+    DOCS_PRESENTACION_LEER("select * from docmnt_prsntcion where presentacion = ?"),
+    DOCS_PRESENTACIONES_LEER("select nombre, presentacion from docmnt_prsntcion where presentacion in (%s)"),
+    // Opciones de documentos ------------------------------------------------------------------------------------------
+    DOCS_OPCIONES_LEER("select nombre from docmnt_opciones order by nombre"),
+    // Estadisticas ----------------------------------------------------------------------------------------------------
+    ESTADISTICAS_MUNICIPIOS("select m.identificador, m.nombre, count(distinct p.identificador), count(d.nombre) " +
+            "from municipio m " +
+            "left join presentacion p on p.municipio = m.identificador " +
+            "left join docmnt_prsntcion d on d.presentacion = p.identificador " +
+            "group by m.identificador, m.nombre order by m.identificador"),
+    ESTADISTICAS_PRESENTACIONES("select (c.fecha_apertura <= ? and c.fecha_cierre > ?) as abierta, count(*) " +
+            "from presentacion p join convocatoria c on c.identificador = p.convocatoria group by abierta"),
+    // Cambios ---------------------------------------------------------------------------------------------------------
+    CAMBIO_REGISTRAR("update cambios set version = version + 1 where tabla = ?"),
+    CAMBIOS_LEER("select tabla, version from cambios");
+
+    /**
+     * Sentencia SQL, puede contener partes dinamicas %s
+     */
+    private final String sql;
+
+    Consulta(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * Devuelve la sentencia SQL de la consulta
+     *
+     * @return Sentencia SQL, con %s en las partes dinamicas
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Fragmentos de SQL compartidos por varias consultas
+     */
+    private static class Sql {
+        /**
+         * Municipio seguido de su fiscal y su cuentadante
+         */
+        private static final String MUNICIPIO_HIDRATADO =
+                "select m.identificador, m.nombre, m.categoria, " +
+                        "f.identificador, f.nombre, f.clave, f.rol, " +
+                        "r.identificador, r.nombre, r.clave, r.rol " +
+                        "from municipio m " +
+                        "left join usuario f on f.identificador = m.supervisor " +
+                        "left join usuario r on r.identificador = m.representante";
+        /**
+         * Presentacion seguida de su convocatoria, autor, municipio, fiscal y cuentadante
+         */
+        private static final String PRESENTACION_HIDRATADA =
+                "select p.identificador, p.fecha_creacion, p.apertura, " +
+                        "c.identificador, c.fecha_apertura, c.fecha_cierre, c.descripcion, " +
+                        "a.identificador, a.nombre, a.clave, a.rol, " +
+                        "m.identificador, m.nombre, m.categoria, " +
+                        "f.identificador, f.nombre, f.clave, f.rol, " +
+                        "r.identificador, r.nombre, r.clave, r.rol " +
+                        "from presentacion p " +
+                        "join convocatoria c on c.identificador = p.convocatoria " +
+                        "join usuario a on a.identificador = p.autor " +
+                        "join municipio m on m.identificador = p.municipio " +
+                        "left join usuario f on f.identificador = m.supervisor " +
+                        "left join usuario r on r.identificador = m.representante";
+    }
+}
@@ -0,0 +1,101 @@
+package com.fedebonel.respositorios.mysql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Utilidades para consultar por bloques de identificadores y para recorrer tablas con un cursor del lado del servidor
+ * sin cargarlas completas en memoria
+ */
+class ConsultasPorBloques {
+
+    /**
+     * Cantidad maxima de identificadores por bloque, acota tanto el largo de las sentencias IN (...)
+     * como la cantidad de filas en memoria durante un recorrido
+     */
+    static final int TAMANIO_BLOQUE = 500;
+    /**
+     * Largos fijos de las listas IN (...), el ultimo es TAMANIO_BLOQUE. Cada largo distinto es otra sentencia para
+     * la cache de sentencias preparadas del driver, asi cada consulta por bloques ocupa a lo sumo cinco entradas
+     */
+    private static final int[] LARGOS_LISTA = {1, 10, 50, 100, TAMANIO_BLOQUE};
+
+    private ConsultasPorBloques() {
+    }
+
+    /**
+     * Procesador de un bloque de identificadores
+     */
+    interface ProcesadorBloque {
+        /**
+         * Procesa el bloque de identificadores
+         *
+         * @param ids Identificadores del bloque, como mucho TAMANIO_BLOQUE
+         * @throws SQLException Si ocurre algun error al procesar el bloque
+         */
+        void procesar(List<String> ids) throws SQLException;
+    }
+
+    /**
+     * Devuelve los marcadores de parametros de una lista IN (...) para la cantidad de identificadores pasada,
+     * redondeada hacia arriba al siguiente largo fijo. Los parametros se asignan con asignarIds
+     *
+     * @param cantidad Cantidad de identificadores, como mucho TAMANIO_BLOQUE
+     * @return Marcadores separados por coma
+     */
+    static String marcadores(int cantidad) {
+        return String.join(", ", Collections.nCopies(largoLista(cantidad), "?"));
+    }
+
+    /**
+     * Asigna los identificadores a los parametros de una lista IN (...) creada con marcadores, completando los
+     * parametros sobrantes con el ultimo identificador (repetirlo no cambia el resultado de la consulta)
+     *
+     * @param stmt Sentencia con la lista IN (...) como primeros parametros
+     * @param ids  Identificadores a asignar, al menos uno
+     * @throws SQLException Si no se pudo asignar algun parametro
+     */
+    static void asignarIds(PreparedStatement stmt, List<String> ids) throws SQLException {
+        int largo = largoLista(ids.size());
+        for (int i = 0; i < largo; i++) stmt.setString(i + 1, ids.get(Math.min(i, ids.size() - 1)));
+    }
+
+    /**
+     * Devuelve el menor largo fijo de lista que alcanza para la cantidad pasada
+     *
+     * @param cantidad Cantidad de identificadores
+     * @return Largo de la lista IN (...)
+     */
+    private static int largoLista(int cantidad) {
+        for (int largo : LARGOS_LISTA) if (cantidad <= largo) return largo;
+        return cantidad;
+    }
+
+    /**
+     * Recorre con un cursor los identificadores devueltos por la consulta y los entrega al procesador en bloques
+     *
+     * @param conn        Conexion a utilizar, la misma puede usarse dentro del procesador
+     * @param consultaIds Consulta cuya primera columna es el identificador
+     * @param procesador  Procesador de cada bloque
+     * @throws SQLException Si ocurre algun error al leer los identificadores o al procesar un bloque
+     */
+    static void recorrerIds(Connection conn, Consulta consultaIds, ProcesadorBloque procesador) throws SQLException {
+        List<String> bloque = new ArrayList<>(TAMANIO_BLOQUE);
+        try (PreparedStatement stmt = RegistroConsultas.prepararCursor(conn, consultaIds);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                bloque.add(rs.getString(1));
+                if (bloque.size() == TAMANIO_BLOQUE) {
+                    procesador.procesar(bloque);
+                    bloque.clear();
+                }
+            }
+        }
+        if (!bloque.isEmpty()) procesador.procesar(bloque);
+    }
+}
@@ -1,15 +1,22 @@
 package com.fedebonel.respositorios.mysql;
 
 import com.fedebonel.modelo.accesodatos.ConexionDB;
+import com.fedebonel.modelo.accesodatos.Transaccion;
+import com.fedebonel.modelo.evento.CampoConvocatoria;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
 import com.fedebonel.modelo.evento.Convocatoria;
 import com.fedebonel.respositorios.ConvocatoriasRepositorio;
+import com.fedebonel.respositorios.SesionIdentidad;
+import com.fedebonel.respositorios.TablaVersionada;
 
 import java.sql.*;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Repositorio de convocatorias en MySQL
@@ -17,112 +24,246 @@ import java.util.List;
 public class ConvocatoriasRepositorioMySQL implements ConvocatoriasRepositorio {
 
     @Override
-    public void guardar(Convocatoria entidad) throws SQLException {
-        Connection baseDatos = ConexionDB.getConnection();
-        try (PreparedStatement stmt = baseDatos.prepareStatement("insert into convocatoria values (?, ?, ?, ?)")) {
+    public boolean guardar(Convocatoria entidad) throws SQLException {
+        try {
+            Transaccion.ejecutar(baseDatos -> insertar(baseDatos, entidad));
+            return true;
+        } catch (SQLException e) {
+            // Si la convocatoria ya existe falla la primera insercion y la transaccion no confirma nada
+            if (ErroresMySQL.esClaveDuplicada(e)) return false;
+            throw e;
+        }
+    }
+
+    /**
+     * Inserta la convocatoria y sus documentos
+     *
+     * @param baseDatos Conexion de la transaccion
+     * @param entidad   Convocatoria a insertar
+     * @throws SQLException Si alguna insercion falla
+     */
+    private static void insertar(Connection baseDatos, Convocatoria entidad) throws SQLException {
+        try (PreparedStatement stmt = RegistroConsultas.preparar(baseDatos, Consulta.CONVOCATORIA_INSERTAR)) {
             stmt.setString(1, entidad.getId());
             stmt.setDate(2, Date.valueOf(entidad.getFechaInicio()));
             stmt.setDate(3, Date.valueOf(entidad.getFechaCierre()));
             stmt.setString(4, entidad.getDescripcion());
             stmt.executeUpdate();
-            for (String documento : entidad.getDocumentos().getDocumentosLinkedList())
-                agregarDocConvocatoria(entidad, documento);
+            CambiosRepositorioMySQL.registrarCambio(baseDatos, TablaVersionada.CONVOCATORIA);
+        }
+        try (PreparedStatement stmt = RegistroConsultas.preparar(baseDatos, Consulta.DOC_CONVOCATORIA_INSERTAR)) {
+            for (String documento : entidad.getDocumentos().getDocumentosLinkedList()) {
+                stmt.setString(1, documento);
+                stmt.setString(2, entidad.getId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
         }
     }
 
     @Override
     public List<Convocatoria> leerTodo() throws SQLException {
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.prepararDesplazable(conn, Consulta.CONVOCATORIA_LEER_TODAS);
+             ResultSet rs = stmt.executeQuery()) {
+            return hidratar(conn, rs, sesion);
+        }
+    }
+
+    @Override
+    public List<Convocatoria> leerPagina(String despuesDe, int limite) throws SQLException {
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.prepararDesplazable(conn, Consulta.CONVOCATORIA_LEER_PAGINA)) {
+            stmt.setString(1, despuesDe == null ? "" : despuesDe);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return hidratar(conn, rs, sesion);
+            }
+        }
+    }
+
+    @Override
+    public void recorrerTodo(Consumer<Convocatoria> consumidor) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection()) {
+            ConsultasPorBloques.recorrerIds(conn, Consulta.CONVOCATORIA_LEER_IDS, ids -> {
+                try (SesionIdentidad sesion = SesionIdentidad.abrir();
+                     PreparedStatement stmt = RegistroConsultas.prepararDesplazable(conn,
+                             Consulta.CONVOCATORIA_LEER_POR_IDS, ConsultasPorBloques.marcadores(ids.size()))) {
+                    ConsultasPorBloques.asignarIds(stmt, ids);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        hidratar(conn, rs, sesion).forEach(consumidor);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Construye las convocatorias de un resultado de la tabla convocatoria leyendo sus documentos por lotes
+     *
+     * @param conn   Conexion con la que leer los documentos
+     * @param rs     Resultado desplazable con filas de la tabla convocatoria
+     * @param sesion Sesion de identidad de la carga
+     * @return Las convocatorias leidas en el orden del resultado
+     * @throws SQLException Si ocurre algun error al leer las convocatorias o sus documentos
+     */
+    private LinkedList<Convocatoria> hidratar(Connection conn, ResultSet rs, SesionIdentidad sesion)
+            throws SQLException {
         LinkedList<Convocatoria> result = new LinkedList<>();
-        LinkedList<String> documentos;
+        List<String> ids = new ArrayList<>();
         Convocatoria convocActual;
-        Connection conn = ConexionDB.getConnection();
-        DateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
-        ResultSet rs;
-        try (Statement stmt = conn.createStatement()) {
-            rs = stmt.executeQuery("select * from convocatoria");
-            while (rs.next()) {
-                documentos = leerDocsConvocatoria(rs.getString(1));
-                convocActual = new Convocatoria(rs.getString(1),
-                        LocalDate.parse(formatter.format(rs.getTimestamp(2))),
-                        LocalDate.parse(formatter.format(rs.getTimestamp(3))),
-                        documentos,
-                        rs.getString(4));
-                result.add(convocActual);
-            }
-            return result;
+        // Primera pasada: identificadores para leer todos los documentos en lotes
+        while (rs.next()) ids.add(rs.getString(1));
+        Map<String, List<String>> documentos = LectorDocumentos.leerPorPropietarios(conn,
+                Consulta.DOCS_CONVOCATORIAS_LEER, ids);
+        rs.beforeFirst();
+        while (rs.next()) {
+            convocActual = sesion.buscar(Convocatoria.class, rs.getString(1));
+            if (convocActual == null)
+                convocActual = sesion.registrar(Convocatoria.class, rs.getString(1),
+                        MapeadorFilas.leerConvocatoria(rs, 1, documentos));
+            result.add(convocActual);
         }
+        return result;
     }
 
     @Override
     public Convocatoria leerPorId(String id) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        ResultSet rs;
-        try (PreparedStatement stmt = conn.prepareStatement("select * from convocatoria where identificador=?")) {
-            stmt.setString(1, id);
-            rs = stmt.executeQuery();
-            if (!rs.next()) return null;
-            LinkedList<String> documentos = leerDocsConvocatoria(rs.getString(1));
-            DateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
-            return new Convocatoria(rs.getString(1),
-                    LocalDate.parse(formatter.format(rs.getTimestamp(2))),
-                    LocalDate.parse(formatter.format(rs.getTimestamp(3))),
-                    documentos,
-                    rs.getString(4));
+        try (SesionIdentidad sesion = SesionIdentidad.abrir()) {
+            Convocatoria cargada = sesion.buscar(Convocatoria.class, id);
+            if (cargada != null) return cargada;
+            try (Connection conn = ConexionDB.getConnection();
+                 PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.CONVOCATORIA_LEER_POR_ID)) {
+                stmt.setString(1, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) return null;
+                    return sesion.registrar(Convocatoria.class, rs.getString(1), leerConvocatoria(conn, rs));
+                }
+            }
         }
     }
 
+    /**
+     * Construye la convocatoria de la fila actual junto con sus documentos requeridos, leidos con la misma conexion
+     * para no tomar una segunda conexion del pool mientras la primera sigue prestada
+     *
+     * @param conn Conexion con la que se leyo la fila
+     * @param rs   Fila actual de la tabla convocatoria
+     * @return Convocatoria leida
+     * @throws SQLException Si ocurre algun error al leer la convocatoria o sus documentos
+     */
+    private static Convocatoria leerConvocatoria(Connection conn, ResultSet rs) throws SQLException {
+        String id = rs.getString(1);
+        return MapeadorFilas.leerConvocatoria(rs, 1, Map.of(id, leerDocumentos(conn, id)));
+    }
+
     @Override
-    public void eliminarPorId(String id) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement("delete from convocatoria where identificador = ?")) {
+    public boolean eliminarPorId(String id) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.CONVOCATORIA_ELIMINAR)) {
             stmt.setString(1, id);
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() == 0) return false;
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.CONVOCATORIA);
+            return true;
         }
     }
 
     @Override
-    public void actualizarPorId(String id, String campo, String valor) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        try (PreparedStatement stmt
-                     = conn.prepareStatement("update convocatoria set " + campo + " = ? where identificador = ?")) {
-            stmt.setString(1, valor);
-            stmt.setString(2, id);
-            stmt.executeUpdate();
+    public boolean eliminarSiVacia(String idConvocatoria) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.CONVOCATORIA_ELIMINAR_SI_VACIA)) {
+            stmt.setString(1, idConvocatoria);
+            stmt.setString(2, idConvocatoria);
+            if (stmt.executeUpdate() == 0) return false;
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.CONVOCATORIA);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean actualizarPorId(String id, Map<CampoConvocatoria, Object> campos) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection()) {
+            if (!EscritorCampos.actualizar(conn, Consulta.CONVOCATORIA_ACTUALIZAR, id, campos)) return false;
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.CONVOCATORIA);
+            return true;
         }
     }
 
     @Override
     public LinkedList<String> leerDocsConvocatoria(String idConvocatoria) throws SQLException {
-        ResultSet documentosRs;
+        try (Connection conn = ConexionDB.getConnection()) {
+            return leerDocumentos(conn, idConvocatoria);
+        }
+    }
+
+    /**
+     * Lee los documentos requeridos de la convocatoria con la conexion pasada
+     *
+     * @param conn           Conexion con la que leer los documentos
+     * @param idConvocatoria Identificador de la convocatoria
+     * @return LinkedList con todos los documentos requeridos de la convocatoria
+     * @throws SQLException Si ocurre algun error al leer los documentos
+     */
+    private static LinkedList<String> leerDocumentos(Connection conn, String idConvocatoria) throws SQLException {
         LinkedList<String> documentos = new LinkedList<>();
-        try (PreparedStatement tablaDocumentos = ConexionDB.getConnection().prepareStatement("select * from docmnt_cnvctria where convocatoria = ?")) {
+        try (PreparedStatement tablaDocumentos = RegistroConsultas.preparar(conn, Consulta.DOCS_CONVOCATORIA_LEER)) {
             tablaDocumentos.setString(1, idConvocatoria);
-            documentosRs = tablaDocumentos.executeQuery();
-            while (documentosRs.next()) {
-                documentos.add(documentosRs.getString(1));
+            try (ResultSet documentosRs = tablaDocumentos.executeQuery()) {
+                while (documentosRs.next()) {
+                    documentos.add(documentosRs.getString(1));
+                }
             }
             return documentos;
         }
     }
 
     @Override
-    public void removerDocConvocatoria(Convocatoria convocatoria, String documento) throws SQLException {
-        Connection baseDatos = ConexionDB.getConnection();
-        try (PreparedStatement stmt
-                     = baseDatos.prepareStatement("delete from docmnt_cnvctria where convocatoria = ? and nombre = ?")) {
+    public Map<String, List<String>> leerDocsConvocatorias(Collection<String> idsConvocatorias) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection()) {
+            return LectorDocumentos.leerPorPropietarios(conn, Consulta.DOCS_CONVOCATORIAS_LEER, idsConvocatorias);
+        }
+    }
+
+    @Override
+    public Map<String, Integer> contarPresentaciones() throws SQLException {
+        Map<String, Integer> cantidades = new HashMap<>();
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.CONVOCATORIAS_CONTAR_PRESENTACIONES);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) cantidades.put(rs.getString(1), rs.getInt(2));
+            return cantidades;
+        }
+    }
+
+    @Override
+    public boolean removerDocConvocatoria(Convocatoria convocatoria, String documento) throws SQLException {
+        try (Connection baseDatos = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(baseDatos, Consulta.DOC_CONVOCATORIA_ELIMINAR)) {
             stmt.setString(1, convocatoria.getId());
             stmt.setString(2, documento);
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() == 0) return false;
+            CambiosRepositorioMySQL.registrarCambio(baseDatos, TablaVersionada.CONVOCATORIA);
+            return true;
         }
     }
 
     @Override
-    public void agregarDocConvocatoria(Convocatoria convocatoria, String documento) throws SQLException {
-        Connection baseDatos = ConexionDB.getConnection();
-        try (PreparedStatement stmt = baseDatos.prepareStatement("insert into docmnt_cnvctria values (?, ?)")) {
+    public boolean agregarDocConvocatoria(Convocatoria convocatoria, String documento) throws SQLException {
+        try (Connection baseDatos = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(baseDatos, Consulta.DOC_CONVOCATORIA_AGREGAR)) {
             stmt.setString(1, documento);
             stmt.setString(2, convocatoria.getId());
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() == 0) return false;
+            CambiosRepositorioMySQL.registrarCambio(baseDatos, TablaVersionada.CONVOCATORIA);
+            return true;
         }
     }
+
+    @Override
+    public boolean aplicarCambios(ConjuntoCambios<CampoConvocatoria> cambios) throws SQLException {
+        return EscritorCambios.aplicar(cambios, Consulta.CONVOCATORIA_BLOQUEAR, Consulta.CONVOCATORIA_ACTUALIZAR,
+                Consulta.DOC_CONVOCATORIA_ELIMINAR, Consulta.DOC_CONVOCATORIA_INSERTAR, TablaVersionada.CONVOCATORIA);
+    }
 }
@@ -0,0 +1,28 @@
+package com.fedebonel.respositorios.mysql;
+
+import com.fedebonel.modelo.accesodatos.ConexionDB;
+import com.fedebonel.respositorios.DocumentosRepositorio;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Opciones de documentos base en MySQL
+ */
+public class DocumentosRepositorioMySQL implements DocumentosRepositorio {
+
+    @Override
+    public List<String> leerOpciones() throws SQLException {
+        List<String> opciones = new LinkedList<>();
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.DOCS_OPCIONES_LEER);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) opciones.add(rs.getString(1));
+            return opciones;
+        }
+    }
+}
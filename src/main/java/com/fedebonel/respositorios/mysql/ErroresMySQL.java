@@ -0,0 +1,29 @@
+package com.fedebonel.respositorios.mysql;
+
+import java.sql.SQLException;
+
+/**
+ * Codigos de error de MySQL que los repositorios traducen a resultados en lugar de propagarlos
+ */
+final class ErroresMySQL {
+    /**
+     * Error al insertar una fila con una llave primaria o unica ya existente (ER_DUP_ENTRY)
+     */
+    static final int CLAVE_DUPLICADA = 1062;
+
+    /**
+     * Clase de acceso estatico, no se instancia
+     */
+    private ErroresMySQL() {
+    }
+
+    /**
+     * Indica si el error se produjo por insertar una llave ya existente
+     *
+     * @param e Error a revisar
+     * @return true si el error es de llave duplicada
+     */
+    static boolean esClaveDuplicada(SQLException e) {
+        return e.getErrorCode() == CLAVE_DUPLICADA;
+    }
+}
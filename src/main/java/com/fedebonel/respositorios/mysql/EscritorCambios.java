@@ -0,0 +1,87 @@
+package com.fedebonel.respositorios.mysql;
+
+import com.fedebonel.modelo.Campo;
+import com.fedebonel.modelo.accesodatos.Transaccion;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
+import com.fedebonel.respositorios.TablaVersionada;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Escritura de un conjunto de cambios sobre una entidad con documentos en una unica transaccion:
+ * se bloquea la fila de la entidad, se actualizan sus campos en una sola sentencia y se quitan y agregan
+ * sus documentos por lotes
+ */
+class EscritorCambios {
+
+    private EscritorCambios() {
+    }
+
+    /**
+     * Aplica el conjunto de cambios, si alguna sentencia falla no se confirma ningun cambio
+     *
+     * @param cambios           Cambios a aplicar
+     * @param bloquear          Consulta que bloquea la fila de la entidad por identificador
+     * @param actualizar        Consulta que actualiza las asignaciones %s de la entidad por identificador
+     * @param eliminarDocumento Consulta que elimina un documento por propietario y nombre
+     * @param insertarDocumento Consulta que inserta un documento por nombre y propietario
+     * @param tabla             Tabla de la entidad cuya version se aumenta
+     * @return true si se aplicaron los cambios, false si la entidad no existe
+     * @throws SQLException Si ocurre algun error al aplicar los cambios
+     */
+    static <C extends Enum<C> & Campo> boolean aplicar(ConjuntoCambios<C> cambios, Consulta bloquear,
+                                                       Consulta actualizar, Consulta eliminarDocumento,
+                                                       Consulta insertarDocumento, TablaVersionada tabla)
+            throws SQLException {
+        String id = cambios.getIdEntidad();
+        boolean[] existe = {false};
+        Transaccion.ejecutar(conn -> {
+            if (!bloquear(conn, bloquear, id)) return;
+            existe[0] = true;
+            if (!cambios.getCampos().isEmpty()) EscritorCampos.actualizar(conn, actualizar, id, cambios.getCampos());
+            if (!cambios.getDocumentosQuitados().isEmpty()) {
+                try (PreparedStatement stmt = RegistroConsultas.preparar(conn, eliminarDocumento)) {
+                    for (String documento : cambios.getDocumentosQuitados()) {
+                        stmt.setString(1, id);
+                        stmt.setString(2, documento);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+            if (!cambios.getDocumentosAgregados().isEmpty()) {
+                try (PreparedStatement stmt = RegistroConsultas.preparar(conn, insertarDocumento)) {
+                    for (String documento : cambios.getDocumentosAgregados()) {
+                        stmt.setString(1, documento);
+                        stmt.setString(2, id);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+            CambiosRepositorioMySQL.registrarCambio(conn, tabla);
+        });
+        return existe[0];
+    }
+
+    /**
+     * Bloquea la fila de la entidad hasta el fin de la transaccion
+     *
+     * @param conn     Conexion de la transaccion
+     * @param bloquear Consulta que bloquea la fila de la entidad por identificador
+     * @param id       Identificador de la entidad
+     * @return true si la entidad existe
+     * @throws SQLException Si ocurre algun error al bloquear la fila
+     */
+    private static boolean bloquear(Connection conn, Consulta bloquear, String id) throws SQLException {
+        try (PreparedStatement stmt = RegistroConsultas.preparar(conn, bloquear)) {
+            stmt.setString(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
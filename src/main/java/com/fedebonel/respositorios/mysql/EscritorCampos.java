@@ -0,0 +1,110 @@
+package com.fedebonel.respositorios.mysql;
+
+import com.fedebonel.modelo.Campo;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Actualizacion de varios campos de una entidad en una unica sentencia UPDATE, con cada valor vinculado segun
+ * el tipo de su campo. Los campos se ordenan segun su enum, de modo que cada combinacion de campos produce siempre
+ * el mismo SQL y el driver reutiliza su sentencia preparada en cada conexion
+ */
+class EscritorCampos {
+
+    /**
+     * String constante que posee el error cuando no se indica ningun campo a actualizar
+     */
+    static final String ERROR_SIN_CAMPOS = "No se indico ningun campo a actualizar";
+
+    /**
+     * Asignaciones "columna = ?" de cada combinacion de campos ya utilizada
+     */
+    private static final Map<Set<? extends Campo>, String> ASIGNACIONES = new ConcurrentHashMap<>();
+
+    private EscritorCampos() {
+    }
+
+    /**
+     * Actualiza los campos de la entidad
+     *
+     * @param conn       Conexion a utilizar
+     * @param actualizar Consulta que actualiza las asignaciones %s de la entidad por identificador
+     * @param id         Identificador de la entidad
+     * @param campos     Nuevo valor de cada campo a actualizar, al menos uno
+     * @return true si se actualizo, false si la entidad no existe
+     * @throws SQLException Si ocurre algun error al actualizar
+     */
+    static <C extends Enum<C> & Campo> boolean actualizar(Connection conn, Consulta actualizar, String id,
+                                                         Map<C, Object> campos) throws SQLException {
+        if (campos.isEmpty()) throw new IllegalArgumentException(ERROR_SIN_CAMPOS);
+        Map<C, Object> ordenados = new EnumMap<>(campos);
+        try (PreparedStatement stmt = RegistroConsultas.preparar(conn, actualizar, asignaciones(ordenados.keySet()))) {
+            int parametro = 1;
+            for (Map.Entry<C, Object> campo : ordenados.entrySet())
+                vincular(stmt, parametro++, campo.getKey(), campo.getValue());
+            stmt.setString(parametro, id);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Devuelve las asignaciones de los campos, armandolas solo la primera vez que se usa la combinacion
+     *
+     * @param campos Campos a actualizar, en el orden de su enum
+     * @return Asignaciones separadas por coma (p. ej: "nombre = ?, clave = ?")
+     */
+    private static <C extends Enum<C> & Campo> String asignaciones(Set<C> campos) {
+        String asignaciones = ASIGNACIONES.get(campos);
+        if (asignaciones != null) return asignaciones;
+        StringBuilder sql = new StringBuilder();
+        for (C campo : campos) {
+            if (sql.length() > 0) sql.append(", ");
+            sql.append(campo.getColumna()).append(" = ?");
+        }
+        asignaciones = sql.toString();
+        ASIGNACIONES.putIfAbsent(EnumSet.copyOf(campos), asignaciones);
+        return asignaciones;
+    }
+
+    /**
+     * Vincula el valor al parametro segun el tipo del campo
+     *
+     * @param stmt      Sentencia preparada
+     * @param parametro Posicion del parametro
+     * @param campo     Campo al que corresponde el valor
+     * @param valor     Valor a vincular, puede ser nulo si el campo lo admite
+     * @throws SQLException Si ocurre algun error al vincular el valor
+     */
+    private static void vincular(PreparedStatement stmt, int parametro, Campo campo, Object valor)
+            throws SQLException {
+        campo.validar(valor);
+        switch (campo.getTipo()) {
+            case TEXTO -> {
+                if (valor == null) stmt.setNull(parametro, Types.VARCHAR);
+                else stmt.setString(parametro, (String) valor);
+            }
+            case ENTERO -> {
+                if (valor == null) stmt.setNull(parametro, Types.INTEGER);
+                else stmt.setInt(parametro, (Integer) valor);
+            }
+            case FECHA -> {
+                if (valor == null) stmt.setNull(parametro, Types.DATE);
+                else stmt.setDate(parametro, Date.valueOf((LocalDate) valor));
+            }
+            case BOOLEANO -> {
+                if (valor == null) stmt.setNull(parametro, Types.BOOLEAN);
+                else stmt.setBoolean(parametro, (Boolean) valor);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.fedebonel.respositorios.mysql;
+
+/**
+ * Fotografia inmutable de los contadores de ejecucion de una consulta del registro en un instante dado
+ */
+public class EstadisticaConsulta {
+    /**
+     * Consulta a la que pertenecen los contadores
+     */
+    private final Consulta consulta;
+    /**
+     * Total de ejecuciones de la consulta
+     */
+    private final long ejecuciones;
+    /**
+     * Tiempo total de ejecucion acumulado en nanosegundos
+     */
+    private final long totalNanos;
+    /**
+     * Tiempo de la ejecucion mas lenta en nanosegundos
+     */
+    private final long maximoNanos;
+
+    /**
+     * Constructor de la estadistica de una consulta
+     *
+     * @param consulta    Consulta
+     * @param ejecuciones Total de ejecuciones
+     * @param totalNanos  Tiempo total de ejecucion en nanosegundos
+     * @param maximoNanos Tiempo de la ejecucion mas lenta en nanosegundos
+     */
+    public EstadisticaConsulta(Consulta consulta, long ejecuciones, long totalNanos, long maximoNanos) {
+        this.consulta = consulta;
+        this.ejecuciones = ejecuciones;
+        this.totalNanos = totalNanos;
+        this.maximoNanos = maximoNanos;
+    }
+
+    public Consulta getConsulta() {
+        return consulta;
+    }
+
+    public long getEjecuciones() {
+        return ejecuciones;
+    }
+
+    /**
+     * Devuelve el tiempo total de ejecucion
+     *
+     * @return Tiempo total en milisegundos
+     */
+    public double getTotalMs() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    /**
+     * Devuelve el tiempo de la ejecucion mas lenta
+     *
+     * @return Tiempo maximo en milisegundos
+     */
+    public double getMaximoMs() {
+        return maximoNanos / 1_000_000.0;
+    }
+
+    /**
+     * Devuelve el tiempo promedio por ejecucion
+     *
+     * @return Tiempo promedio en milisegundos, 0 si la consulta no se ejecuto
+     */
+    public double getPromedioMs() {
+        if (ejecuciones == 0) return 0;
+        return totalNanos / 1_000_000.0 / ejecuciones;
+    }
+
+    /**
+     * Devuelve todas las estadisticas como string
+     *
+     * @return Todas las estadisticas como un string
+     */
+    @Override
+    public String toString() {
+        return consulta + "{" +
+                "ejecuciones=" + ejecuciones +
+                ", promedioMs=" + String.format("%.3f", getPromedioMs()) +
+                ", maximoMs=" + String.format("%.3f", getMaximoMs()) +
+                ", totalMs=" + String.format("%.3f", getTotalMs()) +
+                "} ";
+    }
+}
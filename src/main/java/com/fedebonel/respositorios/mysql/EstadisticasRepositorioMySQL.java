@@ -0,0 +1,48 @@
+package com.fedebonel.respositorios.mysql;
+
+import com.fedebonel.modelo.accesodatos.ConexionDB;
+import com.fedebonel.modelo.estadisticas.EstadisticaMunicipio;
+import com.fedebonel.modelo.estadisticas.TotalesPresentaciones;
+import com.fedebonel.respositorios.EstadisticasRepositorio;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Estadisticas del sistema en MySQL, cada lectura es una unica consulta agrupada
+ */
+public class EstadisticasRepositorioMySQL implements EstadisticasRepositorio {
+
+    @Override
+    public List<EstadisticaMunicipio> leerPorMunicipio() throws SQLException {
+        List<EstadisticaMunicipio> result = new LinkedList<>();
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.ESTADISTICAS_MUNICIPIOS);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                result.add(new EstadisticaMunicipio(rs.getString(1), rs.getString(2), rs.getInt(3), rs.getInt(4)));
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public TotalesPresentaciones leerTotalesPresentaciones(LocalDate hoy) throws SQLException {
+        int abiertas = 0;
+        int cerradas = 0;
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.ESTADISTICAS_PRESENTACIONES)) {
+            stmt.setDate(1, Date.valueOf(hoy));
+            stmt.setDate(2, Date.valueOf(hoy));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getBoolean(1)) abiertas = rs.getInt(2);
+                    else cerradas = rs.getInt(2);
+                }
+            }
+            return new TotalesPresentaciones(abiertas, cerradas);
+        }
+    }
+}
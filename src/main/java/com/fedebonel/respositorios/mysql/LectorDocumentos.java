@@ -0,0 +1,45 @@
+package com.fedebonel.respositorios.mysql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Lectura por lotes de las tablas de documentos (docmnt_cnvctria y docmnt_prsntcion):
+ * en lugar de una consulta por entidad se ejecuta una consulta IN (...) por cada lote de identificadores
+ */
+class LectorDocumentos {
+
+    private LectorDocumentos() {
+    }
+
+    /**
+     * Lee los documentos de todas las entidades pasadas agrupados por identificador
+     *
+     * @param conn     Conexion a utilizar
+     * @param consulta Consulta de documentos con una lista IN (%s) de propietarios que devuelve nombre y propietario
+     * @param ids      Identificadores de las entidades
+     * @return Documentos de cada entidad por identificador, las entidades sin documentos no figuran en el mapa
+     * @throws SQLException Si ocurre algun error al leer los documentos
+     */
+    static Map<String, List<String>> leerPorPropietarios(Connection conn, Consulta consulta, Collection<String> ids)
+            throws SQLException {
+        Map<String, List<String>> documentos = new HashMap<>();
+        List<String> pendientes = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (int inicio = 0; inicio < pendientes.size(); inicio += ConsultasPorBloques.TAMANIO_BLOQUE) {
+            List<String> lote = pendientes.subList(inicio,
+                    Math.min(inicio + ConsultasPorBloques.TAMANIO_BLOQUE, pendientes.size()));
+            try (PreparedStatement stmt = RegistroConsultas.preparar(conn, consulta,
+                    ConsultasPorBloques.marcadores(lote.size()))) {
+                ConsultasPorBloques.asignarIds(stmt, lote);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next())
+                        documentos.computeIfAbsent(rs.getString(2), id -> new LinkedList<>()).add(rs.getString(1));
+                }
+            }
+        }
+        return documentos;
+    }
+}
@@ -0,0 +1,185 @@
+package com.fedebonel.respositorios.mysql;
+
+import com.fedebonel.modelo.evento.Convocatoria;
+import com.fedebonel.modelo.municipio.Municipio;
+import com.fedebonel.modelo.usuario.RolUsuario;
+import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.respositorios.SesionIdentidad;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conversion de filas de consultas con JOIN a entidades, cada metodo lee las columnas de una tabla
+ * a partir de la posicion indicada (en el orden en el que estan definidas en el esquema)
+ */
+class MapeadorFilas {
+
+    /**
+     * Cantidad de columnas de la tabla usuario
+     */
+    static final int COLUMNAS_USUARIO = 4;
+    /**
+     * Cantidad de columnas de la tabla convocatoria
+     */
+    static final int COLUMNAS_CONVOCATORIA = 4;
+    /**
+     * Cantidad de columnas de la tabla municipio sin contar supervisor ni representante
+     */
+    static final int COLUMNAS_MUNICIPIO = 3;
+    /**
+     * Cantidad de columnas de un municipio seguido de las columnas de su fiscal y de su cuentadante
+     */
+    static final int COLUMNAS_MUNICIPIO_HIDRATADO = COLUMNAS_MUNICIPIO + 2 * COLUMNAS_USUARIO;
+
+    private MapeadorFilas() {
+    }
+
+    /**
+     * Lee una columna DATE como LocalDate
+     *
+     * @param rs      Fila actual
+     * @param columna Posicion de la columna
+     * @return Fecha leida
+     * @throws SQLException Si ocurre algun error al leer la columna
+     */
+    static LocalDate leerFecha(ResultSet rs, int columna) throws SQLException {
+        Date fecha = rs.getDate(columna);
+        return fecha.toLocalDate();
+    }
+
+    /**
+     * Lee un usuario (identificador, nombre, clave, rol) a partir de la columna indicada
+     *
+     * @param rs      Fila actual
+     * @param columna Posicion de la columna identificador
+     * @return Usuario leido, null si la fila no tiene usuario (LEFT JOIN sin coincidencia)
+     * @throws SQLException Si ocurre algun error al leer las columnas
+     */
+    static Usuario leerUsuario(ResultSet rs, int columna) throws SQLException {
+        String id = rs.getString(columna);
+        if (id == null) return null;
+        return new Usuario(
+                rs.getString(columna + 1),
+                id,
+                rs.getString(columna + 2),
+                RolUsuario.de(rs.getString(columna + 3)));
+    }
+
+    /**
+     * Lee una convocatoria (identificador, fecha_apertura, fecha_cierre, descripcion) a partir de la columna indicada
+     *
+     * @param rs         Fila actual
+     * @param columna    Posicion de la columna identificador
+     * @param documentos Documentos requeridos de cada convocatoria por identificador
+     * @return Convocatoria leida
+     * @throws SQLException Si ocurre algun error al leer las columnas
+     */
+    static Convocatoria leerConvocatoria(ResultSet rs, int columna, Map<String, List<String>> documentos)
+            throws SQLException {
+        String id = rs.getString(columna);
+        return new Convocatoria(id,
+                leerFecha(rs, columna + 1),
+                leerFecha(rs, columna + 2),
+                new LinkedList<>(documentos.getOrDefault(id, List.of())),
+                rs.getString(columna + 3));
+    }
+
+    /**
+     * Lee un municipio (identificador, nombre, categoria) a partir de la columna indicada, sin sus usuarios asignados
+     *
+     * @param rs      Fila actual
+     * @param columna Posicion de la columna identificador
+     * @return Municipio leido
+     * @throws SQLException Si ocurre algun error al leer las columnas
+     */
+    static Municipio leerMunicipio(ResultSet rs, int columna) throws SQLException {
+        return new Municipio(
+                rs.getString(columna),
+                rs.getString(columna + 1),
+                rs.getInt(columna + 2));
+    }
+
+    /**
+     * Lee un municipio seguido de las columnas de su fiscal y de su cuentadante, sin compartir instancias
+     * (utilizado en los recorridos, donde no se retienen las entidades ya entregadas)
+     *
+     * @param rs      Fila actual
+     * @param columna Posicion de la columna identificador
+     * @return Municipio leido con sus usuarios asignados
+     * @throws SQLException Si ocurre algun error al leer las columnas
+     */
+    static Municipio leerMunicipioHidratado(ResultSet rs, int columna) throws SQLException {
+        Municipio municipio = leerMunicipio(rs, columna);
+        Usuario fiscal = leerUsuario(rs, columna + COLUMNAS_MUNICIPIO);
+        if (fiscal != null) municipio.tomaNuevoSupervisorFiscal(fiscal);
+        Usuario cuentadante = leerUsuario(rs, columna + COLUMNAS_MUNICIPIO + COLUMNAS_USUARIO);
+        if (cuentadante != null) municipio.tomaNuevoRepresentante(cuentadante, new LinkedList<>());
+        return municipio;
+    }
+
+    /**
+     * Devuelve la instancia de la sesion del usuario que comienza en la columna indicada, leyendolo solo si
+     * aun no fue cargado
+     *
+     * @param rs      Fila actual
+     * @param columna Posicion de la columna identificador
+     * @param sesion  Sesion de identidad de la carga
+     * @return Usuario unico en la sesion, null si la fila no tiene usuario
+     * @throws SQLException Si ocurre algun error al leer las columnas
+     */
+    static Usuario resolverUsuario(ResultSet rs, int columna, SesionIdentidad sesion) throws SQLException {
+        String id = rs.getString(columna);
+        if (id == null) return null;
+        Usuario usuario = sesion.buscar(Usuario.class, id);
+        if (usuario != null) return usuario;
+        return sesion.registrar(Usuario.class, id, leerUsuario(rs, columna));
+    }
+
+    /**
+     * Devuelve la instancia de la sesion de la convocatoria que comienza en la columna indicada, leyendola solo si
+     * aun no fue cargada
+     *
+     * @param rs         Fila actual
+     * @param columna    Posicion de la columna identificador
+     * @param documentos Documentos requeridos de cada convocatoria por identificador
+     * @param sesion     Sesion de identidad de la carga
+     * @return Convocatoria unica en la sesion
+     * @throws SQLException Si ocurre algun error al leer las columnas
+     */
+    static Convocatoria resolverConvocatoria(ResultSet rs, int columna, Map<String, List<String>> documentos,
+                                             SesionIdentidad sesion) throws SQLException {
+        String id = rs.getString(columna);
+        Convocatoria convocatoria = sesion.buscar(Convocatoria.class, id);
+        if (convocatoria != null) return convocatoria;
+        return sesion.registrar(Convocatoria.class, id, leerConvocatoria(rs, columna, documentos));
+    }
+
+    /**
+     * Devuelve la instancia de la sesion del municipio que comienza en la columna indicada, seguido de las columnas
+     * de su fiscal y de su cuentadante, leyendolo solo si aun no fue cargado
+     *
+     * @param rs      Fila actual
+     * @param columna Posicion de la columna identificador
+     * @param sesion  Sesion de identidad de la carga
+     * @return Municipio unico en la sesion con sus usuarios asignados
+     * @throws SQLException Si ocurre algun error al leer las columnas
+     */
+    static Municipio resolverMunicipio(ResultSet rs, int columna, SesionIdentidad sesion) throws SQLException {
+        String id = rs.getString(columna);
+        Municipio municipio = sesion.buscar(Municipio.class, id);
+        if (municipio != null) return municipio;
+        municipio = leerMunicipio(rs, columna);
+        Usuario fiscal = resolverUsuario(rs, columna + COLUMNAS_MUNICIPIO, sesion);
+        if (fiscal != null) municipio.tomaNuevoSupervisorFiscal(fiscal);
+        // El representante es unico por municipio, no hay otro municipio del que deba abandonarlo
+        Usuario cuentadante = resolverUsuario(rs, columna + COLUMNAS_MUNICIPIO + COLUMNAS_USUARIO, sesion);
+        if (cuentadante != null) municipio.tomaNuevoRepresentante(cuentadante, new LinkedList<>());
+        return sesion.registrar(Municipio.class, id, municipio);
+    }
+}
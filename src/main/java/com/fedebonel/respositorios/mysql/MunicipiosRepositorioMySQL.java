@@ -1,110 +1,130 @@
 package com.fedebonel.respositorios.mysql;
 
 import com.fedebonel.modelo.accesodatos.ConexionDB;
+import com.fedebonel.modelo.municipio.CampoMunicipio;
 import com.fedebonel.modelo.municipio.Municipio;
 import com.fedebonel.respositorios.MunicipiosRepositorio;
-import com.fedebonel.respositorios.UsuariosRepositorio;
+import com.fedebonel.respositorios.SesionIdentidad;
+import com.fedebonel.respositorios.TablaVersionada;
 
 import java.sql.*;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Repositorio de municipios en MySQL
  */
 public class MunicipiosRepositorioMySQL implements MunicipiosRepositorio {
 
-    private final UsuariosRepositorio usuariosRepositorio;
-
-    public MunicipiosRepositorioMySQL(UsuariosRepositorio usuariosRepositorio) {
-        this.usuariosRepositorio = usuariosRepositorio;
-    }
-
-
     @Override
-    public void guardar(Municipio entidad) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement("insert into municipio values (?, ?, ?, NULL, NULL)")) {
+    public boolean guardar(Municipio entidad) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.MUNICIPIO_INSERTAR)) {
             stmt.setString(1, entidad.getId());
             stmt.setString(2, entidad.getNombre());
             stmt.setInt(3, entidad.getCategoria());
             stmt.executeUpdate();
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.MUNICIPIO);
+            return true;
+        } catch (SQLException e) {
+            if (ErroresMySQL.esClaveDuplicada(e)) return false;
+            throw e;
         }
     }
 
     @Override
     public List<Municipio> leerTodo() throws SQLException {
         List<Municipio> result = new LinkedList<>();
-        Municipio currMunicipio;
-        String fiscalId, cuentadanteId;
-        Connection conn = ConexionDB.getConnection();
-        ResultSet rs;
-        try (Statement stmt = conn.createStatement()) {
-            rs = stmt.executeQuery("select * from municipio");
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.MUNICIPIO_LEER_TODOS);
+             ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
-                currMunicipio = new Municipio(
-                        rs.getString(1),
-                        rs.getString(2),
-                        rs.getInt(3));
-                fiscalId = rs.getString(4);
-                cuentadanteId = rs.getString(5);
-                if (fiscalId != null)
-                    currMunicipio.tomaNuevoSupervisorFiscal(usuariosRepositorio.leerPorId(fiscalId));
-                if (cuentadanteId != null)
-                    currMunicipio.tomaNuevoRepresentante(usuariosRepositorio.leerPorId(cuentadanteId), result);
-                result.add(currMunicipio);
+                result.add(MapeadorFilas.resolverMunicipio(rs, 1, sesion));
             }
             return result;
         }
     }
 
     @Override
-    public Municipio leerPorId(String id) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        ResultSet rs;
-        try (PreparedStatement stmt = conn.prepareStatement("select * from municipio where identificador=?")) {
-            stmt.setString(1, id);
-            rs = stmt.executeQuery();
-            if (!rs.next()) return null;
-            Municipio municipio = new Municipio(
-                    rs.getString(1),
-                    rs.getString(2),
-                    rs.getInt(3));
-            String fiscalId = rs.getString(4);
-            if (fiscalId != null)
-                municipio.tomaNuevoSupervisorFiscal(usuariosRepositorio.leerPorId(fiscalId));
-            String cuentadanteId = rs.getString(5);
-            if (cuentadanteId != null)
-                municipio.tomaNuevoRepresentante(usuariosRepositorio.leerPorId(cuentadanteId), leerTodo());
-            return municipio;
+    public List<Municipio> leerPagina(String despuesDe, int limite) throws SQLException {
+        List<Municipio> result = new LinkedList<>();
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.MUNICIPIO_LEER_PAGINA)) {
+            stmt.setString(1, despuesDe == null ? "" : despuesDe);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    result.add(MapeadorFilas.resolverMunicipio(rs, 1, sesion));
+                }
+            }
+            return result;
         }
     }
 
     @Override
-    public void eliminarPorId(String id) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement("delete from municipio where identificador = ?")) {
-            stmt.setString(1, id);
-            stmt.executeUpdate();
+    public List<Municipio> leerPorCuentadante(String idCuentadante) throws SQLException {
+        List<Municipio> result = new LinkedList<>();
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.MUNICIPIO_LEER_POR_CUENTADANTE)) {
+            stmt.setString(1, idCuentadante);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    result.add(MapeadorFilas.resolverMunicipio(rs, 1, sesion));
+                }
+            }
+            return result;
         }
     }
 
     @Override
-    public void actualizarPorId(String id, String campo, String valor) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        PreparedStatement stmt = null;
-        try {
-            if (valor.equals("NULL")) {
-                stmt = conn.prepareStatement("update municipio set " + campo + " = NULL where identificador = ?");
+    public void recorrerTodo(Consumer<Municipio> consumidor) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.prepararCursor(conn, Consulta.MUNICIPIO_LEER_TODOS);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                consumidor.accept(MapeadorFilas.leerMunicipioHidratado(rs, 1));
+            }
+        }
+    }
+
+    @Override
+    public Municipio leerPorId(String id) throws SQLException {
+        try (SesionIdentidad sesion = SesionIdentidad.abrir()) {
+            Municipio cargado = sesion.buscar(Municipio.class, id);
+            if (cargado != null) return cargado;
+            try (Connection conn = ConexionDB.getConnection();
+                 PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.MUNICIPIO_LEER_POR_ID)) {
                 stmt.setString(1, id);
-            } else {
-                stmt = conn.prepareStatement("update municipio set " + campo + " = ? where identificador = ?");
-                stmt.setString(1, valor);
-                stmt.setString(2, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) return null;
+                    return MapeadorFilas.resolverMunicipio(rs, 1, sesion);
+                }
             }
-            stmt.executeUpdate();
-        } finally {
-            if (stmt != null) stmt.close();
+        }
+    }
+
+    @Override
+    public boolean eliminarPorId(String id) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.MUNICIPIO_ELIMINAR)) {
+            stmt.setString(1, id);
+            if (stmt.executeUpdate() == 0) return false;
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.MUNICIPIO);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean actualizarPorId(String id, Map<CampoMunicipio, Object> campos) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection()) {
+            if (!EscritorCampos.actualizar(conn, Consulta.MUNICIPIO_ACTUALIZAR, id, campos)) return false;
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.MUNICIPIO);
+            return true;
         }
     }
 }
@@ -2,23 +2,38 @@ package com.fedebonel.respositorios.mysql;
 
 
 import com.fedebonel.modelo.accesodatos.ConexionDB;
+import com.fedebonel.modelo.accesodatos.Transaccion;
+import com.fedebonel.modelo.evento.CampoPresentacion;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
 import com.fedebonel.modelo.evento.Presentacion;
 import com.fedebonel.respositorios.ConvocatoriasRepositorio;
 import com.fedebonel.respositorios.MunicipiosRepositorio;
 import com.fedebonel.respositorios.PresentacionesRepositorio;
+import com.fedebonel.respositorios.SesionIdentidad;
+import com.fedebonel.respositorios.TablaVersionada;
 import com.fedebonel.respositorios.UsuariosRepositorio;
 
 import java.sql.*;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Repositorio de presentaciones en MySQL
  */
 public class PresentacionesRepositorioMySQL implements PresentacionesRepositorio {
+    /**
+     * Posiciones en Consulta.PRESENTACION_LEER_TODAS donde comienza cada entidad asociada
+     */
+    private static final int COLUMNA_CONVOCATORIA = 4;
+    private static final int COLUMNA_AUTOR = COLUMNA_CONVOCATORIA + MapeadorFilas.COLUMNAS_CONVOCATORIA;
+    private static final int COLUMNA_MUNICIPIO = COLUMNA_AUTOR + MapeadorFilas.COLUMNAS_USUARIO;
+
     private final ConvocatoriasRepositorio convocatoriasRepositorio;
     private final UsuariosRepositorio usuariosRepositorio;
     private final MunicipiosRepositorio municipiosRepositorio;
@@ -32,9 +47,26 @@ public class PresentacionesRepositorioMySQL implements PresentacionesRepositorio
     }
 
     @Override
-    public void guardar(Presentacion entidad) throws SQLException {
-        Connection baseDatos = ConexionDB.getConnection();
-        try (PreparedStatement stmt = baseDatos.prepareStatement("insert into presentacion values (?, ?, ?, ?, ?, ?)")) {
+    public boolean guardar(Presentacion entidad) throws SQLException {
+        try {
+            Transaccion.ejecutar(baseDatos -> insertar(baseDatos, entidad));
+            return true;
+        } catch (SQLException e) {
+            // Si la presentacion ya existe falla la primera insercion y la transaccion no confirma nada
+            if (ErroresMySQL.esClaveDuplicada(e)) return false;
+            throw e;
+        }
+    }
+
+    /**
+     * Inserta la presentacion y sus documentos
+     *
+     * @param baseDatos Conexion de la transaccion
+     * @param entidad   Presentacion a insertar
+     * @throws SQLException Si alguna insercion falla
+     */
+    private static void insertar(Connection baseDatos, Presentacion entidad) throws SQLException {
+        try (PreparedStatement stmt = RegistroConsultas.preparar(baseDatos, Consulta.PRESENTACION_INSERTAR)) {
             stmt.setString(1, entidad.getId());
             stmt.setDate(2, Date.valueOf(entidad.getFechaInicio()));
             stmt.setBoolean(3, entidad.isAbierto());
@@ -42,73 +74,181 @@ public class PresentacionesRepositorioMySQL implements PresentacionesRepositorio
             stmt.setString(5, entidad.getAutor().getId());
             stmt.setString(6, entidad.getMunicipio().getId());
             stmt.executeUpdate();
-            for (String documento : entidad.getDocumentos().getDocumentosLinkedList())
-                agregarDocPresentacion(entidad, documento);
+            CambiosRepositorioMySQL.registrarCambio(baseDatos, TablaVersionada.PRESENTACION);
+        }
+        try (PreparedStatement stmt = RegistroConsultas.preparar(baseDatos, Consulta.DOC_PRESENTACION_INSERTAR)) {
+            for (String documento : entidad.getDocumentos().getDocumentosLinkedList()) {
+                stmt.setString(1, documento);
+                stmt.setString(2, entidad.getId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
         }
     }
 
     @Override
     public List<Presentacion> leerTodo() throws SQLException {
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.prepararDesplazable(conn, Consulta.PRESENTACION_LEER_TODAS);
+             ResultSet rs = stmt.executeQuery()) {
+            return hidratar(conn, rs, sesion);
+        }
+    }
+
+    @Override
+    public List<Presentacion> leerPagina(String despuesDe, int limite) throws SQLException {
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.prepararDesplazable(conn, Consulta.PRESENTACION_LEER_PAGINA)) {
+            stmt.setString(1, despuesDe == null ? "" : despuesDe);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return hidratar(conn, rs, sesion);
+            }
+        }
+    }
+
+    @Override
+    public void recorrerTodo(Consumer<Presentacion> consumidor) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection()) {
+            ConsultasPorBloques.recorrerIds(conn, Consulta.PRESENTACION_LEER_IDS, ids -> {
+                try (SesionIdentidad sesion = SesionIdentidad.abrir();
+                     PreparedStatement stmt = RegistroConsultas.prepararDesplazable(conn,
+                             Consulta.PRESENTACION_LEER_POR_IDS, ConsultasPorBloques.marcadores(ids.size()))) {
+                    ConsultasPorBloques.asignarIds(stmt, ids);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        hidratar(conn, rs, sesion).forEach(consumidor);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public List<Presentacion> leerPorAutor(String idAutor) throws SQLException {
+        return leerFiltradas(Consulta.PRESENTACION_LEER_POR_AUTOR, idAutor);
+    }
+
+    @Override
+    public List<Presentacion> leerPorFiscal(String idFiscal) throws SQLException {
+        return leerFiltradas(Consulta.PRESENTACION_LEER_POR_FISCAL, idFiscal);
+    }
+
+    /**
+     * Lee las presentaciones de una consulta hidratada filtrada por un unico parametro
+     *
+     * @param consulta Consulta con las columnas de Consulta.PRESENTACION_LEER_TODAS y un parametro
+     * @param valor    Valor del parametro del filtro
+     * @return Las presentaciones que cumplen el filtro
+     * @throws SQLException Si ocurre algun error al leer las presentaciones
+     */
+    private List<Presentacion> leerFiltradas(Consulta consulta, String valor) throws SQLException {
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.prepararDesplazable(conn, consulta)) {
+            stmt.setString(1, valor);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return hidratar(conn, rs, sesion);
+            }
+        }
+    }
+
+    /**
+     * Construye las presentaciones de un resultado de Consulta.PRESENTACION_LEER_TODAS leyendo sus documentos
+     * y los de sus convocatorias por lotes
+     *
+     * @param conn   Conexion con la que leer los documentos
+     * @param rs     Resultado desplazable con las columnas de Consulta.PRESENTACION_LEER_TODAS
+     * @param sesion Sesion de identidad de la carga
+     * @return Las presentaciones leidas en el orden del resultado
+     * @throws SQLException Si ocurre algun error al leer las presentaciones o sus documentos
+     */
+    private List<Presentacion> hidratar(Connection conn, ResultSet rs, SesionIdentidad sesion) throws SQLException {
         List<Presentacion> result = new LinkedList<>();
+        Set<String> idsPresentaciones = new LinkedHashSet<>();
+        Set<String> idsConvocatorias = new LinkedHashSet<>();
         Presentacion presActual;
-        LinkedList<String> documentos;
-        Connection conn = ConexionDB.getConnection();
-        DateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
-        ResultSet rs;
-        try (Statement stmt = conn.createStatement()) {
-            rs = stmt.executeQuery("select * from presentacion");
-            while (rs.next()) {
-                documentos = readAllDocumentsFromPresentation(rs.getString(1));
-                presActual = new Presentacion(rs.getString(1),
-                        LocalDate.parse(formatter.format(rs.getTimestamp(2))),
+        // Primera pasada: identificadores para leer todos los documentos en lotes
+        while (rs.next()) {
+            idsPresentaciones.add(rs.getString(1));
+            idsConvocatorias.add(rs.getString(COLUMNA_CONVOCATORIA));
+        }
+        Map<String, List<String>> docsPresentaciones = LectorDocumentos.leerPorPropietarios(conn,
+                Consulta.DOCS_PRESENTACIONES_LEER, idsPresentaciones);
+        Map<String, List<String>> docsConvocatorias = LectorDocumentos.leerPorPropietarios(conn,
+                Consulta.DOCS_CONVOCATORIAS_LEER, idsConvocatorias);
+        rs.beforeFirst();
+        while (rs.next()) {
+            presActual = sesion.buscar(Presentacion.class, rs.getString(1));
+            if (presActual == null)
+                presActual = sesion.registrar(Presentacion.class, rs.getString(1), new Presentacion(rs.getString(1),
+                        MapeadorFilas.leerFecha(rs, 2),
                         rs.getBoolean(3),
-                        convocatoriasRepositorio.leerPorId(rs.getString(4)),
-                        usuariosRepositorio.leerPorId(rs.getString(5)),
-                        municipiosRepositorio.leerPorId(rs.getString(6)),
-                        documentos);
-                result.add(presActual);
-            }
-            return result;
+                        MapeadorFilas.resolverConvocatoria(rs, COLUMNA_CONVOCATORIA, docsConvocatorias, sesion),
+                        MapeadorFilas.resolverUsuario(rs, COLUMNA_AUTOR, sesion),
+                        MapeadorFilas.resolverMunicipio(rs, COLUMNA_MUNICIPIO, sesion),
+                        new LinkedList<>(docsPresentaciones.getOrDefault(rs.getString(1), List.of()))));
+            result.add(presActual);
         }
+        return result;
     }
 
     @Override
     public Presentacion leerPorId(String id) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        DateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
-        ResultSet rs;
-        try (PreparedStatement stmt = conn.prepareStatement("select * from presentacion where identificador=?")) {
-            stmt.setString(1, id);
-            rs = stmt.executeQuery();
-            if (!rs.next()) return null;
-            LinkedList<String> documentos = readAllDocumentsFromPresentation(rs.getString(1));
-            return new Presentacion(rs.getString(1),
-                    LocalDate.parse(formatter.format(rs.getTimestamp(2))),
-                    rs.getBoolean(3),
-                    convocatoriasRepositorio.leerPorId(rs.getString(4)),
-                    usuariosRepositorio.leerPorId(rs.getString(5)),
-                    municipiosRepositorio.leerPorId(rs.getString(6)),
-                    documentos);
+        try (SesionIdentidad sesion = SesionIdentidad.abrir()) {
+            Presentacion cargada = sesion.buscar(Presentacion.class, id);
+            if (cargada != null) return cargada;
+            String idLeido;
+            LocalDate fechaCreacion;
+            boolean abierta;
+            String idConvocatoria;
+            String idAutor;
+            String idMunicipio;
+            LinkedList<String> documentos;
+            // La fila y sus documentos se leen con una sola conexion que se devuelve antes de resolver las entidades
+            // asociadas: cada repositorio toma la suya y nunca hay dos conexiones prestadas a la vez
+            try (Connection conn = ConexionDB.getConnection();
+                 PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.PRESENTACION_LEER_POR_ID)) {
+                stmt.setString(1, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) return null;
+                    idLeido = rs.getString(1);
+                    fechaCreacion = MapeadorFilas.leerFecha(rs, 2);
+                    abierta = rs.getBoolean(3);
+                    idConvocatoria = rs.getString(4);
+                    idAutor = rs.getString(5);
+                    idMunicipio = rs.getString(6);
+                }
+                documentos = leerDocumentos(conn, idLeido);
+            }
+            return sesion.registrar(Presentacion.class, idLeido, new Presentacion(idLeido,
+                    fechaCreacion,
+                    abierta,
+                    convocatoriasRepositorio.leerPorId(idConvocatoria),
+                    usuariosRepositorio.leerPorId(idAutor),
+                    municipiosRepositorio.leerPorId(idMunicipio),
+                    documentos));
         }
     }
 
     @Override
-    public void eliminarPorId(String id) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement("delete from presentacion where identificador = ?")) {
+    public boolean eliminarPorId(String id) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.PRESENTACION_ELIMINAR)) {
             stmt.setString(1, id);
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() == 0) return false;
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.PRESENTACION);
+            return true;
         }
     }
 
     @Override
-    public void actualizarPorId(String id, String campo, String valor) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        try (PreparedStatement stmt
-                     = conn.prepareStatement("update presentacion set " + campo + " = ? where identificador = ?")) {
-            stmt.setString(1, valor);
-            stmt.setString(2, id);
-            stmt.executeUpdate();
+    public boolean actualizarPorId(String id, Map<CampoPresentacion, Object> campos) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection()) {
+            if (!EscritorCampos.actualizar(conn, Consulta.PRESENTACION_ACTUALIZAR, id, campos)) return false;
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.PRESENTACION);
+            return true;
         }
     }
 
@@ -120,36 +260,66 @@ public class PresentacionesRepositorioMySQL implements PresentacionesRepositorio
      * @throws SQLException Si ocurre algun error al leer los documentos
      */
     public LinkedList<String> readAllDocumentsFromPresentation(String idPresentacion) throws SQLException {
-        ResultSet documentosRs;
+        try (Connection conn = ConexionDB.getConnection()) {
+            return leerDocumentos(conn, idPresentacion);
+        }
+    }
+
+    /**
+     * Lee los documentos de la presentacion con la conexion pasada
+     *
+     * @param conn           Conexion con la que leer los documentos
+     * @param idPresentacion Identificador de la presentacion
+     * @return LinkedList con todos los documentos de la presentacion
+     * @throws SQLException Si ocurre algun error al leer los documentos
+     */
+    private static LinkedList<String> leerDocumentos(Connection conn, String idPresentacion) throws SQLException {
         LinkedList<String> documentos = new LinkedList<>();
-        try (PreparedStatement tablaDocumentos = ConexionDB.getConnection().prepareStatement("select * from docmnt_prsntcion where presentacion = ?")) {
+        try (PreparedStatement tablaDocumentos = RegistroConsultas.preparar(conn, Consulta.DOCS_PRESENTACION_LEER)) {
             tablaDocumentos.setString(1, idPresentacion);
-            documentosRs = tablaDocumentos.executeQuery();
-            while (documentosRs.next()) {
-                documentos.add(documentosRs.getString(1));
+            try (ResultSet documentosRs = tablaDocumentos.executeQuery()) {
+                while (documentosRs.next()) {
+                    documentos.add(documentosRs.getString(1));
+                }
             }
             return documentos;
         }
     }
 
     @Override
-    public void agregarDocPresentacion(Presentacion presentacion, String documento) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement("insert into docmnt_prsntcion values (?, ?)")) {
+    public Map<String, List<String>> leerDocsPresentaciones(Collection<String> idsPresentaciones) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection()) {
+            return LectorDocumentos.leerPorPropietarios(conn, Consulta.DOCS_PRESENTACIONES_LEER, idsPresentaciones);
+        }
+    }
+
+    @Override
+    public boolean agregarDocPresentacion(Presentacion presentacion, String documento) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.DOC_PRESENTACION_AGREGAR)) {
             stmt.setString(1, documento);
             stmt.setString(2, presentacion.getId());
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() == 0) return false;
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.PRESENTACION);
+            return true;
         }
     }
 
     @Override
-    public void removerDocPresentacion(Presentacion presentacion, String documento) throws SQLException {
-        Connection baseDatos = ConexionDB.getConnection();
-        try (PreparedStatement stmt
-                     = baseDatos.prepareStatement("delete from docmnt_prsntcion where presentacion = ? and nombre = ?")) {
+    public boolean removerDocPresentacion(Presentacion presentacion, String documento) throws SQLException {
+        try (Connection baseDatos = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(baseDatos, Consulta.DOC_PRESENTACION_ELIMINAR)) {
             stmt.setString(1, presentacion.getId());
             stmt.setString(2, documento);
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() == 0) return false;
+            CambiosRepositorioMySQL.registrarCambio(baseDatos, TablaVersionada.PRESENTACION);
+            return true;
         }
     }
+
+    @Override
+    public boolean aplicarCambios(ConjuntoCambios<CampoPresentacion> cambios) throws SQLException {
+        return EscritorCambios.aplicar(cambios, Consulta.PRESENTACION_BLOQUEAR, Consulta.PRESENTACION_ACTUALIZAR,
+                Consulta.DOC_PRESENTACION_ELIMINAR, Consulta.DOC_PRESENTACION_INSERTAR, TablaVersionada.PRESENTACION);
+    }
 }
@@ -0,0 +1,192 @@
+package com.fedebonel.respositorios.mysql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Punto unico por el que los repositorios MySQL preparan sus sentencias.
+ * Cada sentencia se prepara a partir de una Consulta del registro y se mide cada una de sus ejecuciones.
+ * La reutilizacion de las sentencias preparadas en cada conexion del pool la realiza el driver
+ * (cachePrepStmts y useServerPrepStmts en config.properties): como el SQL de cada consulta es siempre el mismo,
+ * volver a prepararlo en la misma conexion fisica no lo vuelve a analizar
+ */
+public class RegistroConsultas {
+
+    /**
+     * String constante que posee el error cuando una parte dinamica de la consulta no es valida
+     */
+    public static final String ERROR_PARTE_INVALIDA = "Parte dinamica de la consulta invalida: ";
+    /**
+     * Tiempo a partir del cual una ejecucion se reporta como lenta
+     */
+    static final long UMBRAL_CONSULTA_LENTA_MS = 1000;
+
+    /**
+     * Partes dinamicas aceptadas: listas de marcadores de parametros o listas de asignaciones de columnas
+     * ("columna = ?, columna = ?")
+     */
+    private static final Pattern PARTE_VALIDA =
+            Pattern.compile("\\?(, \\?)*|[A-Za-z_][A-Za-z0-9_]* = \\?(, [A-Za-z_][A-Za-z0-9_]* = \\?)*");
+    /**
+     * Contadores de ejecucion de cada consulta
+     */
+    private static final Map<Consulta, Contadores> CONTADORES = new ConcurrentHashMap<>();
+
+    private RegistroConsultas() {
+    }
+
+    /**
+     * Prepara la sentencia de la consulta
+     *
+     * @param conn     Conexion a utilizar
+     * @param consulta Consulta a preparar
+     * @param partes   Valores de las partes dinamicas %s de la consulta, en orden
+     * @return Sentencia preparada que registra sus ejecuciones
+     * @throws SQLException Si ocurre algun error al preparar la sentencia
+     */
+    public static PreparedStatement preparar(Connection conn, Consulta consulta, String... partes) throws SQLException {
+        return medir(conn.prepareStatement(sql(consulta, partes)), consulta);
+    }
+
+    /**
+     * Prepara la sentencia de la consulta con un resultado desplazable, que puede recorrerse mas de una vez
+     *
+     * @param conn     Conexion a utilizar
+     * @param consulta Consulta a preparar
+     * @param partes   Valores de las partes dinamicas %s de la consulta, en orden
+     * @return Sentencia preparada que registra sus ejecuciones
+     * @throws SQLException Si ocurre algun error al preparar la sentencia
+     */
+    public static PreparedStatement prepararDesplazable(Connection conn, Consulta consulta, String... partes)
+            throws SQLException {
+        return medir(conn.prepareStatement(sql(consulta, partes),
+                ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY), consulta);
+    }
+
+    /**
+     * Prepara la sentencia de la consulta de solo avance que lee de a ConsultasPorBloques.TAMANIO_BLOQUE filas
+     * (con useCursorFetch=true el driver usa un cursor del lado del servidor)
+     *
+     * @param conn     Conexion a utilizar
+     * @param consulta Consulta a preparar
+     * @return Sentencia configurada para recorrer resultados grandes
+     * @throws SQLException Si ocurre algun error al preparar la sentencia
+     */
+    public static PreparedStatement prepararCursor(Connection conn, Consulta consulta) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql(consulta),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(ConsultasPorBloques.TAMANIO_BLOQUE);
+        return medir(stmt, consulta);
+    }
+
+    /**
+     * Devuelve los contadores de todas las consultas ejecutadas
+     *
+     * @return Estadisticas de cada consulta ejecutada al menos una vez, ordenadas por tiempo total descendente
+     */
+    public static List<EstadisticaConsulta> getEstadisticas() {
+        List<EstadisticaConsulta> estadisticas = new ArrayList<>();
+        CONTADORES.forEach((consulta, contadores) -> estadisticas.add(contadores.fotografiar(consulta)));
+        estadisticas.sort(Comparator.comparingDouble(EstadisticaConsulta::getTotalMs).reversed());
+        return estadisticas;
+    }
+
+    /**
+     * Arma el SQL de la consulta completando sus partes dinamicas
+     *
+     * @param consulta Consulta
+     * @param partes   Valores de las partes dinamicas
+     * @return SQL a preparar
+     */
+    private static String sql(Consulta consulta, String... partes) {
+        if (partes.length == 0) return consulta.getSql();
+        for (String parte : partes) {
+            if (parte == null || !PARTE_VALIDA.matcher(parte).matches())
+                throw new IllegalArgumentException(ERROR_PARTE_INVALIDA + parte);
+        }
+        return String.format(consulta.getSql(), (Object[]) partes);
+    }
+
+    /**
+     * Envuelve la sentencia para medir cada una de sus ejecuciones
+     *
+     * @param stmt     Sentencia preparada
+     * @param consulta Consulta de la sentencia
+     * @return Sentencia que registra sus ejecuciones
+     */
+    private static PreparedStatement medir(PreparedStatement stmt, Consulta consulta) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new ManejadorMedicion(stmt, consulta));
+    }
+
+    /**
+     * Contadores acumulados de una consulta
+     */
+    private static class Contadores {
+        private final LongAdder ejecuciones = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maximoNanos = new AtomicLong();
+
+        private void registrar(long nanos) {
+            ejecuciones.increment();
+            totalNanos.add(nanos);
+            maximoNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private EstadisticaConsulta fotografiar(Consulta consulta) {
+            return new EstadisticaConsulta(consulta, ejecuciones.sum(), totalNanos.sum(), maximoNanos.get());
+        }
+    }
+
+    /**
+     * Manejador de las invocaciones sobre la sentencia, mide los metodos execute*
+     */
+    private static class ManejadorMedicion implements InvocationHandler {
+        /**
+         * Sentencia real
+         */
+        private final PreparedStatement sentencia;
+        /**
+         * Consulta de la sentencia
+         */
+        private final Consulta consulta;
+
+        private ManejadorMedicion(PreparedStatement sentencia, Consulta consulta) {
+            this.sentencia = sentencia;
+            this.consulta = consulta;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            if (!metodo.getName().startsWith("execute")) return delegar(metodo, args);
+            long inicio = System.nanoTime();
+            try {
+                return delegar(metodo, args);
+            } finally {
+                long nanos = System.nanoTime() - inicio;
+                CONTADORES.computeIfAbsent(consulta, c -> new Contadores()).registrar(nanos);
+                if (nanos / 1_000_000 >= UMBRAL_CONSULTA_LENTA_MS)
+                    System.out.println("Consulta lenta " + consulta + ": " + nanos / 1_000_000 + " ms");
+            }
+        }
+
+        private Object delegar(Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(sentencia, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
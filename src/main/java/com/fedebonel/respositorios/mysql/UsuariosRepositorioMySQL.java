@@ -1,98 +1,127 @@
 package com.fedebonel.respositorios.mysql;
 
 import com.fedebonel.modelo.accesodatos.ConexionDB;
-import com.fedebonel.modelo.usuario.RolUsuario;
+import com.fedebonel.modelo.usuario.CampoUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.respositorios.SesionIdentidad;
+import com.fedebonel.respositorios.TablaVersionada;
 import com.fedebonel.respositorios.UsuariosRepositorio;
 
 import java.sql.*;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Repositorio de usuarios en MySQL
  */
 public class UsuariosRepositorioMySQL implements UsuariosRepositorio {
     @Override
-    public void guardar(Usuario entidad) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement("insert into usuario values (?, ?, ?, ?)")) {
+    public boolean guardar(Usuario entidad) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.USUARIO_INSERTAR)) {
             stmt.setString(1, entidad.getId());
             stmt.setString(2, entidad.getNombre());
             stmt.setString(3, entidad.getClave());
             stmt.setString(4, entidad.rolUsuario.getNombreRol());
             stmt.executeUpdate();
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.USUARIO);
+            return true;
+        } catch (SQLException e) {
+            if (ErroresMySQL.esClaveDuplicada(e)) return false;
+            throw e;
         }
     }
 
     @Override
     public List<Usuario> leerTodo() throws SQLException {
         List<Usuario> result = new LinkedList<>();
-        Usuario currUsuario;
-        Connection conn = ConexionDB.getConnection();
-        ResultSet rs;
-        try (Statement stmt = conn.createStatement()) {
-            rs = stmt.executeQuery("select * from usuario");
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.USUARIO_LEER_TODOS);
+             ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
-                currUsuario = new Usuario(
-                        rs.getString(2),
-                        rs.getString(1),
-                        rs.getString(3),
-                        new RolUsuario(rs.getString(4)));
-                result.add(currUsuario);
+                result.add(MapeadorFilas.resolverUsuario(rs, 1, sesion));
             }
             return result;
         }
     }
 
+    @Override
+    public List<Usuario> leerPagina(String despuesDe, int limite) throws SQLException {
+        List<Usuario> result = new LinkedList<>();
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.USUARIO_LEER_PAGINA)) {
+            stmt.setString(1, despuesDe == null ? "" : despuesDe);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    result.add(MapeadorFilas.resolverUsuario(rs, 1, sesion));
+                }
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public void recorrerTodo(Consumer<Usuario> consumidor) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.prepararCursor(conn, Consulta.USUARIO_LEER_TODOS);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                consumidor.accept(MapeadorFilas.leerUsuario(rs, 1));
+            }
+        }
+    }
+
     @Override
     public Usuario leerPorId(String id) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        ResultSet rs;
-        try (PreparedStatement stmt = conn.prepareStatement("select * from usuario where identificador=?")) {
-            stmt.setString(1, id);
-            rs = stmt.executeQuery();
-            if (!rs.next()) return null;
-            return new Usuario(
-                    rs.getString(2),
-                    rs.getString(1),
-                    rs.getString(3),
-                    new RolUsuario(rs.getString(4)));
+        try (SesionIdentidad sesion = SesionIdentidad.abrir()) {
+            Usuario cargado = sesion.buscar(Usuario.class, id);
+            if (cargado != null) return cargado;
+            try (Connection conn = ConexionDB.getConnection();
+                 PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.USUARIO_LEER_POR_ID)) {
+                stmt.setString(1, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) return null;
+                    return MapeadorFilas.resolverUsuario(rs, 1, sesion);
+                }
+            }
         }
     }
 
     @Override
-    public void eliminarPorId(String id) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement("delete from usuario where identificador = ?")) {
+    public boolean eliminarPorId(String id) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.USUARIO_ELIMINAR)) {
             stmt.setString(1, id);
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() == 0) return false;
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.USUARIO);
+            return true;
         }
     }
 
     @Override
-    public void actualizarPorId(String id, String campo, String valor) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement("update usuario set " + campo + " = ? where identificador = ?")) {
-            stmt.setString(1, valor);
-            stmt.setString(2, id);
-            stmt.executeUpdate();
+    public boolean actualizarPorId(String id, Map<CampoUsuario, Object> campos) throws SQLException {
+        try (Connection conn = ConexionDB.getConnection()) {
+            if (!EscritorCampos.actualizar(conn, Consulta.USUARIO_ACTUALIZAR, id, campos)) return false;
+            CambiosRepositorioMySQL.registrarCambio(conn, TablaVersionada.USUARIO);
+            return true;
         }
     }
 
     @Override
     public Usuario searchByName(String name) throws SQLException {
-        Connection conn = ConexionDB.getConnection();
-        ResultSet rs;
-        try (PreparedStatement stmt = conn.prepareStatement("select * from usuario where nombre=?")) {
+        try (SesionIdentidad sesion = SesionIdentidad.abrir();
+             Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = RegistroConsultas.preparar(conn, Consulta.USUARIO_LEER_POR_NOMBRE)) {
             stmt.setString(1, name);
-            rs = stmt.executeQuery();
-            if (!rs.next()) return null;
-            return new Usuario(
-                    rs.getString(2),
-                    rs.getString(1),
-                    rs.getString(3),
-                    new RolUsuario(rs.getString(4)));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) return null;
+                return MapeadorFilas.resolverUsuario(rs, 1, sesion);
+            }
         }
     }
 }
@@ -0,0 +1,262 @@
+package com.fedebonel.servicios;
+
+import com.fedebonel.modelo.evento.Convocatoria;
+import com.fedebonel.modelo.evento.Presentacion;
+import com.fedebonel.modelo.municipio.Municipio;
+import com.fedebonel.modelo.usuario.RolUsuario;
+import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.respositorios.TablaVersionada;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archivo binario local con la ultima instantanea leida, junto con las versiones de las tablas al momento de leerla.
+ * Se lee completo en memoria de una vez para poder mostrar los paneles sin esperar a la base de datos remota.
+ * Las claves de los usuarios no se guardan en disco, se guardan con CLAVE_NO_GUARDADA en su lugar.
+ * Formato: cabecera (MAGICO, FORMATO), versiones, usuarios, municipios, convocatorias y presentaciones,
+ * cada seccion precedida por su cantidad y las relaciones guardadas por identificador
+ */
+class ArchivoInstantanea {
+
+    /**
+     * String constante que posee el error cuando el archivo no tiene el formato esperado
+     */
+    static final String ERROR_ARCHIVO_INVALIDO = "El archivo de instantanea es invalido o de otra version";
+    /**
+     * Clave con la que se crean los usuarios leidos del archivo
+     */
+    static final String CLAVE_NO_GUARDADA = "****";
+    /**
+     * Primeros bytes del archivo ("PCSI")
+     */
+    private static final int MAGICO = 0x50435349;
+    /**
+     * Version del formato del archivo, se aumenta con cada cambio de formato
+     */
+    private static final int FORMATO = 1;
+    /**
+     * Largo con el que se guardan los strings nulos
+     */
+    private static final int NULO = -1;
+
+    /**
+     * Ubicacion del archivo
+     */
+    private final Path ruta;
+
+    /**
+     * Constructor del archivo
+     *
+     * @param ruta Ubicacion del archivo, se crea con la primera escritura
+     */
+    ArchivoInstantanea(Path ruta) {
+        this.ruta = ruta;
+    }
+
+    /**
+     * Lee la instantanea guardada
+     *
+     * @return Instantanea guardada, null si todavia no se guardo ninguna
+     * @throws IOException Si no se pudo leer el archivo o su formato es invalido
+     */
+    InstantaneaDominio.Contenido leer() throws IOException {
+        byte[] bytes;
+        try {
+            // Sin mapear el archivo: un mapeo no se libera hasta que se recolecta y en Windows impide reemplazarlo
+            bytes = Files.readAllBytes(ruta);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            return leer(ByteBuffer.wrap(bytes));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException |
+                 NegativeArraySizeException e) {
+            throw new IOException(ERROR_ARCHIVO_INVALIDO, e);
+        }
+    }
+
+    /**
+     * Guarda la instantanea reemplazando la anterior, la escritura se hace en un archivo temporal que luego
+     * reemplaza al anterior para que un corte a mitad de escritura no deje un archivo incompleto
+     *
+     * @param contenido Instantanea a guardar, debe tener las versiones de las tablas
+     * @throws IOException Si no se pudo escribir el archivo
+     */
+    void guardar(InstantaneaDominio.Contenido contenido) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream salida = new DataOutputStream(bytes)) {
+            escribir(salida, contenido);
+        }
+        Path directorio = ruta.toAbsolutePath().getParent();
+        if (directorio != null) Files.createDirectories(directorio);
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+        Files.write(temporal, bytes.toByteArray());
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /* Lectura ------------------------------------------------------------------------------------------------------ */
+
+    private InstantaneaDominio.Contenido leer(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGICO || buffer.getInt() != FORMATO) throw new IOException(ERROR_ARCHIVO_INVALIDO);
+        Map<TablaVersionada, Long> versiones = new EnumMap<>(TablaVersionada.class);
+        for (int i = buffer.getInt(); i > 0; i--) {
+            TablaVersionada tabla = TablaVersionada.porNombre(leerString(buffer));
+            long version = buffer.getLong();
+            if (tabla != null) versiones.put(tabla, version);
+        }
+
+        Map<String, Usuario> usuarios = new HashMap<>();
+        List<Usuario> listaUsuarios = new LinkedList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            String id = leerString(buffer);
+            String nombre = leerString(buffer);
+            Usuario usuario = new Usuario(nombre, id, CLAVE_NO_GUARDADA, RolUsuario.de(leerString(buffer)));
+            usuarios.put(usuario.getId(), usuario);
+            listaUsuarios.add(usuario);
+        }
+
+        Map<String, Municipio> municipios = new HashMap<>();
+        List<Municipio> listaMunicipios = new LinkedList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            Municipio municipio = new Municipio(leerString(buffer), leerString(buffer), buffer.getInt());
+            String idFiscal = leerString(buffer);
+            if (idFiscal != null) municipio.tomaNuevoSupervisorFiscal(resolver(usuarios, idFiscal));
+            String idCuentadante = leerString(buffer);
+            if (idCuentadante != null)
+                municipio.tomaNuevoRepresentante(resolver(usuarios, idCuentadante), new LinkedList<>());
+            municipios.put(municipio.getId(), municipio);
+            listaMunicipios.add(municipio);
+        }
+
+        Map<String, Convocatoria> convocatorias = new HashMap<>();
+        List<Convocatoria> listaConvocatorias = new LinkedList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            Convocatoria convocatoria = new Convocatoria(leerString(buffer),
+                    LocalDate.ofEpochDay(buffer.getLong()),
+                    LocalDate.ofEpochDay(buffer.getLong()),
+                    leerDocumentos(buffer),
+                    leerString(buffer));
+            convocatorias.put(convocatoria.getId(), convocatoria);
+            listaConvocatorias.add(convocatoria);
+        }
+
+        List<Presentacion> listaPresentaciones = new LinkedList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            listaPresentaciones.add(new Presentacion(leerString(buffer),
+                    LocalDate.ofEpochDay(buffer.getLong()),
+                    buffer.get() != 0,
+                    resolver(convocatorias, leerString(buffer)),
+                    resolver(usuarios, leerString(buffer)),
+                    resolver(municipios, leerString(buffer)),
+                    leerDocumentos(buffer)));
+        }
+        return new InstantaneaDominio.Contenido(listaUsuarios, listaMunicipios, listaConvocatorias,
+                listaPresentaciones, versiones, true);
+    }
+
+    /**
+     * Busca la entidad referenciada por identificador entre las ya leidas
+     *
+     * @param leidas Entidades leidas por identificador
+     * @param id     Identificador referenciado
+     * @return Entidad referenciada
+     * @throws IOException Si el identificador no corresponde a ninguna entidad leida
+     */
+    private static <T> T resolver(Map<String, T> leidas, String id) throws IOException {
+        T entidad = id == null ? null : leidas.get(id);
+        if (entidad == null) throw new IOException(ERROR_ARCHIVO_INVALIDO);
+        return entidad;
+    }
+
+    private static String leerString(ByteBuffer buffer) {
+        int largo = buffer.getInt();
+        if (largo == NULO) return null;
+        byte[] bytes = new byte[largo];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static LinkedList<String> leerDocumentos(ByteBuffer buffer) {
+        LinkedList<String> documentos = new LinkedList<>();
+        for (int i = buffer.getInt(); i > 0; i--) documentos.add(leerString(buffer));
+        return documentos;
+    }
+
+    /* Escritura ---------------------------------------------------------------------------------------------------- */
+
+    private static void escribir(DataOutputStream salida, InstantaneaDominio.Contenido contenido) throws IOException {
+        salida.writeInt(MAGICO);
+        salida.writeInt(FORMATO);
+        salida.writeInt(contenido.versiones.size());
+        for (Map.Entry<TablaVersionada, Long> version : contenido.versiones.entrySet()) {
+            escribirString(salida, version.getKey().getNombre());
+            salida.writeLong(version.getValue());
+        }
+
+        salida.writeInt(contenido.usuarios.size());
+        for (Usuario usuario : contenido.usuarios) {
+            escribirString(salida, usuario.getId());
+            escribirString(salida, usuario.getNombre());
+            escribirString(salida, usuario.rolUsuario.getNombreRol());
+        }
+
+        salida.writeInt(contenido.municipios.size());
+        for (Municipio municipio : contenido.municipios) {
+            escribirString(salida, municipio.getId());
+            escribirString(salida, municipio.getNombre());
+            salida.writeInt(municipio.getCategoria());
+            escribirString(salida, municipio.getFiscal() == null ? null : municipio.getFiscal().getId());
+            escribirString(salida, municipio.getCuentadante() == null ? null : municipio.getCuentadante().getId());
+        }
+
+        salida.writeInt(contenido.convocatorias.size());
+        for (Convocatoria convocatoria : contenido.convocatorias) {
+            escribirString(salida, convocatoria.getId());
+            salida.writeLong(convocatoria.getFechaInicio().toEpochDay());
+            salida.writeLong(convocatoria.getFechaCierre().toEpochDay());
+            escribirDocumentos(salida, convocatoria.getDocumentos().getDocumentosLinkedList());
+            escribirString(salida, convocatoria.getDescripcion());
+        }
+
+        salida.writeInt(contenido.presentaciones.size());
+        for (Presentacion presentacion : contenido.presentaciones) {
+            escribirString(salida, presentacion.getId());
+            salida.writeLong(presentacion.getFechaInicio().toEpochDay());
+            salida.writeByte(presentacion.isAbierto() ? 1 : 0);
+            escribirString(salida, presentacion.getConvocatoria().getId());
+            escribirString(salida, presentacion.getAutor().getId());
+            escribirString(salida, presentacion.getMunicipio().getId());
+            escribirDocumentos(salida, presentacion.getDocumentos().getDocumentosLinkedList());
+        }
+    }
+
+    private static void escribirString(DataOutputStream salida, String valor) throws IOException {
+        if (valor == null) {
+            salida.writeInt(NULO);
+            return;
+        }
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+
+    private static void escribirDocumentos(DataOutputStream salida, List<String> documentos) throws IOException {
+        salida.writeInt(documentos.size());
+        for (String documento : documentos) escribirString(salida, documento);
+    }
+}
@@ -1,12 +1,15 @@
 package com.fedebonel.servicios;
 
+import com.fedebonel.modelo.evento.CampoConvocatoria;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
 import com.fedebonel.modelo.evento.Convocatoria;
 import com.fedebonel.respositorios.ConvocatoriasRepositorio;
 
 import java.sql.SQLException;
 import java.util.LinkedList;
+import java.util.Map;
 
-public class ConvocatoriasServicio implements EntidadServicio<String, Convocatoria> {
+public class ConvocatoriasServicio implements EntidadServicio<String, Convocatoria, CampoConvocatoria> {
 
     /**
      * String constante que posee el error cuando la convocatoria esta registrada
@@ -28,6 +31,21 @@ public class ConvocatoriasServicio implements EntidadServicio<String, Convocator
         return (LinkedList<Convocatoria>) convocatoriasRepositorio.leerTodo();
     }
 
+    @Override
+    public LinkedList<Convocatoria> leerPagina(String despuesDe, int limite) throws SQLException {
+        return (LinkedList<Convocatoria>) convocatoriasRepositorio.leerPagina(despuesDe, limite);
+    }
+
+    /**
+     * Cuenta las presentaciones realizadas a cada convocatoria sin leer las presentaciones
+     *
+     * @return Cantidad de presentaciones por identificador de convocatoria, sin las convocatorias que no tienen
+     * @throws SQLException Si hubo algun error al contar las presentaciones
+     */
+    public Map<String, Integer> contarPresentaciones() throws SQLException {
+        return convocatoriasRepositorio.contarPresentaciones();
+    }
+
     @Override
     public Convocatoria leerPorID(String id) throws SQLException {
         return convocatoriasRepositorio.leerPorId(id);
@@ -35,34 +53,61 @@ public class ConvocatoriasServicio implements EntidadServicio<String, Convocator
 
     @Override
     public void registrar(Convocatoria convocatoria) throws IllegalArgumentException, SQLException {
-        Convocatoria foundConvocatoria = convocatoriasRepositorio.leerPorId(convocatoria.getId());
-        if (foundConvocatoria != null) throw new IllegalArgumentException(ERROR_CONVOCATORIA_REGISTRADA);
-        convocatoriasRepositorio.guardar(convocatoria);
+        if (!convocatoriasRepositorio.guardar(convocatoria))
+            throw new IllegalArgumentException(ERROR_CONVOCATORIA_REGISTRADA);
     }
 
     @Override
     public void eliminar(Convocatoria convocatoria) throws IllegalArgumentException, SQLException {
-        Convocatoria foundConvocatoria = convocatoriasRepositorio.leerPorId(convocatoria.getId());
-        if (foundConvocatoria == null) throw new IllegalArgumentException(ERROR_CONVOCATORIA_NO_REGISTRADA);
-        convocatoriasRepositorio.eliminarPorId(convocatoria.getId());
+        if (!convocatoriasRepositorio.eliminarPorId(convocatoria.getId()))
+            throw new IllegalArgumentException(ERROR_CONVOCATORIA_NO_REGISTRADA);
+    }
+
+    /**
+     * Elimina la convocatoria solo si no tiene presentaciones, sin leer las presentaciones
+     *
+     * @param convocatoria Convocatoria a eliminar
+     * @return true si se elimino, false si tiene presentaciones
+     * @throws IllegalArgumentException Si la convocatoria no existe
+     * @throws SQLException             Si hubo algun error al eliminar la convocatoria
+     */
+    public boolean eliminarSiVacia(Convocatoria convocatoria) throws IllegalArgumentException, SQLException {
+        if (convocatoriasRepositorio.eliminarSiVacia(convocatoria.getId())) return true;
+        // Solo si no se elimino se distingue entre inexistente y con presentaciones
+        if (convocatoriasRepositorio.leerPorId(convocatoria.getId()) == null)
+            throw new IllegalArgumentException(ERROR_CONVOCATORIA_NO_REGISTRADA);
+        return false;
     }
 
     @Override
-    public void actualizar(Convocatoria convocatoria, String field, String value) throws IllegalArgumentException, SQLException {
-        Convocatoria foundConvocatoria = convocatoriasRepositorio.leerPorId(convocatoria.getId());
-        if (foundConvocatoria == null) throw new IllegalArgumentException(ERROR_CONVOCATORIA_NO_REGISTRADA);
-        convocatoriasRepositorio.actualizarPorId(convocatoria.getId(), field, value);
+    public void actualizar(Convocatoria convocatoria, Map<CampoConvocatoria, Object> campos)
+            throws IllegalArgumentException, SQLException {
+        if (campos.isEmpty()) return;
+        if (!convocatoriasRepositorio.actualizarPorId(convocatoria.getId(), campos))
+            throw new IllegalArgumentException(ERROR_CONVOCATORIA_NO_REGISTRADA);
     }
 
     public void agregarDocumento(Convocatoria convocatoria, String document) throws IllegalArgumentException, SQLException {
-        Convocatoria foundConvocatoria = convocatoriasRepositorio.leerPorId(convocatoria.getId());
-        if (foundConvocatoria == null) throw new IllegalArgumentException(ERROR_CONVOCATORIA_NO_REGISTRADA);
-        convocatoriasRepositorio.agregarDocConvocatoria(convocatoria, document);
+        if (!convocatoriasRepositorio.agregarDocConvocatoria(convocatoria, document))
+            throw new IllegalArgumentException(ERROR_CONVOCATORIA_NO_REGISTRADA);
     }
 
     public void removerDocumento(Convocatoria convocatoria, String document) throws IllegalArgumentException, SQLException {
-        Convocatoria foundConvocatoria = convocatoriasRepositorio.leerPorId(convocatoria.getId());
-        if (foundConvocatoria == null) throw new IllegalArgumentException(ERROR_CONVOCATORIA_NO_REGISTRADA);
-        convocatoriasRepositorio.removerDocConvocatoria(convocatoria, document);
+        if (!convocatoriasRepositorio.removerDocConvocatoria(convocatoria, document))
+            throw new IllegalArgumentException(ERROR_CONVOCATORIA_NO_REGISTRADA);
+    }
+
+    /**
+     * Guarda todos los cambios de la convocatoria de una sola vez: se guardan todos o, si alguno falla, ninguno
+     *
+     * @param cambios Cambios de la convocatoria a guardar, si no hay ninguno no se accede a la base de datos
+     * @throws IllegalArgumentException Si la convocatoria no existe
+     * @throws SQLException             Si hubo algun error al guardar los cambios
+     */
+    public void aplicarCambios(ConjuntoCambios<CampoConvocatoria> cambios)
+            throws IllegalArgumentException, SQLException {
+        if (cambios.isVacio()) return;
+        if (!convocatoriasRepositorio.aplicarCambios(cambios))
+            throw new IllegalArgumentException(ERROR_CONVOCATORIA_NO_REGISTRADA);
     }
 }
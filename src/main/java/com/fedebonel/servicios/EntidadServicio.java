@@ -1,15 +1,23 @@
 package com.fedebonel.servicios;
 
+import com.fedebonel.modelo.Campo;
+import com.fedebonel.modelo.accesodatos.EjecutorAccesoDatos;
+
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Servicio de una entidad
+ * Servicio de una entidad. Las escrituras no leen la entidad antes de escribir: se intenta la escritura y
+ * el resultado del repositorio (llave duplicada o ninguna fila afectada) decide el error a informar
  * <p>
  * I = Tipo de dato usado para el identificador
  * T = Tipo de dato usado para las entidades guardadas
+ * C = Enum de los campos actualizables de las entidades
  */
-public interface EntidadServicio<I, T> {
+public interface EntidadServicio<I, T, C extends Enum<C> & Campo> {
 
     /**
      * Lee todas las entidades de la persistencia
@@ -19,6 +27,16 @@ public interface EntidadServicio<I, T> {
      */
     LinkedList<T> leerTodo() throws SQLException;
 
+    /**
+     * Lee una pagina de entidades de la persistencia ordenadas por identificador
+     *
+     * @param despuesDe Identificador de la ultima entidad de la pagina anterior, null para la primera pagina
+     * @param limite    Cantidad maxima de entidades a leer
+     * @return Una lista con los elementos de la pagina, vacia si no hay mas elementos
+     * @throws SQLException Si hubo algun error en el acceso a base de datos
+     */
+    LinkedList<T> leerPagina(I despuesDe, int limite) throws SQLException;
+
     /**
      * Lee la entidad que tenga ese id de la persistencia
      *
@@ -47,13 +65,93 @@ public interface EntidadServicio<I, T> {
     void eliminar(T entity) throws IllegalArgumentException, SQLException;
 
     /**
-     * Actualiza la entidad en la base de datos en el campo requerido con el valor pasado
+     * Actualiza los campos de la entidad en la base de datos con los valores pasados, todos en una sola escritura.
+     * Si no hay campos no hace nada
      *
      * @param entity Entidad a actualizar
-     * @param field  Campo a actualizar de la entidad en la base de datos
-     * @param value  Nuevo valor a asignar
-     * @throws IllegalArgumentException Si la entidad no existe
+     * @param campos Nuevo valor de cada campo a actualizar, del tipo del campo o nulo si lo admite
+     * @throws IllegalArgumentException Si la entidad no existe o algun valor no puede asignarse a su campo
      * @throws SQLException             Si hubo algun error en el acceso a base de datos
      */
-    void actualizar(T entity, String field, String value) throws IllegalArgumentException, SQLException;
+    void actualizar(T entity, Map<C, Object> campos) throws IllegalArgumentException, SQLException;
+
+    /**
+     * Actualiza un campo de la entidad en la base de datos con el valor pasado
+     *
+     * @param entity Entidad a actualizar
+     * @param campo  Campo a actualizar
+     * @param valor  Nuevo valor del campo, del tipo del campo o nulo si lo admite
+     * @throws IllegalArgumentException Si la entidad no existe o el valor no puede asignarse al campo
+     * @throws SQLException             Si hubo algun error en el acceso a base de datos
+     */
+    default void actualizar(T entity, C campo, Object valor) throws IllegalArgumentException, SQLException {
+        actualizar(entity, Collections.singletonMap(campo, valor));
+    }
+
+    /**
+     * Lee todas las entidades de la persistencia sin bloquear al llamador
+     *
+     * @return Futuro con una lista con todos los elementos, o con la SQLException si hubo algun error
+     * en el acceso a base de datos
+     */
+    default CompletableFuture<LinkedList<T>> leerTodoAsync() {
+        return EjecutorAccesoDatos.ejecutar(this::leerTodo);
+    }
+
+    /**
+     * Lee una pagina de entidades de la persistencia sin bloquear al llamador
+     *
+     * @param despuesDe Identificador de la ultima entidad de la pagina anterior, null para la primera pagina
+     * @param limite    Cantidad maxima de entidades a leer
+     * @return Futuro con los elementos de la pagina, o con la SQLException si hubo algun error en el acceso
+     * a base de datos
+     */
+    default CompletableFuture<LinkedList<T>> leerPaginaAsync(I despuesDe, int limite) {
+        return EjecutorAccesoDatos.ejecutar(() -> leerPagina(despuesDe, limite));
+    }
+
+    /**
+     * Lee la entidad que tenga ese id de la persistencia sin bloquear al llamador
+     *
+     * @param id Identificador de la entidad a leer
+     * @return Futuro con la entidad que posea ese identificador, o con la SQLException si hubo algun error
+     * en el acceso a base de datos
+     */
+    default CompletableFuture<T> leerPorIDAsync(I id) {
+        return EjecutorAccesoDatos.ejecutar(() -> leerPorID(id));
+    }
+
+    /**
+     * Registra la entidad en la base de datos sin bloquear al llamador
+     *
+     * @param entity Entidad a registrar
+     * @return Futuro que se completa al registrar la entidad, o con la IllegalArgumentException si ya existe
+     * o la SQLException si hubo algun error en el acceso a base de datos
+     */
+    default CompletableFuture<Void> registrarAsync(T entity) {
+        return EjecutorAccesoDatos.ejecutarAccion(() -> registrar(entity));
+    }
+
+    /**
+     * Elimina la entidad de la base de datos sin bloquear al llamador
+     *
+     * @param entity Entidad a eliminar
+     * @return Futuro que se completa al eliminar la entidad, o con la IllegalArgumentException si no existe
+     * o la SQLException si hubo algun error en el acceso a base de datos
+     */
+    default CompletableFuture<Void> eliminarAsync(T entity) {
+        return EjecutorAccesoDatos.ejecutarAccion(() -> eliminar(entity));
+    }
+
+    /**
+     * Actualiza la entidad en la base de datos sin bloquear al llamador
+     *
+     * @param entity Entidad a actualizar
+     * @param campos Nuevo valor de cada campo a actualizar
+     * @return Futuro que se completa al actualizar la entidad, o con la IllegalArgumentException si no existe
+     * o la SQLException si hubo algun error en el acceso a base de datos
+     */
+    default CompletableFuture<Void> actualizarAsync(T entity, Map<C, Object> campos) {
+        return EjecutorAccesoDatos.ejecutarAccion(() -> actualizar(entity, campos));
+    }
 }
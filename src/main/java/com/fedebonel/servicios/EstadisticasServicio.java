@@ -0,0 +1,61 @@
+package com.fedebonel.servicios;
+
+import com.fedebonel.modelo.accesodatos.EjecutorAccesoDatos;
+import com.fedebonel.modelo.estadisticas.EstadisticaMunicipio;
+import com.fedebonel.modelo.estadisticas.TotalesPresentaciones;
+import com.fedebonel.respositorios.EstadisticasRepositorio;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.LinkedList;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Servicio de las estadisticas que muestra el panel de informacion
+ */
+public class EstadisticasServicio {
+
+    private final EstadisticasRepositorio estadisticasRepositorio;
+
+    public EstadisticasServicio(EstadisticasRepositorio estadisticasRepositorio) {
+        this.estadisticasRepositorio = estadisticasRepositorio;
+    }
+
+    /**
+     * Lee la cantidad de presentaciones y de documentos presentados de cada municipio
+     *
+     * @return Una estadistica por municipio
+     * @throws SQLException Si hubo algun error al leer las estadisticas
+     */
+    public LinkedList<EstadisticaMunicipio> leerPorMunicipio() throws SQLException {
+        return new LinkedList<>(estadisticasRepositorio.leerPorMunicipio());
+    }
+
+    /**
+     * Lee la cantidad de presentaciones realizadas a convocatorias abiertas y cerradas al dia de hoy
+     *
+     * @return Totales de presentaciones por estado de su convocatoria
+     * @throws SQLException Si hubo algun error al leer las estadisticas
+     */
+    public TotalesPresentaciones leerTotalesPresentaciones() throws SQLException {
+        return estadisticasRepositorio.leerTotalesPresentaciones(LocalDate.now());
+    }
+
+    /**
+     * Lee la cantidad de presentaciones y de documentos presentados de cada municipio sin bloquear al llamador
+     *
+     * @return Futuro con una estadistica por municipio, o con la SQLException si hubo algun error
+     */
+    public CompletableFuture<LinkedList<EstadisticaMunicipio>> leerPorMunicipioAsync() {
+        return EjecutorAccesoDatos.ejecutar(this::leerPorMunicipio);
+    }
+
+    /**
+     * Lee los totales de presentaciones por estado de su convocatoria sin bloquear al llamador
+     *
+     * @return Futuro con los totales de presentaciones, o con la SQLException si hubo algun error
+     */
+    public CompletableFuture<TotalesPresentaciones> leerTotalesPresentacionesAsync() {
+        return EjecutorAccesoDatos.ejecutar(this::leerTotalesPresentaciones);
+    }
+}
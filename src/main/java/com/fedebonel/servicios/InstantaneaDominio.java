@@ -0,0 +1,480 @@
+package com.fedebonel.servicios;
+
+import com.fedebonel.modelo.Entidad;
+import com.fedebonel.modelo.accesodatos.EjecutorAccesoDatos;
+import com.fedebonel.modelo.evento.Convocatoria;
+import com.fedebonel.modelo.evento.Presentacion;
+import com.fedebonel.modelo.municipio.Municipio;
+import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.respositorios.CambiosRepositorio;
+import com.fedebonel.respositorios.TablaVersionada;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Instantanea en memoria de todas las entidades del dominio compartida por los paneles del menu principal.
+ * Las cuatro tablas se leen una sola vez (en paralelo) y todos los paneles leen de la misma instantanea
+ * en lugar de leer cada uno las tablas que necesita. La instantanea se reemplaza completa al actualizarla,
+ * asi los paneles nunca ven una mezcla de datos de distintas lecturas.
+ * Opcionalmente cada instantanea leida se guarda en un archivo local junto con las versiones de las tablas,
+ * al iniciar se muestra la del archivo y se revalida contra la base de datos en segundo plano.
+ * La lectura puede precargarse sin esperarla: mientras esta en curso cada tabla se entrega apenas se leyo,
+ * sin esperar a las demas.
+ * Como cada tabla se lee en su propio hilo (con su propia sesion de identidad), al terminar la lectura los municipios
+ * y las presentaciones se vuelven a enlazar por identificador con las instancias de las listas de la instantanea
+ */
+public class InstantaneaDominio {
+
+    /**
+     * String constante que posee el error cuando no se pudo leer el archivo local
+     */
+    public static final String ERROR_LECTURA_ARCHIVO = "No se pudo leer la instantanea local: ";
+    /**
+     * String constante que posee el error cuando no se pudo guardar el archivo local
+     */
+    public static final String ERROR_ESCRITURA_ARCHIVO = "No se pudo guardar la instantanea local: ";
+
+    /**
+     * Servicio de usuarios
+     */
+    private final UsuariosServicio usuariosServicio;
+    /**
+     * Servicio de municipios
+     */
+    private final MunicipiosServicio municipiosServicio;
+    /**
+     * Servicio de convocatorias
+     */
+    private final ConvocatoriasServicio convocatoriasServicio;
+    /**
+     * Servicio de presentaciones
+     */
+    private final PresentacionesServicio presentacionesServicio;
+    /**
+     * Registro de versiones de las tablas, null si la instantanea no se guarda en disco
+     */
+    private final CambiosRepositorio cambiosRepositorio;
+    /**
+     * Archivo local de la instantanea, null si la instantanea no se guarda en disco
+     */
+    private final ArchivoInstantanea archivo;
+    /**
+     * Contenido de la ultima lectura, null si todavia no se leyo
+     */
+    private volatile Contenido contenido = null;
+    /**
+     * Precarga en curso, null si no se esta precargando. Mientras existe tiene prioridad sobre el contenido anterior
+     */
+    private volatile Lectura precarga = null;
+
+    /**
+     * Constructor de la instantanea, solo en memoria
+     *
+     * @param usuariosServicio       Servicio de usuarios
+     * @param municipiosServicio     Servicio de municipios
+     * @param convocatoriasServicio  Servicio de convocatorias
+     * @param presentacionesServicio Servicio de presentaciones
+     */
+    public InstantaneaDominio(UsuariosServicio usuariosServicio,
+                              MunicipiosServicio municipiosServicio,
+                              ConvocatoriasServicio convocatoriasServicio,
+                              PresentacionesServicio presentacionesServicio) {
+        this(usuariosServicio, municipiosServicio, convocatoriasServicio, presentacionesServicio, null, null);
+    }
+
+    /**
+     * Constructor de la instantanea guardada en un archivo local
+     *
+     * @param usuariosServicio       Servicio de usuarios
+     * @param municipiosServicio     Servicio de municipios
+     * @param convocatoriasServicio  Servicio de convocatorias
+     * @param presentacionesServicio Servicio de presentaciones
+     * @param cambiosRepositorio     Registro de versiones de las tablas
+     * @param rutaArchivo            Ubicacion del archivo local
+     */
+    public InstantaneaDominio(UsuariosServicio usuariosServicio,
+                              MunicipiosServicio municipiosServicio,
+                              ConvocatoriasServicio convocatoriasServicio,
+                              PresentacionesServicio presentacionesServicio,
+                              CambiosRepositorio cambiosRepositorio,
+                              Path rutaArchivo) {
+        this.usuariosServicio = usuariosServicio;
+        this.municipiosServicio = municipiosServicio;
+        this.convocatoriasServicio = convocatoriasServicio;
+        this.presentacionesServicio = presentacionesServicio;
+        this.cambiosRepositorio = cambiosRepositorio;
+        this.archivo = rutaArchivo == null ? null : new ArchivoInstantanea(rutaArchivo);
+    }
+
+    /**
+     * Lee nuevamente las cuatro tablas y reemplaza la instantanea completa.
+     * Si alguna lectura falla se conserva la instantanea anterior
+     *
+     * @throws SQLException Si hubo algun error al leer alguna de las tablas
+     */
+    public synchronized void actualizar() throws SQLException {
+        // Una precarga pendiente ya no se publica, esta lectura es mas reciente
+        precarga = null;
+        contenido = iniciarLectura().esperar();
+        guardarArchivo(contenido);
+    }
+
+    /**
+     * Comienza a leer las cuatro tablas en paralelo sin esperarlas, si no hay otra precarga en curso. Se llama en
+     * cada inicio de sesion, asi una instantanea de una sesion anterior se vuelve a leer en lugar de mostrarse sin
+     * revalidar. Mientras la precarga esta en curso los getters esperan solo la tabla que devuelven; cuando terminan
+     * todas las lecturas la instantanea se publica en un hilo propio (no en el ejecutor de acceso a datos, ya que
+     * espera las lecturas que realiza en ese ejecutor). Si alguna lectura falla la precarga se descarta y se conserva
+     * la instantanea anterior, si la habia
+     *
+     * @throws SQLException Si hubo algun error al leer las versiones de las tablas
+     */
+    public void precargar() throws SQLException {
+        Lectura nueva;
+        synchronized (this) {
+            if (precarga != null) return;
+            nueva = iniciarLectura();
+            precarga = nueva;
+        }
+        Thread hilo = new Thread(() -> {
+            Contenido leido = null;
+            try {
+                leido = nueva.esperar();
+            } catch (SQLException | RuntimeException e) {
+                // Cada panel informa el error de la tabla que no pudo leer
+            }
+            synchronized (this) {
+                if (precarga != nueva) return;
+                if (leido != null) {
+                    contenido = leido;
+                    guardarArchivo(leido);
+                }
+                precarga = null;
+            }
+        }, "precarga-instantanea");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Carga la instantanea guardada en el archivo local, si existe. Los usuarios cargados no tienen sus claves
+     * hasta revalidar la instantanea
+     *
+     * @return true si se cargo la instantanea del archivo, false si no hay archivo o no se pudo leer
+     */
+    public synchronized boolean cargarArchivo() {
+        if (archivo == null) return false;
+        try {
+            Contenido guardado = archivo.leer();
+            if (guardado == null) return false;
+            contenido = guardado;
+            return true;
+        } catch (IOException e) {
+            System.out.println(ERROR_LECTURA_ARCHIVO + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Compara las versiones de la instantanea con las de la base de datos y la vuelve a leer solo si alguna
+     * tabla cambio. Si no cambio ninguna solo se leen las claves de los usuarios, que no se guardan en el archivo
+     *
+     * @throws SQLException Si hubo algun error al leer las versiones o las tablas
+     */
+    public synchronized void revalidar() throws SQLException {
+        Contenido actual = contenido;
+        if (actual == null || actual.versiones == null || cambiosRepositorio == null) {
+            actualizar();
+            return;
+        }
+        if (!actual.versiones.equals(cambiosRepositorio.leerVersiones())) {
+            actualizar();
+            return;
+        }
+        if (actual.sinClaves) {
+            // El contenido publicado no se modifica: se crean usuarios nuevos con sus claves y se enlazan
+            Map<String, String> claves = new HashMap<>();
+            for (Usuario usuario : usuariosServicio.leerTodo()) claves.put(usuario.getId(), usuario.getClave());
+            List<Usuario> usuarios = new ArrayList<>(actual.usuarios.size());
+            for (Usuario usuario : actual.usuarios) {
+                String clave = claves.getOrDefault(usuario.getId(), usuario.getClave());
+                usuarios.add(new Usuario(usuario.getNombre(), usuario.getId(), clave, usuario.rolUsuario));
+            }
+            contenido = Contenido.enlazado(usuarios, actual.municipios, actual.convocatorias,
+                    actual.presentaciones, actual.versiones, false);
+        }
+    }
+
+    /**
+     * Revalida la instantanea en un hilo propio, no en el ejecutor de acceso a datos ya que la revalidacion
+     * espera las lecturas que realiza en ese ejecutor
+     *
+     * @return Futuro que se completa al terminar la revalidacion, o con su excepcion si esta falla
+     */
+    public CompletableFuture<Void> revalidarEnSegundoPlano() {
+        CompletableFuture<Void> resultado = new CompletableFuture<>();
+        Thread hilo = new Thread(() -> {
+            try {
+                revalidar();
+                resultado.complete(null);
+            } catch (SQLException | RuntimeException e) {
+                resultado.completeExceptionally(e);
+            }
+        }, "revalidacion-instantanea");
+        hilo.setDaemon(true);
+        hilo.start();
+        return resultado;
+    }
+
+    /**
+     * Devuelve los usuarios de la instantanea, la lee si todavia no fue leida. Durante la precarga solo espera
+     * la lectura de los usuarios
+     *
+     * @return Copia de la lista de usuarios
+     * @throws SQLException Si hubo algun error al leer la instantanea
+     */
+    public LinkedList<Usuario> getUsuarios() throws SQLException {
+        Lectura enCurso = precarga;
+        if (enCurso != null) return new LinkedList<>(EjecutorAccesoDatos.esperar(enCurso.usuarios));
+        return new LinkedList<>(getContenido().usuarios);
+    }
+
+    /**
+     * Devuelve los municipios de la instantanea, la lee si todavia no fue leida. Durante la precarga solo espera
+     * la lectura de los municipios
+     *
+     * @return Copia de la lista de municipios
+     * @throws SQLException Si hubo algun error al leer la instantanea
+     */
+    public LinkedList<Municipio> getMunicipios() throws SQLException {
+        Lectura enCurso = precarga;
+        if (enCurso != null) return new LinkedList<>(EjecutorAccesoDatos.esperar(enCurso.municipios));
+        return new LinkedList<>(getContenido().municipios);
+    }
+
+    /**
+     * Devuelve las convocatorias de la instantanea, la lee si todavia no fue leida. Durante la precarga solo espera
+     * la lectura de las convocatorias
+     *
+     * @return Copia de la lista de convocatorias
+     * @throws SQLException Si hubo algun error al leer la instantanea
+     */
+    public LinkedList<Convocatoria> getConvocatorias() throws SQLException {
+        Lectura enCurso = precarga;
+        if (enCurso != null) return new LinkedList<>(EjecutorAccesoDatos.esperar(enCurso.convocatorias));
+        return new LinkedList<>(getContenido().convocatorias);
+    }
+
+    /**
+     * Devuelve las presentaciones de la instantanea, la lee si todavia no fue leida. Durante la precarga solo espera
+     * la lectura de las presentaciones
+     *
+     * @return Copia de la lista de presentaciones
+     * @throws SQLException Si hubo algun error al leer la instantanea
+     */
+    public LinkedList<Presentacion> getPresentaciones() throws SQLException {
+        Lectura enCurso = precarga;
+        if (enCurso != null) return new LinkedList<>(EjecutorAccesoDatos.esperar(enCurso.presentaciones));
+        return new LinkedList<>(getContenido().presentaciones);
+    }
+
+    /**
+     * Devuelve el contenido actual, leyendolo si todavia no fue leido
+     *
+     * @return Contenido de la instantanea
+     * @throws SQLException Si hubo algun error al leer la instantanea
+     */
+    private Contenido getContenido() throws SQLException {
+        Contenido actual = contenido;
+        if (actual != null) return actual;
+        synchronized (this) {
+            if (contenido == null) actualizar();
+            return contenido;
+        }
+    }
+
+    /**
+     * Comienza a leer las cuatro tablas en paralelo en el ejecutor de acceso a datos. Las versiones se leen antes
+     * que las tablas: si otro cliente escribe durante la lectura el archivo queda con la version anterior y se
+     * vuelve a leer en el proximo inicio
+     *
+     * @return Lectura en curso
+     * @throws SQLException Si hubo algun error al leer las versiones de las tablas
+     */
+    private Lectura iniciarLectura() throws SQLException {
+        Map<TablaVersionada, Long> versiones = cambiosRepositorio == null ? null : cambiosRepositorio.leerVersiones();
+        return new Lectura(
+                EjecutorAccesoDatos.ejecutar(usuariosServicio::leerTodo),
+                EjecutorAccesoDatos.ejecutar(municipiosServicio::leerTodo),
+                EjecutorAccesoDatos.ejecutar(convocatoriasServicio::leerTodo),
+                EjecutorAccesoDatos.ejecutar(presentacionesServicio::leerTodo),
+                versiones);
+    }
+
+    /**
+     * Guarda la instantanea en el archivo local, un error solo se informa ya que el archivo es opcional
+     *
+     * @param guardar Instantanea a guardar
+     */
+    private void guardarArchivo(Contenido guardar) {
+        if (archivo == null || guardar.versiones == null) return;
+        try {
+            archivo.guardar(guardar);
+        } catch (IOException e) {
+            System.out.println(ERROR_ESCRITURA_ARCHIVO + e.getMessage());
+        }
+    }
+
+    /**
+     * Lectura en paralelo de las cuatro tablas, cada una se puede esperar por separado
+     */
+    private static final class Lectura {
+        final CompletableFuture<LinkedList<Usuario>> usuarios;
+        final CompletableFuture<LinkedList<Municipio>> municipios;
+        final CompletableFuture<LinkedList<Convocatoria>> convocatorias;
+        final CompletableFuture<LinkedList<Presentacion>> presentaciones;
+        /**
+         * Versiones de las tablas previas a la lectura, null si no se registran
+         */
+        final Map<TablaVersionada, Long> versiones;
+
+        Lectura(CompletableFuture<LinkedList<Usuario>> usuarios,
+                CompletableFuture<LinkedList<Municipio>> municipios,
+                CompletableFuture<LinkedList<Convocatoria>> convocatorias,
+                CompletableFuture<LinkedList<Presentacion>> presentaciones,
+                Map<TablaVersionada, Long> versiones) {
+            this.usuarios = usuarios;
+            this.municipios = municipios;
+            this.convocatorias = convocatorias;
+            this.presentaciones = presentaciones;
+            this.versiones = versiones;
+        }
+
+        /**
+         * Espera todas las tablas
+         *
+         * @return Contenido leido
+         * @throws SQLException Si hubo algun error al leer alguna de las tablas
+         */
+        Contenido esperar() throws SQLException {
+            return Contenido.enlazado(
+                    EjecutorAccesoDatos.esperar(usuarios),
+                    EjecutorAccesoDatos.esperar(municipios),
+                    EjecutorAccesoDatos.esperar(convocatorias),
+                    EjecutorAccesoDatos.esperar(presentaciones),
+                    versiones,
+                    false);
+        }
+    }
+
+    /**
+     * Entidades leidas en una misma actualizacion. Las listas no se modifican luego de creadas; las entidades se
+     * comparten con las caches de los repositorios y los controladores solo las modifican despues de guardar el
+     * cambio en la base de datos
+     */
+    static final class Contenido {
+        final List<Usuario> usuarios;
+        final List<Municipio> municipios;
+        final List<Convocatoria> convocatorias;
+        final List<Presentacion> presentaciones;
+        /**
+         * Versiones de las tablas previas a la lectura, null si no se registran
+         */
+        final Map<TablaVersionada, Long> versiones;
+        /**
+         * Si los usuarios fueron leidos del archivo local y no tienen sus claves
+         */
+        final boolean sinClaves;
+
+        Contenido(List<Usuario> usuarios,
+                  List<Municipio> municipios,
+                  List<Convocatoria> convocatorias,
+                  List<Presentacion> presentaciones,
+                  Map<TablaVersionada, Long> versiones,
+                  boolean sinClaves) {
+            this.usuarios = List.copyOf(usuarios);
+            this.municipios = List.copyOf(municipios);
+            this.convocatorias = List.copyOf(convocatorias);
+            this.presentaciones = List.copyOf(presentaciones);
+            this.versiones = versiones == null ? null : Map.copyOf(versiones);
+            this.sinClaves = sinClaves;
+        }
+
+        /**
+         * Crea el contenido a partir de tablas leidas por separado, reemplazando los usuarios de los municipios y
+         * las entidades asociadas a las presentaciones por las instancias de las listas con el mismo identificador.
+         * Las asociadas que no estan en las listas (escritas entre una lectura y otra) se conservan como se leyeron
+         *
+         * @param usuarios       Usuarios leidos
+         * @param municipios     Municipios leidos, se reemplazan por copias enlazadas
+         * @param convocatorias  Convocatorias leidas
+         * @param presentaciones Presentaciones leidas, se reemplazan por copias enlazadas
+         * @param versiones      Versiones de las tablas previas a la lectura, null si no se registran
+         * @param sinClaves      Si los usuarios no tienen sus claves
+         * @return Contenido con todas sus referencias apuntando a las instancias de sus listas
+         */
+        static Contenido enlazado(List<Usuario> usuarios,
+                                  List<Municipio> municipios,
+                                  List<Convocatoria> convocatorias,
+                                  List<Presentacion> presentaciones,
+                                  Map<TablaVersionada, Long> versiones,
+                                  boolean sinClaves) {
+            Map<String, Usuario> usuariosPorId = porId(usuarios);
+            Map<String, Convocatoria> convocatoriasPorId = porId(convocatorias);
+            List<Municipio> municipiosEnlazados = new ArrayList<>(municipios.size());
+            for (Municipio leido : municipios) {
+                Municipio municipio = new Municipio(leido.getId(), leido.getNombre(), leido.getCategoria());
+                if (leido.getFiscal() != null)
+                    municipio.tomaNuevoSupervisorFiscal(instancia(usuariosPorId, leido.getFiscal()));
+                if (leido.getCuentadante() != null)
+                    municipio.tomaNuevoRepresentante(instancia(usuariosPorId, leido.getCuentadante()),
+                            new LinkedList<>());
+                municipiosEnlazados.add(municipio);
+            }
+            Map<String, Municipio> municipiosPorId = porId(municipiosEnlazados);
+            List<Presentacion> presentacionesEnlazadas = new ArrayList<>(presentaciones.size());
+            for (Presentacion leida : presentaciones) {
+                presentacionesEnlazadas.add(new Presentacion(leida.getId(),
+                        leida.getFechaInicio(),
+                        leida.isAbierto(),
+                        instancia(convocatoriasPorId, leida.getConvocatoria()),
+                        instancia(usuariosPorId, leida.getAutor()),
+                        instancia(municipiosPorId, leida.getMunicipio()),
+                        leida.getDocumentos().getDocumentosLinkedList()));
+            }
+            return new Contenido(usuarios, municipiosEnlazados, convocatorias, presentacionesEnlazadas,
+                    versiones, sinClaves);
+        }
+
+        /**
+         * Indexa las entidades por identificador
+         *
+         * @param entidades Entidades a indexar
+         * @return Entidades por identificador
+         */
+        private static <T extends Entidad> Map<String, T> porId(List<T> entidades) {
+            Map<String, T> resultado = new HashMap<>();
+            for (T entidad : entidades) resultado.put(entidad.getId(), entidad);
+            return resultado;
+        }
+
+        /**
+         * Devuelve la instancia de la lista con el mismo identificador que la entidad leida
+         *
+         * @param porId Instancias de la lista por identificador
+         * @param leida Entidad leida
+         * @return Instancia de la lista, o la leida si no esta en la lista
+         */
+        private static <T extends Entidad> T instancia(Map<String, T> porId, T leida) {
+            return porId.getOrDefault(leida.getId(), leida);
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.fedebonel.servicios;
 
+import com.fedebonel.modelo.municipio.CampoMunicipio;
 import com.fedebonel.modelo.municipio.Municipio;
 import com.fedebonel.respositorios.MunicipiosRepositorio;
 
 import java.sql.SQLException;
 import java.util.LinkedList;
+import java.util.Map;
 
-public class MunicipiosServicio implements EntidadServicio<String, Municipio> {
+public class MunicipiosServicio implements EntidadServicio<String, Municipio, CampoMunicipio> {
 
     /**
      * String constante que pose el error cuando el municipio esta registrado
@@ -28,6 +30,22 @@ public class MunicipiosServicio implements EntidadServicio<String, Municipio> {
         return (LinkedList<Municipio>) municipiosRepositorio.leerTodo();
     }
 
+    @Override
+    public LinkedList<Municipio> leerPagina(String despuesDe, int limite) throws SQLException {
+        return (LinkedList<Municipio>) municipiosRepositorio.leerPagina(despuesDe, limite);
+    }
+
+    /**
+     * Lee solo los municipios representados por el cuentadante, filtrando en la base de datos
+     *
+     * @param idCuentadante Identificador del usuario cuentadante
+     * @return Municipios del cuentadante
+     * @throws SQLException Si hubo algun error al leer los municipios
+     */
+    public LinkedList<Municipio> leerPorCuentadante(String idCuentadante) throws SQLException {
+        return new LinkedList<>(municipiosRepositorio.leerPorCuentadante(idCuentadante));
+    }
+
     @Override
     public Municipio leerPorID(String id) throws SQLException {
         return municipiosRepositorio.leerPorId(id);
@@ -35,22 +53,21 @@ public class MunicipiosServicio implements EntidadServicio<String, Municipio> {
 
     @Override
     public void registrar(Municipio municipio) throws IllegalArgumentException, SQLException {
-        Municipio foundMunicipio = municipiosRepositorio.leerPorId(municipio.getId());
-        if (foundMunicipio != null) throw new IllegalArgumentException(ERROR_MUNICIPIO_REGISTRADO);
-        municipiosRepositorio.guardar(municipio);
+        if (!municipiosRepositorio.guardar(municipio))
+            throw new IllegalArgumentException(ERROR_MUNICIPIO_REGISTRADO);
     }
 
     @Override
     public void eliminar(Municipio municipio) throws IllegalArgumentException, SQLException {
-        Municipio foundMunicipio = municipiosRepositorio.leerPorId(municipio.getId());
-        if (foundMunicipio == null) throw new IllegalArgumentException(ERROR_MUNICIPIO_NO_REGISTRADO);
-        municipiosRepositorio.eliminarPorId(municipio.getId());
+        if (!municipiosRepositorio.eliminarPorId(municipio.getId()))
+            throw new IllegalArgumentException(ERROR_MUNICIPIO_NO_REGISTRADO);
     }
 
     @Override
-    public void actualizar(Municipio municipio, String field, String value) throws IllegalArgumentException, SQLException {
-        Municipio foundMunicipio = municipiosRepositorio.leerPorId(municipio.getId());
-        if (foundMunicipio == null) throw new IllegalArgumentException(ERROR_MUNICIPIO_NO_REGISTRADO);
-        municipiosRepositorio.actualizarPorId(municipio.getId(), field, value);
+    public void actualizar(Municipio municipio, Map<CampoMunicipio, Object> campos)
+            throws IllegalArgumentException, SQLException {
+        if (campos.isEmpty()) return;
+        if (!municipiosRepositorio.actualizarPorId(municipio.getId(), campos))
+            throw new IllegalArgumentException(ERROR_MUNICIPIO_NO_REGISTRADO);
     }
 }
@@ -1,12 +1,15 @@
 package com.fedebonel.servicios;
 
+import com.fedebonel.modelo.evento.CampoPresentacion;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
 import com.fedebonel.modelo.evento.Presentacion;
 import com.fedebonel.respositorios.PresentacionesRepositorio;
 
 import java.sql.SQLException;
 import java.util.LinkedList;
+import java.util.Map;
 
-public class PresentacionesServicio implements EntidadServicio<String, Presentacion> {
+public class PresentacionesServicio implements EntidadServicio<String, Presentacion, CampoPresentacion> {
 
     /**
      * String constante que posee el error cuando la presentacion esta registrada
@@ -28,6 +31,33 @@ public class PresentacionesServicio implements EntidadServicio<String, Presentac
         return (LinkedList<Presentacion>) presentacionesRepositorio.leerTodo();
     }
 
+    @Override
+    public LinkedList<Presentacion> leerPagina(String despuesDe, int limite) throws SQLException {
+        return (LinkedList<Presentacion>) presentacionesRepositorio.leerPagina(despuesDe, limite);
+    }
+
+    /**
+     * Lee solo las presentaciones realizadas por el autor, filtrando en la base de datos
+     *
+     * @param idAutor Identificador del usuario autor
+     * @return Presentaciones del autor
+     * @throws SQLException Si hubo algun error al leer las presentaciones
+     */
+    public LinkedList<Presentacion> leerPorAutor(String idAutor) throws SQLException {
+        return new LinkedList<>(presentacionesRepositorio.leerPorAutor(idAutor));
+    }
+
+    /**
+     * Lee solo las presentaciones de los municipios supervisados por el fiscal, filtrando en la base de datos
+     *
+     * @param idFiscal Identificador del usuario fiscal
+     * @return Presentaciones de los municipios del fiscal
+     * @throws SQLException Si hubo algun error al leer las presentaciones
+     */
+    public LinkedList<Presentacion> leerPorFiscal(String idFiscal) throws SQLException {
+        return new LinkedList<>(presentacionesRepositorio.leerPorFiscal(idFiscal));
+    }
+
     @Override
     public Presentacion leerPorID(String id) throws SQLException {
         return presentacionesRepositorio.leerPorId(id);
@@ -35,34 +65,45 @@ public class PresentacionesServicio implements EntidadServicio<String, Presentac
 
     @Override
     public void registrar(Presentacion presentacion) throws IllegalArgumentException, SQLException {
-        Presentacion foundPresentacion = presentacionesRepositorio.leerPorId(presentacion.getId());
-        if (foundPresentacion != null) throw new IllegalArgumentException(ERROR_PRESENTACION_REGISTRADA);
-        presentacionesRepositorio.guardar(presentacion);
+        if (!presentacionesRepositorio.guardar(presentacion))
+            throw new IllegalArgumentException(ERROR_PRESENTACION_REGISTRADA);
     }
 
     @Override
     public void eliminar(Presentacion presentacion) throws IllegalArgumentException, SQLException {
-        Presentacion foundPresentacion = presentacionesRepositorio.leerPorId(presentacion.getId());
-        if (foundPresentacion == null) throw new IllegalArgumentException(ERROR_PRESENTACION_NO_REGISTRADA);
-        presentacionesRepositorio.eliminarPorId(presentacion.getId());
+        if (!presentacionesRepositorio.eliminarPorId(presentacion.getId()))
+            throw new IllegalArgumentException(ERROR_PRESENTACION_NO_REGISTRADA);
     }
 
     @Override
-    public void actualizar(Presentacion presentacion, String field, String value) throws IllegalArgumentException, SQLException {
-        Presentacion foundPresentacion = presentacionesRepositorio.leerPorId(presentacion.getId());
-        if (foundPresentacion == null) throw new IllegalArgumentException(ERROR_PRESENTACION_NO_REGISTRADA);
-        presentacionesRepositorio.actualizarPorId(presentacion.getId(), field, value);
+    public void actualizar(Presentacion presentacion, Map<CampoPresentacion, Object> campos)
+            throws IllegalArgumentException, SQLException {
+        if (campos.isEmpty()) return;
+        if (!presentacionesRepositorio.actualizarPorId(presentacion.getId(), campos))
+            throw new IllegalArgumentException(ERROR_PRESENTACION_NO_REGISTRADA);
     }
 
     public void agregarDocumento(Presentacion presentacion, String document) throws SQLException {
-        Presentacion foundPresentacion = presentacionesRepositorio.leerPorId(presentacion.getId());
-        if (foundPresentacion == null) throw new IllegalArgumentException(ERROR_PRESENTACION_NO_REGISTRADA);
-        presentacionesRepositorio.agregarDocPresentacion(presentacion, document);
+        if (!presentacionesRepositorio.agregarDocPresentacion(presentacion, document))
+            throw new IllegalArgumentException(ERROR_PRESENTACION_NO_REGISTRADA);
     }
 
     public void eliminarDocumento(Presentacion presentacion, String document) throws SQLException {
-        Presentacion foundPresentacion = presentacionesRepositorio.leerPorId(presentacion.getId());
-        if (foundPresentacion == null) throw new IllegalArgumentException(ERROR_PRESENTACION_NO_REGISTRADA);
-        presentacionesRepositorio.removerDocPresentacion(presentacion, document);
+        if (!presentacionesRepositorio.removerDocPresentacion(presentacion, document))
+            throw new IllegalArgumentException(ERROR_PRESENTACION_NO_REGISTRADA);
+    }
+
+    /**
+     * Guarda todos los cambios de la presentacion de una sola vez: se guardan todos o, si alguno falla, ninguno
+     *
+     * @param cambios Cambios de la presentacion a guardar, si no hay ninguno no se accede a la base de datos
+     * @throws IllegalArgumentException Si la presentacion no existe
+     * @throws SQLException             Si hubo algun error al guardar los cambios
+     */
+    public void aplicarCambios(ConjuntoCambios<CampoPresentacion> cambios)
+            throws IllegalArgumentException, SQLException {
+        if (cambios.isVacio()) return;
+        if (!presentacionesRepositorio.aplicarCambios(cambios))
+            throw new IllegalArgumentException(ERROR_PRESENTACION_NO_REGISTRADA);
     }
 }
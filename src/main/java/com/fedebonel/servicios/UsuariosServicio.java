@@ -1,12 +1,14 @@
 package com.fedebonel.servicios;
 
+import com.fedebonel.modelo.usuario.CampoUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
 import com.fedebonel.respositorios.UsuariosRepositorio;
 
 import java.sql.SQLException;
 import java.util.LinkedList;
+import java.util.Map;
 
-public class UsuariosServicio implements EntidadServicio<String, Usuario> {
+public class UsuariosServicio implements EntidadServicio<String, Usuario, CampoUsuario> {
 
     /**
      * String constante que posee el error cuando el usuario esta registrado
@@ -28,6 +30,11 @@ public class UsuariosServicio implements EntidadServicio<String, Usuario> {
         return (LinkedList<Usuario>) usuariosRepositorio.leerTodo();
     }
 
+    @Override
+    public LinkedList<Usuario> leerPagina(String despuesDe, int limite) throws SQLException {
+        return (LinkedList<Usuario>) usuariosRepositorio.leerPagina(despuesDe, limite);
+    }
+
     @Override
     public Usuario leerPorID(String id) throws SQLException {
         return usuariosRepositorio.leerPorId(id);
@@ -35,22 +42,21 @@ public class UsuariosServicio implements EntidadServicio<String, Usuario> {
 
     @Override
     public void registrar(Usuario usuario) throws SQLException {
-        Usuario foundUser = usuariosRepositorio.leerPorId(usuario.getId());
-        if (foundUser != null) throw new IllegalArgumentException(ERROR_USUARIO_REGISTRADO);
-        usuariosRepositorio.guardar(usuario);
+        if (!usuariosRepositorio.guardar(usuario))
+            throw new IllegalArgumentException(ERROR_USUARIO_REGISTRADO);
     }
 
     @Override
     public void eliminar(Usuario usuario) throws IllegalArgumentException, SQLException {
-        Usuario foundUser = usuariosRepositorio.leerPorId(usuario.getId());
-        if (foundUser == null) throw new IllegalArgumentException(ERROR_USUARIO_NO_REGISTRADO);
-        usuariosRepositorio.eliminarPorId(usuario.getId());
+        if (!usuariosRepositorio.eliminarPorId(usuario.getId()))
+            throw new IllegalArgumentException(ERROR_USUARIO_NO_REGISTRADO);
     }
 
     @Override
-    public void actualizar(Usuario usuario, String field, String value) throws IllegalArgumentException, SQLException {
-        Usuario foundUser = usuariosRepositorio.leerPorId(usuario.getId());
-        if (foundUser == null) throw new IllegalArgumentException(ERROR_USUARIO_NO_REGISTRADO);
-        usuariosRepositorio.actualizarPorId(usuario.getId(), field, value);
+    public void actualizar(Usuario usuario, Map<CampoUsuario, Object> campos)
+            throws IllegalArgumentException, SQLException {
+        if (campos.isEmpty()) return;
+        if (!usuariosRepositorio.actualizarPorId(usuario.getId(), campos))
+            throw new IllegalArgumentException(ERROR_USUARIO_NO_REGISTRADO);
     }
 }
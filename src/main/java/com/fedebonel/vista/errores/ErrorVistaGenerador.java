@@ -20,8 +20,7 @@ public class ErrorVistaGenerador {
      * @param error Error a mostrar en la ventana
      */
     public static void mostrarErrorDB(Exception error) {
-        JOptionPane.showMessageDialog(new JFrame(),
-                ConexionDB.ERROR_ACCESO_BASE_DATOS + error.getMessage(), "", JOptionPane.ERROR_MESSAGE);
+        mostrarVentanaError(ConexionDB.ERROR_ACCESO_BASE_DATOS + error.getMessage());
         System.out.print(ConexionDB.ERROR_ACCESO_BASE_DATOS);
         System.out.println(error.getMessage());
     }
@@ -32,8 +31,7 @@ public class ErrorVistaGenerador {
      * @param error Error a mostrar en la ventana
      */
     public static void mostrarErrorEnOperacion(Exception error) {
-        JOptionPane.showMessageDialog(new JFrame(),
-                StringsFinales.ERROR_REALIZANDO_OPERACION + error.getMessage(), "", JOptionPane.ERROR_MESSAGE);
+        mostrarVentanaError(StringsFinales.ERROR_REALIZANDO_OPERACION + error.getMessage());
         System.out.println(StringsFinales.ERROR_REALIZANDO_OPERACION);
         System.out.println(error.getMessage());
     }
@@ -45,8 +43,7 @@ public class ErrorVistaGenerador {
      */
     public static void mostrarErrorEnOperacionCustomizado(String mensajeError) {
         // Si la fecha no esta en el formato requerido
-        JOptionPane.showMessageDialog(new JFrame(),
-                StringsFinales.ERROR_REALIZANDO_OPERACION + mensajeError, "", JOptionPane.ERROR_MESSAGE);
+        mostrarVentanaError(StringsFinales.ERROR_REALIZANDO_OPERACION + mensajeError);
         System.out.println(mensajeError);
     }
 
@@ -54,8 +51,7 @@ public class ErrorVistaGenerador {
      * Muestra un mensaje de error en contexto de no permisos
      */
     public static void mostrarErrorNoPermisos() {
-        JOptionPane.showMessageDialog(new JFrame(),
-                StringsFinales.ERROR_NO_PERMISOS, "", JOptionPane.ERROR_MESSAGE);
+        mostrarVentanaError(StringsFinales.ERROR_NO_PERMISOS);
         System.out.println(StringsFinales.ERROR_NO_PERMISOS);
     }
 
@@ -63,7 +59,21 @@ public class ErrorVistaGenerador {
      * Muestra un error por llaves incorrectas en autenticacion
      */
     public static void mostrarErrorAutenticacion() {
-        JOptionPane.showMessageDialog(new JFrame(), StringsFinales.ERROR_USUARIO_CLAVE, "", JOptionPane.ERROR_MESSAGE);
+        mostrarVentanaError(StringsFinales.ERROR_USUARIO_CLAVE);
         System.out.println(StringsFinales.ERROR_USUARIO_CLAVE);
     }
+
+    /**
+     * Muestra la ventana de error en el hilo de eventos de Swing, asi los errores de las tareas en segundo plano
+     * tambien pueden mostrarse
+     *
+     * @param mensaje Mensaje a mostrar en la ventana
+     */
+    private static void mostrarVentanaError(String mensaje) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> mostrarVentanaError(mensaje));
+            return;
+        }
+        JOptionPane.showMessageDialog(new JFrame(), mensaje, "", JOptionPane.ERROR_MESSAGE);
+    }
 }
@@ -1,7 +1,6 @@
 package com.fedebonel.vista.menuprincipal;
 
 import com.fedebonel.modelo.evento.Convocatoria;
-import com.fedebonel.modelo.evento.Presentacion;
 import com.fedebonel.vista.StringsFinales;
 import com.fedebonel.vista.componentes.JTableNoEditable;
 
@@ -9,6 +8,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.util.LinkedList;
+import java.util.Map;
 
 /**
  * Panel de convocatorias con botones de crear, eliminar y modificar y una lista de ellas
@@ -69,10 +69,11 @@ public class ConvocatoriasPanel extends JPanel {
     /**
      * Metodo que toma las convocatorias pasadas y los muestra en la pestania de convocatorias
      *
-     * @param convocatorias  Convocatorias a mostrar como linked list
-     * @param presentaciones Coleccion de presentaciones del sistema
+     * @param convocatorias            Convocatorias a mostrar como linked list
+     * @param presentacionesRealizadas Cantidad de presentaciones por identificador de convocatoria
      */
-    public void mostrarConvocatorias(LinkedList<Convocatoria> convocatorias, LinkedList<Presentacion> presentaciones) {
+    public void mostrarConvocatorias(LinkedList<Convocatoria> convocatorias,
+                                     Map<String, Integer> presentacionesRealizadas) {
         String[][] tablaAMostrar = new String[convocatorias.size()][StringsFinales.COLUMNAS_CONVOCATORIAS.length];
         int i = 0;
         for (Convocatoria convocatoria : convocatorias) {
@@ -82,7 +83,7 @@ public class ConvocatoriasPanel extends JPanel {
             tablaAMostrar[i][3] = convocatoria.getDocumentos().toString();
             tablaAMostrar[i][4] = convocatoria.getDescripcion();
             tablaAMostrar[i][5] = String.valueOf(convocatoria.isAbierto());
-            tablaAMostrar[i][6] = String.valueOf(convocatoria.getSusPresentacionesDe(presentaciones).size());
+            tablaAMostrar[i][6] = String.valueOf(presentacionesRealizadas.getOrDefault(convocatoria.getId(), 0));
             i++;
         }
         tablaObjetos.actualizarCon(tablaAMostrar);
@@ -1,7 +1,7 @@
 package com.fedebonel.vista.menuprincipal;
 
-import com.fedebonel.modelo.evento.Presentacion;
-import com.fedebonel.modelo.municipio.Municipio;
+import com.fedebonel.modelo.estadisticas.EstadisticaMunicipio;
+import com.fedebonel.modelo.estadisticas.TotalesPresentaciones;
 import com.fedebonel.vista.Estilo;
 import com.fedebonel.vista.StringsFinales;
 import com.fedebonel.vista.componentes.JTableNoEditable;
@@ -62,33 +62,27 @@ public class InformacionPanel extends JPanel {
     }
 
     /**
-     * Metodo que toma las presentaciones y municipios, extrae la informacion y la presenta en el panel
+     * Metodo que toma las estadisticas ya calculadas de municipios y presentaciones y las presenta en el panel
      *
-     * @param municipios     Municipios con la informacion a mostrar
-     * @param presentaciones Presentaciones con la informacion a mostrar
+     * @param municipios     Estadisticas de cada municipio a mostrar
+     * @param presentaciones Totales de presentaciones a mostrar
      */
-    public void mostrarInformacion(LinkedList<Municipio> municipios, LinkedList<Presentacion> presentaciones) {
+    public void mostrarInformacion(LinkedList<EstadisticaMunicipio> municipios, TotalesPresentaciones presentaciones) {
         // Informacion de municipios
         String[][] tablaAMostrar =
                 new String[municipios.size()][StringsFinales.COLUMNAS_MUNICIPIO_INFORMACION.length];
         int i = 0;
-        for (Municipio municipio : municipios) {
-            tablaAMostrar[i][0] = municipio.getId();
-            tablaAMostrar[i][1] = municipio.getNombre();
-            tablaAMostrar[i][2] = String.valueOf(municipio.getSusPresentacionesDe(presentaciones).size());
-            tablaAMostrar[i][3] = String.valueOf(municipio.getTotalDocumentosPresentados(presentaciones));
+        for (EstadisticaMunicipio municipio : municipios) {
+            tablaAMostrar[i][0] = municipio.getIdMunicipio();
+            tablaAMostrar[i][1] = municipio.getNombreMunicipio();
+            tablaAMostrar[i][2] = String.valueOf(municipio.getPresentaciones());
+            tablaAMostrar[i][3] = String.valueOf(municipio.getDocumentosPresentados());
             i++;
         }
         tablaObjetos.actualizarCon(tablaAMostrar);
         // Informacion de presentaciones
-        int totalPresentacionesAbiertas = 0;
-        int totalPresentacionesCerradas = 0;
-        for (Presentacion presentacion : presentaciones) {
-            if (presentacion.getConvocatoria().isAbierto()) totalPresentacionesAbiertas += 1;
-            else totalPresentacionesCerradas += 1;
-        }
-        totalPresConvoAbiertasCampo.setText(String.valueOf(totalPresentacionesAbiertas));
-        totalPresConvoCerradasCampo.setText(String.valueOf(totalPresentacionesCerradas));
+        totalPresConvoAbiertasCampo.setText(String.valueOf(presentaciones.getConvocatoriasAbiertas()));
+        totalPresConvoCerradasCampo.setText(String.valueOf(presentaciones.getConvocatoriasCerradas()));
     }
 
     /**
@@ -103,3 +103,19 @@ CREATE TABLE `usuario`
     COLLATE = 'utf8mb3_general_ci'
     ENGINE = InnoDB
 ;
+
+CREATE TABLE `cambios`
+(
+    `tabla`   VARCHAR(30) NOT NULL COLLATE 'utf8mb3_general_ci',
+    `version` BIGINT(20)  NOT NULL DEFAULT '0',
+    PRIMARY KEY (`tabla`) USING BTREE
+)
+    COLLATE = 'utf8mb3_general_ci'
+    ENGINE = InnoDB
+;
+
+INSERT INTO `cambios` (`tabla`)
+VALUES ('usuario'),
+       ('municipio'),
+       ('convocatoria'),
+       ('presentacion');
@@ -0,0 +1,241 @@
+package com.fedebonel.modelo.accesodatos;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para el pool de conexiones con un driver que entrega conexiones simuladas
+ */
+class PoolConexionesTest {
+
+    /**
+     * URL atendida por el driver de prueba
+     */
+    private static final String URL_PRUEBA = "jdbc:prueba-pool-conexiones:";
+
+    DriverPrueba driver;
+    Properties configuracion;
+    PoolConexiones pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        driver = new DriverPrueba();
+        DriverManager.registerDriver(driver);
+        configuracion = new Properties();
+        configuracion.setProperty("url", URL_PRUEBA);
+        configuracion.setProperty("usuario", "usuario");
+        configuracion.setProperty("clave", "clave");
+        configuracion.setProperty("pool.maximo", "2");
+        configuracion.setProperty("pool.minimo", "0");
+        configuracion.setProperty("pool.espera_maxima_ms", "200");
+        configuracion.setProperty("pool.umbral_fuga_ms", "0");
+        configuracion.setProperty("pool.intervalo_mantenimiento_ms", "600000");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (pool != null) pool.cerrar();
+        DriverManager.deregisterDriver(driver);
+    }
+
+    /* obtenerConexion ---------------------------------------------------------------------------------------------- */
+
+    @Test
+    void obtenerConexionReutilizaLaDevueltaTest() throws SQLException {
+        // Dado
+        pool = new PoolConexiones(configuracion);
+
+        // Cuando
+        Connection primera = pool.obtenerConexion();
+        MetricasPool durante = pool.getMetricas();
+        primera.close();
+        Connection segunda = pool.obtenerConexion();
+        segunda.close();
+
+        // Entonces
+        MetricasPool despues = pool.getMetricas();
+        assertEquals(1, durante.getConexionesPrestadas());
+        assertEquals(0, durante.getConexionesLibres());
+        assertEquals(1, driver.creadas.size());
+        assertEquals(1, despues.getTotalCreadas());
+        assertEquals(2, despues.getTotalPrestamos());
+        assertEquals(0, despues.getConexionesPrestadas());
+        assertEquals(1, despues.getConexionesLibres());
+    }
+
+    @Test
+    void obtenerConexionDevueltaRecienNoValidaTest() throws SQLException {
+        // Dado
+        pool = new PoolConexiones(configuracion);
+        pool.obtenerConexion().close();
+
+        // Cuando
+        pool.obtenerConexion().close();
+
+        // Entonces
+        verify(driver.creadas.get(0), never()).isValid(anyInt());
+    }
+
+    @Test
+    void obtenerConexionInactivaInvalidaSeDescartaTest() throws Exception {
+        // Dado
+        pool = new PoolConexiones(configuracion);
+        pool.obtenerConexion().close();
+        Connection fisica = driver.creadas.get(0);
+        when(fisica.isValid(anyInt())).thenReturn(false);
+        Thread.sleep(600);
+
+        // Cuando
+        pool.obtenerConexion().close();
+
+        // Entonces
+        verify(fisica).isValid(anyInt());
+        verify(fisica).close();
+        assertEquals(2, driver.creadas.size());
+        assertEquals(1, pool.getMetricas().getTotalDescartadas());
+    }
+
+    @Test
+    void obtenerConexionSinLibresAgotaTiempoTest() throws SQLException {
+        // Dado
+        configuracion.setProperty("pool.maximo", "1");
+        pool = new PoolConexiones(configuracion);
+        Connection prestada = pool.obtenerConexion();
+
+        // Cuando
+        assertThrows(SQLTimeoutException.class, () -> pool.obtenerConexion());
+        prestada.close();
+
+        // Entonces
+        assertEquals(1, pool.getMetricas().getTotalTiemposAgotados());
+        pool.obtenerConexion().close();
+    }
+
+    /* mantener ----------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void mantenerReportaCadaFugaUnaVezTest() throws Exception {
+        // Dado
+        configuracion.setProperty("pool.umbral_fuga_ms", "1");
+        pool = new PoolConexiones(configuracion);
+        Connection[] fugadas = new Connection[2];
+        for (int i = 0; i < fugadas.length; i++) fugadas[i] = pool.obtenerConexion();
+        Thread.sleep(20);
+        PrintStream salidaOriginal = System.out;
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // Cuando
+        try {
+            System.setOut(new PrintStream(salida, true, StandardCharsets.UTF_8));
+            pool.mantener();
+            pool.mantener();
+        } finally {
+            System.setOut(salidaOriginal);
+        }
+
+        // Entonces
+        String reporte = salida.toString(StandardCharsets.UTF_8);
+        assertEquals(2, pool.getMetricas().getTotalFugas());
+        assertEquals(1, contar(reporte, "Conexion tomada aqui"));
+        assertEquals(1, contar(reporte, "Posibles fugas de conexion: 2"));
+    }
+
+    @Test
+    void mantenerFugaDevueltaVuelveAlPoolTest() throws Exception {
+        // Dado
+        configuracion.setProperty("pool.umbral_fuga_ms", "1");
+        pool = new PoolConexiones(configuracion);
+        Connection fugada = pool.obtenerConexion();
+        Thread.sleep(20);
+        pool.mantener();
+
+        // Cuando
+        fugada.close();
+        pool.obtenerConexion().close();
+
+        // Entonces
+        MetricasPool metricas = pool.getMetricas();
+        assertEquals(1, metricas.getTotalFugas());
+        assertEquals(0, metricas.getConexionesPrestadas());
+        assertEquals(1, metricas.getConexionesLibres());
+        assertEquals(1, metricas.getTotalCreadas());
+    }
+
+    /**
+     * Cuenta las apariciones de un texto
+     *
+     * @param texto   Texto donde buscar
+     * @param buscado Texto buscado
+     * @return Cantidad de apariciones
+     */
+    private static int contar(String texto, String buscado) {
+        int cantidad = 0;
+        for (int i = texto.indexOf(buscado); i >= 0; i = texto.indexOf(buscado, i + buscado.length())) cantidad++;
+        return cantidad;
+    }
+
+    /**
+     * Driver que entrega conexiones simuladas y recuerda las que creo
+     */
+    private static class DriverPrueba implements Driver {
+
+        /**
+         * Conexiones fisicas creadas, en orden
+         */
+        final List<Connection> creadas = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) return null;
+            Connection conexion = mock(Connection.class);
+            when(conexion.getAutoCommit()).thenReturn(true);
+            when(conexion.isValid(anyInt())).thenReturn(true);
+            creadas.add(conexion);
+            return conexion;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith(URL_PRUEBA);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.fedebonel.respositorios.cache;
+
+import com.fedebonel.modelo.evento.ConjuntoCambios;
+import com.fedebonel.modelo.evento.Convocatoria;
+import com.fedebonel.respositorios.ConvocatoriasRepositorio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.LinkedList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConvocatoriasRepositorioCacheTest {
+
+    @Mock
+    ConvocatoriasRepositorio convocatoriasRepositorio;
+
+    ConvocatoriasRepositorioCache convocatoriasRepositorioCache;
+
+    Convocatoria convocatoria;
+
+    @BeforeEach
+    void setUp() {
+        convocatoriasRepositorioCache = new ConvocatoriasRepositorioCache(convocatoriasRepositorio);
+        convocatoria = new Convocatoria("c1",
+                LocalDate.of(2022, 2, 10),
+                LocalDate.of(2022, 2, 12),
+                new LinkedList<>(), "");
+    }
+
+    /* leerPorId ---------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void leerPorIdMetricasTest() throws SQLException {
+        // Dado
+        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+
+        // Cuando
+        convocatoriasRepositorioCache.leerPorId(convocatoria.getId());
+        convocatoriasRepositorioCache.leerPorId(convocatoria.getId());
+        convocatoriasRepositorioCache.leerPorId(convocatoria.getId());
+
+        // Entonces
+        MetricasCache metricas = convocatoriasRepositorioCache.getMetricas();
+        assertEquals(2, metricas.getAciertos());
+        assertEquals(1, metricas.getFallos());
+        assertEquals(1, metricas.getCantidad());
+        verify(convocatoriasRepositorio, times(1)).leerPorId(convocatoria.getId());
+    }
+
+    @Test
+    void leerPorIdExpiradaTest() throws SQLException, InterruptedException {
+        // Dado
+        convocatoriasRepositorioCache = new ConvocatoriasRepositorioCache(convocatoriasRepositorio,
+                RepositorioCache.CAPACIDAD_POR_DEFECTO, 1);
+        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+
+        // Cuando
+        convocatoriasRepositorioCache.leerPorId(convocatoria.getId());
+        Thread.sleep(5);
+        convocatoriasRepositorioCache.leerPorId(convocatoria.getId());
+
+        // Entonces
+        assertEquals(1, convocatoriasRepositorioCache.getMetricas().getExpiradas());
+        verify(convocatoriasRepositorio, times(2)).leerPorId(convocatoria.getId());
+    }
+
+    /* documentos --------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void agregarDocConvocatoriaInvalidaTest() throws SQLException {
+        // Dado
+        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+        convocatoriasRepositorioCache.leerPorId(convocatoria.getId());
+
+        // Cuando
+        convocatoriasRepositorioCache.agregarDocConvocatoria(convocatoria, "documento");
+        convocatoriasRepositorioCache.leerPorId(convocatoria.getId());
+
+        // Entonces
+        verify(convocatoriasRepositorio, times(1)).agregarDocConvocatoria(convocatoria, "documento");
+        verify(convocatoriasRepositorio, times(2)).leerPorId(convocatoria.getId());
+    }
+
+    @Test
+    void removerDocConvocatoriaInvalidaTest() throws SQLException {
+        // Dado
+        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+        convocatoriasRepositorioCache.leerPorId(convocatoria.getId());
+
+        // Cuando
+        convocatoriasRepositorioCache.removerDocConvocatoria(convocatoria, "documento");
+
+        // Entonces
+        assertEquals(0, convocatoriasRepositorioCache.getMetricas().getCantidad());
+        verify(convocatoriasRepositorio, times(1)).removerDocConvocatoria(convocatoria, "documento");
+    }
+
+    @Test
+    void aplicarCambiosInvalidaTest() throws SQLException {
+        // Dado
+        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+        convocatoriasRepositorioCache.leerPorId(convocatoria.getId());
+        ConjuntoCambios cambios = new ConjuntoCambios(convocatoria.getId());
+        cambios.agregarDocumento("documento");
+
+        // Cuando
+        convocatoriasRepositorioCache.aplicarCambios(cambios);
+
+        // Entonces
+        assertEquals(0, convocatoriasRepositorioCache.getMetricas().getCantidad());
+        verify(convocatoriasRepositorio, times(1)).aplicarCambios(cambios);
+    }
+}
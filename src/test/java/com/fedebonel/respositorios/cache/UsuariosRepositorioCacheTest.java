@@ -0,0 +1,149 @@
+package com.fedebonel.respositorios.cache;
+
+import com.fedebonel.modelo.usuario.CampoUsuario;
+import com.fedebonel.modelo.usuario.RolUsuario;
+import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.respositorios.UsuariosRepositorio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.LinkedList;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UsuariosRepositorioCacheTest {
+
+    @Mock
+    UsuariosRepositorio usuariosRepositorio;
+
+    UsuariosRepositorioCache usuariosRepositorioCache;
+
+    Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuariosRepositorioCache = new UsuariosRepositorioCache(usuariosRepositorio, 2, RepositorioCache.SIN_EXPIRACION);
+        usuario = new Usuario("nombre", "username", "1234", RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
+    }
+
+    /* leerPorId ---------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void leerPorIdEnMemoriaTest() throws SQLException {
+        // Dado
+        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(usuario);
+
+        // Cuando
+        Usuario primeraLectura = usuariosRepositorioCache.leerPorId(usuario.getId());
+        Usuario segundaLectura = usuariosRepositorioCache.leerPorId(usuario.getId());
+
+        // Entonces
+        assertSame(usuario, primeraLectura);
+        assertSame(usuario, segundaLectura);
+        verify(usuariosRepositorio, times(1)).leerPorId(usuario.getId());
+    }
+
+    @Test
+    void leerPorIdNullTest() throws SQLException {
+        // Dado
+        when(usuariosRepositorio.leerPorId(anyString())).thenReturn(null);
+
+        // Cuando
+        usuariosRepositorioCache.leerPorId("inexistente");
+        Usuario leido = usuariosRepositorioCache.leerPorId("inexistente");
+
+        // Entonces
+        assertNull(leido);
+        assertEquals(0, usuariosRepositorioCache.getMetricas().getCantidad());
+        verify(usuariosRepositorio, times(2)).leerPorId("inexistente");
+    }
+
+    @Test
+    void leerPorIdCapacidadTest() throws SQLException {
+        // Dado
+        LinkedList<Usuario> usuarios = new LinkedList<>();
+        usuarios.add(usuario);
+        usuarios.add(new Usuario("nombre", "username2", "1234", RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE)));
+        usuarios.add(new Usuario("nombre", "username3", "1234", RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE)));
+        when(usuariosRepositorio.leerTodo()).thenReturn(usuarios);
+        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(usuario);
+
+        // Cuando
+        usuariosRepositorioCache.leerTodo();
+        usuariosRepositorioCache.leerPorId(usuario.getId());
+
+        // Entonces
+        assertEquals(2, usuariosRepositorioCache.getMetricas().getCantidad());
+        verify(usuariosRepositorio, times(1)).leerPorId(usuario.getId());
+    }
+
+    /* searchByName ------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void searchByNameEnMemoriaTest() throws SQLException {
+        // Dado
+        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(usuario);
+
+        // Cuando
+        usuariosRepositorioCache.leerPorId(usuario.getId());
+        Usuario encontrado = usuariosRepositorioCache.searchByName(usuario.getNombre());
+
+        // Entonces
+        assertSame(usuario, encontrado);
+        verify(usuariosRepositorio, never()).searchByName(anyString());
+    }
+
+    /* escrituras --------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void actualizarPorIdInvalidaTest() throws SQLException {
+        // Dado
+        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(usuario);
+        usuariosRepositorioCache.leerPorId(usuario.getId());
+
+        Map<CampoUsuario, Object> campos = Map.of(CampoUsuario.CLAVE, "4321");
+
+        // Cuando
+        usuariosRepositorioCache.actualizarPorId(usuario.getId(), campos);
+        usuariosRepositorioCache.leerPorId(usuario.getId());
+
+        // Entonces
+        verify(usuariosRepositorio, times(1)).actualizarPorId(usuario.getId(), campos);
+        verify(usuariosRepositorio, times(2)).leerPorId(usuario.getId());
+    }
+
+    @Test
+    void eliminarPorIdInvalidaTest() throws SQLException {
+        // Dado
+        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(usuario);
+        usuariosRepositorioCache.leerPorId(usuario.getId());
+
+        // Cuando
+        usuariosRepositorioCache.eliminarPorId(usuario.getId());
+
+        // Entonces
+        assertEquals(0, usuariosRepositorioCache.getMetricas().getCantidad());
+        verify(usuariosRepositorio, times(1)).eliminarPorId(usuario.getId());
+    }
+
+    @Test
+    void guardarFalloInvalidaTest() throws SQLException {
+        // Dado
+        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(usuario);
+        usuariosRepositorioCache.leerPorId(usuario.getId());
+        doThrow(new SQLException()).when(usuariosRepositorio).guardar(usuario);
+
+        // Cuando
+        assertThrows(SQLException.class, () -> usuariosRepositorioCache.guardar(usuario));
+
+        // Entonces
+        assertEquals(0, usuariosRepositorioCache.getMetricas().getCantidad());
+    }
+}
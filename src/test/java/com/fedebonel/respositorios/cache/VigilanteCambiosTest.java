@@ -0,0 +1,94 @@
+package com.fedebonel.respositorios.cache;
+
+import com.fedebonel.respositorios.CambiosRepositorio;
+import com.fedebonel.respositorios.TablaVersionada;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VigilanteCambiosTest {
+
+    @Mock
+    CambiosRepositorio cambiosRepositorio;
+
+    @Mock
+    UsuariosRepositorioCache usuariosRepositorioCache;
+
+    @Mock
+    PresentacionesRepositorioCache presentacionesRepositorioCache;
+
+    VigilanteCambios vigilanteCambios;
+
+    @BeforeEach
+    void setUp() {
+        vigilanteCambios = new VigilanteCambios(cambiosRepositorio);
+        vigilanteCambios.vigilar(TablaVersionada.USUARIO, usuariosRepositorioCache, presentacionesRepositorioCache);
+        vigilanteCambios.vigilar(TablaVersionada.PRESENTACION, presentacionesRepositorioCache);
+    }
+
+    /* revisar ------------------------------------------------------------------------------------------------------ */
+
+    @Test
+    void revisarPrimeraVezTest() throws SQLException {
+        // Dado
+        when(cambiosRepositorio.leerVersiones()).thenReturn(Map.of(TablaVersionada.USUARIO, 3L));
+
+        // Cuando
+        vigilanteCambios.revisar();
+
+        // Entonces
+        verify(usuariosRepositorioCache, never()).invalidarTodo();
+        verify(presentacionesRepositorioCache, never()).invalidarTodo();
+    }
+
+    @Test
+    void revisarSinCambiosTest() throws SQLException {
+        // Dado
+        when(cambiosRepositorio.leerVersiones()).thenReturn(Map.of(TablaVersionada.USUARIO, 3L));
+
+        // Cuando
+        vigilanteCambios.revisar();
+        vigilanteCambios.revisar();
+
+        // Entonces
+        verify(usuariosRepositorioCache, never()).invalidarTodo();
+        verify(presentacionesRepositorioCache, never()).invalidarTodo();
+    }
+
+    @Test
+    void revisarConCambiosTest() throws SQLException {
+        // Dado
+        when(cambiosRepositorio.leerVersiones())
+                .thenReturn(Map.of(TablaVersionada.USUARIO, 3L, TablaVersionada.PRESENTACION, 1L))
+                .thenReturn(Map.of(TablaVersionada.USUARIO, 4L, TablaVersionada.PRESENTACION, 2L));
+
+        // Cuando
+        vigilanteCambios.revisar();
+        vigilanteCambios.revisar();
+
+        // Entonces
+        verify(usuariosRepositorioCache, times(1)).invalidarTodo();
+        verify(presentacionesRepositorioCache, times(1)).invalidarTodo();
+    }
+
+    @Test
+    void revisarFalloTest() throws SQLException {
+        // Dado
+        when(cambiosRepositorio.leerVersiones()).thenThrow(new SQLException());
+
+        // Cuando
+        assertThrows(SQLException.class, () -> vigilanteCambios.revisar());
+
+        // Entonces
+        verify(usuariosRepositorioCache, never()).invalidarTodo();
+    }
+}
@@ -0,0 +1,44 @@
+package com.fedebonel.respositorios.mysql;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para las consultas por bloques de identificadores
+ */
+class ConsultasPorBloquesTest {
+
+    /* listas IN ---------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void marcadoresRedondeaAlLargoFijoTest() {
+        // Cuando, entonces
+        assertEquals("?", ConsultasPorBloques.marcadores(1));
+        assertEquals(10, ConsultasPorBloques.marcadores(3).split(", ").length);
+        assertEquals(100, ConsultasPorBloques.marcadores(51).split(", ").length);
+        assertEquals(ConsultasPorBloques.TAMANIO_BLOQUE,
+                ConsultasPorBloques.marcadores(ConsultasPorBloques.TAMANIO_BLOQUE).split(", ").length);
+    }
+
+    @Test
+    void asignarIdsRepiteElUltimoTest() throws SQLException {
+        // Dado
+        PreparedStatement stmt = mock(PreparedStatement.class);
+
+        // Cuando
+        ConsultasPorBloques.asignarIds(stmt, List.of("a", "b", "c"));
+
+        // Entonces
+        verify(stmt).setString(1, "a");
+        verify(stmt).setString(2, "b");
+        verify(stmt, times(8)).setString(anyInt(), eq("c"));
+        verify(stmt).setString(10, "c");
+        verify(stmt, never()).setString(eq(11), anyString());
+    }
+}
@@ -0,0 +1,181 @@
+package com.fedebonel.respositorios.mysql;
+
+import com.fedebonel.modelo.accesodatos.ConexionDB;
+import com.fedebonel.modelo.accesodatos.PoolConexiones;
+import com.fedebonel.modelo.evento.Presentacion;
+import com.fedebonel.modelo.municipio.Municipio;
+import com.fedebonel.modelo.usuario.RolUsuario;
+import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.respositorios.MunicipiosRepositorio;
+import com.fedebonel.respositorios.UsuariosRepositorio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.sql.*;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para el repositorio de presentaciones en MySQL con un pool de una sola conexion
+ */
+@ExtendWith(MockitoExtension.class)
+class PresentacionesRepositorioMySQLTest {
+
+    /**
+     * URL atendida por el driver de prueba
+     */
+    private static final String URL_PRUEBA = "jdbc:prueba-pool:";
+
+    @Mock
+    UsuariosRepositorio usuariosRepositorio;
+
+    @Mock
+    MunicipiosRepositorio municipiosRepositorio;
+
+    DriverPrueba driver;
+    PoolConexiones pool;
+    PresentacionesRepositorioMySQL presentacionesRepositorio;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        driver = new DriverPrueba();
+        DriverManager.registerDriver(driver);
+        Properties configuracion = new Properties();
+        configuracion.setProperty("url", URL_PRUEBA);
+        configuracion.setProperty("usuario", "usuario");
+        configuracion.setProperty("clave", "clave");
+        configuracion.setProperty("pool.maximo", "1");
+        configuracion.setProperty("pool.minimo", "0");
+        configuracion.setProperty("pool.espera_maxima_ms", "500");
+        configuracion.setProperty("pool.umbral_fuga_ms", "0");
+        pool = new PoolConexiones(configuracion);
+        asignarPool(pool);
+        presentacionesRepositorio = new PresentacionesRepositorioMySQL(
+                new ConvocatoriasRepositorioMySQL(), usuariosRepositorio, municipiosRepositorio);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        asignarPool(null);
+        pool.cerrar();
+        DriverManager.deregisterDriver(driver);
+    }
+
+    /* leerPorId ---------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void leerPorIdConUnaConexionTest() throws SQLException {
+        // Dado
+        when(usuariosRepositorio.leerPorId("valor5")).thenAnswer(invocacion -> {
+            // Como el repositorio real, toma su propia conexion del pool
+            try (Connection conn = ConexionDB.getConnection()) {
+                return new Usuario("Autor", "valor5", "clave", RolUsuario.de(RolUsuario.ROL_CUENTADANTE_NOMBRE));
+            }
+        });
+        when(municipiosRepositorio.leerPorId("valor6")).thenAnswer(invocacion -> {
+            try (Connection conn = ConexionDB.getConnection()) {
+                return new Municipio("valor6", "Municipio", 1);
+            }
+        });
+
+        // Cuando
+        Presentacion presentacion = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> presentacionesRepositorio.leerPorId("valor1"));
+
+        // Entonces
+        assertNotNull(presentacion);
+        assertNotNull(presentacion.getConvocatoria());
+        assertEquals("valor5", presentacion.getAutor().getId());
+        assertEquals("valor6", presentacion.getMunicipio().getId());
+        assertEquals(0, pool.getMetricas().getTotalTiemposAgotados());
+    }
+
+    /**
+     * Reemplaza el pool compartido de ConexionDB
+     *
+     * @param nuevo Pool a utilizar, null para que se vuelva a crear desde la configuracion
+     */
+    private static void asignarPool(PoolConexiones nuevo) throws ReflectiveOperationException {
+        Field campo = ConexionDB.class.getDeclaredField("pool");
+        campo.setAccessible(true);
+        campo.set(null, nuevo);
+    }
+
+    /**
+     * Driver que entrega conexiones simuladas: toda consulta devuelve una fila cuyas columnas de texto valen
+     * "valor" seguido de su posicion, salvo las de documentos que no devuelven filas
+     */
+    private static class DriverPrueba implements Driver {
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) return null;
+            Connection conexion = mock(Connection.class);
+            when(conexion.getAutoCommit()).thenReturn(true);
+            when(conexion.isValid(anyInt())).thenReturn(true);
+            when(conexion.prepareStatement(anyString()))
+                    .thenAnswer(invocacion -> crearSentencia(invocacion.getArgument(0)));
+            return conexion;
+        }
+
+        /**
+         * Crea una sentencia que devuelve una fila por ejecucion, o ninguna si consulta documentos
+         *
+         * @param sql Consulta preparada
+         * @return Sentencia simulada
+         */
+        private static PreparedStatement crearSentencia(String sql) throws SQLException {
+            boolean conFila = !sql.contains("docmnt_");
+            PreparedStatement sentencia = mock(PreparedStatement.class);
+            when(sentencia.executeQuery()).thenAnswer(invocacion -> {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.next()).thenReturn(conFila, false);
+                when(rs.getString(anyInt())).thenAnswer(columna -> "valor" + columna.getArgument(0));
+                when(rs.getDate(anyInt())).thenAnswer(columna ->
+                        Date.valueOf("2022-02-1" + columna.<Integer>getArgument(0)));
+                return rs;
+            });
+            return sentencia;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith(URL_PRUEBA);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.fedebonel.servicios;
 
+import com.fedebonel.modelo.evento.CampoConvocatoria;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
 import com.fedebonel.modelo.evento.Convocatoria;
 import com.fedebonel.respositorios.ConvocatoriasRepositorio;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.LinkedList;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -56,6 +59,56 @@ class ConvocatoriasServicioTest {
         verify(convocatoriasRepositorio, times(1)).leerTodo();
     }
 
+    /* leerPagina --------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void leerPaginaTest() throws SQLException {
+        // Dado
+        LinkedList<Convocatoria> salidaEsperada = new LinkedList<>();
+        salidaEsperada.add(new Convocatoria("c2",
+                LocalDate.of(2022, 2, 10),
+                LocalDate.of(2022, 2, 12),
+                new LinkedList<>(), ""));
+        when(convocatoriasRepositorio.leerPagina("c1", 1)).thenReturn(salidaEsperada);
+
+        // Cuando
+        LinkedList<Convocatoria> salidaReal = convocatoriasServicio.leerPagina("c1", 1);
+
+        // Entonces
+        assertNotNull(salidaReal);
+        assertEquals(salidaEsperada.size(), salidaReal.size());
+        verify(convocatoriasRepositorio, times(1)).leerPagina("c1", 1);
+    }
+
+    @Test
+    void leerPaginaVaciaTest() throws SQLException {
+        // Dado
+        when(convocatoriasRepositorio.leerPagina(null, 1)).thenReturn(new LinkedList<>());
+
+        // Cuando
+        LinkedList<Convocatoria> salidaReal = convocatoriasServicio.leerPagina(null, 1);
+
+        // Entonces
+        assertNotNull(salidaReal);
+        assertTrue(salidaReal.isEmpty());
+        verify(convocatoriasRepositorio, times(1)).leerPagina(null, 1);
+    }
+
+    /* contarPresentaciones ----------------------------------------------------------------------------------------- */
+
+    @Test
+    void contarPresentacionesTest() throws SQLException {
+        // Dado
+        when(convocatoriasRepositorio.contarPresentaciones()).thenReturn(Map.of("c1", 2));
+
+        // Cuando
+        Map<String, Integer> salidaReal = convocatoriasServicio.contarPresentaciones();
+
+        // Entonces
+        assertEquals(2, salidaReal.get("c1"));
+        verify(convocatoriasRepositorio, times(1)).contarPresentaciones();
+    }
+
     /* leerPorID ---------------------------------------------------------------------------------------------------- */
 
     @Test
@@ -95,7 +148,7 @@ class ConvocatoriasServicioTest {
     @Test
     void registrarTest() throws SQLException {
         // Dado
-        when(convocatoriasRepositorio.leerPorId(anyString())).thenReturn(null);
+        when(convocatoriasRepositorio.guardar(any())).thenReturn(true);
 
         // Cuando
         Convocatoria convocatoria
@@ -107,6 +160,7 @@ class ConvocatoriasServicioTest {
 
         // Entonces
         verify(convocatoriasRepositorio, times(1)).guardar(convocatoria);
+        verify(convocatoriasRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -117,11 +171,11 @@ class ConvocatoriasServicioTest {
                 LocalDate.of(2022, 2, 10),
                 LocalDate.of(2022, 2, 12),
                 new LinkedList<>(), "");
-        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+        when(convocatoriasRepositorio.guardar(any())).thenReturn(false);
 
         // Cuando, Entonces
         assertThrows(IllegalArgumentException.class, () -> convocatoriasServicio.registrar(convocatoria));
-        verify(convocatoriasRepositorio, times(0)).guardar(any());
+        verify(convocatoriasRepositorio, times(1)).guardar(any());
     }
 
     /* eliminar ----------------------------------------------------------------------------------------------------- */
@@ -134,13 +188,14 @@ class ConvocatoriasServicioTest {
                 LocalDate.of(2022, 2, 10),
                 LocalDate.of(2022, 2, 12),
                 new LinkedList<>(), "");
-        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+        when(convocatoriasRepositorio.eliminarPorId(convocatoria.getId())).thenReturn(true);
 
         // Cuando
         convocatoriasServicio.eliminar(convocatoria);
 
         // Entonces
         verify(convocatoriasRepositorio, times(1)).eliminarPorId(convocatoria.getId());
+        verify(convocatoriasRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -151,11 +206,64 @@ class ConvocatoriasServicioTest {
                 LocalDate.of(2022, 2, 10),
                 LocalDate.of(2022, 2, 12),
                 new LinkedList<>(), "");
-        when(convocatoriasRepositorio.leerPorId(anyString())).thenReturn(null);
+        when(convocatoriasRepositorio.eliminarPorId(anyString())).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class, () -> convocatoriasServicio.eliminar(convocatoria));
-        verify(convocatoriasRepositorio, times(0)).eliminarPorId(anyString());
+        verify(convocatoriasRepositorio, times(1)).eliminarPorId(anyString());
+    }
+
+    /* eliminarSiVacia ---------------------------------------------------------------------------------------------- */
+
+    @Test
+    void eliminarSiVaciaTest() throws SQLException {
+        // Dado
+        Convocatoria convocatoria
+                = new Convocatoria("c1",
+                LocalDate.of(2022, 2, 10),
+                LocalDate.of(2022, 2, 12),
+                new LinkedList<>(), "");
+        when(convocatoriasRepositorio.eliminarSiVacia(convocatoria.getId())).thenReturn(true);
+
+        // Cuando
+        boolean eliminada = convocatoriasServicio.eliminarSiVacia(convocatoria);
+
+        // Entonces
+        assertTrue(eliminada);
+        verify(convocatoriasRepositorio, never()).leerPorId(anyString());
+    }
+
+    @Test
+    void eliminarSiVaciaConPresentacionesTest() throws SQLException {
+        // Dado
+        Convocatoria convocatoria
+                = new Convocatoria("c1",
+                LocalDate.of(2022, 2, 10),
+                LocalDate.of(2022, 2, 12),
+                new LinkedList<>(), "");
+        when(convocatoriasRepositorio.eliminarSiVacia(convocatoria.getId())).thenReturn(false);
+        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+
+        // Cuando
+        boolean eliminada = convocatoriasServicio.eliminarSiVacia(convocatoria);
+
+        // Entonces
+        assertFalse(eliminada);
+    }
+
+    @Test
+    void eliminarSiVaciaFalloTest() throws SQLException {
+        // Dado
+        Convocatoria convocatoria
+                = new Convocatoria("c1",
+                LocalDate.of(2022, 2, 10),
+                LocalDate.of(2022, 2, 12),
+                new LinkedList<>(), "");
+        when(convocatoriasRepositorio.eliminarSiVacia(convocatoria.getId())).thenReturn(false);
+        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(null);
+
+        // Cuando, entonces
+        assertThrows(IllegalArgumentException.class, () -> convocatoriasServicio.eliminarSiVacia(convocatoria));
     }
 
     /* actualizar --------------------------------------------------------------------------------------------------- */
@@ -168,15 +276,17 @@ class ConvocatoriasServicioTest {
                 LocalDate.of(2022, 2, 10),
                 LocalDate.of(2022, 2, 12),
                 new LinkedList<>(), "");
-        String campo = "descripcion";
-        String valor = "nuevaDescripcion";
-        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+        Map<CampoConvocatoria, Object> campos = Map.of(
+                CampoConvocatoria.FECHA_CIERRE, LocalDate.of(2022, 2, 20),
+                CampoConvocatoria.DESCRIPCION, "nuevaDescripcion");
+        when(convocatoriasRepositorio.actualizarPorId(convocatoria.getId(), campos)).thenReturn(true);
 
         // Cuando
-        convocatoriasServicio.actualizar(convocatoria, campo, valor);
+        convocatoriasServicio.actualizar(convocatoria, campos);
 
         // Entonces
-        verify(convocatoriasRepositorio, times(1)).actualizarPorId(convocatoria.getId(), campo, valor);
+        verify(convocatoriasRepositorio, times(1)).actualizarPorId(convocatoria.getId(), campos);
+        verify(convocatoriasRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -187,14 +297,31 @@ class ConvocatoriasServicioTest {
                 LocalDate.of(2022, 2, 10),
                 LocalDate.of(2022, 2, 12),
                 new LinkedList<>(), "");
-        String campo = "descripcion";
-        String valor = "nuevaDescripcion";
-        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(null);
+        Map<CampoConvocatoria, Object> campos = Map.of(
+                CampoConvocatoria.FECHA_CIERRE, LocalDate.of(2022, 2, 20),
+                CampoConvocatoria.DESCRIPCION, "nuevaDescripcion");
+        when(convocatoriasRepositorio.actualizarPorId(anyString(), anyMap())).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class,
-                () -> convocatoriasServicio.actualizar(convocatoria, campo, valor));
-        verify(convocatoriasRepositorio, times(0)).actualizarPorId(anyString(), anyString(), anyString());
+                () -> convocatoriasServicio.actualizar(convocatoria, campos));
+        verify(convocatoriasRepositorio, times(1)).actualizarPorId(anyString(), anyMap());
+    }
+
+    @Test
+    void actualizarSinCamposTest() throws SQLException {
+        // Dado
+        Convocatoria convocatoria
+                = new Convocatoria("c1",
+                LocalDate.of(2022, 2, 10),
+                LocalDate.of(2022, 2, 12),
+                new LinkedList<>(), "");
+
+        // Cuando
+        convocatoriasServicio.actualizar(convocatoria, Map.of());
+
+        // Entonces
+        verifyNoInteractions(convocatoriasRepositorio);
     }
 
     /* agregarDocumento --------------------------------------------------------------------------------------------- */
@@ -208,13 +335,14 @@ class ConvocatoriasServicioTest {
                 LocalDate.of(2022, 2, 12),
                 new LinkedList<>(), "");
         String documento = "documento";
-        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+        when(convocatoriasRepositorio.agregarDocConvocatoria(convocatoria, documento)).thenReturn(true);
 
         // Cuando
         convocatoriasServicio.agregarDocumento(convocatoria, documento);
 
         // Entonces
         verify(convocatoriasRepositorio, times(1)).agregarDocConvocatoria(convocatoria, documento);
+        verify(convocatoriasRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -226,12 +354,12 @@ class ConvocatoriasServicioTest {
                 LocalDate.of(2022, 2, 12),
                 new LinkedList<>(), "");
         String documento = "documento";
-        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(null);
+        when(convocatoriasRepositorio.agregarDocConvocatoria(convocatoria, documento)).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class,
                 () -> convocatoriasServicio.agregarDocumento(convocatoria, documento));
-        verify(convocatoriasRepositorio, times(0)).agregarDocConvocatoria(convocatoria, documento);
+        verify(convocatoriasRepositorio, times(1)).agregarDocConvocatoria(convocatoria, documento);
     }
 
     /* removerDocumento --------------------------------------------------------------------------------------------- */
@@ -245,13 +373,14 @@ class ConvocatoriasServicioTest {
                 LocalDate.of(2022, 2, 12),
                 new LinkedList<>(), "");
         String documento = "documento";
-        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(convocatoria);
+        when(convocatoriasRepositorio.removerDocConvocatoria(convocatoria, documento)).thenReturn(true);
 
         // Cuando
         convocatoriasServicio.removerDocumento(convocatoria, documento);
 
         // Entonces
         verify(convocatoriasRepositorio, times(1)).removerDocConvocatoria(convocatoria, documento);
+        verify(convocatoriasRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -263,11 +392,53 @@ class ConvocatoriasServicioTest {
                 LocalDate.of(2022, 2, 12),
                 new LinkedList<>(), "");
         String documento = "documento";
-        when(convocatoriasRepositorio.leerPorId(convocatoria.getId())).thenReturn(null);
+        when(convocatoriasRepositorio.removerDocConvocatoria(convocatoria, documento)).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class,
                 () -> convocatoriasServicio.removerDocumento(convocatoria, documento));
-        verify(convocatoriasRepositorio, times(0)).removerDocConvocatoria(convocatoria, documento);
+        verify(convocatoriasRepositorio, times(1)).removerDocConvocatoria(convocatoria, documento);
+    }
+
+    /* aplicarCambios ----------------------------------------------------------------------------------------------- */
+
+    @Test
+    void aplicarCambiosTest() throws SQLException {
+        // Dado
+        ConjuntoCambios<CampoConvocatoria> cambios = new ConjuntoCambios<>("c1");
+        cambios.actualizar(CampoConvocatoria.FECHA_CIERRE, LocalDate.of(2022, 2, 20));
+        cambios.actualizar(CampoConvocatoria.DESCRIPCION, "descripcion");
+        cambios.agregarDocumento("documento");
+        when(convocatoriasRepositorio.aplicarCambios(cambios)).thenReturn(true);
+
+        // Cuando
+        convocatoriasServicio.aplicarCambios(cambios);
+
+        // Entonces
+        verify(convocatoriasRepositorio, times(1)).aplicarCambios(cambios);
+        verify(convocatoriasRepositorio, never()).actualizarPorId(anyString(), anyMap());
+    }
+
+    @Test
+    void aplicarCambiosFalloTest() throws SQLException {
+        // Dado
+        ConjuntoCambios<CampoConvocatoria> cambios = new ConjuntoCambios<>("c1");
+        cambios.actualizar(CampoConvocatoria.DESCRIPCION, "descripcion");
+        when(convocatoriasRepositorio.aplicarCambios(cambios)).thenReturn(false);
+
+        // Cuando, entonces
+        assertThrows(IllegalArgumentException.class, () -> convocatoriasServicio.aplicarCambios(cambios));
+    }
+
+    @Test
+    void aplicarCambiosValorInvalidoTest() {
+        // Dado
+        ConjuntoCambios<CampoConvocatoria> cambios = new ConjuntoCambios<>("c1");
+
+        // Cuando, entonces
+        assertThrows(IllegalArgumentException.class,
+                () -> cambios.actualizar(CampoConvocatoria.FECHA_CIERRE, "2022-02-20"));
+        assertThrows(IllegalArgumentException.class, () -> cambios.actualizar(CampoConvocatoria.DESCRIPCION, null));
+        assertTrue(cambios.isVacio());
     }
 }
@@ -0,0 +1,67 @@
+package com.fedebonel.servicios;
+
+import com.fedebonel.modelo.estadisticas.EstadisticaMunicipio;
+import com.fedebonel.modelo.estadisticas.TotalesPresentaciones;
+import com.fedebonel.respositorios.EstadisticasRepositorio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstadisticasServicioTest {
+
+    @Mock
+    EstadisticasRepositorio estadisticasRepositorio;
+
+    EstadisticasServicio estadisticasServicio;
+
+    @BeforeEach
+    void setUp() {
+        estadisticasServicio = new EstadisticasServicio(estadisticasRepositorio);
+    }
+
+    /* leerPorMunicipio --------------------------------------------------------------------------------------------- */
+
+    @Test
+    void leerPorMunicipioTest() throws SQLException {
+        // Dado
+        List<EstadisticaMunicipio> salidaEsperada = List.of(
+                new EstadisticaMunicipio("m1", "nombre1", 2, 5),
+                new EstadisticaMunicipio("m2", "nombre2", 0, 0));
+        when(estadisticasRepositorio.leerPorMunicipio()).thenReturn(salidaEsperada);
+
+        // Cuando
+        LinkedList<EstadisticaMunicipio> salidaReal = estadisticasServicio.leerPorMunicipio();
+
+        // Entonces
+        assertEquals(2, salidaReal.size());
+        assertEquals(5, salidaReal.getFirst().getDocumentosPresentados());
+        verify(estadisticasRepositorio, times(1)).leerPorMunicipio();
+    }
+
+    /* leerTotalesPresentaciones ------------------------------------------------------------------------------------ */
+
+    @Test
+    void leerTotalesPresentacionesTest() throws SQLException {
+        // Dado
+        when(estadisticasRepositorio.leerTotalesPresentaciones(any())).thenReturn(new TotalesPresentaciones(3, 1));
+
+        // Cuando
+        TotalesPresentaciones salidaReal = estadisticasServicio.leerTotalesPresentaciones();
+
+        // Entonces
+        assertEquals(3, salidaReal.getConvocatoriasAbiertas());
+        assertEquals(1, salidaReal.getConvocatoriasCerradas());
+        verify(estadisticasRepositorio, times(1)).leerTotalesPresentaciones(any());
+    }
+}
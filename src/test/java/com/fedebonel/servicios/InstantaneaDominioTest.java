@@ -0,0 +1,363 @@
+package com.fedebonel.servicios;
+
+import com.fedebonel.modelo.evento.Convocatoria;
+import com.fedebonel.modelo.evento.Presentacion;
+import com.fedebonel.modelo.municipio.Municipio;
+import com.fedebonel.modelo.usuario.RolUsuario;
+import com.fedebonel.modelo.usuario.Usuario;
+import com.fedebonel.respositorios.CambiosRepositorio;
+import com.fedebonel.respositorios.TablaVersionada;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InstantaneaDominioTest {
+
+    @Mock
+    UsuariosServicio usuariosServicio;
+
+    @Mock
+    MunicipiosServicio municipiosServicio;
+
+    @Mock
+    ConvocatoriasServicio convocatoriasServicio;
+
+    @Mock
+    PresentacionesServicio presentacionesServicio;
+
+    @Mock
+    CambiosRepositorio cambiosRepositorio;
+
+    @TempDir
+    Path directorio;
+
+    InstantaneaDominio instantaneaDominio;
+
+    @BeforeEach
+    void setUp() {
+        instantaneaDominio = new InstantaneaDominio(
+                usuariosServicio, municipiosServicio, convocatoriasServicio, presentacionesServicio);
+    }
+
+    /**
+     * Hace que los cuatro servicios devuelvan listas vacias salvo los municipios
+     */
+    private void darTablas(LinkedList<Municipio> municipios) throws SQLException {
+        when(usuariosServicio.leerTodo()).thenReturn(new LinkedList<Usuario>());
+        when(municipiosServicio.leerTodo()).thenReturn(municipios);
+        when(convocatoriasServicio.leerTodo()).thenReturn(new LinkedList<Convocatoria>());
+        when(presentacionesServicio.leerTodo()).thenReturn(new LinkedList<Presentacion>());
+    }
+
+    /* get ---------------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void getLeeUnaSolaVezTest() throws SQLException {
+        // Dado
+        LinkedList<Municipio> municipios = new LinkedList<>();
+        municipios.add(new Municipio("m1", "nombre1", 1));
+        darTablas(municipios);
+
+        // Cuando
+        LinkedList<Municipio> salidaReal = instantaneaDominio.getMunicipios();
+        instantaneaDominio.getMunicipios();
+        instantaneaDominio.getUsuarios();
+        instantaneaDominio.getConvocatorias();
+        instantaneaDominio.getPresentaciones();
+
+        // Entonces
+        assertEquals(1, salidaReal.size());
+        verify(usuariosServicio, times(1)).leerTodo();
+        verify(municipiosServicio, times(1)).leerTodo();
+        verify(convocatoriasServicio, times(1)).leerTodo();
+        verify(presentacionesServicio, times(1)).leerTodo();
+    }
+
+    @Test
+    void getDevuelveCopiaTest() throws SQLException {
+        // Dado
+        LinkedList<Municipio> municipios = new LinkedList<>();
+        municipios.add(new Municipio("m1", "nombre1", 1));
+        darTablas(municipios);
+
+        // Cuando
+        instantaneaDominio.getMunicipios().clear();
+
+        // Entonces
+        assertEquals(1, instantaneaDominio.getMunicipios().size());
+    }
+
+    /* actualizar --------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void actualizarTest() throws SQLException {
+        // Dado
+        LinkedList<Municipio> municipios = new LinkedList<>();
+        darTablas(municipios);
+        instantaneaDominio.getMunicipios();
+        municipios.add(new Municipio("m1", "nombre1", 1));
+
+        // Cuando
+        instantaneaDominio.actualizar();
+
+        // Entonces
+        assertEquals(1, instantaneaDominio.getMunicipios().size());
+        verify(municipiosServicio, times(2)).leerTodo();
+        verify(presentacionesServicio, times(2)).leerTodo();
+    }
+
+    @Test
+    void actualizarFalloConservaInstantaneaTest() throws SQLException {
+        // Dado
+        LinkedList<Municipio> municipios = new LinkedList<>();
+        municipios.add(new Municipio("m1", "nombre1", 1));
+        darTablas(municipios);
+        instantaneaDominio.getMunicipios();
+        when(presentacionesServicio.leerTodo()).thenThrow(new SQLException());
+
+        // Cuando
+        assertThrows(SQLException.class, () -> instantaneaDominio.actualizar());
+
+        // Entonces
+        assertEquals(1, instantaneaDominio.getMunicipios().size());
+    }
+
+    @Test
+    void actualizarEnlazaReferenciasTest() throws SQLException {
+        // Dado: cada tabla se lee con su propia sesion, las presentaciones tienen otras instancias con los mismos ids
+        Usuario usuario = new Usuario("nombre1", "u1", "clave1", RolUsuario.de(RolUsuario.ROL_CUENTADANTE_NOMBRE));
+        Municipio municipio = new Municipio("m1", "nombre1", 1);
+        municipio.tomaNuevoRepresentante(
+                new Usuario("nombre1", "u1", "clave1", RolUsuario.de(RolUsuario.ROL_CUENTADANTE_NOMBRE)),
+                new LinkedList<>());
+        Convocatoria convocatoria = new Convocatoria("c1", LocalDate.now(), LocalDate.now().plusDays(10),
+                new LinkedList<>(), "descripcion");
+        Presentacion presentacion = new Presentacion("p1", LocalDate.now(), true,
+                new Convocatoria("c1", LocalDate.now(), LocalDate.now().plusDays(10),
+                        new LinkedList<>(), "descripcion"),
+                new Usuario("nombre1", "u1", "clave1", RolUsuario.de(RolUsuario.ROL_CUENTADANTE_NOMBRE)),
+                new Municipio("m1", "nombre1", 1),
+                new LinkedList<>());
+        when(usuariosServicio.leerTodo()).thenReturn(new LinkedList<>(List.of(usuario)));
+        when(municipiosServicio.leerTodo()).thenReturn(new LinkedList<>(List.of(municipio)));
+        when(convocatoriasServicio.leerTodo()).thenReturn(new LinkedList<>(List.of(convocatoria)));
+        when(presentacionesServicio.leerTodo()).thenReturn(new LinkedList<>(List.of(presentacion)));
+
+        // Cuando
+        instantaneaDominio.actualizar();
+
+        // Entonces
+        Presentacion salidaReal = instantaneaDominio.getPresentaciones().getFirst();
+        Municipio municipioReal = instantaneaDominio.getMunicipios().getFirst();
+        assertSame(usuario, salidaReal.getAutor());
+        assertSame(convocatoria, salidaReal.getConvocatoria());
+        assertSame(municipioReal, salidaReal.getMunicipio());
+        assertSame(usuario, municipioReal.getCuentadante());
+    }
+
+    /* precargar ---------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void precargarConInstantaneaPreviaVuelveALeerTest() throws SQLException {
+        // Dado: una instantanea leida en una sesion anterior
+        darTablas(new LinkedList<>());
+        instantaneaDominio.actualizar();
+        LinkedList<Municipio> municipios = new LinkedList<>();
+        municipios.add(new Municipio("m1", "nombre1", 1));
+        when(municipiosServicio.leerTodo()).thenReturn(municipios);
+
+        // Cuando
+        instantaneaDominio.precargar();
+        LinkedList<Municipio> salidaReal = instantaneaDominio.getMunicipios();
+
+        // Entonces
+        assertEquals(1, salidaReal.size());
+        verify(municipiosServicio, times(2)).leerTodo();
+    }
+
+    @Test
+    void precargarNoEsperaOtrasTablasTest() throws Exception {
+        // Dado
+        LinkedList<Municipio> municipios = new LinkedList<>();
+        municipios.add(new Municipio("m1", "nombre1", 1));
+        darTablas(municipios);
+        CountDownLatch liberarPresentaciones = new CountDownLatch(1);
+        when(presentacionesServicio.leerTodo()).thenAnswer(invocacion -> {
+            liberarPresentaciones.await();
+            return new LinkedList<Presentacion>();
+        });
+
+        // Cuando
+        instantaneaDominio.precargar();
+        LinkedList<Municipio> salidaReal = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> instantaneaDominio.getMunicipios());
+        liberarPresentaciones.countDown();
+        instantaneaDominio.getPresentaciones();
+        instantaneaDominio.getUsuarios();
+
+        // Entonces
+        assertEquals(1, salidaReal.size());
+        verify(municipiosServicio, times(1)).leerTodo();
+        verify(presentacionesServicio, times(1)).leerTodo();
+        verify(usuariosServicio, times(1)).leerTodo();
+    }
+
+    /* archivo ------------------------------------------------------------------------------------------------------ */
+
+    /**
+     * Crea una instantanea guardada en el directorio temporal
+     */
+    private InstantaneaDominio instantaneaConArchivo() {
+        return new InstantaneaDominio(usuariosServicio, municipiosServicio, convocatoriasServicio,
+                presentacionesServicio, cambiosRepositorio, directorio.resolve("instantanea.bin"));
+    }
+
+    /**
+     * Guarda en el archivo una instantanea con un usuario, un municipio, una convocatoria y una presentacion
+     */
+    private void guardarArchivo(Map<TablaVersionada, Long> versiones) throws SQLException {
+        Usuario usuario = new Usuario("nombre1", "u1", "clave1", RolUsuario.de(RolUsuario.ROL_CUENTADANTE_NOMBRE));
+        Municipio municipio = new Municipio("m1", "nombre1", 1);
+        municipio.tomaNuevoRepresentante(usuario, new LinkedList<>());
+        LinkedList<String> documentos = new LinkedList<>();
+        documentos.add(Convocatoria.DOCUMENTOS_OPCIONES[0]);
+        Convocatoria convocatoria = new Convocatoria("c1", LocalDate.now(), LocalDate.now().plusDays(10),
+                documentos, "descripcion");
+        Presentacion presentacion = new Presentacion("p1", LocalDate.now(), true, convocatoria, usuario, municipio,
+                new LinkedList<>(documentos));
+        when(cambiosRepositorio.leerVersiones()).thenReturn(versiones);
+        when(usuariosServicio.leerTodo()).thenReturn(new LinkedList<>(List.of(usuario)));
+        when(municipiosServicio.leerTodo()).thenReturn(new LinkedList<>(List.of(municipio)));
+        when(convocatoriasServicio.leerTodo()).thenReturn(new LinkedList<>(List.of(convocatoria)));
+        when(presentacionesServicio.leerTodo()).thenReturn(new LinkedList<>(List.of(presentacion)));
+        instantaneaConArchivo().actualizar();
+    }
+
+    @Test
+    void cargarArchivoTest() throws SQLException {
+        // Dado
+        guardarArchivo(Map.of(TablaVersionada.USUARIO, 1L));
+        InstantaneaDominio instantaneaLocal = instantaneaConArchivo();
+
+        // Cuando
+        boolean cargado = instantaneaLocal.cargarArchivo();
+
+        // Entonces
+        assertTrue(cargado);
+        Presentacion presentacion = instantaneaLocal.getPresentaciones().getFirst();
+        Usuario usuario = instantaneaLocal.getUsuarios().getFirst();
+        assertEquals("p1", presentacion.getId());
+        assertSame(usuario, presentacion.getAutor());
+        assertSame(instantaneaLocal.getMunicipios().getFirst(), presentacion.getMunicipio());
+        assertSame(usuario, presentacion.getMunicipio().getCuentadante());
+        assertSame(instantaneaLocal.getConvocatorias().getFirst(), presentacion.getConvocatoria());
+        assertEquals(ArchivoInstantanea.CLAVE_NO_GUARDADA, usuario.getClave());
+        verify(municipiosServicio, times(1)).leerTodo();
+    }
+
+    @Test
+    void cargarArchivoInexistenteTest() {
+        // Cuando
+        boolean cargado = instantaneaConArchivo().cargarArchivo();
+
+        // Entonces
+        assertFalse(cargado);
+    }
+
+    @Test
+    void cargarArchivoTruncadoTest() throws Exception {
+        // Dado
+        guardarArchivo(Map.of(TablaVersionada.USUARIO, 1L));
+        Path ruta = directorio.resolve("instantanea.bin");
+        byte[] bytes = Files.readAllBytes(ruta);
+        Files.write(ruta, Arrays.copyOf(bytes, bytes.length - 5));
+
+        // Cuando
+        boolean cargado = instantaneaConArchivo().cargarArchivo();
+
+        // Entonces
+        assertFalse(cargado);
+    }
+
+    @Test
+    void cargarArchivoOtroFormatoTest() throws Exception {
+        // Dado
+        Files.write(directorio.resolve("instantanea.bin"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        // Cuando
+        boolean cargado = instantaneaConArchivo().cargarArchivo();
+
+        // Entonces
+        assertFalse(cargado);
+    }
+
+    @Test
+    void revalidarSinCambiosNoModificaUsuariosPublicadosTest() throws SQLException {
+        // Dado
+        guardarArchivo(Map.of(TablaVersionada.USUARIO, 1L));
+        InstantaneaDominio instantaneaLocal = instantaneaConArchivo();
+        instantaneaLocal.cargarArchivo();
+        Usuario publicado = instantaneaLocal.getUsuarios().getFirst();
+
+        // Cuando
+        instantaneaLocal.revalidar();
+
+        // Entonces
+        Usuario revalidado = instantaneaLocal.getUsuarios().getFirst();
+        assertEquals(ArchivoInstantanea.CLAVE_NO_GUARDADA, publicado.getClave());
+        assertNotSame(publicado, revalidado);
+        assertSame(revalidado, instantaneaLocal.getPresentaciones().getFirst().getAutor());
+        assertSame(revalidado, instantaneaLocal.getMunicipios().getFirst().getCuentadante());
+    }
+
+    @Test
+    void revalidarSinCambiosTest() throws SQLException {
+        // Dado
+        guardarArchivo(Map.of(TablaVersionada.USUARIO, 1L));
+        InstantaneaDominio instantaneaLocal = instantaneaConArchivo();
+        instantaneaLocal.cargarArchivo();
+
+        // Cuando
+        instantaneaLocal.revalidar();
+
+        // Entonces
+        assertEquals("clave1", instantaneaLocal.getUsuarios().getFirst().getClave());
+        verify(municipiosServicio, times(1)).leerTodo();
+        verify(usuariosServicio, times(2)).leerTodo();
+    }
+
+    @Test
+    void revalidarConCambiosTest() throws SQLException {
+        // Dado
+        guardarArchivo(Map.of(TablaVersionada.USUARIO, 1L));
+        InstantaneaDominio instantaneaLocal = instantaneaConArchivo();
+        instantaneaLocal.cargarArchivo();
+        when(cambiosRepositorio.leerVersiones()).thenReturn(Map.of(TablaVersionada.USUARIO, 2L));
+
+        // Cuando
+        instantaneaLocal.revalidar();
+
+        // Entonces
+        assertEquals("clave1", instantaneaLocal.getUsuarios().getFirst().getClave());
+        verify(municipiosServicio, times(2)).leerTodo();
+        verify(presentacionesServicio, times(2)).leerTodo();
+    }
+}
@@ -1,5 +1,6 @@
 package com.fedebonel.servicios;
 
+import com.fedebonel.modelo.municipio.CampoMunicipio;
 import com.fedebonel.modelo.municipio.Municipio;
 import com.fedebonel.respositorios.MunicipiosRepositorio;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.SQLException;
 import java.util.LinkedList;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -46,6 +48,56 @@ class MunicipiosServicioTest {
         verify(municipiosRepositorio, times(1)).leerTodo();
     }
 
+    /* leerPagina --------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void leerPaginaTest() throws SQLException {
+        // Dado
+        LinkedList<Municipio> salidaEsperada = new LinkedList<>();
+        salidaEsperada.add(new Municipio("m2", "nombre1", 1));
+        when(municipiosRepositorio.leerPagina("m1", 1)).thenReturn(salidaEsperada);
+
+        // Cuando
+        LinkedList<Municipio> salidaReal = municipiosServicio.leerPagina("m1", 1);
+
+        // Entonces
+        assertNotNull(salidaReal);
+        assertEquals(salidaEsperada.size(), salidaReal.size());
+        verify(municipiosRepositorio, times(1)).leerPagina("m1", 1);
+    }
+
+    @Test
+    void leerPaginaVaciaTest() throws SQLException {
+        // Dado
+        when(municipiosRepositorio.leerPagina(null, 1)).thenReturn(new LinkedList<>());
+
+        // Cuando
+        LinkedList<Municipio> salidaReal = municipiosServicio.leerPagina(null, 1);
+
+        // Entonces
+        assertNotNull(salidaReal);
+        assertTrue(salidaReal.isEmpty());
+        verify(municipiosRepositorio, times(1)).leerPagina(null, 1);
+    }
+
+    /* leerPorCuentadante ------------------------------------------------------------------------------------------- */
+
+    @Test
+    void leerPorCuentadanteTest() throws SQLException {
+        // Dado
+        LinkedList<Municipio> salidaEsperada = new LinkedList<>();
+        salidaEsperada.add(new Municipio("m1", "nombre1", 1));
+        when(municipiosRepositorio.leerPorCuentadante("u1")).thenReturn(salidaEsperada);
+
+        // Cuando
+        LinkedList<Municipio> salidaReal = municipiosServicio.leerPorCuentadante("u1");
+
+        // Entonces
+        assertEquals(salidaEsperada.size(), salidaReal.size());
+        verify(municipiosRepositorio, times(1)).leerPorCuentadante("u1");
+        verify(municipiosRepositorio, never()).leerTodo();
+    }
+
     /* leerPorID ---------------------------------------------------------------------------------------------------- */
 
     @Test
@@ -81,7 +133,7 @@ class MunicipiosServicioTest {
     @Test
     void registrarTest() throws SQLException {
         // Dado
-        when(municipiosRepositorio.leerPorId(anyString())).thenReturn(null);
+        when(municipiosRepositorio.guardar(any())).thenReturn(true);
 
         // Cuando
         Municipio municipio = new Municipio("m1", "nombre1", 1);
@@ -89,17 +141,18 @@ class MunicipiosServicioTest {
 
         // Entonces
         verify(municipiosRepositorio, times(1)).guardar(municipio);
+        verify(municipiosRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
     void registrarFalloTest() throws SQLException {
         // Dado
         Municipio municipio = new Municipio("m1", "nombre1", 1);
-        when(municipiosRepositorio.leerPorId(municipio.getId())).thenReturn(municipio);
+        when(municipiosRepositorio.guardar(any())).thenReturn(false);
 
         // Cuando, Entonces
         assertThrows(IllegalArgumentException.class, () -> municipiosServicio.registrar(municipio));
-        verify(municipiosRepositorio, times(0)).guardar(any());
+        verify(municipiosRepositorio, times(1)).guardar(any());
     }
 
     /* eliminar ----------------------------------------------------------------------------------------------------- */
@@ -108,24 +161,25 @@ class MunicipiosServicioTest {
     void eliminarTest() throws SQLException {
         // Dado
         Municipio municipio = new Municipio("m1", "nombre1", 1);
-        when(municipiosRepositorio.leerPorId(municipio.getId())).thenReturn(municipio);
+        when(municipiosRepositorio.eliminarPorId(municipio.getId())).thenReturn(true);
 
         // Cuando
         municipiosServicio.eliminar(municipio);
 
         // Entonces
         verify(municipiosRepositorio, times(1)).eliminarPorId(municipio.getId());
+        verify(municipiosRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
     void eliminarFalloTest() throws SQLException {
         // Dado
         Municipio municipio = new Municipio("m1", "nombre1", 1);
-        when(municipiosRepositorio.leerPorId(municipio.getId())).thenReturn(null);
+        when(municipiosRepositorio.eliminarPorId(anyString())).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class, () -> municipiosServicio.eliminar(municipio));
-        verify(municipiosRepositorio, times(0)).eliminarPorId(anyString());
+        verify(municipiosRepositorio, times(1)).eliminarPorId(anyString());
     }
 
     /* actualizar --------------------------------------------------------------------------------------------------- */
@@ -134,28 +188,27 @@ class MunicipiosServicioTest {
     void actualizarTest() throws SQLException {
         // Dado
         Municipio municipio = new Municipio("m1", "nombre1", 1);
-        String campo = "categoria";
-        String valor = "2";
-        when(municipiosRepositorio.leerPorId(municipio.getId())).thenReturn(municipio);
+        Map<CampoMunicipio, Object> campos = Map.of(CampoMunicipio.CATEGORIA, 2);
+        when(municipiosRepositorio.actualizarPorId(municipio.getId(), campos)).thenReturn(true);
 
         // Cuando
-        municipiosServicio.actualizar(municipio, campo, valor);
+        municipiosServicio.actualizar(municipio, campos);
 
         // Entonces
-        verify(municipiosRepositorio, times(1)).actualizarPorId(municipio.getId(), campo, valor);
+        verify(municipiosRepositorio, times(1)).actualizarPorId(municipio.getId(), campos);
+        verify(municipiosRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
     void actualizarFalloTest() throws SQLException {
         // Dado
         Municipio municipio = new Municipio("m1", "nombre1", 1);
-        String campo = "categoria";
-        String valor = "2";
-        when(municipiosRepositorio.leerPorId(municipio.getId())).thenReturn(null);
+        Map<CampoMunicipio, Object> campos = Map.of(CampoMunicipio.CATEGORIA, 2);
+        when(municipiosRepositorio.actualizarPorId(anyString(), anyMap())).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class,
-                () -> municipiosServicio.actualizar(municipio, campo, valor));
-        verify(municipiosRepositorio, times(0)).actualizarPorId(anyString(), anyString(), anyString());
+                () -> municipiosServicio.actualizar(municipio, campos));
+        verify(municipiosRepositorio, times(1)).actualizarPorId(anyString(), anyMap());
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.fedebonel.servicios;
 
+import com.fedebonel.modelo.evento.CampoPresentacion;
+import com.fedebonel.modelo.evento.ConjuntoCambios;
 import com.fedebonel.modelo.evento.Convocatoria;
 import com.fedebonel.modelo.evento.Presentacion;
 import com.fedebonel.modelo.municipio.Municipio;
@@ -15,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.LinkedList;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -45,7 +48,7 @@ class PresentacionesServicioTest {
         usuario = new Usuario("nombre1",
                 "username",
                 "1234",
-                new RolUsuario(RolUsuario.ROL_CUENTADANTE_NOMBRE));
+                RolUsuario.de(RolUsuario.ROL_CUENTADANTE_NOMBRE));
         municipio = new Municipio("m1", "nombre1", 1);
     }
 
@@ -80,6 +83,84 @@ class PresentacionesServicioTest {
         verify(presentacionesRepositorio, times(1)).leerTodo();
     }
 
+    /* leerPagina --------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void leerPaginaTest() throws SQLException {
+        // Dado
+        LinkedList<Presentacion> salidaEsperada = new LinkedList<>();
+        salidaEsperada.add(new Presentacion("p2",
+                LocalDate.of(2022, 2, 11),
+                true,
+                convocatoria,
+                usuario,
+                municipio,
+                new LinkedList<>()));
+        when(presentacionesRepositorio.leerPagina("p1", 1)).thenReturn(salidaEsperada);
+
+        // Cuando
+        LinkedList<Presentacion> salidaReal = presentacionesServicio.leerPagina("p1", 1);
+
+        // Entonces
+        assertNotNull(salidaReal);
+        assertEquals(salidaEsperada.size(), salidaReal.size());
+        verify(presentacionesRepositorio, times(1)).leerPagina("p1", 1);
+    }
+
+    @Test
+    void leerPaginaVaciaTest() throws SQLException {
+        // Dado
+        when(presentacionesRepositorio.leerPagina(null, 1)).thenReturn(new LinkedList<>());
+
+        // Cuando
+        LinkedList<Presentacion> salidaReal = presentacionesServicio.leerPagina(null, 1);
+
+        // Entonces
+        assertNotNull(salidaReal);
+        assertTrue(salidaReal.isEmpty());
+        verify(presentacionesRepositorio, times(1)).leerPagina(null, 1);
+    }
+
+    /* leerPorAutor ------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void leerPorAutorTest() throws SQLException {
+        // Dado
+        LinkedList<Presentacion> salidaEsperada = new LinkedList<>();
+        salidaEsperada.add(new Presentacion("p1",
+                LocalDate.of(2022, 2, 11),
+                true,
+                convocatoria,
+                usuario,
+                municipio,
+                new LinkedList<>()));
+        when(presentacionesRepositorio.leerPorAutor(usuario.getId())).thenReturn(salidaEsperada);
+
+        // Cuando
+        LinkedList<Presentacion> salidaReal = presentacionesServicio.leerPorAutor(usuario.getId());
+
+        // Entonces
+        assertEquals(salidaEsperada.size(), salidaReal.size());
+        verify(presentacionesRepositorio, times(1)).leerPorAutor(usuario.getId());
+        verify(presentacionesRepositorio, never()).leerTodo();
+    }
+
+    /* leerPorFiscal ------------------------------------------------------------------------------------------------ */
+
+    @Test
+    void leerPorFiscalVacioTest() throws SQLException {
+        // Dado
+        when(presentacionesRepositorio.leerPorFiscal("f1")).thenReturn(new LinkedList<>());
+
+        // Cuando
+        LinkedList<Presentacion> salidaReal = presentacionesServicio.leerPorFiscal("f1");
+
+        // Entonces
+        assertTrue(salidaReal.isEmpty());
+        verify(presentacionesRepositorio, times(1)).leerPorFiscal("f1");
+        verify(presentacionesRepositorio, never()).leerTodo();
+    }
+
     /* leerPorID ---------------------------------------------------------------------------------------------------- */
 
     @Test
@@ -121,7 +202,7 @@ class PresentacionesServicioTest {
     @Test
     void registrarTest() throws SQLException {
         // Dado
-        when(presentacionesRepositorio.leerPorId(anyString())).thenReturn(null);
+        when(presentacionesRepositorio.guardar(any())).thenReturn(true);
 
         // Cuando
         Presentacion presentacion = new Presentacion("p1",
@@ -135,6 +216,7 @@ class PresentacionesServicioTest {
 
         // Entonces
         verify(presentacionesRepositorio, times(1)).guardar(presentacion);
+        verify(presentacionesRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -147,11 +229,11 @@ class PresentacionesServicioTest {
                 usuario,
                 municipio,
                 new LinkedList<>());
-        when(presentacionesRepositorio.leerPorId(presentacion.getId())).thenReturn(presentacion);
+        when(presentacionesRepositorio.guardar(any())).thenReturn(false);
 
         // Cuando, Entonces
         assertThrows(IllegalArgumentException.class, () -> presentacionesServicio.registrar(presentacion));
-        verify(presentacionesRepositorio, times(0)).guardar(any());
+        verify(presentacionesRepositorio, times(1)).guardar(any());
     }
 
     /* eliminar ----------------------------------------------------------------------------------------------------- */
@@ -166,13 +248,14 @@ class PresentacionesServicioTest {
                 usuario,
                 municipio,
                 new LinkedList<>());
-        when(presentacionesRepositorio.leerPorId(presentacion.getId())).thenReturn(presentacion);
+        when(presentacionesRepositorio.eliminarPorId(presentacion.getId())).thenReturn(true);
 
         // Cuando
         presentacionesServicio.eliminar(presentacion);
 
         // Entonces
         verify(presentacionesRepositorio, times(1)).eliminarPorId(presentacion.getId());
+        verify(presentacionesRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -185,11 +268,11 @@ class PresentacionesServicioTest {
                 usuario,
                 municipio,
                 new LinkedList<>());
-        when(presentacionesRepositorio.leerPorId(anyString())).thenReturn(null);
+        when(presentacionesRepositorio.eliminarPorId(anyString())).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class, () -> presentacionesServicio.eliminar(presentacion));
-        verify(presentacionesRepositorio, times(0)).eliminarPorId(anyString());
+        verify(presentacionesRepositorio, times(1)).eliminarPorId(anyString());
     }
 
     /* actualizar --------------------------------------------------------------------------------------------------- */
@@ -204,15 +287,15 @@ class PresentacionesServicioTest {
                 usuario,
                 municipio,
                 new LinkedList<>());
-        String campo = "apertura";
-        String valor = "false";
-        when(presentacionesRepositorio.leerPorId(presentacion.getId())).thenReturn(presentacion);
+        Map<CampoPresentacion, Object> campos = Map.of(CampoPresentacion.APERTURA, false);
+        when(presentacionesRepositorio.actualizarPorId(presentacion.getId(), campos)).thenReturn(true);
 
         // Cuando
-        presentacionesServicio.actualizar(presentacion, campo, valor);
+        presentacionesServicio.actualizar(presentacion, campos);
 
         // Entonces
-        verify(presentacionesRepositorio, times(1)).actualizarPorId(presentacion.getId(), campo, valor);
+        verify(presentacionesRepositorio, times(1)).actualizarPorId(presentacion.getId(), campos);
+        verify(presentacionesRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -225,14 +308,13 @@ class PresentacionesServicioTest {
                 usuario,
                 municipio,
                 new LinkedList<>());
-        String campo = "apertura";
-        String valor = "false";
-        when(presentacionesRepositorio.leerPorId(presentacion.getId())).thenReturn(null);
+        Map<CampoPresentacion, Object> campos = Map.of(CampoPresentacion.APERTURA, false);
+        when(presentacionesRepositorio.actualizarPorId(anyString(), anyMap())).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class,
-                () -> presentacionesServicio.actualizar(presentacion, campo, valor));
-        verify(presentacionesRepositorio, times(0)).actualizarPorId(anyString(), anyString(), anyString());
+                () -> presentacionesServicio.actualizar(presentacion, campos));
+        verify(presentacionesRepositorio, times(1)).actualizarPorId(anyString(), anyMap());
     }
 
     /* agregarDocumento --------------------------------------------------------------------------------------------- */
@@ -248,13 +330,14 @@ class PresentacionesServicioTest {
                 municipio,
                 new LinkedList<>());
         String documento = "documento";
-        when(presentacionesRepositorio.leerPorId(presentacion.getId())).thenReturn(presentacion);
+        when(presentacionesRepositorio.agregarDocPresentacion(presentacion, documento)).thenReturn(true);
 
         // Cuando
         presentacionesServicio.agregarDocumento(presentacion, documento);
 
         // Entonces
         verify(presentacionesRepositorio, times(1)).agregarDocPresentacion(presentacion, documento);
+        verify(presentacionesRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -268,12 +351,12 @@ class PresentacionesServicioTest {
                 municipio,
                 new LinkedList<>());
         String documento = "documento";
-        when(presentacionesRepositorio.leerPorId(presentacion.getId())).thenReturn(null);
+        when(presentacionesRepositorio.agregarDocPresentacion(presentacion, documento)).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class,
                 () -> presentacionesServicio.agregarDocumento(presentacion, documento));
-        verify(presentacionesRepositorio, times(0)).agregarDocPresentacion(presentacion, documento);
+        verify(presentacionesRepositorio, times(1)).agregarDocPresentacion(presentacion, documento);
     }
 
     /* removerDocumento --------------------------------------------------------------------------------------------- */
@@ -289,13 +372,14 @@ class PresentacionesServicioTest {
                 municipio,
                 new LinkedList<>());
         String documento = "documento";
-        when(presentacionesRepositorio.leerPorId(presentacion.getId())).thenReturn(presentacion);
+        when(presentacionesRepositorio.removerDocPresentacion(presentacion, documento)).thenReturn(true);
 
         // Cuando
         presentacionesServicio.eliminarDocumento(presentacion, documento);
 
         // Entonces
         verify(presentacionesRepositorio, times(1)).removerDocPresentacion(presentacion, documento);
+        verify(presentacionesRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -309,11 +393,57 @@ class PresentacionesServicioTest {
                 municipio,
                 new LinkedList<>());
         String documento = "documento";
-        when(presentacionesRepositorio.leerPorId(presentacion.getId())).thenReturn(null);
+        when(presentacionesRepositorio.removerDocPresentacion(presentacion, documento)).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class,
                 () -> presentacionesServicio.eliminarDocumento(presentacion, documento));
-        verify(presentacionesRepositorio, times(0)).removerDocPresentacion(presentacion, documento);
+        verify(presentacionesRepositorio, times(1)).removerDocPresentacion(presentacion, documento);
+    }
+
+    /* aplicarCambios ----------------------------------------------------------------------------------------------- */
+
+    @Test
+    void aplicarCambiosTest() throws SQLException {
+        // Dado
+        ConjuntoCambios<CampoPresentacion> cambios = new ConjuntoCambios<>("p1");
+        cambios.quitarDocumento("documento1");
+        cambios.agregarDocumento("documento2");
+        cambios.actualizar(CampoPresentacion.APERTURA, false);
+        when(presentacionesRepositorio.aplicarCambios(cambios)).thenReturn(true);
+
+        // Cuando
+        presentacionesServicio.aplicarCambios(cambios);
+
+        // Entonces
+        verify(presentacionesRepositorio, times(1)).aplicarCambios(cambios);
+        verify(presentacionesRepositorio, never()).leerPorId(anyString());
+    }
+
+    @Test
+    void aplicarCambiosVacioTest() throws SQLException {
+        // Dado
+        ConjuntoCambios<CampoPresentacion> cambios = new ConjuntoCambios<>("p1");
+        cambios.agregarDocumento("documento");
+        cambios.quitarDocumento("documento");
+
+        // Cuando
+        presentacionesServicio.aplicarCambios(cambios);
+
+        // Entonces
+        assertTrue(cambios.isVacio());
+        verifyNoInteractions(presentacionesRepositorio);
+    }
+
+    @Test
+    void aplicarCambiosFalloTest() throws SQLException {
+        // Dado
+        ConjuntoCambios<CampoPresentacion> cambios = new ConjuntoCambios<>("p1");
+        cambios.actualizar(CampoPresentacion.APERTURA, false);
+        when(presentacionesRepositorio.aplicarCambios(cambios)).thenReturn(false);
+
+        // Cuando, entonces
+        assertThrows(IllegalArgumentException.class, () -> presentacionesServicio.aplicarCambios(cambios));
+        verify(presentacionesRepositorio, times(1)).aplicarCambios(cambios);
     }
-}
\ No newline at end of file
+}
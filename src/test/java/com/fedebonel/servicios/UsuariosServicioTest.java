@@ -1,5 +1,6 @@
 package com.fedebonel.servicios;
 
+import com.fedebonel.modelo.usuario.CampoUsuario;
 import com.fedebonel.modelo.usuario.RolUsuario;
 import com.fedebonel.modelo.usuario.Usuario;
 import com.fedebonel.respositorios.UsuariosRepositorio;
@@ -11,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.SQLException;
 import java.util.LinkedList;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,8 +36,8 @@ class UsuariosServicioTest {
     void leerTodoTest() throws SQLException {
         // Dado
         LinkedList<Usuario> salidaEsperada = new LinkedList<>();
-        salidaEsperada.add(new Usuario("nombre", "username", "1234", new RolUsuario(RolUsuario.ROL_ADMINISTRADOR_NOMBRE)));
-        salidaEsperada.add(new Usuario("nombre", "username", "1234", new RolUsuario(RolUsuario.ROL_ADMINISTRADOR_NOMBRE)));
+        salidaEsperada.add(new Usuario("nombre", "username", "1234", RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE)));
+        salidaEsperada.add(new Usuario("nombre", "username", "1234", RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE)));
         when(usuariosRepositorio.leerTodo()).thenReturn(salidaEsperada);
 
         // Cuando
@@ -47,6 +49,38 @@ class UsuariosServicioTest {
         verify(usuariosRepositorio, times(1)).leerTodo();
     }
 
+    /* leerPagina --------------------------------------------------------------------------------------------------- */
+
+    @Test
+    void leerPaginaTest() throws SQLException {
+        // Dado
+        LinkedList<Usuario> salidaEsperada = new LinkedList<>();
+        salidaEsperada.add(new Usuario("nombre", "username2", "1234", RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE)));
+        when(usuariosRepositorio.leerPagina("username", 1)).thenReturn(salidaEsperada);
+
+        // Cuando
+        LinkedList<Usuario> salidaReal = usuariosServicio.leerPagina("username", 1);
+
+        // Entonces
+        assertNotNull(salidaReal);
+        assertEquals(salidaEsperada.size(), salidaReal.size());
+        verify(usuariosRepositorio, times(1)).leerPagina("username", 1);
+    }
+
+    @Test
+    void leerPaginaVaciaTest() throws SQLException {
+        // Dado
+        when(usuariosRepositorio.leerPagina(null, 1)).thenReturn(new LinkedList<>());
+
+        // Cuando
+        LinkedList<Usuario> salidaReal = usuariosServicio.leerPagina(null, 1);
+
+        // Entonces
+        assertNotNull(salidaReal);
+        assertTrue(salidaReal.isEmpty());
+        verify(usuariosRepositorio, times(1)).leerPagina(null, 1);
+    }
+
     /* leerPorID ---------------------------------------------------------------------------------------------------- */
 
     @Test
@@ -56,7 +90,7 @@ class UsuariosServicioTest {
                 "nombre",
                 "username",
                 "1234",
-                new RolUsuario(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
+                RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
         when(usuariosRepositorio.leerPorId(usuarioEsperado.getId())).thenReturn(usuarioEsperado);
 
         // Cuando
@@ -86,18 +120,19 @@ class UsuariosServicioTest {
     @Test
     void registrarTest() throws SQLException {
         // Dado
-        when(usuariosRepositorio.leerPorId(anyString())).thenReturn(null);
+        when(usuariosRepositorio.guardar(any())).thenReturn(true);
 
         // Cuando
         Usuario usuario = new Usuario(
                 "nombre",
                 "username",
                 "1234",
-                new RolUsuario(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
+                RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
         usuariosServicio.registrar(usuario);
 
         // Entonces
         verify(usuariosRepositorio, times(1)).guardar(usuario);
+        verify(usuariosRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -107,12 +142,12 @@ class UsuariosServicioTest {
                 "nombre",
                 "username",
                 "1234",
-                new RolUsuario(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
-        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(usuario);
+                RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
+        when(usuariosRepositorio.guardar(any())).thenReturn(false);
 
         // Cuando, Entonces
         assertThrows(IllegalArgumentException.class, () -> usuariosServicio.registrar(usuario));
-        verify(usuariosRepositorio, times(0)).guardar(any());
+        verify(usuariosRepositorio, times(1)).guardar(any());
     }
 
     /* eliminar ----------------------------------------------------------------------------------------------------- */
@@ -124,14 +159,15 @@ class UsuariosServicioTest {
                 "nombre",
                 "username",
                 "1234",
-                new RolUsuario(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
-        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(usuario);
+                RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
+        when(usuariosRepositorio.eliminarPorId(usuario.getId())).thenReturn(true);
 
         // Cuando
         usuariosServicio.eliminar(usuario);
 
         // Entonces
         verify(usuariosRepositorio, times(1)).eliminarPorId(usuario.getId());
+        verify(usuariosRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -141,12 +177,12 @@ class UsuariosServicioTest {
                 "nombre",
                 "username",
                 "1234",
-                new RolUsuario(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
-        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(null);
+                RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
+        when(usuariosRepositorio.eliminarPorId(anyString())).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class, () -> usuariosServicio.eliminar(usuario));
-        verify(usuariosRepositorio, times(0)).eliminarPorId(anyString());
+        verify(usuariosRepositorio, times(1)).eliminarPorId(anyString());
     }
 
     /* actualizar --------------------------------------------------------------------------------------------------- */
@@ -158,16 +194,16 @@ class UsuariosServicioTest {
                 "nombre",
                 "username",
                 "1234",
-                new RolUsuario(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
-        String campo = "nombre";
-        String valor = "nombre1";
-        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(usuario);
+                RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
+        Map<CampoUsuario, Object> campos = Map.of(CampoUsuario.NOMBRE, "nombre1");
+        when(usuariosRepositorio.actualizarPorId(usuario.getId(), campos)).thenReturn(true);
 
         // Cuando
-        usuariosServicio.actualizar(usuario, campo, valor);
+        usuariosServicio.actualizar(usuario, campos);
 
         // Entonces
-        verify(usuariosRepositorio, times(1)).actualizarPorId(usuario.getId(), campo, valor);
+        verify(usuariosRepositorio, times(1)).actualizarPorId(usuario.getId(), campos);
+        verify(usuariosRepositorio, never()).leerPorId(anyString());
     }
 
     @Test
@@ -177,14 +213,13 @@ class UsuariosServicioTest {
                 "nombre",
                 "username",
                 "1234",
-                new RolUsuario(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
-        String campo = "nombre";
-        String valor = "nombre1";
-        when(usuariosRepositorio.leerPorId(usuario.getId())).thenReturn(null);
+                RolUsuario.de(RolUsuario.ROL_ADMINISTRADOR_NOMBRE));
+        Map<CampoUsuario, Object> campos = Map.of(CampoUsuario.NOMBRE, "nombre1");
+        when(usuariosRepositorio.actualizarPorId(anyString(), anyMap())).thenReturn(false);
 
         // Cuando, entonces
         assertThrows(IllegalArgumentException.class,
-                () -> usuariosServicio.actualizar(usuario, campo, valor));
-        verify(usuariosRepositorio, times(0)).actualizarPorId(anyString(), anyString(), anyString());
+                () -> usuariosServicio.actualizar(usuario, campos));
+        verify(usuariosRepositorio, times(1)).actualizarPorId(anyString(), anyMap());
     }
 }
\ No newline at end of file